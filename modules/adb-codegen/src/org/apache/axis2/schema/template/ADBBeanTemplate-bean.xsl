@@ -709,6 +709,9 @@
                    <xsl:when test="$varType='javax.xml.namespace.QName'">
                         writeQNames(local<xsl:value-of select="$javaName"/>,xmlWriter);
                    </xsl:when>
+                   <xsl:when test="$varType='int' or $varType='long' or $varType='short' or $varType='byte' or $varType='double' or $varType='float'">
+                        org.apache.axis2.databinding.utils.ConverterUtil.writeList(local<xsl:value-of select="$javaName"/>,xmlWriter);
+                   </xsl:when>
                    <xsl:otherwise>
                        xmlWriter.writeCharacters(<xsl:value-of select="$name"/>.this.toString());
                    </xsl:otherwise>
@@ -2131,9 +2134,19 @@
                       <!-- If we are not a type and not an element with anonymous type, then we are an element with one property for our named type. -->
                       <!-- Our single named-type property applies to our entire outer element, so don't skip it. -->
                 <!-- First loop creates arrayLists for handling arrays -->
+                <!-- numeric primitive arrays are collected in growable primitive buffers to avoid boxing -->
                 <xsl:for-each select="property[not(@attribute)]">
                     <xsl:if test="@array">
+                        <xsl:variable name="basePropertyType"><xsl:value-of select="@arrayBaseType"/></xsl:variable>
+                        <xsl:choose>
+                            <xsl:when test="not(@ours or @any or @default or @binary) and ($basePropertyType='int' or $basePropertyType='long' or $basePropertyType='short' or $basePropertyType='byte' or $basePropertyType='double' or $basePropertyType='float')">
+                        <xsl:value-of select="$basePropertyType"/>[] buffer<xsl:value-of select="position()"/> = new <xsl:value-of select="$basePropertyType"/>[16];
+                        int bufferSize<xsl:value-of select="position()"/> = 0;
+                            </xsl:when>
+                            <xsl:otherwise>
                         java.util.ArrayList list<xsl:value-of select="position()"/> = new java.util.ArrayList();
+                            </xsl:otherwise>
+                        </xsl:choose>
                     </xsl:if>
                 </xsl:for-each>
 
@@ -2153,6 +2166,8 @@
                                 select="concat(translate(substring($shortTypeNameUncapped, 1, 1 ),'abcdefghijklmnopqrstuvwxyz', 'ABCDEFGHIJKLMNOPQRSTUVWXYZ' ), substring($shortTypeNameUncapped, 2, string-length($shortTypeNameUncapped)))" />
                             <xsl:variable name="javaName"><xsl:value-of select="@javaname"></xsl:value-of></xsl:variable>
                             <xsl:variable name="listName">list<xsl:value-of select="position()"/></xsl:variable>
+                            <xsl:variable name="bufferName">buffer<xsl:value-of select="position()"/></xsl:variable>
+                            <xsl:variable name="bufferSizeName">bufferSize<xsl:value-of select="position()"/></xsl:variable>
                             <xsl:variable name="loopBoolName">loopDone<xsl:value-of select="position()"/></xsl:variable>
                             <xsl:variable name="startQname">startQname<xsl:value-of select="position()"/></xsl:variable>
                             <xsl:variable name="stateMachineName">stateMachine<xsl:value-of select="position()"/></xsl:variable>
@@ -2496,6 +2511,69 @@
 
                                         </xsl:when>
                                         <!-- End of Array handling of default class - that is the OMElement -->
+                                        <xsl:when test="$basePropertyType='int' or $basePropertyType='long' or $basePropertyType='short' or $basePropertyType='byte' or $basePropertyType='double' or $basePropertyType='float'">
+                                            <!-- numeric primitives go straight into a growable primitive array -->
+                                            <xsl:variable name="nilValue">
+                                                <xsl:choose>
+                                                    <xsl:when test="$basePropertyType='int'">java.lang.Integer.MIN_VALUE</xsl:when>
+                                                    <xsl:when test="$basePropertyType='long'">java.lang.Long.MIN_VALUE</xsl:when>
+                                                    <xsl:when test="$basePropertyType='short'">java.lang.Short.MIN_VALUE</xsl:when>
+                                                    <xsl:when test="$basePropertyType='byte'">java.lang.Byte.MIN_VALUE</xsl:when>
+                                                    <xsl:when test="$basePropertyType='double'">java.lang.Double.NaN</xsl:when>
+                                                    <xsl:otherwise>java.lang.Float.NaN</xsl:otherwise>
+                                                </xsl:choose>
+                                            </xsl:variable>
+                                            <xsl:variable name="converterName">convertTo<xsl:value-of select="concat(translate(substring($basePropertyType, 1, 1), 'abcdefghijklmnopqrstuvwxyz', 'ABCDEFGHIJKLMNOPQRSTUVWXYZ'), substring($basePropertyType, 2))"/></xsl:variable>
+                                             <xsl:if test="@nillable">
+                                              nillableValue = reader.getAttributeValue("http://www.w3.org/2001/XMLSchema-instance","nil");
+                                              if ("true".equals(nillableValue) || "1".equals(nillableValue)){
+                                                  <xsl:value-of select="$bufferName"/> = org.apache.axis2.databinding.utils.ConverterUtil.append(
+                                                      <xsl:value-of select="$bufferName"/>, <xsl:value-of select="$bufferSizeName"/>++, <xsl:value-of select="$nilValue"/>);
+                                                  reader.next();
+                                              } else {
+                                            </xsl:if>
+                                            <xsl:value-of select="$bufferName"/> = org.apache.axis2.databinding.utils.ConverterUtil.append(
+                                                <xsl:value-of select="$bufferName"/>, <xsl:value-of select="$bufferSizeName"/>++,
+                                                org.apache.axis2.databinding.utils.ConverterUtil.<xsl:value-of select="$converterName"/>(reader.getElementText()));
+                                            <xsl:if test="@nillable">}</xsl:if>
+                                            //loop until we find a start element that is not part of this array
+                                            boolean <xsl:value-of select="$loopBoolName"/> = false;
+                                            while(!<xsl:value-of select="$loopBoolName"/>){
+                                                // Ensure we are at the EndElement
+                                                while (!reader.isEndElement()){
+                                                    reader.next();
+                                                }
+                                                // Step out of this element
+                                                reader.next();
+                                                // Step to next element event.
+                                                while (!reader.isStartElement() &amp;&amp; !reader.isEndElement())
+                                                    reader.next();
+                                                if (reader.isEndElement()){
+                                                    //two continuous end elements means we are exiting the xml structure
+                                                    <xsl:value-of select="$loopBoolName"/> = true;
+                                                } else {
+                                                    if (<xsl:value-of select="$propQName"/>.equals(reader.getName())){
+                                                         <xsl:if test="@nillable">
+                                                          nillableValue = reader.getAttributeValue("http://www.w3.org/2001/XMLSchema-instance","nil");
+                                                          if ("true".equals(nillableValue) || "1".equals(nillableValue)){
+                                                              <xsl:value-of select="$bufferName"/> = org.apache.axis2.databinding.utils.ConverterUtil.append(
+                                                                  <xsl:value-of select="$bufferName"/>, <xsl:value-of select="$bufferSizeName"/>++, <xsl:value-of select="$nilValue"/>);
+                                                              reader.next();
+                                                          } else {
+                                                        </xsl:if>
+                                                        <xsl:value-of select="$bufferName"/> = org.apache.axis2.databinding.utils.ConverterUtil.append(
+                                                            <xsl:value-of select="$bufferName"/>, <xsl:value-of select="$bufferSizeName"/>++,
+                                                            org.apache.axis2.databinding.utils.ConverterUtil.<xsl:value-of select="$converterName"/>(reader.getElementText()));
+                                                        <xsl:if test="@nillable">}</xsl:if>
+                                                    }else{
+                                                        <xsl:value-of select="$loopBoolName"/> = true;
+                                                    }
+                                                }
+                                            }
+                                            object.set<xsl:value-of select="$javaName"/>(
+                                                org.apache.axis2.databinding.utils.ConverterUtil.trimToSize(
+                                                    <xsl:value-of select="$bufferName"/>, <xsl:value-of select="$bufferSizeName"/>));
+                                        </xsl:when>
                                         <xsl:otherwise>
                                              <xsl:if test="@nillable">
                                               nillableValue = reader.getAttributeValue("http://www.w3.org/2001/XMLSchema-instance","nil");
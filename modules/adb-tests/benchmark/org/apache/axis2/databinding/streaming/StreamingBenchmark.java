@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.databinding.streaming;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import org.apache.axis2.databinding.streaming.client.ItemServiceStub;
+import org.apache.axis2.databinding.streaming.service.ItemServiceImpl;
+import org.apache.axis2.databinding.streaming.tree.ItemServiceStub.ItemsRequest;
+import org.apache.axis2.testutils.ClientHelper;
+import org.apache.axis2.testutils.jaxws.JAXWSEndpoint;
+import org.junit.rules.RuleChain;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Compares the latency and the peak heap usage of a stub generated with the <tt>ss</tt> option
+ * with those of a regular stub, for 10 MB responses.
+ */
+public class StreamingBenchmark {
+    private static final int COUNT = 10240;
+    private static final int LENGTH = 1000;
+    private static final int ITERATIONS = 20;
+
+    private interface Call {
+        int call() throws Exception;
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static void run(String name, Call call) throws Exception {
+        // Warm up
+        for (int i = 0; i < 5; i++) {
+            call.call();
+        }
+        long time = 0;
+        long peak = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            resetPeakHeap();
+            long start = System.nanoTime();
+            if (call.call() != COUNT) {
+                throw new IllegalStateException("Unexpected response");
+            }
+            time += System.nanoTime() - start;
+            peak = Math.max(peak, peakHeap());
+        }
+        System.out.println(name + ": " + time / ITERATIONS / 1000000 + " ms per call; peak heap "
+                + peak / (1024 * 1024) + " MB");
+    }
+
+    public static void main(String[] args) throws Throwable {
+        final JAXWSEndpoint endpoint = new JAXWSEndpoint(new ItemServiceImpl());
+        final ClientHelper clientHelper = new ClientHelper("target/repo/client");
+        RuleChain.outerRule(endpoint).around(clientHelper).apply(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                final org.apache.axis2.databinding.streaming.tree.ItemServiceStub treeStub =
+                        clientHelper.createStub(org.apache.axis2.databinding.streaming.tree.ItemServiceStub.class,
+                                endpoint.getAddress());
+                final ItemServiceStub streamingStub = clientHelper.createStub(ItemServiceStub.class,
+                        endpoint.getAddress());
+                run("Regular stub", new Call() {
+                    @Override
+                    public int call() throws Exception {
+                        ItemsRequest request = new ItemsRequest();
+                        request.setCount(COUNT);
+                        request.setLength(LENGTH);
+                        return treeStub.getItems(request).getItem().length;
+                    }
+                });
+                run("Streaming stub", new Call() {
+                    @Override
+                    public int call() throws Exception {
+                        ItemServiceStub.ItemsRequest request = new ItemServiceStub.ItemsRequest();
+                        request.setCount(COUNT);
+                        request.setLength(LENGTH);
+                        return streamingStub.getItems(request).getItem().length;
+                    }
+                });
+            }
+        }, Description.EMPTY).evaluate();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.schema.primitivearrays;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.axiom.om.util.StAXUtils;
+import org.apache.axis2.databinding.utils.ConverterUtil;
+import org.apache.axis2.schema.ADBBeanUtil;
+
+/**
+ * Measures the time and the memory allocated to serialize and parse a bean with a 1M element
+ * <tt>double</tt> array, and compares the parsing with the boxed {@link ArrayList} based
+ * approach used before numeric arrays were collected in primitive buffers.
+ */
+public class PrimitiveArraysBenchmark {
+    private static final int SIZE = 1000000;
+    private static final int ITERATIONS = 10;
+    private static final QName VALUE = new QName("http://apache.org/axis2/schema/primitivearrays", "value");
+
+    private interface Task {
+        int run() throws Exception;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void run(String name, Task task) throws Exception {
+        // Warm up
+        for (int i = 0; i < 3; i++) {
+            task.run();
+        }
+        long time = 0;
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startAllocated = allocatedBytes();
+            long start = System.nanoTime();
+            if (task.run() != SIZE) {
+                throw new IllegalStateException("Unexpected result");
+            }
+            time += System.nanoTime() - start;
+            allocated += allocatedBytes() - startAllocated;
+        }
+        System.out.println(name + ": " + time / ITERATIONS / 1000000 + " ms; "
+                + allocated / ITERATIONS / (1024 * 1024) + " MB allocated");
+    }
+
+    private static byte[] serialize(Series series) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        XMLStreamWriter writer = StAXUtils.createXMLStreamWriter(baos);
+        ADBBeanUtil.serialize(series, writer);
+        writer.flush();
+        return baos.toByteArray();
+    }
+
+    private static XMLStreamReader createReader(byte[] xml) throws Exception {
+        return StAXUtils.createXMLStreamReader(new ByteArrayInputStream(xml));
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Series series = new Series();
+        series.setTimestamp(new long[] { 0 });
+        double[] values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = i * 0.001;
+        }
+        series.setValue(values);
+        final byte[] xml = serialize(series);
+
+        run("Serialize", new Task() {
+            @Override
+            public int run() throws Exception {
+                serialize(series);
+                return SIZE;
+            }
+        });
+        run("Parse (primitive buffer)", new Task() {
+            @Override
+            public int run() throws Exception {
+                return ADBBeanUtil.parse(Series.class, createReader(xml)).getValue().length;
+            }
+        });
+        run("Parse (boxed list)", new Task() {
+            @Override
+            public int run() throws Exception {
+                XMLStreamReader reader = createReader(xml);
+                List<String> list = new ArrayList<String>();
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamReader.START_ELEMENT && VALUE.equals(reader.getName())) {
+                        list.add(reader.getElementText());
+                    }
+                }
+                return ((double[])ConverterUtil.convertToArray(double.class, list)).length;
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.databinding.faults;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.axis2.databinding.faults.client.CalculatorServiceCallbackHandler;
+import org.apache.axis2.databinding.faults.client.CalculatorServiceStub;
+import org.apache.axis2.databinding.faults.client.CalculatorServiceStub.DivisionResult;
+import org.apache.axis2.databinding.faults.client.CalculatorServiceStub.DivisionRequest;
+import org.apache.axis2.databinding.faults.client.DivisionByZeroException;
+import org.apache.axis2.databinding.faults.service.CalculatorImpl;
+import org.apache.axis2.testutils.ClientHelper;
+import org.apache.axis2.testutils.jaxws.JAXWSEndpoint;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class FaultTest {
+    @ClassRule
+    public static final ClientHelper clientHelper = new ClientHelper("target/repo/client");
+
+    @ClassRule
+    public static final JAXWSEndpoint endpoint = new JAXWSEndpoint(new CalculatorImpl());
+
+    private static DivisionRequest createRequest(int dividend, int divisor) {
+        DivisionRequest request = new DivisionRequest();
+        request.setDividend(dividend);
+        request.setDivisor(divisor);
+        return request;
+    }
+
+    @Test
+    public void testSync() throws Exception {
+        CalculatorServiceStub stub = clientHelper.createStub(CalculatorServiceStub.class, endpoint.getAddress());
+        assertThat(stub.divide(createRequest(7, 2)).getQuotient()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            try {
+                stub.divide(createRequest(7, 0));
+                fail("Expected DivisionByZeroException");
+            } catch (DivisionByZeroException ex) {
+                assertThat(ex.getFaultMessage().getDividend()).isEqualTo(7);
+            }
+        }
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        CalculatorServiceStub stub = clientHelper.createStub(CalculatorServiceStub.class, endpoint.getAddress());
+        final AtomicReference<Exception> error = new AtomicReference<Exception>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        stub.startdivide(createRequest(7, 0), new CalculatorServiceCallbackHandler() {
+            @Override
+            public void receiveResultdivide(DivisionResult result) {
+                latch.countDown();
+            }
+
+            @Override
+            public void receiveErrordivide(Exception e) {
+                error.set(e);
+                latch.countDown();
+            }
+        });
+        assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(error.get()).isInstanceOf(DivisionByZeroException.class);
+        assertThat(((DivisionByZeroException)error.get()).getFaultMessage().getDividend()).isEqualTo(7);
+    }
+
+    /**
+     * Checks that the stub creates fault exceptions and messages directly, i.e. that it doesn't
+     * load their classes by name.
+     */
+    @Test
+    public void testNoReflection() throws Exception {
+        File stubSource = new File("target/wsdl2code/faults/src/org/apache/axis2/databinding/faults/client/CalculatorServiceStub.java");
+        String source = new String(Files.readAllBytes(stubSource.toPath()), "UTF-8");
+        assertThat(source).contains("new org.apache.axis2.databinding.faults.client.DivisionByZeroException(");
+        assertThat(source).doesNotContain("Class.forName");
+        assertThat(source).doesNotContain("getMethod(\"setFaultMessage\"");
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.databinding.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.axis2.databinding.streaming.client.ItemServiceStub;
+import org.apache.axis2.databinding.streaming.client.ItemServiceStub.Items;
+import org.apache.axis2.databinding.streaming.client.ItemServiceStub.ItemsRequest;
+import org.apache.axis2.databinding.streaming.service.ItemServiceImpl;
+import org.apache.axis2.testutils.ClientHelper;
+import org.apache.axis2.testutils.jaxws.JAXWSEndpoint;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+/**
+ * Tests a stub generated with the <tt>ss</tt> option, i.e. that parses responses straight from
+ * the transport stream.
+ */
+public class StreamingTest {
+    @ClassRule
+    public static final ClientHelper clientHelper = new ClientHelper("target/repo/client");
+
+    @ClassRule
+    public static final JAXWSEndpoint endpoint = new JAXWSEndpoint(new ItemServiceImpl());
+
+    @Test
+    public void test() throws Exception {
+        ItemServiceStub stub = clientHelper.createStub(ItemServiceStub.class, endpoint.getAddress());
+        for (int i = 0; i < 3; i++) {
+            ItemsRequest request = new ItemsRequest();
+            request.setCount(1000);
+            request.setLength(100);
+            Items items = stub.getItems(request);
+            assertThat(items.getItem()).hasSize(1000);
+            assertThat(items.getItem()[999]).hasSize(100);
+        }
+    }
+
+    @Test
+    public void testGeneratedCode() throws Exception {
+        File stubSource = new File("target/wsdl2code/streaming/src/org/apache/axis2/databinding/streaming/client/ItemServiceStub.java");
+        String source = new String(Files.readAllBytes(stubSource.toPath()), "UTF-8");
+        assertThat(source).doesNotContain("buildWithAttachments");
+        assertThat(source).contains("getXMLStreamReaderWithoutCaching");
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.schema.primitivearrays;
+
+import java.io.ByteArrayInputStream;
+
+import org.apache.axiom.om.util.StAXUtils;
+import org.apache.axis2.schema.ADBBeanUtil;
+import org.apache.axis2.schema.AbstractTestCase;
+
+public class PrimitiveArraysTest extends AbstractTestCase {
+    public void testSeries() throws Exception {
+        Series series = new Series();
+        series.setTimestamp(new long[] { 1000L, 2000L, Long.MAX_VALUE });
+        series.setValue(new double[] { 1.5, Double.NaN, -0.25 });
+        series.setFlag(new byte[] { 1, -1 });
+        testSerializeDeserialize(series);
+    }
+
+    public void testSeriesGrowsBuffers() throws Exception {
+        long[] timestamps = new long[1000];
+        double[] values = new double[1000];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = i * 60000L;
+            values[i] = i / 3.0;
+        }
+        Series series = new Series();
+        series.setTimestamp(timestamps);
+        series.setValue(values);
+        testSerializeDeserialize(series);
+    }
+
+    public void testNilValue() throws Exception {
+        String xml = "<Series xmlns='http://apache.org/axis2/schema/primitivearrays'"
+                + " xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'>"
+                + "<timestamp>+5</timestamp><value>INF</value><value xsi:nil='true'/><value>2</value>"
+                + "</Series>";
+        Series series = ADBBeanUtil.parse(Series.class,
+                StAXUtils.createXMLStreamReader(new ByteArrayInputStream(xml.getBytes("UTF-8"))));
+        assertEquals(1, series.getTimestamp().length);
+        assertEquals(5L, series.getTimestamp()[0]);
+        assertEquals(3, series.getValue().length);
+        assertEquals(Double.POSITIVE_INFINITY, series.getValue()[0], 0);
+        assertTrue(Double.isNaN(series.getValue()[1]));
+        assertEquals(2.0, series.getValue()[2], 0);
+    }
+
+    public void testList() throws Exception {
+        double[] values = new double[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 1.25;
+        }
+        DoubleList list = new DoubleList();
+        list.set_double(values);
+        Samples samples = new Samples();
+        samples.setSamples(list);
+        testSerializeDeserialize(samples);
+    }
+}
@@ -83,6 +83,7 @@ import java.math.BigInteger;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -102,6 +103,8 @@ public class ConverterUtil {
 
     public static final String SYSTEM_PROPERTY_ADB_CONVERTERUTIL = "adb.converterutil";
 
+    private static final int LIST_CHUNK_SIZE = 8192;
+
     private static boolean isCustomClassPresent;
     private static Class customClass;
 
@@ -1283,6 +1286,222 @@ public class ConverterUtil {
         }
     }
 
+    /* Growable primitive buffers used by the generated beans to parse repeated numeric elements
+       without going through boxed values */
+
+    /**
+     * Stores a value at the given index of a primitive buffer, growing the buffer if needed.
+     *
+     * @param buffer the buffer
+     * @param index  the index to store the value at; must not be greater than the buffer length
+     * @param value  the value
+     * @return the buffer holding the value, which is a new array if the buffer had to be grown
+     */
+    public static int[] append(int[] buffer, int index, int value) {
+        if (index == buffer.length) {
+            buffer = Arrays.copyOf(buffer, newBufferLength(index));
+        }
+        buffer[index] = value;
+        return buffer;
+    }
+
+    public static long[] append(long[] buffer, int index, long value) {
+        if (index == buffer.length) {
+            buffer = Arrays.copyOf(buffer, newBufferLength(index));
+        }
+        buffer[index] = value;
+        return buffer;
+    }
+
+    public static short[] append(short[] buffer, int index, short value) {
+        if (index == buffer.length) {
+            buffer = Arrays.copyOf(buffer, newBufferLength(index));
+        }
+        buffer[index] = value;
+        return buffer;
+    }
+
+    public static byte[] append(byte[] buffer, int index, byte value) {
+        if (index == buffer.length) {
+            buffer = Arrays.copyOf(buffer, newBufferLength(index));
+        }
+        buffer[index] = value;
+        return buffer;
+    }
+
+    public static double[] append(double[] buffer, int index, double value) {
+        if (index == buffer.length) {
+            buffer = Arrays.copyOf(buffer, newBufferLength(index));
+        }
+        buffer[index] = value;
+        return buffer;
+    }
+
+    public static float[] append(float[] buffer, int index, float value) {
+        if (index == buffer.length) {
+            buffer = Arrays.copyOf(buffer, newBufferLength(index));
+        }
+        buffer[index] = value;
+        return buffer;
+    }
+
+    private static int newBufferLength(int length) {
+        return length < 8 ? 16 : length << 1;
+    }
+
+    /**
+     * Returns a primitive buffer filled by {@link #append(int[], int, int)} as an array of
+     * exactly the given size.
+     *
+     * @param buffer the buffer
+     * @param size   the number of values stored in the buffer
+     * @return the buffer itself if it is already of the right size, a copy otherwise
+     */
+    public static int[] trimToSize(int[] buffer, int size) {
+        return buffer.length == size ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    public static long[] trimToSize(long[] buffer, int size) {
+        return buffer.length == size ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    public static short[] trimToSize(short[] buffer, int size) {
+        return buffer.length == size ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    public static byte[] trimToSize(byte[] buffer, int size) {
+        return buffer.length == size ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    public static double[] trimToSize(double[] buffer, int size) {
+        return buffer.length == size ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    public static float[] trimToSize(float[] buffer, int size) {
+        return buffer.length == size ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Writes the values of a numeric xsd:list directly to the stream writer. The text is written
+     * in chunks so that the whitespace separated representation of a large list is never
+     * materialized as a single string.
+     *
+     * @param values the list values; nothing is written if this is <code>null</code>
+     * @param writer the writer
+     * @throws XMLStreamException
+     */
+    public static void writeList(int[] values, XMLStreamWriter writer) throws XMLStreamException {
+        if (values != null) {
+            StringBuilder buffer = new StringBuilder(LIST_CHUNK_SIZE + 32);
+            char[] chars = new char[LIST_CHUNK_SIZE + 32];
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(' ');
+                }
+                buffer.append(values[i]);
+                if (buffer.length() >= LIST_CHUNK_SIZE) {
+                    flush(buffer, chars, writer);
+                }
+            }
+            flush(buffer, chars, writer);
+        }
+    }
+
+    public static void writeList(long[] values, XMLStreamWriter writer) throws XMLStreamException {
+        if (values != null) {
+            StringBuilder buffer = new StringBuilder(LIST_CHUNK_SIZE + 32);
+            char[] chars = new char[LIST_CHUNK_SIZE + 32];
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(' ');
+                }
+                buffer.append(values[i]);
+                if (buffer.length() >= LIST_CHUNK_SIZE) {
+                    flush(buffer, chars, writer);
+                }
+            }
+            flush(buffer, chars, writer);
+        }
+    }
+
+    public static void writeList(short[] values, XMLStreamWriter writer) throws XMLStreamException {
+        if (values != null) {
+            StringBuilder buffer = new StringBuilder(LIST_CHUNK_SIZE + 32);
+            char[] chars = new char[LIST_CHUNK_SIZE + 32];
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(' ');
+                }
+                buffer.append(values[i]);
+                if (buffer.length() >= LIST_CHUNK_SIZE) {
+                    flush(buffer, chars, writer);
+                }
+            }
+            flush(buffer, chars, writer);
+        }
+    }
+
+    public static void writeList(byte[] values, XMLStreamWriter writer) throws XMLStreamException {
+        if (values != null) {
+            StringBuilder buffer = new StringBuilder(LIST_CHUNK_SIZE + 32);
+            char[] chars = new char[LIST_CHUNK_SIZE + 32];
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(' ');
+                }
+                buffer.append(values[i]);
+                if (buffer.length() >= LIST_CHUNK_SIZE) {
+                    flush(buffer, chars, writer);
+                }
+            }
+            flush(buffer, chars, writer);
+        }
+    }
+
+    public static void writeList(double[] values, XMLStreamWriter writer) throws XMLStreamException {
+        if (values != null) {
+            StringBuilder buffer = new StringBuilder(LIST_CHUNK_SIZE + 32);
+            char[] chars = new char[LIST_CHUNK_SIZE + 32];
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(' ');
+                }
+                buffer.append(values[i]);
+                if (buffer.length() >= LIST_CHUNK_SIZE) {
+                    flush(buffer, chars, writer);
+                }
+            }
+            flush(buffer, chars, writer);
+        }
+    }
+
+    public static void writeList(float[] values, XMLStreamWriter writer) throws XMLStreamException {
+        if (values != null) {
+            StringBuilder buffer = new StringBuilder(LIST_CHUNK_SIZE + 32);
+            char[] chars = new char[LIST_CHUNK_SIZE + 32];
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(' ');
+                }
+                buffer.append(values[i]);
+                if (buffer.length() >= LIST_CHUNK_SIZE) {
+                    flush(buffer, chars, writer);
+                }
+            }
+            flush(buffer, chars, writer);
+        }
+    }
+
+    private static void flush(StringBuilder buffer, char[] chars, XMLStreamWriter writer)
+            throws XMLStreamException {
+        int length = buffer.length();
+        if (length > 0) {
+            buffer.getChars(0, length, chars, 0);
+            writer.writeCharacters(chars, 0, length);
+            buffer.setLength(0);
+        }
+    }
+
     /**
      * @param intValue
      * @param value
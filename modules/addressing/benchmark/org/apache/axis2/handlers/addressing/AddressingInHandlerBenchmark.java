@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.handlers.addressing;
+
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.HandlerDescription;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * Measures the time {@link AddressingInHandler} spends on the WS-Addressing headers of typical
+ * request messages, for both the final and the submission namespace. The time to parse the
+ * envelope is measured separately and subtracted.
+ */
+public class AddressingInHandlerBenchmark {
+    private static final int ITERATIONS = 100000;
+
+    private static SOAPEnvelope parse(byte[] message) {
+        SOAPEnvelope envelope = OMXMLBuilderFactory.createSOAPModelBuilder(
+                new ByteArrayInputStream(message), null).getSOAPEnvelope();
+        envelope.build();
+        return envelope;
+    }
+
+    private static void run(String version, ConfigurationContext configurationContext)
+            throws Exception {
+        byte[] message = Files.readAllBytes(new File(System.getProperty("basedir", "."),
+                "test-resources/valid-messages/" + version + "/soapmessage.xml").toPath());
+        AddressingInHandler handler = new AddressingInHandler();
+        handler.init(new HandlerDescription("AddressingInHandler"));
+
+        for (int pass = 0; pass < 2; pass++) {
+            // The first pass is a warm-up
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                parse(message);
+            }
+            long parseTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                MessageContext messageContext = configurationContext.createMessageContext();
+                messageContext.setEnvelope(parse(message));
+                handler.invoke(messageContext);
+            }
+            long time = System.nanoTime() - start;
+            if (pass == 1) {
+                System.out.println(version + ": " + (time - parseTime) / ITERATIONS
+                        + " ns per message (parsing: " + parseTime / ITERATIONS + " ns)");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurationContext configurationContext =
+                ConfigurationContextFactory.createEmptyConfigurationContext();
+        run("final", configurationContext);
+        run("submission", configurationContext);
+    }
+}
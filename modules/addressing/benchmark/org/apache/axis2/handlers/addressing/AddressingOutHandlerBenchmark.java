@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.handlers.addressing;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axiom.soap.SOAPFactory;
+import org.apache.axis2.addressing.AddressingConstants;
+import org.apache.axis2.addressing.EndpointReference;
+import org.apache.axis2.addressing.RelatesTo;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.HandlerDescription;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Measures the outbound path of a typical message: creating the envelope, adding the
+ * WS-Addressing headers with {@link AddressingOutHandler} and serializing the message. The
+ * message is sent without addressing, with addressing but without the EPR header cache, and with
+ * the cache. Every message has a new wsa:MessageID and wsa:RelatesTo, but the same address only
+ * wsa:ReplyTo and wsa:FaultTo EPRs, the only kind the cache keeps.
+ */
+public class AddressingOutHandlerBenchmark {
+    private static final int ITERATIONS = 100000;
+
+    private static final SOAPFactory factory = OMAbstractFactory.getSOAP11Factory();
+
+    private static long send(ConfigurationContext configurationContext,
+                             AddressingOutHandler handler, EndpointReference replyTo,
+                             EndpointReference faultTo, Boolean cacheEPRHeaders, int i)
+            throws Exception {
+        SOAPEnvelope envelope = factory.getDefaultEnvelope();
+        OMElement payload = factory.createOMElement("echoResponse",
+                factory.createOMNamespace("http://example.org/echo", "ns"), envelope.getBody());
+        payload.setText("Hello " + i);
+
+        if (handler != null) {
+            MessageContext messageContext = configurationContext.createMessageContext();
+            messageContext.setEnvelope(envelope);
+            messageContext.setTo(new EndpointReference("http://example.org/client"));
+            messageContext.setReplyTo(replyTo);
+            messageContext.setFaultTo(faultTo);
+            messageContext.setWSAAction("http://example.org/echo/echoResponse");
+            messageContext.setMessageID("urn:uuid:" + i);
+            messageContext.addRelatesTo(new RelatesTo("urn:uuid:request-" + i));
+            messageContext.setProperty(AddressingConstants.CACHE_EPR_HEADERS, cacheEPRHeaders);
+            handler.invoke(messageContext);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        envelope.serialize(out);
+        return out.size();
+    }
+
+    private static void run(String label, ConfigurationContext configurationContext,
+                            AddressingOutHandler handler, Boolean cacheEPRHeaders)
+            throws Exception {
+        EndpointReference replyTo = new EndpointReference("http://example.org/service/reply");
+        EndpointReference faultTo = new EndpointReference("http://example.org/service/fault");
+        for (int pass = 0; pass < 2; pass++) {
+            // The first pass is a warm-up
+            long size = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                size += send(configurationContext, handler, replyTo, faultTo, cacheEPRHeaders, i);
+            }
+            long time = System.nanoTime() - start;
+            if (pass == 1) {
+                System.out.println(label + ": " + time / ITERATIONS + " ns per message ("
+                        + size / ITERATIONS + " bytes)");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurationContext configurationContext =
+                ConfigurationContextFactory.createEmptyConfigurationContext();
+        AddressingOutHandler handler = new AddressingOutHandler();
+        handler.init(new HandlerDescription("AddressingOutHandler"));
+        run("without addressing", configurationContext, null, null);
+        run("addressing, no EPR header cache", configurationContext, handler, Boolean.FALSE);
+        run("addressing, EPR header cache", configurationContext, handler, Boolean.TRUE);
+    }
+}
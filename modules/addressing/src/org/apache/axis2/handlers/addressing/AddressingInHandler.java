@@ -55,6 +55,15 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
     private static final int TO_FLAG = 1, FROM_FLAG = 2, REPLYTO_FLAG = 3,
             FAULTO_FLAG = 4, MESSAGEID_FLAG = 6, ACTION_FLAG = 0;
 
+    private static final String[] HEADER_NAMES = { WSA_ACTION, WSA_TO, WSA_FROM, WSA_REPLY_TO,
+            WSA_FAULT_TO, null, WSA_MESSAGE_ID };
+
+    private static final QName IS_REFERENCE_PARAMETER =
+            new QName(Final.WSA_NAMESPACE, Final.WSA_IS_REFERENCE_PARAMETER_ATTRIBUTE);
+
+    private static final QName RELATIONSHIP_TYPE =
+            new QName(AddressingConstants.WSA_RELATES_TO_RELATIONSHIP_TYPE);
+
     private static final Log log = LogFactory.getLog(AddressingInHandler.class);
 
     private boolean disableRefparamExtract = false;
@@ -105,7 +114,7 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
         }
         
         // check whether another handler has explicitly set which addressing namespace to expect.
-        Iterator iterator = null;
+        AddressingHeaders headers = null;
         String namespace = (String) msgContext.getProperty(WS_ADDRESSING_VERSION);
         
         // check whether the service is configured to use a particular version of WS-Addressing,
@@ -116,20 +125,45 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
         }
         
         if (namespace == null) {
-            namespace = Final.WSA_NAMESPACE;
-            iterator = header.getHeadersToProcess(rolePlayer, namespace);
-
-            if (!iterator.hasNext()) {
+            // Look for the headers of both versions in a single pass over the header blocks;
+            // the final version wins if both are present.
+            AddressingHeaders finalHeaders = null;
+            AddressingHeaders submissionHeaders = null;
+            for (Iterator iterator = header.getHeadersToProcess(rolePlayer); iterator.hasNext();) {
+                SOAPHeaderBlock soapHeaderBlock = (SOAPHeaderBlock)iterator.next();
+                String headerNamespace = soapHeaderBlock.getNamespaceURI();
+                if (Final.WSA_NAMESPACE.equals(headerNamespace)) {
+                    if (finalHeaders == null) {
+                        finalHeaders = new AddressingHeaders();
+                    }
+                    finalHeaders.add(soapHeaderBlock);
+                } else if (Submission.WSA_NAMESPACE.equals(headerNamespace)
+                        && finalHeaders == null) {
+                    if (submissionHeaders == null) {
+                        submissionHeaders = new AddressingHeaders();
+                    }
+                    submissionHeaders.add(soapHeaderBlock);
+                }
+            }
+            if (finalHeaders != null) {
+                namespace = Final.WSA_NAMESPACE;
+                headers = finalHeaders;
+            } else {
                 if (LoggingControl.debugLoggingAllowed && log.isDebugEnabled()) {
-                    log.debug("No headers present corresponding to " + namespace);
+                    log.debug("No headers present corresponding to " + Final.WSA_NAMESPACE);
                 }
-
                 namespace = Submission.WSA_NAMESPACE;
-                iterator = header.getHeadersToProcess(rolePlayer, namespace);
+                headers = submissionHeaders;
             }
         }
         else if (Final.WSA_NAMESPACE.equals(namespace) || Submission.WSA_NAMESPACE.equals(namespace)) {
-            iterator = header.getHeadersToProcess(rolePlayer, namespace);
+            for (Iterator iterator = header.getHeadersToProcess(rolePlayer, namespace);
+                    iterator.hasNext();) {
+                if (headers == null) {
+                    headers = new AddressingHeaders();
+                }
+                headers.add((SOAPHeaderBlock)iterator.next());
+            }
             
             if (LoggingControl.debugLoggingAllowed && log.isDebugEnabled()) {
                 log.debug("The preconfigured namespace is, , " + namespace);
@@ -143,7 +177,7 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
             return InvocationResponse.CONTINUE;
         }
 
-        if (iterator.hasNext()) {
+        if (headers != null) {
             if (LoggingControl.debugLoggingAllowed && log.isDebugEnabled()) {
                 log.debug(namespace +
                           " headers present in the SOAP message. Starting to process ...");
@@ -154,7 +188,7 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
             msgContext.setProperty(WS_ADDRESSING_VERSION, namespace);
             msgContext.setProperty(DISABLE_ADDRESSING_FOR_OUT_MESSAGES, Boolean.FALSE);
             
-            extractAddressingInformation(msgContext, iterator, namespace);
+            extractAddressingInformation(msgContext, headers, namespace);
             
             // check for reference parameters
             if (!disableRefparamExtract) {
@@ -173,80 +207,100 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
         return InvocationResponse.CONTINUE;
     }
 
+    /**
+     * The WS-Addressing headers of one namespace, collected in a single pass over the header
+     * blocks. Only the first occurrence of each header is kept; duplicates are recorded so that
+     * an invalid cardinality fault can be raised once the valid headers have been read.
+     */
+    private static class AddressingHeaders {
+        final SOAPHeaderBlock[] blocks = new SOAPHeaderBlock[7];
+        ArrayList relatesToHeaders;
+        // Per the SOAP Binding spec "headers with an incorrect cardinality MUST NOT be used" So
+        // this is used to keep track of invalid cardinality headers so they are not deserialised.
+        boolean[] ignoreHeaders;
+        ArrayList duplicateHeaderNames;
+
+        void add(SOAPHeaderBlock soapHeaderBlock) {
+            String localName = soapHeaderBlock.getLocalName();
+            int flag;
+            switch (localName) {
+                case WSA_ACTION: flag = ACTION_FLAG; break;
+                case WSA_TO: flag = TO_FLAG; break;
+                case WSA_MESSAGE_ID: flag = MESSAGEID_FLAG; break;
+                case WSA_REPLY_TO: flag = REPLYTO_FLAG; break;
+                case WSA_FAULT_TO: flag = FAULTO_FLAG; break;
+                case WSA_FROM: flag = FROM_FLAG; break;
+                case WSA_RELATES_TO:
+                    if (relatesToHeaders == null) {
+                        relatesToHeaders = new ArrayList(1);
+                    }
+                    relatesToHeaders.add(soapHeaderBlock);
+                    return;
+                default:
+                    return;
+            }
+            // If the header name has been seen before then add it to the list of duplicate
+            // header names and ignore it. Otherwise it is the first time we've seen the header.
+            if (blocks[flag] == null) {
+                blocks[flag] = soapHeaderBlock;
+            } else {
+                if (ignoreHeaders == null) {
+                    ignoreHeaders = new boolean[7];
+                    // Normally will not be used for more than 1 header
+                    duplicateHeaderNames = new ArrayList(1);
+                }
+                ignoreHeaders[flag] = true;
+                duplicateHeaderNames.add(HEADER_NAMES[flag]);
+            }
+
+            if (LoggingControl.debugLoggingAllowed && log.isTraceEnabled()) {
+                log.trace("AddressingHeaders.add: addressingHeaderName=" + localName
+                          + " isDuplicate=" + (blocks[flag] != soapHeaderBlock));
+            }
+        }
+
+        SOAPHeaderBlock get(int flag) {
+            return ignoreHeaders != null && ignoreHeaders[flag] ? null : blocks[flag];
+        }
+
+        boolean[] found() {
+            boolean[] found = new boolean[7];
+            for (int i = 0; i < blocks.length; i++) {
+                found[i] = blocks[i] != null;
+            }
+            return found;
+        }
+    }
+
     /**
      * Pull addressing headers out from the SOAP message.
      *
      * @param messageContext the active MessageContext
-     * @param headers an Iterator over the addressing headers targeted to me
+     * @param headers the addressing headers targeted to me
      * @param namespace the addressing namespace
      * @throws AxisFault if an error occurs
      */
-    private void extractAddressingInformation(MessageContext messageContext, Iterator headers,
-                                         String namespace)
+    private void extractAddressingInformation(MessageContext messageContext,
+                                         AddressingHeaders headers, String namespace)
             throws AxisFault {
         Options messageContextOptions = messageContext.getOptions();
 
-        ArrayList duplicateHeaderNames = new ArrayList(1); // Normally will not be used for more than 1 header
-
-        ArrayList relatesToHeaders = null;
-        SOAPHeaderBlock actionBlock = null, toBlock = null, messageIDBlock = null, replyToBlock =
-                null, faultToBlock = null, fromBlock = null;
-
-        // Per the SOAP Binding spec "headers with an incorrect cardinality MUST NOT be used" So these variables
-        // are used to keep track of invalid cardinality headers so they are not deserialised.
-        boolean[] ignoreHeaders = new boolean[7];
-        boolean[] checkedHeaderNames = new boolean[7];
+        ArrayList relatesToHeaders = headers.relatesToHeaders;
+        SOAPHeaderBlock actionBlock = headers.get(ACTION_FLAG), toBlock = headers.get(TO_FLAG),
+                messageIDBlock = headers.get(MESSAGEID_FLAG),
+                replyToBlock = headers.get(REPLYTO_FLAG), faultToBlock = headers.get(FAULTO_FLAG),
+                fromBlock = headers.get(FROM_FLAG);
+        boolean[] checkedHeaderNames = headers.found();
 
-        // First pass just check for duplicates
-        while (headers.hasNext()) {
-            SOAPHeaderBlock soapHeaderBlock = (SOAPHeaderBlock)headers.next();
-            String localName = soapHeaderBlock.getLocalName();
-            if (WSA_ACTION.equals(localName)) {
-                actionBlock = soapHeaderBlock;
-                checkDuplicateHeaders(WSA_ACTION, ACTION_FLAG,
-                                      checkedHeaderNames, ignoreHeaders,
-                                      duplicateHeaderNames);
-            } else if (WSA_TO.equals(localName)) {
-                toBlock = soapHeaderBlock;
-                checkDuplicateHeaders(WSA_TO, TO_FLAG, checkedHeaderNames, ignoreHeaders,
-                                      duplicateHeaderNames);
-            } else if (WSA_MESSAGE_ID.equals(localName)) {
-                messageIDBlock = soapHeaderBlock;
-                checkDuplicateHeaders(WSA_MESSAGE_ID, MESSAGEID_FLAG,
-                                      checkedHeaderNames, ignoreHeaders,
-                                      duplicateHeaderNames);
-            } else if (WSA_REPLY_TO.equals(localName)) {
-                replyToBlock = soapHeaderBlock;
-                checkDuplicateHeaders(WSA_REPLY_TO, REPLYTO_FLAG,
-                                      checkedHeaderNames, ignoreHeaders,
-                                      duplicateHeaderNames);
-            } else if (WSA_FAULT_TO.equals(localName)) {
-                faultToBlock = soapHeaderBlock;
-                checkDuplicateHeaders(WSA_FAULT_TO, FAULTO_FLAG,
-                                      checkedHeaderNames, ignoreHeaders,
-                                      duplicateHeaderNames);
-            } else if (WSA_FROM.equals(localName)) {
-                fromBlock = soapHeaderBlock;
-                checkDuplicateHeaders(WSA_FROM, FROM_FLAG,
-                                      checkedHeaderNames, ignoreHeaders,
-                                      duplicateHeaderNames);
-            } else if (WSA_RELATES_TO.equals(localName)) {
-                if (relatesToHeaders == null) {
-                    relatesToHeaders = new ArrayList(1);
-                }
-                relatesToHeaders.add(soapHeaderBlock);
-            }
-        }
-
-        if (actionBlock != null && !ignoreHeaders[ACTION_FLAG]) {
+        if (actionBlock != null) {
             extractActionInformation(actionBlock, messageContext);
         }
-        if (toBlock != null && !ignoreHeaders[TO_FLAG]) {
+        if (toBlock != null) {
             extractToEPRInformation(toBlock,
                                     messageContextOptions,
                                     namespace);
         }
-        if (messageIDBlock != null && !ignoreHeaders[MESSAGEID_FLAG]) {
+        if (messageIDBlock != null) {
             extractMessageIDInformation(messageIDBlock, messageContext);
         }
         if (relatesToHeaders != null) {
@@ -255,19 +309,20 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
                                             messageContextOptions);
             }
         }
-        if (replyToBlock != null && !ignoreHeaders[REPLYTO_FLAG]) {
+        if (replyToBlock != null) {
             extractReplyToEPRInformation(replyToBlock, namespace, messageContext);
         }
-        if (faultToBlock != null && !ignoreHeaders[FAULTO_FLAG]) {
+        if (faultToBlock != null) {
             extractFaultToEPRInformation(faultToBlock, namespace, messageContext);
         }
-        if (fromBlock != null && !ignoreHeaders[FROM_FLAG]) {
+        if (fromBlock != null) {
             extractFromEPRInformation(fromBlock, namespace, messageContext);
         }
 
         // Now that all the valid wsa headers have been read, throw an exception if there was an invalid cardinality
         // This means that if for example there are multiple MessageIDs and a FaultTo, the FaultTo will be respected.
-        if (!duplicateHeaderNames.isEmpty()) {
+        ArrayList duplicateHeaderNames = headers.duplicateHeaderNames;
+        if (duplicateHeaderNames != null) {
             if (log.isDebugEnabled()) {
                 log.debug("Duplicate header names found:" + duplicateHeaderNames.get(0));
             }
@@ -354,33 +409,13 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
         }
     }
 
-    private void checkDuplicateHeaders(String addressingHeaderName, int headerFlag,
-                                       boolean[] checkedHeaderNames, boolean[] ignoreHeaders,
-                                       ArrayList duplicateHeaderNames) {//throws AxisFault {
-        // If the header name has been seen before then we should return true and add it to the list
-        // of duplicate header names. Otherwise it is the first time we've seen the header so add it
-        // to the checked liat and return false.
-        ignoreHeaders[headerFlag] = checkedHeaderNames[headerFlag];
-        if (ignoreHeaders[headerFlag]) {
-            duplicateHeaderNames.add(addressingHeaderName);
-        } else {
-            checkedHeaderNames[headerFlag] = true;
-        }
-
-        if (LoggingControl.debugLoggingAllowed && log.isTraceEnabled()) {
-            log.trace("checkDuplicateHeaders: addressingHeaderName=" + addressingHeaderName
-                      + " isDuplicate=" + ignoreHeaders[headerFlag]);
-        }
-    }
-
     private void extractRelatesToInformation(SOAPHeaderBlock soapHeaderBlock,
                                              Options messageContextOptions) {
         String address = soapHeaderBlock.getText();
 
         // Extract the RelationshipType attribute if it exists
         OMAttribute relationshipType =
-                soapHeaderBlock.getAttribute(
-                        new QName(AddressingConstants.WSA_RELATES_TO_RELATIONSHIP_TYPE));
+                soapHeaderBlock.getAttribute(RELATIONSHIP_TYPE);
 
         String relationshipTypeString =
                 relationshipType == null ? null : relationshipType.getAttributeValue();
@@ -483,8 +518,7 @@ public class AddressingInHandler extends AbstractTemplatedHandler implements Add
             Iterator headerBlocks = header.getChildElements();
             while (headerBlocks.hasNext()) {
                 OMElement headerElement = (OMElement)headerBlocks.next();
-                OMAttribute isRefParamAttr =
-                    headerElement.getAttribute(new QName(namespace, "IsReferenceParameter"));
+                OMAttribute isRefParamAttr = headerElement.getAttribute(IS_REFERENCE_PARAMETER);
                 if (LoggingControl.debugLoggingAllowed && log.isTraceEnabled()) {
                     log.trace("extractToEprReferenceParameters: Checking header: " +
                             headerElement.getQName());
@@ -62,6 +62,7 @@ public class AddressingOutHandler extends AbstractTemplatedHandler implements Ad
     //       Not clear why there is no way to automatically determine this!
     private static final String MODULE_NAME = "addressing";
 
+    private final EndpointReferenceHeaderCache eprHeaderCache = new EndpointReferenceHeaderCache();
 
     public boolean shouldInvoke(MessageContext msgContext) throws AxisFault {
         Parameter param = null;
@@ -126,14 +127,26 @@ public class AddressingOutHandler extends AbstractTemplatedHandler implements Ad
         // Allow the user to specify the role these WS-Addressing headers should be targetted at.
         String role = (String) msgContext.getProperty(SOAP_ROLE_FOR_ADDRESSING_HEADERS);
 
+        // Determine whether EPR headers may be taken from the cache. Enabled unless switched off
+        // in module.xml, axis2.xml or on the message context.
+        param = msgContext.getModuleParameter(CACHE_EPR_HEADERS, MODULE_NAME, handlerDesc);
+        boolean cacheEPRHeaders =
+            msgContext.isPropertyTrue(CACHE_EPR_HEADERS,
+                    !JavaUtils.isFalseExplicitly(Utils.getParameterValue(param)));
+
         WSAHeaderWriter writer = new WSAHeaderWriter(msgContext, isSubmissionNamespace,
                                                      addMustUnderstandAttribute, replaceHeaders,
-                                                     includeOptionalHeaders, role);
+                                                     includeOptionalHeaders, role,
+                                                     cacheEPRHeaders ? eprHeaderCache : null);
         writer.writeHeaders();
 
         return InvocationResponse.CONTINUE;
     }
 
+    EndpointReferenceHeaderCache getEPRHeaderCache() {
+        return eprHeaderCache;
+    }
+
     private class WSAHeaderWriter {
 
         private MessageContext messageContext;
@@ -149,11 +162,13 @@ public class AddressingOutHandler extends AbstractTemplatedHandler implements Ad
         private boolean addMustUnderstandAttribute;
         private boolean replaceHeaders;  // determines whether we replace the existing headers or not, if they present
         private boolean includeOptionalHeaders;
+        private EndpointReferenceHeaderCache headerCache;
 
         private ArrayList existingWSAHeaders = null;
         
         public WSAHeaderWriter(MessageContext mc, boolean isSubmissionNamespace, boolean addMU,
-                               boolean replace, boolean includeOptional, String role) {
+                               boolean replace, boolean includeOptional, String role,
+                               EndpointReferenceHeaderCache cache) {
             if (LoggingControl.debugLoggingAllowed && log.isDebugEnabled()) {
                 log.debug("WSAHeaderWriter: isFinal=" + !isSubmissionNamespace + " addMU=" + addMU +
                         " replace=" + replace + " includeOptional=" + includeOptional+" role="+role);
@@ -193,6 +208,7 @@ public class AddressingOutHandler extends AbstractTemplatedHandler implements Ad
             replaceHeaders = replace;
             includeOptionalHeaders = includeOptional;
             addressingRole = role;
+            headerCache = cache;
             
             if(!isFinalAddressingNamespace && mc.getTo() == null){
             	mc.setTo(new EndpointReference(AddressingConstants.Submission.WSA_ANONYMOUS_URL));
@@ -477,6 +493,15 @@ public class AddressingOutHandler extends AbstractTemplatedHandler implements Ad
                 }
             }
 
+            if (headerCache != null) {
+                // role and mustUnderstand are part of the cached header
+                header.addChild(headerCache.createHeaderBlock(factory, epr, headerName,
+                                                              addressingNamespaceObject,
+                                                              addressingRole,
+                                                              addMustUnderstandAttribute));
+                return;
+            }
+
             OMElement soapHeaderBlock = EndpointReferenceHelper.toOM(factory,
                                                                      epr,
                                                                      new QName(addressingNamespace,
@@ -617,6 +642,9 @@ public class AddressingOutHandler extends AbstractTemplatedHandler implements Ad
 
                 for (int i = 0, size = headers.size(); i < size; i++) {
                     SOAPHeaderBlock soapHeaderBlock = (SOAPHeaderBlock)headers.get(i);
+                    if (EndpointReferenceHeaderCache.isCachedHeader(soapHeaderBlock)) {
+                        continue; // already flagged, and setting it again would expand it
+                    }
                     soapHeaderBlock.setMustUnderstand(true);
                     if (LoggingControl.debugLoggingAllowed && log.isTraceEnabled()) {
                         log.trace(
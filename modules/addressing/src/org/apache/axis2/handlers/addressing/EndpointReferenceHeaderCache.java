@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.handlers.addressing;
+
+import org.apache.axiom.om.OMDataSource;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.ds.AbstractPushOMDataSource;
+import org.apache.axiom.soap.SOAPFactory;
+import org.apache.axiom.soap.SOAPHeaderBlock;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.addressing.EndpointReference;
+import org.apache.axis2.addressing.EndpointReferenceHelper;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of pre-built EPR headers (wsa:ReplyTo, wsa:FaultTo and wsa:From) used by
+ * {@link AddressingOutHandler}.
+ * <p/>
+ * Building an EPR header imports the address, metadata, reference parameters and extension
+ * elements of the {@link EndpointReference} into a new OM tree for every outgoing message, although
+ * most endpoints send the same EPRs over and over. The cache builds that tree once, with the role
+ * and mustUnderstand attribute already applied, and adds it to each message as an
+ * {@link OMDataSource} backed header block that simply replays the template when the message is
+ * serialized. The header is only expanded if some later handler actually looks into it.
+ * <p/>
+ * Only EPRs that consist of an address are cached, keyed by value. Reference parameters, metadata
+ * and extension elements are mutable OM trees that can be replaced or edited in place without any
+ * trace on the EPR, so EPRs that carry them are built for every message. The cache is simply
+ * cleared when it fills up.
+ */
+class EndpointReferenceHeaderCache {
+
+    /** Default maximum number of cached headers. */
+    static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final ConcurrentHashMap<Key, Fragment> fragments = new ConcurrentHashMap<Key, Fragment>();
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    EndpointReferenceHeaderCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    EndpointReferenceHeaderCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Creates a header block for an EPR. The returned block is not yet attached to the header. It
+     * is taken from the cache if the EPR consists of an address only.
+     *
+     * @param factory        the factory of the envelope the header is added to
+     * @param epr            the EPR
+     * @param headerName     the local name of the header
+     * @param namespace      the addressing namespace declared on the SOAP header
+     * @param role           the role to target, or null
+     * @param mustUnderstand whether the header is flagged mustUnderstand
+     * @return the header block
+     * @throws AxisFault if the EPR can't be converted to OM
+     */
+    SOAPHeaderBlock createHeaderBlock(SOAPFactory factory, EndpointReference epr,
+                                      String headerName, OMNamespace namespace, String role,
+                                      boolean mustUnderstand) throws AxisFault {
+        if (!isAddressOnly(epr)) {
+            return createTemplate(factory, epr, headerName, namespace, role, mustUnderstand);
+        }
+        Key key = new Key(factory, epr.getAddress(), headerName, namespace, role, mustUnderstand);
+
+        Fragment fragment = fragments.get(key);
+        if (fragment != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            fragment = new Fragment(createTemplate(factory, epr, headerName, namespace, role,
+                                                   mustUnderstand));
+            if (maxEntries > 0) {
+                if (fragments.size() >= maxEntries) {
+                    fragments.clear();
+                }
+                fragments.put(key, fragment);
+            }
+        }
+        return factory.createSOAPHeaderBlock(headerName, namespace, fragment);
+    }
+
+    /**
+     * Returns whether a header block was created by this class and has not been expanded. Such
+     * headers already carry their role and mustUnderstand attribute.
+     */
+    static boolean isCachedHeader(SOAPHeaderBlock headerBlock) {
+        return headerBlock instanceof OMSourcedElement
+                && !((OMSourcedElement)headerBlock).isExpanded()
+                && ((OMSourcedElement)headerBlock).getDataSource() instanceof Fragment;
+    }
+
+    void clear() {
+        fragments.clear();
+    }
+
+    int size() {
+        return fragments.size();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    private static SOAPHeaderBlock createTemplate(SOAPFactory factory, EndpointReference epr,
+                                                  String headerName, OMNamespace namespace,
+                                                  String role, boolean mustUnderstand)
+            throws AxisFault {
+        OMElement element = EndpointReferenceHelper.toOM(factory, epr,
+                new QName(namespace.getNamespaceURI(), headerName, namespace.getPrefix()),
+                namespace.getNamespaceURI());
+        SOAPHeaderBlock template = (SOAPHeaderBlock)element;
+        if (role != null && role.length() != 0) {
+            template.setRole(role);
+        }
+        if (mustUnderstand) {
+            template.setMustUnderstand(true);
+        }
+        return template;
+    }
+
+    private static boolean isAddressOnly(EndpointReference epr) {
+        return epr.getAllReferenceParameters() == null
+                && epr.getMetaData() == null
+                && isEmpty(epr.getAddressAttributes())
+                && isEmpty(epr.getMetadataAttributes())
+                && isEmpty(epr.getAttributes())
+                && isEmpty(epr.getExtensibleElements());
+    }
+
+    private static boolean isEmpty(Collection<?> collection) {
+        return collection == null || collection.isEmpty();
+    }
+
+    /**
+     * Data source of the cached header blocks. It writes the template, which is fully built and
+     * never modified, so it can be shared by any number of messages and threads.
+     */
+    private static final class Fragment extends AbstractPushOMDataSource {
+        private final SOAPHeaderBlock template;
+
+        Fragment(SOAPHeaderBlock template) {
+            this.template = template;
+        }
+
+        public boolean isDestructiveWrite() {
+            return false;
+        }
+
+        public void serialize(XMLStreamWriter writer) throws XMLStreamException {
+            template.serialize(writer);
+        }
+    }
+
+    /** Cache key of an address only EPR header. */
+    private static final class Key {
+        private final SOAPFactory factory;
+        private final String address;
+        private final String headerName;
+        private final String namespaceURI;
+        private final String prefix;
+        private final String role;
+        private final boolean mustUnderstand;
+        private final int hashCode;
+
+        Key(SOAPFactory factory, String address, String headerName, OMNamespace namespace,
+            String role, boolean mustUnderstand) {
+            this.factory = factory;
+            this.address = address;
+            this.headerName = headerName;
+            this.namespaceURI = namespace.getNamespaceURI();
+            this.prefix = namespace.getPrefix();
+            this.role = role;
+            this.mustUnderstand = mustUnderstand;
+            int hash = System.identityHashCode(factory);
+            hash = 31 * hash + (address == null ? 0 : address.hashCode());
+            hash = 31 * hash + headerName.hashCode();
+            hash = 31 * hash + namespaceURI.hashCode();
+            hash = 31 * hash + (role == null ? 0 : role.hashCode());
+            this.hashCode = mustUnderstand ? ~hash : hash;
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return hashCode == other.hashCode && factory == other.factory
+                    && mustUnderstand == other.mustUnderstand
+                    && equal(address, other.address) && headerName.equals(other.headerName)
+                    && namespaceURI.equals(other.namespaceURI) && equal(prefix, other.prefix)
+                    && equal(role, other.role);
+        }
+
+        private static boolean equal(String s1, String s2) {
+            return s1 == null ? s2 == null : s1.equals(s2);
+        }
+    }
+}
@@ -628,4 +628,82 @@ public class AddressingOutHandlerTest extends XMLTestCase implements AddressingC
                 .getOMBuilder("addressingEnabledTest.xml")
                 .getDocumentElement().toString());   
     }
+
+    private String sendWithReplyTo(EndpointReference replyTo, Boolean cacheEPRHeaders)
+            throws Exception {
+        ConfigurationContext cfgCtx =
+                ConfigurationContextFactory.createEmptyConfigurationContext();
+        msgCtxt = cfgCtx.createMessageContext();
+        msgCtxt.setEnvelope(OMAbstractFactory.getSOAP11Factory().getDefaultEnvelope());
+        msgCtxt.setProperty(AddressingConstants.ADD_MUST_UNDERSTAND_TO_ADDRESSING_HEADERS,
+                            Boolean.TRUE);
+        msgCtxt.setProperty(AddressingConstants.SOAP_ROLE_FOR_ADDRESSING_HEADERS,
+                            "urn:test:role");
+        msgCtxt.setProperty(AddressingConstants.CACHE_EPR_HEADERS, cacheEPRHeaders);
+        msgCtxt.setTo(new EndpointReference("http://www.to.org/service/"));
+        msgCtxt.setReplyTo(replyTo);
+        msgCtxt.setWSAAction("http://www.actions.org/action");
+        msgCtxt.setMessageID("123456-7890");
+        outHandler.invoke(msgCtxt);
+        return msgCtxt.getEnvelope().toString();
+    }
+
+    public void testEPRHeaderCache() throws Exception {
+        EndpointReference replyTo = new EndpointReference("http://www.replyTo.org/service/");
+        replyTo.addReferenceParameter(new QName("http://reference.org", "Reference1", "myRef"),
+                                      "Value 100");
+        String expected = sendWithReplyTo(replyTo, Boolean.FALSE);
+        assertEquals(0, outHandler.getEPRHeaderCache().size());
+
+        // An EPR with reference parameters is built for every message
+        XMLUnit.setIgnoreWhitespace(true);
+        assertXMLEqual(expected, sendWithReplyTo(replyTo, Boolean.TRUE));
+        assertXMLEqual(expected, sendWithReplyTo(replyTo, Boolean.TRUE));
+        assertEquals(0, outHandler.getEPRHeaderCache().size());
+        assertEquals(0, outHandler.getEPRHeaderCache().getMisses());
+
+        // An address only EPR is found by value
+        EndpointReference other = new EndpointReference("http://www.replyTo.org/other/");
+        expected = sendWithReplyTo(other, Boolean.FALSE);
+        assertXMLEqual(expected, sendWithReplyTo(other, Boolean.TRUE));
+        assertXMLEqual(expected, sendWithReplyTo(
+                new EndpointReference("http://www.replyTo.org/other/"), Boolean.TRUE));
+        assertEquals(1, outHandler.getEPRHeaderCache().getMisses());
+        assertEquals(1, outHandler.getEPRHeaderCache().getHits());
+    }
+
+    public void testEPRHeaderCacheWithModifiedEPR() throws Exception {
+        EndpointReference replyTo = new EndpointReference("http://www.replyTo.org/service/");
+        replyTo.addReferenceParameter(new QName("http://reference.org", "Reference1", "myRef"),
+                                      "Value 100");
+        sendWithReplyTo(replyTo, Boolean.TRUE);
+
+        replyTo.addReferenceParameter(new QName("http://reference.org", "Reference2", "myRef"),
+                                      "Value 200");
+        String expected = sendWithReplyTo(replyTo, Boolean.FALSE);
+
+        XMLUnit.setIgnoreWhitespace(true);
+        assertXMLEqual(expected, sendWithReplyTo(replyTo, Boolean.TRUE));
+        assertEquals(0, outHandler.getEPRHeaderCache().getHits());
+    }
+
+    public void testEPRHeaderCacheWithReplacedReferenceParameter() throws Exception {
+        QName reference = new QName("http://reference.org", "Reference1", "myRef");
+        EndpointReference replyTo = new EndpointReference("http://www.replyTo.org/service/");
+        replyTo.addReferenceParameter(reference, "Value 100");
+        assertTrue(sendWithReplyTo(replyTo, Boolean.TRUE).contains("Value 100"));
+
+        // Replacing the value keeps the size of the reference parameter map
+        replyTo.addReferenceParameter(reference, "Value 200");
+        String envelope = sendWithReplyTo(replyTo, Boolean.TRUE);
+        assertTrue(envelope.contains("Value 200"));
+        assertFalse(envelope.contains("Value 100"));
+
+        // Editing the value in place doesn't change the EPR at all
+        ((OMElement)replyTo.getAllReferenceParameters().get(reference)).setText("Value 300");
+        envelope = sendWithReplyTo(replyTo, Boolean.TRUE);
+        assertTrue(envelope.contains("Value 300"));
+        assertFalse(envelope.contains("Value 200"));
+        assertEquals(0, outHandler.getEPRHeaderCache().getHits());
+    }
 }
@@ -40,15 +40,67 @@ import java.util.Map;
  */
 public class DefaultStateManager implements StateManager {
 
+    /**
+     * Parameter which enables asynchronous replication. If set to <code>true</code>, update and
+     * remove commands are handed over to a {@link ReplicationPipeline} instead of being sent by
+     * the calling thread. Note that in this mode the caller doesn't wait for the other members
+     * to acknowledge the update, even if all members are to be kept in sync.
+     */
+    public static final String ASYNC_REPLICATION = "asyncReplication";
+
+    /**
+     * Parameter specifying the time, in milliseconds, for which the {@link ReplicationPipeline}
+     * collects commands before sending them. Defaults to {@link #DEFAULT_COALESCING_WINDOW}.
+     */
+    public static final String REPLICATION_COALESCING_WINDOW = "replicationCoalescingWindow";
+
+    public static final long DEFAULT_COALESCING_WINDOW = 10;
+
     private final Map<String, Parameter> parameters = new HashMap<String, Parameter>();
 
     private ChannelSender sender;
 
+    private volatile ReplicationPipeline pipeline;
+
     private final Map<String, List> excludedReplicationPatterns = new HashMap<String, List>();
 
     //TODO: Try to use an interface
     public void setSender(ChannelSender sender) {
         this.sender = sender;
+        if (pipeline != null) {
+            pipeline.stop();
+            pipeline = null;
+        }
+        Parameter asyncParam = getParameter(ASYNC_REPLICATION);
+        if (sender != null && asyncParam != null &&
+            Boolean.parseBoolean(((String) asyncParam.getValue()).trim())) {
+            long coalescingWindow = DEFAULT_COALESCING_WINDOW;
+            Parameter windowParam = getParameter(REPLICATION_COALESCING_WINDOW);
+            if (windowParam != null) {
+                coalescingWindow = Long.parseLong(((String) windowParam.getValue()).trim());
+            }
+            pipeline = new ReplicationPipeline(sender, coalescingWindow);
+            pipeline.start();
+        }
+    }
+
+    /**
+     * @return the pipeline used for asynchronous replication, or <code>null</code> if
+     *         replication is synchronous
+     */
+    public ReplicationPipeline getReplicationPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Send all pending state replication commands and stop the replication thread, if any.
+     * Replication is synchronous afterwards.
+     */
+    public void shutdown() {
+        if (pipeline != null) {
+            pipeline.stop();
+            pipeline = null;
+        }
     }
 
     public DefaultStateManager() {
@@ -60,7 +112,7 @@ public class DefaultStateManager implements StateManager {
                                                                  excludedReplicationPatterns,
                                                                  false);
         if (cmd != null) {
-            sender.sendToGroup(cmd);
+            send(context, cmd);
         }
     }
 
@@ -69,11 +121,17 @@ public class DefaultStateManager implements StateManager {
         StateClusteringCommand cmd =
                 StateClusteringCommandFactory.getUpdateCommand(context, propertyNames);
         if (cmd != null) {
-            sender.sendToGroup(cmd);
+            send(context, cmd);
         }
     }
 
     public void updateContexts(AbstractContext[] contexts) throws ClusteringFault {
+        if (pipeline != null) {
+            for (AbstractContext context : contexts) {
+                updateContext(context);
+            }
+            return;
+        }
         StateClusteringCommandCollection cmd =
                 StateClusteringCommandFactory.getCommandCollection(contexts,
                                                                    excludedReplicationPatterns);
@@ -83,12 +141,23 @@ public class DefaultStateManager implements StateManager {
     }
 
     public void replicateState(StateClusteringCommand command) throws ClusteringFault {
-        sender.sendToGroup(command);
+        send(command, command);
     }
 
     public void removeContext(AbstractContext context) throws ClusteringFault {
         StateClusteringCommand cmd = StateClusteringCommandFactory.getRemoveCommand(context);
-        sender.sendToGroup(cmd);
+        send(context, cmd);
+    }
+
+    private void send(Object key, StateClusteringCommand cmd) throws ClusteringFault {
+        ReplicationPipeline pipeline = this.pipeline;
+        if (pipeline != null) {
+            if (cmd != null) {
+                pipeline.submit(key, cmd);
+            }
+        } else {
+            sender.sendToGroup(cmd);
+        }
     }
 
     public boolean isContextClusterable(AbstractContext context) {
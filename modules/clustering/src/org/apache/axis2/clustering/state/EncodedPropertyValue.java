@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.clustering.state;
+
+import org.apache.axis2.clustering.ClusteringFault;
+
+import java.io.Serializable;
+
+/**
+ * A replicated property value that has already been encoded by {@link ReplicationEncoder}.
+ * Since the encoded form is just a byte array, the value is not serialized a second time when
+ * the command carrying it is sent to the group.
+ */
+public class EncodedPropertyValue implements Serializable {
+
+    private static final long serialVersionUID = 7125395722415839812L;
+
+    private final byte[] data;
+
+    public EncodedPropertyValue(byte[] data) {
+        this.data = data;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public Object decode() throws ClusteringFault {
+        return ReplicationEncoder.decode(data);
+    }
+
+    public String toString() {
+        return "EncodedPropertyValue[" + data.length + " bytes]";
+    }
+}
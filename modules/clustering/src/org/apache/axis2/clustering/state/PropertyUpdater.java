@@ -19,6 +19,7 @@
 
 package org.apache.axis2.clustering.state;
 
+import org.apache.axis2.clustering.ClusteringFault;
 import org.apache.axis2.context.AbstractContext;
 import org.apache.axis2.context.PropertyDifference;
 import org.apache.commons.logging.Log;
@@ -36,7 +37,7 @@ public class PropertyUpdater implements Serializable {
 
     private Map properties;
 
-    public void updateProperties(AbstractContext abstractContext) {
+    public void updateProperties(AbstractContext abstractContext) throws ClusteringFault {
         if (log.isDebugEnabled()) {
             log.debug("Updating props in " + abstractContext);
         }
@@ -48,9 +49,13 @@ public class PropertyUpdater implements Serializable {
                 if (propDiff.isRemoved()) {
                     abstractContext.removePropertyNonReplicable(key);
                 } else {  // it is updated/added
-                    abstractContext.setNonReplicableProperty(key, propDiff.getValue());
+                    Object value = propDiff.getValue();
+                    if (value instanceof EncodedPropertyValue) {
+                        value = ((EncodedPropertyValue) value).decode();
+                    }
+                    abstractContext.setNonReplicableProperty(key, value);
                     if (log.isDebugEnabled()) {
-                        log.debug("Added prop=" + key + ", value=" + propDiff.getValue() +
+                        log.debug("Added prop=" + key + ", value=" + value +
                                   " to context " + abstractContext);
                     }
                 }
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.clustering.state;
+
+import org.apache.axis2.clustering.ClusteringFault;
+import org.apache.axis2.clustering.tribes.ClassLoaderUtil;
+import org.apache.catalina.tribes.io.XByteBuffer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes replicated property values into bytes in a single pass. Strings, boxed primitives
+ * and byte arrays are written in a compact binary form; everything else is written using Java
+ * serialization. A value that can't be encoded is not serializable and hence can't be
+ * replicated, so encoding replaces the separate serializability check that used to be done
+ * before sending a command.
+ */
+public final class ReplicationEncoder {
+
+    private static final Log log = LogFactory.getLog(ReplicationEncoder.class);
+
+    static final byte TYPE_NULL = 0;
+    static final byte TYPE_STRING = 1;
+    static final byte TYPE_BOOLEAN = 2;
+    static final byte TYPE_BYTE = 3;
+    static final byte TYPE_SHORT = 4;
+    static final byte TYPE_CHARACTER = 5;
+    static final byte TYPE_INTEGER = 6;
+    static final byte TYPE_LONG = 7;
+    static final byte TYPE_FLOAT = 8;
+    static final byte TYPE_DOUBLE = 9;
+    static final byte TYPE_BYTE_ARRAY = 10;
+    static final byte TYPE_SERIALIZED = 11;
+
+    /**
+     * Serializability verdicts per class. A class that doesn't implement {@link Serializable}
+     * is never attempted, and neither is a class that has been reported as not serializable by
+     * a previous attempt.
+     */
+    private static final Map<Class<?>, Boolean> serializableClasses =
+            new ConcurrentHashMap<Class<?>, Boolean>();
+
+    private ReplicationEncoder() {
+    }
+
+    /**
+     * Encode the given value.
+     *
+     * @param value the property value; may be <code>null</code>
+     * @return the encoded value, or <code>null</code> if the value is not serializable
+     */
+    public static EncodedPropertyValue encode(Object value) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bos);
+        try {
+            if (value == null) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof String) {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                out.writeByte(TYPE_STRING);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else if (value instanceof Boolean) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(TYPE_BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Short) {
+                out.writeByte(TYPE_SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Character) {
+                out.writeByte(TYPE_CHARACTER);
+                out.writeChar((Character) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(TYPE_FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof byte[]) {
+                byte[] bytes = (byte[]) value;
+                out.writeByte(TYPE_BYTE_ARRAY);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else {
+                if (!isSerializableClass(value.getClass())) {
+                    return null;
+                }
+                out.writeByte(TYPE_SERIALIZED);
+                out.flush();
+                ObjectOutputStream oos = new ObjectOutputStream(bos);
+                oos.writeObject(value);
+                oos.close();
+            }
+            out.close();
+        } catch (NotSerializableException e) {
+            if (value.getClass().getName().equals(e.getMessage())) {
+                serializableClasses.put(value.getClass(), Boolean.FALSE);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Value of type " + value.getClass().getName() +
+                          " is not serializable", e);
+            }
+            return null;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cannot encode value of type " + value.getClass().getName(), e);
+            }
+            return null;
+        }
+        return new EncodedPropertyValue(bos.toByteArray());
+    }
+
+    /**
+     * Decode a value previously encoded using {@link #encode(Object)}.
+     *
+     * @param data the encoded value
+     * @return the decoded value
+     * @throws ClusteringFault if the data can't be decoded
+     */
+    public static Object decode(byte[] data) throws ClusteringFault {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            byte type = in.readByte();
+            switch (type) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_STRING:
+                    return new String(readBytes(in), StandardCharsets.UTF_8);
+                case TYPE_BOOLEAN:
+                    return in.readBoolean();
+                case TYPE_BYTE:
+                    return in.readByte();
+                case TYPE_SHORT:
+                    return in.readShort();
+                case TYPE_CHARACTER:
+                    return in.readChar();
+                case TYPE_INTEGER:
+                    return in.readInt();
+                case TYPE_LONG:
+                    return in.readLong();
+                case TYPE_FLOAT:
+                    return in.readFloat();
+                case TYPE_DOUBLE:
+                    return in.readDouble();
+                case TYPE_BYTE_ARRAY:
+                    return readBytes(in);
+                case TYPE_SERIALIZED:
+                    return XByteBuffer.deserialize(data, 1, data.length - 1,
+                                                   ClassLoaderUtil.getClassLoaders());
+                default:
+                    throw new ClusteringFault("Unknown replicated property type " + type);
+            }
+        } catch (ClusteringFault e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ClusteringFault("Cannot decode replicated property value", e);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static boolean isSerializableClass(Class<?> clazz) {
+        Boolean verdict = serializableClasses.get(clazz);
+        if (verdict == null) {
+            verdict = Serializable.class.isAssignableFrom(clazz);
+            serializableClasses.put(clazz, verdict);
+        }
+        return verdict;
+    }
+}
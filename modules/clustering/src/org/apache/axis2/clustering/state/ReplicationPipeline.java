@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.clustering.state;
+
+import org.apache.axis2.clustering.ClusteringFault;
+import org.apache.axis2.clustering.state.commands.StateClusteringCommandCollection;
+import org.apache.axis2.clustering.state.commands.UpdateStateCommand;
+import org.apache.axis2.clustering.tribes.ChannelSender;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Sends state replication commands to the group from a dedicated thread, so that request
+ * threads don't block while the members acknowledge the message.
+ * <p>
+ * Commands submitted for the same context while an earlier one is still waiting to be sent are
+ * coalesced: the property differences of update commands are merged (the most recent value of
+ * each property wins), a remove command replaces any pending update, and an update is dropped
+ * if the removal of its context is already pending. Pending commands are
+ * collected for a short coalescing window and then sent together as a single
+ * {@link StateClusteringCommandCollection}.
+ * <p>
+ * Submitting a command doesn't lock anything but the entry of the pending map for the context
+ * it applies to. Since all commands are sent by the
+ * single replication thread, in submission order, over an ordered channel, the commands for a
+ * given context are applied by the other members in the order they were submitted.
+ */
+public class ReplicationPipeline implements Runnable {
+
+    private static final Log log = LogFactory.getLog(ReplicationPipeline.class);
+
+    private final ChannelSender sender;
+    private final long coalescingWindow;
+
+    /**
+     * The command waiting to be sent for each key (usually the context it applies to).
+     */
+    private final Map<Object, StateClusteringCommand> pending =
+            new ConcurrentHashMap<Object, StateClusteringCommand>();
+
+    /**
+     * The keys of the pending commands, in submission order.
+     */
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong sentBatchCount = new AtomicLong();
+
+    // Draining the queue and sending the batch must be atomic to keep batches in order
+    private final Object sendLock = new Object();
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread thread;
+
+    /**
+     * @param sender           the sender used to send the command collections to the group
+     * @param coalescingWindow the time in milliseconds for which commands are collected before
+     *                         they are sent
+     */
+    public ReplicationPipeline(ChannelSender sender, long coalescingWindow) {
+        this.sender = sender;
+        this.coalescingWindow = coalescingWindow;
+    }
+
+    public synchronized void start() {
+        if (thread == null) {
+            stopped = false;
+            running = true;
+            thread = new Thread(this, "Axis2 state replication");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stop the replication thread after sending all pending commands. Commands submitted after
+     * the pipeline has been stopped are sent in the submitting thread.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        if (thread != null) {
+            running = false;
+            thread.interrupt();
+            try {
+                thread.join(coalescingWindow + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        try {
+            flush();
+        } catch (ClusteringFault e) {
+            log.error("Could not send pending state replication commands", e);
+        }
+    }
+
+    /**
+     * Submit a command for replication.
+     *
+     * @param key     the object identifying the state the command applies to (typically the
+     *                context); a pending command with the same key is coalesced with this one
+     * @param command the command
+     * @throws ClusteringFault if the pipeline has been stopped and the command can't be sent
+     */
+    public void submit(Object key, final StateClusteringCommand command) throws ClusteringFault {
+        submittedCount.incrementAndGet();
+        final boolean[] added = new boolean[1];
+        pending.compute(key, new BiFunction<Object, StateClusteringCommand, StateClusteringCommand>() {
+            public StateClusteringCommand apply(Object key, StateClusteringCommand existing) {
+                if (existing == null) {
+                    added[0] = true;
+                    return command;
+                }
+                coalescedCount.incrementAndGet();
+                if (command instanceof UpdateStateCommand) {
+                    if (existing instanceof UpdateStateCommand) {
+                        ((UpdateStateCommand) existing).merge((UpdateStateCommand) command);
+                    }
+                    // An update of a context whose removal is pending is of no use
+                    return existing;
+                }
+                // The later command supersedes the pending one (e.g. a context that is removed
+                // needn't be updated first)
+                return command;
+            }
+        });
+        if (added[0]) {
+            queue.offer(key);
+        }
+        if (stopped) {
+            // The replication thread is gone; don't leave the command behind
+            flush();
+        }
+    }
+
+    /**
+     * Send all pending commands in the calling thread.
+     *
+     * @throws ClusteringFault if the commands can't be sent
+     */
+    public void flush() throws ClusteringFault {
+        synchronized (sendLock) {
+            List<Object> keys = new ArrayList<Object>();
+            queue.drainTo(keys);
+            send(keys);
+        }
+    }
+
+    public void run() {
+        while (running) {
+            try {
+                Object first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                if (coalescingWindow > 0) {
+                    Thread.sleep(coalescingWindow);
+                }
+                synchronized (sendLock) {
+                    List<Object> keys = new ArrayList<Object>();
+                    keys.add(first);
+                    queue.drainTo(keys);
+                    send(keys);
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    log.warn("State replication thread interrupted", e);
+                }
+            } catch (Throwable e) {
+                log.error("Could not replicate state", e);
+            }
+        }
+    }
+
+    private void send(List<Object> keys) throws ClusteringFault {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<StateClusteringCommand> commands = new ArrayList<StateClusteringCommand>(keys.size());
+        for (Object key : keys) {
+            StateClusteringCommand command = pending.remove(key);
+            if (command != null) {
+                commands.add(command);
+            }
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Replicating " + commands.size() + " state commands");
+        }
+        sender.sendToGroup(commands.size() == 1 ? commands.get(0)
+                           : new StateClusteringCommandCollection(commands));
+        sentBatchCount.incrementAndGet();
+    }
+
+    /**
+     * @return the number of commands waiting to be sent
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of commands submitted so far
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * @return the number of submitted commands that were merged into, or superseded, a pending
+     *         command
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return the number of messages sent to the group
+     */
+    public long getSentBatchCount() {
+        return sentBatchCount.get();
+    }
+}
@@ -35,8 +35,6 @@ import org.apache.axis2.deployment.DeploymentConstants;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -147,16 +145,19 @@ public final class StateClusteringCommandFactory {
                     String key = (String) o;
                     PropertyDifference diff = (PropertyDifference) diffs.get(key);
                     Object value = diff.getValue();
-                    if (isSerializable(value)) {
 
-                        // Next check whether it matches an excluded pattern
-                        if (!isExcluded(key,
-                                        context.getClass().getName(),
-                                        excludedPropertyPatterns)) {
+                    // First check whether it matches an excluded pattern, since that is
+                    // much cheaper than encoding the value
+                    if (!isExcluded(key,
+                                    context.getClass().getName(),
+                                    excludedPropertyPatterns)) {
+                        EncodedPropertyValue encodedValue = ReplicationEncoder.encode(value);
+                        if (encodedValue != null) {
                             if (log.isDebugEnabled()) {
                                 log.debug("sending property =" + key + "-" + value);
                             }
-                            updateCmd.addProperty(diff);
+                            updateCmd.addProperty(
+                                    new PropertyDifference(key, encodedValue, diff.isRemoved()));
                         }
                     }
                 }
@@ -166,14 +167,16 @@ public final class StateClusteringCommandFactory {
                 for (Iterator iter = context.getPropertyNames(); iter.hasNext();) {
                     String key = (String) iter.next();
                     Object value = context.getPropertyNonReplicable(key);
-                    if (isSerializable(value)) {
 
-                        // Next check whether it matches an excluded pattern
-                        if (!isExcluded(key, context.getClass().getName(), excludedPropertyPatterns)) {
+                    // First check whether it matches an excluded pattern
+                    if (!isExcluded(key, context.getClass().getName(), excludedPropertyPatterns)) {
+                        EncodedPropertyValue encodedValue = ReplicationEncoder.encode(value);
+                        if (encodedValue != null) {
                             if (log.isDebugEnabled()) {
                                 log.debug("sending property =" + key + "-" + value);
                             }
-                            PropertyDifference diff = new PropertyDifference(key, value, false);
+                            PropertyDifference diff =
+                                    new PropertyDifference(key, encodedValue, false);
                             updateCmd.addProperty(diff);
                         }
                     }
@@ -190,14 +193,15 @@ public final class StateClusteringCommandFactory {
             Object prop = context.getPropertyNonReplicable(key);
 
             // First check whether it is serializable
-            if (isSerializable(prop)) {
+            EncodedPropertyValue encodedValue = ReplicationEncoder.encode(prop);
+            if (encodedValue != null) {
                 if (log.isDebugEnabled()) {
                     log.debug("sending property =" + key + "-" + prop);
                 }
                 PropertyDifference diff = (PropertyDifference) diffs.get(key);
                 if (diff != null) {
-                    diff.setValue(prop);
-                    updateCmd.addProperty(diff);
+                    updateCmd.addProperty(
+                            new PropertyDifference(key, encodedValue, diff.isRemoved()));
 
                     // Remove the diff?
                     diffs.remove(key);
@@ -263,16 +267,4 @@ public final class StateClusteringCommandFactory {
         }
         return null;
     }
-
-    private static boolean isSerializable(Object obj) {
-        try {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(out);
-            oos.writeObject(obj);
-            oos.close();
-            return out.toByteArray().length > 0;
-        } catch (Exception e) {
-            return false;
-        }
-    }
 }
@@ -24,6 +24,7 @@ import org.apache.axis2.clustering.state.StateClusteringCommand;
 import org.apache.axis2.context.PropertyDifference;
 
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * 
@@ -46,4 +47,20 @@ public abstract class UpdateStateCommand extends StateClusteringCommand {
         }                                        
         propertyUpdater.addContextProperty(diff);
     }
+
+    /**
+     * Merge the property differences of another update command for the same context into this
+     * one. Differences in <code>other</code> are more recent and replace those for the same
+     * property in this command.
+     *
+     * @param other a later update command for the same context
+     */
+    public void merge(UpdateStateCommand other) {
+        Map otherProperties = other.propertyUpdater.getProperties();
+        if (otherProperties != null) {
+            for (Object diff : otherProperties.values()) {
+                addProperty((PropertyDifference) diff);
+            }
+        }
+    }
 }
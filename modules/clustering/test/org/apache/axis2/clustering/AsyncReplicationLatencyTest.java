@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.clustering;
+
+import junit.framework.TestCase;
+
+import org.apache.axiom.util.UIDGenerator;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.clustering.management.DefaultNodeManager;
+import org.apache.axis2.clustering.state.DefaultStateManager;
+import org.apache.axis2.clustering.tribes.TribesClusteringAgent;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.description.Parameter;
+import org.apache.axis2.util.Utils;
+
+/**
+ * Measures the latency that state replication adds to a request when replication is done
+ * asynchronously by the {@link org.apache.axis2.clustering.state.ReplicationPipeline}, using two
+ * Tribes members running in the same JVM. Like {@link ContextReplicationTest}, this test only
+ * runs if the run.clustering.tests system property is set.
+ */
+public class AsyncReplicationLatencyTest extends TestCase {
+
+    private static final int ITERATIONS = 1000;
+
+    private final Parameter domainParam =
+            new Parameter(ClusteringConstants.Parameters.DOMAIN,
+                          "axis2.domain." + UIDGenerator.generateUID());
+
+    private ClusteringAgent clusterManager1;
+    private DefaultStateManager ctxMan1;
+    private ConfigurationContext configurationContext1;
+
+    private ClusteringAgent clusterManager2;
+    private ConfigurationContext configurationContext2;
+
+    private boolean canRunTests;
+
+    protected void setUp() throws Exception {
+        canRunTests = !System.getProperty("run.clustering.tests", "false").equals("false");
+        if (!canRunTests) {
+            System.out.println("[WARNING] Aborting clustering tests");
+            return;
+        }
+
+        System.setProperty(ClusteringConstants.LOCAL_IP_ADDRESS, Utils.getIpAddress());
+
+        configurationContext1 = ConfigurationContextFactory.createDefaultConfigurationContext();
+        ctxMan1 = createStateManager();
+        clusterManager1 = createClusterManager(configurationContext1, ctxMan1);
+
+        configurationContext2 = ConfigurationContextFactory.createDefaultConfigurationContext();
+        clusterManager2 = createClusterManager(configurationContext2, createStateManager());
+    }
+
+    private DefaultStateManager createStateManager() throws AxisFault {
+        DefaultStateManager stateManager = new DefaultStateManager();
+        stateManager.addParameter(new Parameter(DefaultStateManager.ASYNC_REPLICATION, "true"));
+        stateManager.addParameter(
+                new Parameter(DefaultStateManager.REPLICATION_COALESCING_WINDOW, "5"));
+        return stateManager;
+    }
+
+    private ClusteringAgent createClusterManager(ConfigurationContext configCtx,
+                                                 DefaultStateManager stateManager)
+            throws AxisFault {
+        ClusteringAgent clusteringAgent = new TribesClusteringAgent();
+        configCtx.getAxisConfiguration().setClusteringAgent(clusteringAgent);
+        clusteringAgent.setNodeManager(new DefaultNodeManager());
+        clusteringAgent.setStateManager(stateManager);
+        clusteringAgent.setConfigurationContext(configCtx);
+        clusteringAgent.addParameter(domainParam);
+        clusteringAgent.init();
+        return clusteringAgent;
+    }
+
+    public void testRequestLatency() throws Exception {
+        if (!canRunTests) {
+            return;
+        }
+
+        String key = "latencyKey";
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            configurationContext1.setProperty(key, "value" + i);
+            ctxMan1.updateContext(configurationContext1);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Average updateContext latency with asynchronous replication: " +
+                           (elapsed / ITERATIONS / 1000.0) + " us");
+
+        String expected = "value" + (ITERATIONS - 1);
+        for (int i = 0; i < 100 && !expected.equals(configurationContext2.getProperty(key)); i++) {
+            Thread.sleep(100);
+        }
+        System.out.println("Replication converged after " +
+                           (System.nanoTime() - start) / 1000000 + " ms; " +
+                           ctxMan1.getReplicationPipeline().getSentBatchCount() +
+                           " messages sent for " + ITERATIONS + " updates");
+        assertEquals(expected, configurationContext2.getProperty(key));
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        if (clusterManager1 != null) {
+            clusterManager1.shutdown();
+        }
+        if (clusterManager2 != null) {
+            clusterManager2.shutdown();
+        }
+        Thread.sleep(500);
+    }
+}
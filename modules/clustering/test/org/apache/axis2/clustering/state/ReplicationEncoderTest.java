@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.clustering.state;
+
+import junit.framework.TestCase;
+import org.apache.axis2.clustering.TestDO;
+import org.apache.axis2.context.PropertyDifference;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ *
+ */
+public class ReplicationEncoderTest extends TestCase {
+
+    public void testSimpleTypes() throws Exception {
+        Object[] values = new Object[] {
+                null, "", "value \u00e9\u4e2d", Boolean.TRUE, (byte) 7, (short) -3, 'x',
+                42, Long.MAX_VALUE, 1.5f, Math.PI
+        };
+        for (Object value : values) {
+            EncodedPropertyValue encoded = ReplicationEncoder.encode(value);
+            assertNotNull(encoded);
+            assertEquals(value, encoded.decode());
+        }
+    }
+
+    public void testCompactEncoding() throws Exception {
+        assertEquals(5, ReplicationEncoder.encode(42).getData().length);
+        assertEquals(9, ReplicationEncoder.encode(42L).getData().length);
+        assertEquals(2, ReplicationEncoder.encode(Boolean.FALSE).getData().length);
+    }
+
+    public void testByteArray() throws Exception {
+        byte[] value = new byte[] { 1, 2, 3, 4 };
+        EncodedPropertyValue encoded = ReplicationEncoder.encode(value);
+        assertEquals(9, encoded.getData().length);
+        assertTrue(Arrays.equals(value, (byte[]) encoded.decode()));
+    }
+
+    public void testSerializableObject() throws Exception {
+        EncodedPropertyValue encoded = ReplicationEncoder.encode(new TestDO("name", "value"));
+        assertNotNull(encoded);
+        TestDO testDO = (TestDO) encoded.decode();
+        assertEquals("name", testDO.getName());
+        assertEquals("value", testDO.getValue());
+    }
+
+    public void testNonSerializableObject() throws Exception {
+        assertNull(ReplicationEncoder.encode(new Object()));
+        HashMap<String, Object> map = new HashMap<String, Object>();
+        map.put("key", new Object());
+        assertNull(ReplicationEncoder.encode(map));
+        // The verdict for HashMap depends on the content; it must not have been cached
+        map.put("key", "value");
+        assertNotNull(ReplicationEncoder.encode(map));
+    }
+
+    public void testPropertyUpdaterRoundTrip() throws Exception {
+        PropertyUpdater updater = new PropertyUpdater();
+        updater.setProperties(new HashMap());
+        updater.addContextProperty(new PropertyDifference("key",
+                ReplicationEncoder.encode("value"), false));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bos);
+        out.writeObject(updater);
+        out.close();
+        PropertyUpdater copy = (PropertyUpdater) new ObjectInputStream(
+                new ByteArrayInputStream(bos.toByteArray())).readObject();
+
+        PropertyDifference diff = (PropertyDifference) copy.getProperties().get("key");
+        assertEquals("value", ((EncodedPropertyValue) diff.getValue()).decode());
+    }
+}
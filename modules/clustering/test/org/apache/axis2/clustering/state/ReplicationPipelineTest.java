@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.clustering.state;
+
+import junit.framework.TestCase;
+import org.apache.axis2.clustering.ClusteringCommand;
+import org.apache.axis2.clustering.ClusteringFault;
+import org.apache.axis2.clustering.state.commands.DeleteServiceGroupStateCommand;
+import org.apache.axis2.clustering.state.commands.UpdateConfigurationStateCommand;
+import org.apache.axis2.clustering.state.commands.UpdateStateCommand;
+import org.apache.axis2.clustering.tribes.ChannelSender;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.context.PropertyDifference;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ *
+ */
+public class ReplicationPipelineTest extends TestCase {
+
+    private static class RecordingSender extends ChannelSender {
+        final List<ClusteringCommand> sent = new CopyOnWriteArrayList<ClusteringCommand>();
+
+        RecordingSender() {
+            super(null, null, true);
+        }
+
+        public void sendToGroup(ClusteringCommand msg) throws ClusteringFault {
+            sent.add(msg);
+        }
+    }
+
+    private static UpdateStateCommand update(String key, String value) {
+        UpdateStateCommand cmd = new UpdateConfigurationStateCommand();
+        cmd.addProperty(new PropertyDifference(key, ReplicationEncoder.encode(value), false));
+        return cmd;
+    }
+
+    public void testCoalescing() throws Exception {
+        RecordingSender sender = new RecordingSender();
+        ReplicationPipeline pipeline = new ReplicationPipeline(sender, 0);
+        Object context = new Object();
+        pipeline.submit(context, update("key1", "value1"));
+        pipeline.submit(context, update("key1", "value2"));
+        pipeline.submit(context, update("key2", "value3"));
+        assertEquals(1, pipeline.getPendingCount());
+        assertEquals(2, pipeline.getCoalescedCount());
+
+        pipeline.flush();
+        assertEquals(1, sender.sent.size());
+        assertEquals(0, pipeline.getPendingCount());
+
+        ConfigurationContext configCtx =
+                ConfigurationContextFactory.createDefaultConfigurationContext();
+        ((StateClusteringCommand) sender.sent.get(0)).execute(configCtx);
+        assertEquals("value2", configCtx.getPropertyNonReplicable("key1"));
+        assertEquals("value3", configCtx.getPropertyNonReplicable("key2"));
+    }
+
+    public void testBatching() throws Exception {
+        RecordingSender sender = new RecordingSender();
+        ReplicationPipeline pipeline = new ReplicationPipeline(sender, 0);
+        pipeline.submit(new Object(), update("key1", "value1"));
+        pipeline.submit(new Object(), update("key2", "value2"));
+        assertEquals(2, pipeline.getPendingCount());
+        pipeline.flush();
+        assertEquals(1, sender.sent.size());
+        assertEquals(1, pipeline.getSentBatchCount());
+    }
+
+    public void testRemoveSupersedesUpdate() throws Exception {
+        RecordingSender sender = new RecordingSender();
+        ReplicationPipeline pipeline = new ReplicationPipeline(sender, 0);
+        Object context = new Object();
+        pipeline.submit(context, update("key1", "value1"));
+        DeleteServiceGroupStateCommand delete = new DeleteServiceGroupStateCommand();
+        pipeline.submit(context, delete);
+        pipeline.flush();
+        assertEquals(1, sender.sent.size());
+        assertSame(delete, sender.sent.get(0));
+    }
+
+    public void testUpdateDoesNotReplacePendingRemove() throws Exception {
+        RecordingSender sender = new RecordingSender();
+        ReplicationPipeline pipeline = new ReplicationPipeline(sender, 0);
+        Object context = new Object();
+        DeleteServiceGroupStateCommand delete = new DeleteServiceGroupStateCommand();
+        pipeline.submit(context, delete);
+        pipeline.submit(context, update("key1", "value1"));
+        assertEquals(1, pipeline.getCoalescedCount());
+        pipeline.flush();
+        assertEquals(1, sender.sent.size());
+        assertSame(delete, sender.sent.get(0));
+    }
+
+    public void testSubmitAfterStop() throws Exception {
+        RecordingSender sender = new RecordingSender();
+        ReplicationPipeline pipeline = new ReplicationPipeline(sender, 50);
+        pipeline.start();
+        pipeline.stop();
+        pipeline.submit(new Object(), update("key1", "value1"));
+        assertEquals(0, pipeline.getPendingCount());
+        assertEquals(1, sender.sent.size());
+    }
+
+    public void testReplicationThread() throws Exception {
+        RecordingSender sender = new RecordingSender();
+        ReplicationPipeline pipeline = new ReplicationPipeline(sender, 50);
+        pipeline.start();
+        try {
+            Object context = new Object();
+            for (int i = 0; i < 10; i++) {
+                pipeline.submit(context, update("key", "value" + i));
+            }
+            for (int i = 0; i < 100 && sender.sent.isEmpty(); i++) {
+                Thread.sleep(50);
+            }
+            assertFalse(sender.sent.isEmpty());
+            assertEquals(0, pipeline.getPendingCount());
+        } finally {
+            pipeline.stop();
+        }
+    }
+}
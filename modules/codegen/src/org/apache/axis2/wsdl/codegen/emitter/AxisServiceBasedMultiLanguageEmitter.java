@@ -1126,6 +1126,27 @@ public class AxisServiceBasedMultiLanguageEmitter implements Emitter {
         }
     }
 
+    /**
+     * Checks whether the generated exception classes have a constructor with the given
+     * parameter types. The exception classes have the same constructors as the exception base
+     * class, or the default set of constructors if there is no base class (or if it can't be
+     * loaded).
+     */
+    private boolean hasExceptionConstructor(Class[] parameterTypes) {
+        String exceptionBaseClassName = codeGenConfiguration.getExceptionBaseClassName();
+        if (exceptionBaseClassName == null) {
+            return true;
+        }
+        try {
+            Class.forName(exceptionBaseClassName).getConstructor(parameterTypes);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     private String getParameterName(Type type, List existingParamNames) {
         String paramName = null;
         if (type instanceof Class) {
@@ -2977,6 +2998,15 @@ public class AxisServiceBasedMultiLanguageEmitter implements Emitter {
 
                 addAttribute(doc, "operationName", operation.getName().getLocalPart(), paramElement);
 
+                // tell the stub which constructors the exception has, so that it can create
+                // the exception directly
+                if (hasExceptionConstructor(new Class[] { String.class })) {
+                    addAttribute(doc, "messageConstructor", "yes", paramElement);
+                }
+                if (hasExceptionConstructor(new Class[0])) {
+                    addAttribute(doc, "defaultConstructor", "yes", paramElement);
+                }
+
                 Iterator iter = msg.getExtensibilityAttributes().iterator();
                 while (iter.hasNext()) {
                     // process extensibility attributes
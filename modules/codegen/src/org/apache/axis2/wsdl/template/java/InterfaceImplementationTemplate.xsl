@@ -39,6 +39,8 @@
         <xsl:variable name="isAsync"><xsl:value-of select="@isAsync"/></xsl:variable>
         <xsl:variable name="soapVersion"><xsl:value-of select="@soap-version"/></xsl:variable>
         <xsl:variable name="isbackcompatible" select="@isbackcompatible"/>
+        <!-- -Ess: parse ADB responses straight from the transport stream -->
+        <xsl:variable name="streamResponse" select="boolean(databinders[@dbtype='adb']/extra/@ss)"/>
 /**
  * <xsl:value-of select="@name"/>.java
  *
@@ -448,7 +450,15 @@
                org.apache.axis2.context.MessageContext _returnMessageContext = _operationClient.getMessageContext(
                                            org.apache.axis2.wsdl.WSDLConstants.MESSAGE_LABEL_IN_VALUE);
                 org.apache.axiom.soap.SOAPEnvelope _returnEnv = _returnMessageContext.getEnvelope();
+                <xsl:choose>
+                    <xsl:when test="$streamResponse and not($outputtype='byte' or $outputtype='char' or $outputtype='double' or $outputtype='float' or $outputtype='int' or $outputtype='long' or $outputtype='short' or $outputtype='boolean')">
+                // the body is parsed straight from the transport stream by fromOM, without building
+                // it; detachInputStream then reads the rest of the message
+                    </xsl:when>
+                    <xsl:otherwise>
                 _returnEnv.buildWithAttachments();
+                    </xsl:otherwise>
+                </xsl:choose>
 
                 <!-- todo need to change this to cater for unwrapped messages (multiple parts) -->
                 <xsl:choose>
@@ -512,46 +522,15 @@
 
             org.apache.axiom.om.OMElement faultElt = f.getDetail();
             if (faultElt!=null){
-                if (faultExceptionNameMap.containsKey(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"))){
-                    //make the fault by reflection
-                    try{
-                        java.lang.String exceptionClassName = faultExceptionClassNameMap.get(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"));
-                        java.lang.Class exceptionClass = java.lang.Class.forName(exceptionClassName);
-                        java.lang.reflect.Constructor constructor = exceptionClass.getConstructor(java.lang.String.class);
-                        java.lang.Exception ex = (java.lang.Exception) constructor.newInstance(f.getMessage());
-                        //message class
-                        java.lang.String messageClassName = faultMessageMap.get(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"));
-                        java.lang.Class messageClass = java.lang.Class.forName(messageClassName);
-                        java.lang.Object messageObject = fromOM(faultElt,messageClass);
-                        java.lang.reflect.Method m = exceptionClass.getMethod("setFaultMessage",
-                                   new java.lang.Class[]{messageClass});
-                        m.invoke(ex,new java.lang.Object[]{messageObject});
-                        <xsl:for-each select="fault/param">
-                        if (ex instanceof <xsl:value-of select="@name"/>){
-                          throw (<xsl:value-of select="@name"/>)ex;
-                        }
-                        </xsl:for-each>
-
-                        throw new java.rmi.RemoteException(ex.getMessage(), ex);
-                    }catch(java.lang.ClassCastException e){
-                       // we cannot intantiate the class - throw the original Axis fault
-                        throw f;
-                    } catch (java.lang.ClassNotFoundException e) {
-                        // we cannot intantiate the class - throw the original Axis fault
-                        throw f;
-                    }catch (java.lang.NoSuchMethodException e) {
-                        // we cannot intantiate the class - throw the original Axis fault
-                        throw f;
-                    } catch (java.lang.reflect.InvocationTargetException e) {
-                        // we cannot intantiate the class - throw the original Axis fault
-                        throw f;
-                    }  catch (java.lang.IllegalAccessException e) {
-                        // we cannot intantiate the class - throw the original Axis fault
-                        throw f;
-                    }   catch (java.lang.InstantiationException e) {
-                        // we cannot intantiate the class - throw the original Axis fault
-                        throw f;
+                java.lang.Exception ex = create<xsl:value-of select="@name"/>Fault(f, faultElt);
+                if (ex != null){
+                    <xsl:for-each select="fault/param">
+                    if (ex instanceof <xsl:value-of select="@name"/>){
+                      throw (<xsl:value-of select="@name"/>)ex;
                     }
+                    </xsl:for-each>
+
+                    throw new java.rmi.RemoteException(ex.getMessage(), ex);
                 }else{
                     throw f;
                 }
@@ -782,53 +761,24 @@
 									org.apache.axis2.AxisFault f = (org.apache.axis2.AxisFault) error;
 									org.apache.axiom.om.OMElement faultElt = f.getDetail();
 									if (faultElt!=null){
-										if (faultExceptionNameMap.containsKey(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"))){
-											//make the fault by reflection
-											try{
-													java.lang.String exceptionClassName = faultExceptionClassNameMap.get(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"));
-													java.lang.Class exceptionClass = java.lang.Class.forName(exceptionClassName);
-													java.lang.reflect.Constructor constructor = exceptionClass.getConstructor(java.lang.String.class);
-                                                    java.lang.Exception ex = (java.lang.Exception) constructor.newInstance(f.getMessage());
-													//message class
-													java.lang.String messageClassName = faultMessageMap.get(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"));
-														java.lang.Class messageClass = java.lang.Class.forName(messageClassName);
-													java.lang.Object messageObject = fromOM(faultElt,messageClass);
-													java.lang.reflect.Method m = exceptionClass.getMethod("setFaultMessage",
-															new java.lang.Class[]{messageClass});
-													m.invoke(ex,new java.lang.Object[]{messageObject});
-													<xsl:for-each select="fault/param">
-													if (ex instanceof <xsl:value-of select="@name"/>){
-														callback.receiveError<xsl:value-of select="$method-name"/>((<xsl:value-of select="@name"/>)ex);
-											            return;
-										            }
-										            </xsl:for-each>
-					
-										            callback.receiveError<xsl:value-of select="@name"/>(new java.rmi.RemoteException(ex.getMessage(), ex));
-                                            } catch(java.lang.ClassCastException e){
-                                                // we cannot intantiate the class - throw the original Axis fault
-                                                callback.receiveError<xsl:value-of select="@name"/>(f);
-                                            } catch (java.lang.ClassNotFoundException e) {
-                                                // we cannot intantiate the class - throw the original Axis fault
-                                                callback.receiveError<xsl:value-of select="@name"/>(f);
-                                            } catch (java.lang.NoSuchMethodException e) {
-                                                // we cannot intantiate the class - throw the original Axis fault
-                                                callback.receiveError<xsl:value-of select="@name"/>(f);
-                                            } catch (java.lang.reflect.InvocationTargetException e) {
-                                                // we cannot intantiate the class - throw the original Axis fault
-                                                callback.receiveError<xsl:value-of select="@name"/>(f);
-                                            } catch (java.lang.IllegalAccessException e) {
-                                                // we cannot intantiate the class - throw the original Axis fault
-                                                callback.receiveError<xsl:value-of select="@name"/>(f);
-                                            } catch (java.lang.InstantiationException e) {
-                                                // we cannot intantiate the class - throw the original Axis fault
-                                                callback.receiveError<xsl:value-of select="@name"/>(f);
-                                            } catch (org.apache.axis2.AxisFault e) {
-                                                // we cannot intantiate the class - throw the original Axis fault
-                                                callback.receiveError<xsl:value-of select="@name"/>(f);
-                                            }
-									    } else {
-										    callback.receiveError<xsl:value-of select="@name"/>(f);
-									    }
+										try{
+											java.lang.Exception ex = create<xsl:value-of select="@name"/>Fault(f, faultElt);
+											if (ex != null){
+												<xsl:for-each select="fault/param">
+												if (ex instanceof <xsl:value-of select="@name"/>){
+													callback.receiveError<xsl:value-of select="$method-name"/>((<xsl:value-of select="@name"/>)ex);
+													return;
+												}
+												</xsl:for-each>
+
+												callback.receiveError<xsl:value-of select="@name"/>(new java.rmi.RemoteException(ex.getMessage(), ex));
+											} else {
+												callback.receiveError<xsl:value-of select="@name"/>(f);
+											}
+										} catch (org.apache.axis2.AxisFault e) {
+											// we cannot create the fault message - throw the original Axis fault
+											callback.receiveError<xsl:value-of select="@name"/>(f);
+										}
 									} else {
 									    callback.receiveError<xsl:value-of select="@name"/>(f);
 									}
@@ -1041,46 +991,15 @@
                }catch(org.apache.axis2.AxisFault f){
                   org.apache.axiom.om.OMElement faultElt = f.getDetail();
                   if (faultElt!=null){
-                      if (faultExceptionNameMap.containsKey(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"))){
-                          //make the fault by reflection
-                          try{
-                              java.lang.String exceptionClassName = faultExceptionClassNameMap.get(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"));
-                              java.lang.Class exceptionClass = java.lang.Class.forName(exceptionClassName);
-                              java.lang.Exception ex=
-                                      (java.lang.Exception) exceptionClass.newInstance();
-                              //message class
-                              java.lang.String messageClassName = faultMessageMap.get(new org.apache.axis2.client.FaultMapKey(faultElt.getQName(),"<xsl:value-of select="@originalName"/>"));
-                              java.lang.Class messageClass = java.lang.Class.forName(messageClassName);
-                              java.lang.Object messageObject = fromOM(faultElt,messageClass);
-                              java.lang.reflect.Method m = exceptionClass.getMethod("setFaultMessage",
-                                         new java.lang.Class[]{messageClass});
-                              m.invoke(ex,new java.lang.Object[]{messageObject});
-                              <xsl:for-each select="fault/param">
-                              if (ex instanceof <xsl:value-of select="@name"/>){
-                                throw (<xsl:value-of select="@name"/>)ex;
-                              }
-                              </xsl:for-each>
-
-                              throw new java.rmi.RemoteException(ex.getMessage(), ex);
-                          }catch(java.lang.ClassCastException e){
-                             // we cannot intantiate the class - throw the original Axis fault
-                              throw f;
-                          } catch (java.lang.ClassNotFoundException e) {
-                              // we cannot intantiate the class - throw the original Axis fault
-                              throw f;
-                          }catch (java.lang.NoSuchMethodException e) {
-                              // we cannot intantiate the class - throw the original Axis fault
-                              throw f;
-                          } catch (java.lang.reflect.InvocationTargetException e) {
-                              // we cannot intantiate the class - throw the original Axis fault
-                              throw f;
-                          }  catch (java.lang.IllegalAccessException e) {
-                              // we cannot intantiate the class - throw the original Axis fault
-                              throw f;
-                          }   catch (java.lang.InstantiationException e) {
-                              // we cannot intantiate the class - throw the original Axis fault
-                              throw f;
+                      java.lang.Exception ex = create<xsl:value-of select="@name"/>Fault(f, faultElt);
+                      if (ex != null){
+                          <xsl:for-each select="fault/param">
+                          if (ex instanceof <xsl:value-of select="@name"/>){
+                            throw (<xsl:value-of select="@name"/>)ex;
                           }
+                          </xsl:for-each>
+
+                          throw new java.rmi.RemoteException(ex.getMessage(), ex);
                       }else{
                           throw f;
                       }
@@ -1101,6 +1020,39 @@
              return;
            }
             </xsl:if>
+
+            <xsl:if test="fault/param and ($mep='11' or $mep='12')">
+            /**
+             * Creates the exception for a fault of the <xsl:value-of select="@name"/> operation.
+             * Returns null if the fault is not declared by the operation or if the
+             * exception can't be created, in which case the AxisFault should be thrown as is.
+             */
+            private java.lang.Exception create<xsl:value-of select="@name"/>Fault(org.apache.axis2.AxisFault f,
+                    org.apache.axiom.om.OMElement faultElt) throws org.apache.axis2.AxisFault {
+                javax.xml.namespace.QName faultName = faultElt.getQName();
+                <xsl:for-each select="fault/param">
+                if ("<xsl:value-of select="@localname"/>".equals(faultName.getLocalPart())
+                        &amp;&amp; "<xsl:value-of select="@namespace"/>".equals(faultName.getNamespaceURI())){
+                    <xsl:choose>
+                        <xsl:when test="@type!='' and (($mep='11' and @defaultConstructor='yes') or ($mep!='11' and @messageConstructor='yes'))">
+                    try{
+                        <xsl:value-of select="@name"/> ex = new <xsl:value-of select="@name"/>(<xsl:if test="$mep!='11'">f.getMessage()</xsl:if>);
+                        ex.setFaultMessage((<xsl:value-of select="@type"/>)fromOM(faultElt, <xsl:value-of select="@type"/>.class));
+                        return ex;
+                    }catch(java.lang.ClassCastException e){
+                        return null;
+                    }
+                        </xsl:when>
+                        <xsl:otherwise>
+                    // the exception can't be created without reflection
+                    return null;
+                        </xsl:otherwise>
+                    </xsl:choose>
+                }
+                </xsl:for-each>
+                return null;
+            }
+            </xsl:if>
           </xsl:if>
         </xsl:for-each>
 
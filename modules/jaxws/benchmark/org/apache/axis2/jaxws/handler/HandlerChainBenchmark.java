@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.handler;
+
+import org.apache.axis2.jaxws.core.MessageContext;
+import org.apache.axis2.jaxws.description.DescriptionFactory;
+import org.apache.axis2.jaxws.description.EndpointDescription;
+import org.apache.axis2.jaxws.description.ServiceDescription;
+
+import jakarta.jws.HandlerChain;
+import jakarta.jws.WebService;
+import jakarta.xml.ws.handler.Handler;
+import java.util.List;
+
+/**
+ * Measures the cost of setting up the handler chain of an endpoint with 4 SOAP handlers for
+ * each request, with and without handler pooling.
+ */
+public class HandlerChainBenchmark {
+    @WebService
+    @HandlerChain(file="HandlerChainBenchmark.xml")
+    public static class BenchmarkServiceImpl {
+    }
+
+    private static long run(HandlerChainPool pool, EndpointDescription endpointDesc,
+                            int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            MessageContext request = new MessageContext();
+            request.setEndpointDescription(endpointDesc);
+            List<Handler> chain = pool.borrowHandlerChain(request);
+            HandlerChainPool.returnHandlerChain(request, chain);
+        }
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        ServiceDescription serviceDesc =
+            DescriptionFactory.createServiceDescription(BenchmarkServiceImpl.class);
+        EndpointDescription endpointDesc = serviceDesc.getEndpointDescriptions()[0];
+        HandlerChainPool perRequest = new HandlerChainPool(endpointDesc, false, 0);
+        HandlerChainPool pooled = new HandlerChainPool(endpointDesc, true,
+            HandlerChainPool.DEFAULT_POOL_SIZE);
+
+        // warm up
+        run(perRequest, endpointDesc, iterations / 10);
+        run(pooled, endpointDesc, iterations / 10);
+
+        long perRequestTime = run(perRequest, endpointDesc, iterations);
+        long pooledTime = run(pooled, endpointDesc, iterations);
+        System.out.println("Per request: " + perRequestTime / iterations + " ns/request");
+        System.out.println("Pooled:      " + pooledTime / iterations + " ns/request");
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.message.databinding;
+
+import org.apache.ws.jaxb.a.Data1;
+import org.apache.ws.jaxb.a.Data2;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of marshalling small JAXB beans from many threads, with Marshallers
+ * obtained from the JAXBUtils pool and with Marshallers created for each operation.
+ */
+public class JAXBPoolBenchmark {
+    private static final QName NAME = new QName("urn://jaxb.a", "data1");
+
+    private static long run(final JAXBContext context, final boolean pooled, int threads,
+                            final int iterations) throws Exception {
+        final JAXBElement<Data1> element = new JAXBElement<Data1>(NAME, Data1.class, createBean());
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicLong failures = new AtomicLong();
+        for (int t = 0; t < threads; t++) {
+            new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            Marshaller m = pooled ? JAXBUtils.getJAXBMarshaller(context)
+                                                  : context.createMarshaller();
+                            m.marshal(element, new StringWriter());
+                            if (pooled) {
+                                JAXBUtils.releaseJAXBMarshaller(context, m);
+                            }
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }.start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long time = System.nanoTime() - startTime;
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " threads failed");
+        }
+        return time;
+    }
+
+    private static Data1 createBean() {
+        Data1 data1 = new Data1();
+        data1.setText("Hello");
+        data1.setData2(new Data2());
+        return data1;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        JAXBContext context = JAXBContext.newInstance(Data1.class);
+
+        // warm up
+        run(context, true, threads, iterations / 10);
+        run(context, false, threads, iterations / 10);
+
+        long total = (long) threads * iterations;
+        long pooledTime = run(context, true, threads, iterations);
+        long unpooledTime = run(context, false, threads, iterations);
+        System.out.println("Pooled:   " + total * 1000000000L / pooledTime + " ops/s");
+        System.out.println("Unpooled: " + total * 1000000000L / unpooledTime + " ops/s");
+        System.out.println("Pool statistics: " + JAXBUtilsMonitor.getMarshallerPoolStatistics());
+    }
+}
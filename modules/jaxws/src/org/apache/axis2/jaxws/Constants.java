@@ -267,4 +267,146 @@ public interface Constants {
      * If this property is set, the Endpoint.publish methods will throw an UnsupportedOperationException.
      */
     public static final String  DISABLE_ENDPOINT_PUBLISH_METHODS = "jaxws.endpoint.publish.disable"; 
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.handler.instance.mode
+     * Value: String "request" or "pooled"
+     * Default: null, which is interpreted as "request"
+     * Can be set on:
+     * - Axis Configuration, which affects all jax-ws endpoints
+     * - AxisService (e.g. in services.xml), which affects only that endpoint
+     *
+     * Indicates how instances of the application handlers of a jax-ws endpoint are managed.  With
+     * "request", a new instance of each handler is created (including resource injection and
+     * @PostConstruct) for every request and destroyed (@PreDestroy) when the request completes.
+     * With "pooled", handler chains are reused across requests: each chain is only used by a single
+     * request at a time, and instances are only destroyed when the pool is full.  Handlers annotated
+     * with {@link org.apache.axis2.jaxws.handler.PerRequestHandler} are always created per request.
+     *
+     * The pooled mode should only be used if the handlers do not keep request specific state.
+     */
+    public static final String JAXWS_HANDLER_INSTANCE_MODE = "jaxws.handler.instance.mode";
+
+    public static final String JAXWS_HANDLER_INSTANCE_MODE_REQUEST = "request";
+
+    public static final String JAXWS_HANDLER_INSTANCE_MODE_POOLED = "pooled";
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.handler.pool.size
+     * Value: String representing an integer
+     * Default: 32
+     * Can be set on:
+     * - Axis Configuration, which affects all jax-ws endpoints
+     * - AxisService (e.g. in services.xml), which affects only that endpoint
+     *
+     * The maximum number of idle handler chains kept per endpoint when
+     * {@link #JAXWS_HANDLER_INSTANCE_MODE} is "pooled".
+     */
+    public static final String JAXWS_HANDLER_POOL_SIZE = "jaxws.handler.pool.size";
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.endpoint.instance.strategy
+     * Value: String "request", "singleton", "pooled" or "thread"
+     * Default: null, in which case the {@link
+     * org.apache.axis2.jaxws.server.endpoint.lifecycle.EndpointInstanceStrategy} annotation on the
+     * service implementation class is used, if present; otherwise the service implementation
+     * instance is stored on the ServiceContext, i.e. its lifetime is defined by the service scope.
+     * Can be set on:
+     * - Axis Configuration, which affects all jax-ws endpoints
+     * - AxisServiceGroup, which affects the endpoints of that service group
+     * - AxisService (e.g. in services.xml), which affects only that endpoint
+     *
+     * Selects how instances of the service implementation class of a jax-ws endpoint are managed:
+     * - "request": a new instance is created (with resource injection and @PostConstruct) for every
+     *   request
+     * - "singleton": a single instance processes all requests concurrently
+     * - "pooled": instances are taken from a pool and only used by one request at a time; instances
+     *   returned when the pool is full are destroyed (@PreDestroy)
+     * - "thread": each thread uses its own instance; a request that is still running, e.g. an
+     *   asynchronous or one-way request processed by another thread, keeps it until it completes,
+     *   and the thread uses a new instance in the meantime
+     */
+    public static final String JAXWS_ENDPOINT_INSTANCE_STRATEGY = "jaxws.endpoint.instance.strategy";
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.endpoint.instance.pool.size
+     * Value: String representing an integer
+     * Default: the value of the annotation, or 32
+     * Can be set on:
+     * - Axis Configuration, which affects all jax-ws endpoints
+     * - AxisServiceGroup, which affects the endpoints of that service group
+     * - AxisService (e.g. in services.xml), which affects only that endpoint
+     *
+     * The maximum number of idle service implementation instances kept when the instance strategy
+     * is "pooled".
+     */
+    public static final String JAXWS_ENDPOINT_INSTANCE_POOL_SIZE = "jaxws.endpoint.instance.pool.size";
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.executor.policy
+     * Value: String "elastic", "fixed", "virtual" or "caller"
+     * Default: "elastic"
+     * Can be set on:
+     * - System property, which affects the default executors of all jax-ws clients and endpoints
+     *   created by the {@link org.apache.axis2.jaxws.utility.JAXWSExecutorFactory}
+     *
+     * Selects the Executor used when the application does not provide one:
+     * - "elastic": a thread pool shared by the runtime that grows up to
+     *   {@link #JAXWS_EXECUTOR_MAX_THREADS} threads and releases idle threads; work that does not
+     *   fit in the queue runs on the calling thread
+     * - "fixed": a new pool of 3 threads for every client and every async server request (the
+     *   behavior of earlier releases)
+     * - "virtual": a new virtual thread for every task; requires a Java runtime with virtual
+     *   threads, otherwise "elastic" is used
+     * - "caller": work runs on the calling thread, e.g. async responses are delivered on the
+     *   thread that received them
+     */
+    public static final String JAXWS_EXECUTOR_POLICY = "jaxws.executor.policy";
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.executor.maxThreads
+     * Value: String representing an integer
+     * Default: 4 times the number of processors, at least 16
+     * Can be set on:
+     * - System property
+     *
+     * The maximum number of threads of the "elastic" {@link #JAXWS_EXECUTOR_POLICY}.
+     */
+    public static final String JAXWS_EXECUTOR_MAX_THREADS = "jaxws.executor.maxThreads";
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.executor.queueSize
+     * Value: String representing an integer
+     * Default: 1000
+     * Can be set on:
+     * - System property
+     *
+     * The maximum number of tasks waiting for a thread of the "elastic"
+     * {@link #JAXWS_EXECUTOR_POLICY}.
+     */
+    public static final String JAXWS_EXECUTOR_QUEUE_SIZE = "jaxws.executor.queueSize";
+
+    /**
+     * Configuration Parameter:
+     * Name: jaxws.message.lazyBlocks
+     * Value: "true" or "false"
+     * Default: "false"
+     * Can be set on:
+     * - System property
+     *
+     * By default, a Block obtained from an XMLSpine is immediately converted to its business
+     * object.  When this property is true, a Block is only converted when a consumer asks
+     * for it; an element that is still backed by the parser is streamed to a buffer, without
+     * building it, so that it can be detached from the tree.  A Block requested again with the same BlockFactory and context is reused.  The number of
+     * conversions a message underwent is available from
+     * {@link org.apache.axis2.jaxws.message.Message#getConversionStatistics()}.
+     */
+    public static final String JAXWS_LAZY_BLOCKS = "jaxws.message.lazyBlocks";
 }
@@ -26,6 +26,8 @@ import org.apache.axis2.jaxws.core.InvocationContext;
 import org.apache.axis2.jaxws.core.MessageContext;
 import org.apache.axis2.jaxws.registry.FactoryRegistry;
 import org.apache.axis2.jaxws.server.AsyncHandlerProxyFactory;
+import org.apache.axis2.jaxws.utility.JAXWSExecutorService;
+import org.apache.axis2.jaxws.utility.SingleThreadedExecutor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -193,7 +195,11 @@ public class CallbackFuture implements AxisCallback {
         }
 
         if (executor != null) {
-            if (task != null && !task.isCancelled()) {
+            if (task != null && !task.isCancelled() && isDirect(executor)) {
+                // The executor would run the task on this thread anyway; avoid the
+                // hand-over and the wait for completion below
+                task.run();
+            } else if (task != null && !task.isCancelled()) {
                 try {
                     executor.execute(task);
                 }
@@ -257,6 +263,12 @@ public class CallbackFuture implements AxisCallback {
         }
     }
 
+    private static boolean isDirect(Executor executor) {
+        return executor instanceof SingleThreadedExecutor
+                || (executor instanceof JAXWSExecutorService
+                        && ((JAXWSExecutorService) executor).isDirect());
+    }
+
     public void onMessage(org.apache.axis2.context.MessageContext msgContext) {
         onComplete(msgContext);
         
@@ -39,17 +39,71 @@ import java.security.Principal;
 public class WebServiceContextImpl implements WebServiceContext {
 
     private static final Log log = LogFactory.getLog(WebServiceContext.class);
+
+    /**
+     * Property of the request MessageContext that holds the MessageContext to bind to the
+     * invoking thread if the WebServiceContext is thread bound.
+     */
+    public static final String BOUND_MESSAGE_CONTEXT =
+            "org.apache.axis2.jaxws.context.WebServiceContextImpl.boundMessageContext";
     
     private MessageContext soapMessageContext;
 
+    /**
+     * Holds the MessageContext if this WebServiceContext is bound to threads, i.e. if it is
+     * injected into a service instance that processes several requests concurrently.  It is
+     * only set while the thread invokes the service instance; see {@link #bind(MessageContext)}.
+     */
+    private final ThreadLocal<MessageContext> threadMessageContext;
+
     public WebServiceContextImpl() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param threadBound <code>true</code> if the MessageContext should be tracked per thread;
+     *                    this is required if the WebServiceContext is shared by requests that
+     *                    are processed concurrently
+     */
+    public WebServiceContextImpl(boolean threadBound) {
         super();
+        threadMessageContext = threadBound ? new ThreadLocal<MessageContext>() : null;
+    }
+
+    public boolean isThreadBound() {
+        return threadMessageContext != null;
+    }
+
+    /**
+     * Make a MessageContext available to the current thread.  This is used by thread bound
+     * WebServiceContexts around the invocation of the service instance, on the thread that
+     * performs it; {@link #unbind()} must be called when the invocation completes.
+     * 
+     * @param soapMessageContext the MessageContext of the request being processed
+     */
+    public void bind(MessageContext soapMessageContext) {
+        threadMessageContext.set(soapMessageContext);
+    }
+
+    /**
+     * Remove the MessageContext made available to the current thread by
+     * {@link #bind(MessageContext)}.
+     */
+    public void unbind() {
+        threadMessageContext.remove();
+    }
+
+    private MessageContext currentMessageContext() {
+        return threadMessageContext != null ? threadMessageContext.get() : soapMessageContext;
     }
 
     /* (non-Javadoc)
      * @see jakarta.xml.ws.WebServiceContextgetMessageContext()
      */
     public MessageContext getMessageContext() {
+        MessageContext soapMessageContext = currentMessageContext();
         
         // Note that the MessageContext might not be set up yet, or it
         // may have been released because the lifetime of the WebServiceContext is completed.
@@ -65,6 +119,7 @@ public class WebServiceContextImpl implements WebServiceContext {
      * @see jakarta.xml.ws.WebServiceContextgetUserPrincipal()
      */
     public Principal getUserPrincipal() {
+        MessageContext soapMessageContext = currentMessageContext();
         
         // Note that the MessageContext might not be set up yet, or it
         // may have been released because the lifetime of the WebServiceContext is completed.
@@ -96,6 +151,7 @@ public class WebServiceContextImpl implements WebServiceContext {
      * @see jakarta.xml.ws.WebServiceContextisUserInRole(java.lang.String)
      */
     public boolean isUserInRole(String user) {
+        MessageContext soapMessageContext = currentMessageContext();
         
         // Note that the MessageContext might not be set up yet, or it
         // may have been released because the lifetime of the WebServiceContext is completed.
@@ -124,10 +180,18 @@ public class WebServiceContextImpl implements WebServiceContext {
     }
 
     public void setSoapMessageContext(MessageContext soapMessageContext) {
-        this.soapMessageContext = soapMessageContext;
+        if (threadMessageContext != null) {
+            // The MessageContext is bound to the thread that invokes the service instance
+            if (log.isDebugEnabled()) {
+                log.debug("Ignoring MessageContext set on a thread bound WebServiceContext");
+            }
+        } else {
+            this.soapMessageContext = soapMessageContext;
+        }
     }
 
     public <T extends EndpointReference> T getEndpointReference(Class<T> clazz, Element... referenceParameters) {
+        MessageContext soapMessageContext = currentMessageContext();
         
         // Note that the MessageContext might not be set up yet, or it
         // may have been released because the lifetime of the WebServiceContext is completed.
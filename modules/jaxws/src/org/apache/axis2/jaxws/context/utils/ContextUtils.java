@@ -36,6 +36,7 @@ import org.apache.axis2.jaxws.description.OperationDescription;
 import org.apache.axis2.jaxws.description.ServiceDescription;
 import org.apache.axis2.jaxws.description.ServiceDescriptionWSDL;
 import org.apache.axis2.jaxws.i18n.Messages;
+import org.apache.axis2.jaxws.server.endpoint.lifecycle.impl.EndpointInstancePool;
 import org.apache.axis2.jaxws.server.endpoint.lifecycle.impl.EndpointLifecycleManagerImpl;
 import org.apache.axis2.jaxws.utility.JavaUtils;
 import org.apache.axis2.kernel.http.HTTPConstants;
@@ -264,6 +265,24 @@ public class ContextUtils {
         }
     }
     
+    /**
+     * Bind the MessageContext of a request to the current thread if the request uses a
+     * thread bound WebServiceContext.
+     * @param mc
+     * @return the WebServiceContext that must be unbound when the invocation completes, or
+     *         null if there is none
+     */
+    public static WebServiceContextImpl bindWebServiceContext(MessageContext mc) {
+        Object wsc = mc == null ? null : mc.getProperty(WEBSERVICE_MESSAGE_CONTEXT);
+        if (wsc instanceof WebServiceContextImpl && ((WebServiceContextImpl) wsc).isThreadBound()) {
+            WebServiceContextImpl wsContext = (WebServiceContextImpl) wsc;
+            wsContext.bind((jakarta.xml.ws.handler.MessageContext)
+                    mc.getProperty(WebServiceContextImpl.BOUND_MESSAGE_CONTEXT));
+            return wsContext;
+        }
+        return null;
+    }
+
     /**
      * Release the contents of the WebServiceContext.
      * @param mc
@@ -285,6 +304,8 @@ public class ContextUtils {
                 log.debug("A WebServiceContext was not found");
             }
         }
+        // Give back the service implementation instance if it was taken from a pool
+        EndpointInstancePool.releaseServiceInstance(mc);
     }
     
     /**
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.handler;
+
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.description.Parameter;
+import org.apache.axis2.jaxws.Constants;
+import org.apache.axis2.jaxws.ExceptionFactory;
+import org.apache.axis2.jaxws.core.MessageContext;
+import org.apache.axis2.jaxws.description.EndpointDescription;
+import org.apache.axis2.jaxws.handler.lifecycle.factory.HandlerLifecycleManager;
+import org.apache.axis2.jaxws.handler.lifecycle.factory.HandlerLifecycleManagerFactory;
+import org.apache.axis2.jaxws.registry.FactoryRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import jakarta.xml.ws.handler.Handler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the application handler chains for a server side endpoint.  There is one instance
+ * per {@link EndpointDescription}; it is stored as a property of the endpoint description.
+ * <p>
+ * The handler classes and roles are resolved once per endpoint.  By default new handler
+ * instances are created from these classes for each request, and they are destroyed when the
+ * request completes.  If the endpoint is configured with the "pooled"
+ * {@link Constants#JAXWS_HANDLER_INSTANCE_MODE}, chains are returned to a pool at the end of a
+ * request and reused by later requests, so that the cost of instantiating the handlers, injecting
+ * resources and calling @PostConstruct is not paid on every message.  A pooled chain is only used
+ * by one request at a time.  Handlers annotated with {@link PerRequestHandler} are still
+ * created and destroyed for each request.
+ */
+public class HandlerChainPool {
+    private static final Log log = LogFactory.getLog(HandlerChainPool.class);
+
+    private static final String PROPERTY_KEY = HandlerChainPool.class.getName();
+
+    public static final int DEFAULT_POOL_SIZE = 32;
+
+    private final EndpointDescription endpointDesc;
+    private final boolean pooled;
+    private final int maxIdle;
+    private final Queue<List<Handler>> idleChains = new ConcurrentLinkedQueue<List<Handler>>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private volatile List<Class> handlerClasses;
+    private volatile List<String> roles;
+
+    /**
+     * A handler chain borrowed from a pool.
+     */
+    private static class PooledHandlerChain extends ArrayList<Handler> {
+        private static final long serialVersionUID = 1L;
+
+        final HandlerChainPool pool;
+
+        PooledHandlerChain(HandlerChainPool pool, List<Handler> handlers) {
+            super(handlers);
+            this.pool = pool;
+        }
+    }
+
+    HandlerChainPool(EndpointDescription endpointDesc, boolean pooled, int maxIdle) {
+        this.endpointDesc = endpointDesc;
+        this.pooled = pooled;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Get the handler chain pool for an endpoint, creating it if necessary.
+     * 
+     * @param endpointDesc the endpoint
+     * @return the handler chain pool
+     */
+    public static HandlerChainPool getHandlerChainPool(EndpointDescription endpointDesc) {
+        synchronized (endpointDesc) {
+            HandlerChainPool pool = (HandlerChainPool) endpointDesc.getProperty(PROPERTY_KEY);
+            if (pool == null) {
+                AxisService axisService = endpointDesc.getAxisService();
+                boolean pooled = false;
+                int maxIdle = DEFAULT_POOL_SIZE;
+                if (axisService != null) {
+                    Parameter param = axisService.getParameter(Constants.JAXWS_HANDLER_INSTANCE_MODE);
+                    if (param != null) {
+                        pooled = Constants.JAXWS_HANDLER_INSTANCE_MODE_POOLED.equals(
+                                ((String) param.getValue()).trim());
+                    }
+                    param = axisService.getParameter(Constants.JAXWS_HANDLER_POOL_SIZE);
+                    if (param != null) {
+                        maxIdle = Integer.parseInt(((String) param.getValue()).trim());
+                    }
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Creating handler chain pool for " + endpointDesc.getPortQName()
+                            + "; pooled: " + pooled + ", maximum idle chains: " + maxIdle);
+                }
+                pool = new HandlerChainPool(endpointDesc, pooled, maxIdle);
+                endpointDesc.setProperty(PROPERTY_KEY, pool);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Get a handler chain for a request.  The chain must be given back using
+     * {@link #returnHandlerChain(MessageContext, List)} when the request completes.
+     * 
+     * @param request the request message context
+     * @return the handler chain
+     */
+    public List<Handler> borrowHandlerChain(MessageContext request) {
+        if (!pooled) {
+            return createHandlerChain(request);
+        }
+        List<Handler> chain = idleChains.poll();
+        if (chain == null) {
+            // Pooled handlers outlive the request, so don't create them with its context
+            MessageContext ctx = new MessageContext();
+            ctx.setEndpointDescription(endpointDesc);
+            chain = createHandlerChain(ctx);
+        } else {
+            idleCount.decrementAndGet();
+            HandlerLifecycleManager hlm = null;
+            for (int i = 0; i < chain.size(); i++) {
+                Class handlerClass = chain.get(i).getClass();
+                if (isPerRequest(handlerClass)) {
+                    if (hlm == null) {
+                        hlm = createHandlerLifecycleManager();
+                    }
+                    try {
+                        chain.set(i, hlm.createHandlerInstance(request, handlerClass));
+                    } catch (Exception e) {
+                        throw ExceptionFactory.makeWebServiceException(e);
+                    }
+                }
+            }
+        }
+        return new PooledHandlerChain(this, chain);
+    }
+
+    /**
+     * Give back a handler chain at the end of a request.  Handlers that are not pooled are
+     * destroyed.
+     * 
+     * @param request the request message context
+     * @param handlers the handler chain; this may be a chain that has not been obtained from a
+     *                 pool
+     */
+    public static void returnHandlerChain(MessageContext request, List<Handler> handlers) {
+        if (handlers instanceof PooledHandlerChain) {
+            ((PooledHandlerChain) handlers).pool.release(request, handlers);
+        } else {
+            destroyHandlers(request, handlers);
+        }
+    }
+
+    private void release(MessageContext request, List<Handler> handlers) {
+        List<Handler> perRequestHandlers = new ArrayList<Handler>();
+        for (Handler handler : handlers) {
+            if (isPerRequest(handler.getClass())) {
+                perRequestHandlers.add(handler);
+            }
+        }
+        destroyHandlers(request, perRequestHandlers);
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idleChains.offer(new ArrayList<Handler>(handlers));
+        } else {
+            idleCount.decrementAndGet();
+            List<Handler> pooledHandlers = new ArrayList<Handler>(handlers);
+            pooledHandlers.removeAll(perRequestHandlers);
+            destroyHandlers(request, pooledHandlers);
+        }
+    }
+
+    /**
+     * Get the SOAP roles played by the handlers of the endpoint.
+     * 
+     * @return the list of roles
+     */
+    public List<String> getRoles() {
+        if (roles == null) {
+            roles = new HandlerResolverImpl(endpointDesc.getServiceDescription())
+                    .getRoles(endpointDesc.getPortInfo());
+        }
+        return roles;
+    }
+
+    /**
+     * Get the handler classes of the endpoint, in the order in which they are invoked.
+     * 
+     * @return the list of handler classes
+     */
+    List<Class> getHandlerClasses() {
+        if (handlerClasses == null) {
+            handlerClasses = new ArrayList<Class>(
+                    new HandlerResolverImpl(endpointDesc.getServiceDescription())
+                            .getHandlerClasses(endpointDesc.getPortInfo()));
+        }
+        return handlerClasses;
+    }
+
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Get the number of handler chains currently available for reuse.
+     * 
+     * @return the number of idle chains
+     */
+    public int getIdleChainCount() {
+        return idleCount.get();
+    }
+
+    private List<Handler> createHandlerChain(MessageContext ctx) {
+        List<Class> classes = getHandlerClasses();
+        List<Handler> handlers = new ArrayList<Handler>(classes.size());
+        if (classes.isEmpty()) {
+            return handlers;
+        }
+        HandlerLifecycleManager hlm = createHandlerLifecycleManager();
+        for (Class handlerClass : classes) {
+            try {
+                handlers.add(hlm.createHandlerInstance(ctx, handlerClass));
+            } catch (Exception e) {
+                throw ExceptionFactory.makeWebServiceException(e);
+            }
+        }
+        return handlers;
+    }
+
+    private static boolean isPerRequest(Class handlerClass) {
+        return handlerClass.isAnnotationPresent(PerRequestHandler.class);
+    }
+
+    private static void destroyHandlers(MessageContext request, List<Handler> handlers) {
+        if (handlers == null || handlers.isEmpty()) {
+            return;
+        }
+        HandlerLifecycleManager hlm = createHandlerLifecycleManager();
+        for (Handler handler : handlers) {
+            try {
+                hlm.destroyHandlerInstance(request, handler);
+            } catch (Exception e) {
+                throw ExceptionFactory.makeWebServiceException(e);
+            }
+        }
+    }
+
+    private static HandlerLifecycleManager createHandlerLifecycleManager() {
+        HandlerLifecycleManagerFactory elmf = (HandlerLifecycleManagerFactory)FactoryRegistry
+                .getFactory(HandlerLifecycleManagerFactory.class);
+        return elmf.createHandlerLifecycleManager();
+    }
+}
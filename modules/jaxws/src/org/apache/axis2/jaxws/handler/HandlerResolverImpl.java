@@ -136,7 +136,7 @@ public class HandlerResolverImpl extends BaseHandlerResolver {
         }
     }
 
-    private List<Class> getHandlerClasses(PortInfo portInfo) {
+    List<Class> getHandlerClasses(PortInfo portInfo) {
         List<Class> handlerClasses = geCachedResolvedHandlersClasses(portInfo);
         if (handlerClasses == null) {
             List<String> resolveRoles = new ArrayList<String>();
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.message;
+
+/**
+ * Counts the conversions a {@link Message} underwent between its representations.  The XML part of
+ * a message moves between an OM tree, a SAAJ SOAPEnvelope and an XMLSpine, and each Block moves
+ * between XML and its business object.  Every conversion costs a parse or a serialization of the
+ * content, so a message that is converted more than once in the same direction usually points to
+ * a handler or a Block consumer that could ask for the content in a different form.
+ */
+public class ConversionStatistics {
+    public enum Conversion {
+        /** OM tree converted to a SAAJ SOAPEnvelope */
+        OM_TO_SAAJ,
+        /** SAAJ SOAPEnvelope converted to an OM tree */
+        SAAJ_TO_OM,
+        /** OM tree converted to an XMLSpine */
+        OM_TO_SPINE,
+        /** XMLSpine converted to an OM tree */
+        SPINE_TO_OM,
+        /** SAAJ SOAPEnvelope converted to an XMLSpine */
+        SAAJ_TO_SPINE,
+        /** XMLSpine converted to a SAAJ SOAPEnvelope */
+        SPINE_TO_SAAJ,
+        /** Block business object created from XML */
+        BLOCK_FROM_XML,
+        /** Block business object converted back to XML */
+        BLOCK_TO_XML,
+        /** Block recreated by a different BlockFactory */
+        BLOCK_TO_BLOCK
+    }
+
+    private final int[] counts = new int[Conversion.values().length];
+
+    public void increment(Conversion conversion) {
+        counts[conversion.ordinal()]++;
+    }
+
+    /**
+     * @param conversion
+     * @return the number of times the given conversion occurred
+     */
+    public int getCount(Conversion conversion) {
+        return counts[conversion.ordinal()];
+    }
+
+    /**
+     * @return the total number of conversions
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+        for (Conversion conversion : Conversion.values()) {
+            int count = counts[conversion.ordinal()];
+            if (count > 0) {
+                if (buffer.length() > 0) {
+                    buffer.append(", ");
+                }
+                buffer.append(conversion).append('=').append(count);
+            }
+        }
+        return buffer.length() == 0 ? "none" : buffer.toString();
+    }
+}
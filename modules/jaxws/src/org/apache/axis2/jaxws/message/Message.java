@@ -165,4 +165,9 @@ public interface Message extends XMLPart {
     */
     public Object getValue(Object context, BlockFactory blockFactory)
             throws WebServiceException;
+
+    /**
+     * @return the conversions this message underwent between its representations
+     */
+    public ConversionStatistics getConversionStatistics();
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.message.databinding;
+
+/**
+ * A snapshot of the counters of one of the JAXBUtils pools.
+ * 
+ * @see JAXBUtilsMonitor#getMarshallerPoolStatistics()
+ * @see JAXBUtilsMonitor#getUnmarshallerPoolStatistics()
+ */
+public class JAXBPoolStatistics {
+    private final long hits;
+    private final long misses;
+    private final long creations;
+    private final long discards;
+    private final long evictions;
+    private final int keys;
+    private final int pooledObjects;
+
+    JAXBPoolStatistics(long hits, long misses, long creations, long discards, long evictions,
+                       int keys, int pooledObjects) {
+        this.hits = hits;
+        this.misses = misses;
+        this.creations = creations;
+        this.discards = discards;
+        this.evictions = evictions;
+        this.keys = keys;
+        this.pooledObjects = pooledObjects;
+    }
+
+    /**
+     * @return number of requests that were served from the pool
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of requests that found no object in the pool
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of objects created, including objects created while pooling is disabled
+     */
+    public long getCreations() {
+        return creations;
+    }
+
+    /**
+     * @return number of objects that were not pooled because the pool of the JAXBContext was full
+     */
+    public long getDiscards() {
+        return discards;
+    }
+
+    /**
+     * @return number of JAXBContexts whose pooled objects were removed
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return number of JAXBContexts that currently have a pool
+     */
+    public int getKeys() {
+        return keys;
+    }
+
+    /**
+     * @return number of objects currently in the pool
+     */
+    public int getPooledObjects() {
+        return pooledObjects;
+    }
+
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", creations=" + creations
+                + ", discards=" + discards + ", evictions=" + evictions + ", keys=" + keys
+                + ", pooledObjects=" + pooledObjects;
+    }
+}
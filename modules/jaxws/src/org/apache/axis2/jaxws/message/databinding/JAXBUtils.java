@@ -60,6 +60,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -662,6 +665,7 @@ public class JAXBUtils {
             if (log.isDebugEnabled()) {
                 log.debug("Unmarshaller created [no pooling]");
             }
+            upool.created();
             return internalCreateUnmarshaller(context);
         }
         Unmarshaller unm = upool.get(context);
@@ -669,6 +673,7 @@ public class JAXBUtils {
             if (log.isDebugEnabled()) {
                 log.debug("Unmarshaller created [not in pool]");
             }
+            upool.created();
             unm = internalCreateUnmarshaller(context);
         } else {
             if (log.isDebugEnabled()) {
@@ -741,6 +746,7 @@ public class JAXBUtils {
             if (log.isDebugEnabled()) {
                 log.debug("Marshaller created [no pooling]");
             }
+            mpool.created();
             m = internalCreateMarshaller(context);
         } else {
             m = mpool.get(context);
@@ -748,6 +754,7 @@ public class JAXBUtils {
                 if (log.isDebugEnabled()) {
                     log.debug("Marshaller created [not in pool]");
                 }
+                mpool.created();
                 m = internalCreateMarshaller(context);
             } else {
                 if (log.isDebugEnabled()) {
@@ -811,6 +818,7 @@ public class JAXBUtils {
                 if (log.isDebugEnabled()) {
                     log.debug("JAXBIntrospector created [not in pool]");
                 }
+                ipool.created();
                 i = internalCreateIntrospector(context);
             } else {
                 if (log.isDebugEnabled()) {
@@ -1468,36 +1476,58 @@ public class JAXBUtils {
     }
 
     /**
-     * Pool a list of items for a specific key
+     * Pool a bounded number of items for a specific key.
+     * <p>
+     * The items of a key are kept in a fixed array of slots that is only accessed with atomic
+     * operations, so that getting and putting items never blocks.  Each thread starts probing
+     * at a slot derived from its id; a thread that gives back an item usually finds it in the
+     * same slot on its next get, and concurrent threads mostly touch different slots.
+     * <p>
+     * The number of keys is bounded by MAX_LOAD_FACTOR.  When a new key exceeds the limit, the
+     * least recently used key is evicted.  Keys can also be evicted explicitly.
      *
      * @param <K> Key
      * @param <V> Pooled object
      */
     private static class Pool<K,V> {
-        private SoftReference<Map<K,List<V>>> softMap = 
-            new SoftReference<Map<K,List<V>>>(
-                    new ConcurrentHashMap<K, List<V>>());
-
-        // The maps are freed up when a LOAD FACTOR is hit
+        // Maximum number of items pooled per key
         private static int MAX_LIST_FACTOR = 50;
-        
-        // Limit the adjustSize calls
-        private int count = 0;
-        
+
+        private final ConcurrentHashMap<K, Slots<V>> map = new ConcurrentHashMap<K, Slots<V>>();
+
+        // Incremented when a key is added; used to find the least recently used key
+        private final AtomicLong clock = new AtomicLong();
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder creations = new LongAdder();
+        private final LongAdder discards = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
         /**
          * @param key
          * @return removed item from pool or null.
          */
         public V get(K key) {
-            List<V> values = getValues(key);
-            synchronized (values) {
-                if (values.size()>0) {
-                    V v = values.remove(values.size()-1);
-                    return v;
-                    
-                }
+            Slots<V> slots = map.get(key);
+            V v = null;
+            if (slots != null) {
+                slots.touch(clock.get());
+                v = slots.take();
+            }
+            if (v == null) {
+                misses.increment();
+            } else {
+                hits.increment();
             }
-            return null;
+            return v;
+        }
+
+        /**
+         * Record the creation of a new item (because the pool was empty or pooling is disabled)
+         */
+        public void created() {
+            creations.increment();
         }
 
         /**
@@ -1506,79 +1536,173 @@ public class JAXBUtils {
          * @param value
          */
         public void put(K key, V value) {
-            adjustSize();
-            List<V> values = getValues(key);
-            synchronized (values) {
-                if (values.size() < MAX_LIST_FACTOR) {
-                    values.add(value);
+            Slots<V> slots = map.get(key);
+            if (slots == null) {
+                slots = addKey(key);
+            }
+            if (!slots.offer(value)) {
+                discards.increment();
+            }
+        }
+
+        private Slots<V> addKey(K key) {
+            Slots<V> slots = new Slots<V>(MAX_LIST_FACTOR, clock.incrementAndGet());
+            Slots<V> existing = map.putIfAbsent(key, slots);
+            if (existing != null) {
+                return existing;
+            }
+            if (map.size() > MAX_LOAD_FACTOR) {
+                evictLeastRecentlyUsed(key);
+            }
+            return slots;
+        }
+
+        private void evictLeastRecentlyUsed(K newKey) {
+            Map.Entry<K, Slots<V>> lru = null;
+            for (Map.Entry<K, Slots<V>> entry : map.entrySet()) {
+                if (entry.getKey() != newKey
+                        && (lru == null || entry.getValue().lastUsed < lru.getValue().lastUsed)) {
+                    lru = entry;
                 }
             }
+            if (lru != null && map.remove(lru.getKey(), lru.getValue())) {
+                evictions.increment();
+            }
         }
 
         /**
-         * Get or create a list of the values for the key
+         * Remove all items pooled for the key
          * @param key
-         * @return list of values.
          */
-        private List<V> getValues(K key) {
-            Map<K,List<V>> map = softMap.get();
-            List<V> values = null;
-            if (map != null) {
-                values = map.get(key);
-                if(values !=null) {
-                    return values;
-                }
+        public void evict(K key) {
+            if (map.remove(key) != null) {
+                evictions.increment();
             }
-            synchronized (this) {
-                if (map != null) {
-                    values = map.get(key);
-                }
-                if (values == null) {
-                    if (map == null) {
-                        map = new ConcurrentHashMap<K, List<V>>();
-                        softMap = 
-                            new SoftReference<Map<K,List<V>>>(map);
+        }
+
+        /**
+         * Remove all items
+         */
+        public void evictAll() {
+            for (K key : map.keySet()) {
+                evict(key);
+            }
+        }
+
+        public JAXBPoolStatistics getStatistics() {
+            int pooled = 0;
+            for (Slots<V> slots : map.values()) {
+                pooled += slots.count();
+            }
+            return new JAXBPoolStatistics(hits.sum(), misses.sum(), creations.sum(),
+                    discards.sum(), evictions.sum(), map.size(), pooled);
+        }
+    }
+
+    /**
+     * The pooled items of a single key
+     */
+    private static class Slots<V> {
+        private final AtomicReferenceArray<V> slots;
+
+        // Value of the pool clock when the key was last used.  Only written when it changes,
+        // which is rare, so that the field is not contended.
+        volatile long lastUsed;
+
+        Slots(int size, long now) {
+            slots = new AtomicReferenceArray<V>(size);
+            lastUsed = now;
+        }
+
+        void touch(long now) {
+            if (lastUsed != now) {
+                lastUsed = now;
+            }
+        }
+
+        private int start() {
+            // Spread threads over different cache lines
+            return (int) ((Thread.currentThread().getId() * 8) % slots.length());
+        }
+
+        V take() {
+            int length = slots.length();
+            int index = start();
+            for (int i = 0; i < length; i++) {
+                if (slots.get(index) != null) {
+                    V v = slots.getAndSet(index, null);
+                    if (v != null) {
+                        return v;
                     }
-                    values = new ArrayList<V>();
-                    map.put(key, values);
+                }
+                if (++index == length) {
+                    index = 0;
+                }
+            }
+            return null;
+        }
 
+        boolean offer(V v) {
+            int length = slots.length();
+            int index = start();
+            for (int i = 0; i < length; i++) {
+                if (slots.get(index) == null && slots.compareAndSet(index, null, v)) {
+                    return true;
+                }
+                if (++index == length) {
+                    index = 0;
                 }
-                return values;
             }
+            return false;
         }
-        
-        /**
-         * AdjustSize
-         * When the number of keys exceeds the maximum load, half
-         * of the entries are deleted.
-         * 
-         * The assumption is that the JAXBContexts, UnMarshallers, Marshallers, etc. require
-         * a large footprint.
-         */
-        private void adjustSize() {
-            
-            // Don't check each time, map.size() can be expensive
-            count++;
-            if (count < 10) {
-                return;
-            }
-            count = 0;
-            Map<K,List<V>> map = softMap.get();
-            if (map != null && map.size() > MAX_LOAD_FACTOR) {
-                // Remove every other Entry in the map.
-                Iterator it = map.entrySet().iterator();
-                boolean removeIt = false;
-                while (it.hasNext()) {
-                    it.next();
-                    if (removeIt) {
-                        it.remove();
-                    }
-                    removeIt = !removeIt;
+
+        int count() {
+            int count = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.get(i) != null) {
+                    count++;
                 }
             }
+            return count;
         }
     }
 
+    /**
+     * @return statistics of the Marshaller pool
+     */
+    static JAXBPoolStatistics getMarshallerPoolStatistics() {
+        return mpool.getStatistics();
+    }
+
+    /**
+     * @return statistics of the Unmarshaller pool
+     */
+    static JAXBPoolStatistics getUnmarshallerPoolStatistics() {
+        return upool.getStatistics();
+    }
+
+    /**
+     * Remove the pooled Marshallers, Unmarshallers and JAXBIntrospectors of a JAXBContext.
+     * Pooled objects keep their JAXBContext reachable, so this should be called when a
+     * JAXBContext is no longer used (for example when an application is undeployed).
+     *
+     * @param context JAXBContext
+     */
+    public static void evictPooledObjects(JAXBContext context) {
+        mpool.evict(context);
+        upool.evict(context);
+        ipool.evict(context);
+    }
+
+    /**
+     * Remove all pooled Marshallers, Unmarshallers and JAXBIntrospectors
+     */
+    public static void evictAllPooledObjects() {
+        mpool.evictAll();
+        upool.evictAll();
+        ipool.evictAll();
+    }
+
     private static Annotation getAnnotation(final AnnotatedElement element, final Class annotation) {
         return (Annotation) AccessController.doPrivileged(new PrivilegedAction() {
             public Object run() {
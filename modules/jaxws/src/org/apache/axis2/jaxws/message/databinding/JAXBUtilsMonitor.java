@@ -31,9 +31,9 @@ import java.util.List;
  * that the JAXBUtils code is used and is functioning correctly.
  * In normal usage, monitoring is off.
  * 
- * Currently the JAXBUtilsMonitor keeps track of the packageKeys
- * passed to createJAXBContext(*).  Future improvements may monitor
- * the size of the pools, the pool hits versus misses, etc.
+ * The JAXBUtilsMonitor keeps track of the packageKeys
+ * passed to createJAXBContext(*).  The statistics of the Marshaller and
+ * Unmarshaller pools are always available.
  */
 public class JAXBUtilsMonitor {
     
@@ -98,5 +98,18 @@ public class JAXBUtilsMonitor {
             }
         }
     }
-  
+
+    /**
+     * @return statistics of the Marshaller pool
+     */
+    public static JAXBPoolStatistics getMarshallerPoolStatistics() {
+        return JAXBUtils.getMarshallerPoolStatistics();
+    }
+
+    /**
+     * @return statistics of the Unmarshaller pool
+     */
+    public static JAXBPoolStatistics getUnmarshallerPoolStatistics() {
+        return JAXBUtils.getUnmarshallerPoolStatistics();
+    }
 }
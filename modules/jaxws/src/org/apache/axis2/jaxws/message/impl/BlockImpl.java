@@ -31,6 +31,7 @@ import org.apache.axiom.om.util.StAXUtils;
 import org.apache.axis2.jaxws.ExceptionFactory;
 import org.apache.axis2.jaxws.i18n.Messages;
 import org.apache.axis2.jaxws.message.Block;
+import org.apache.axis2.jaxws.message.ConversionStatistics.Conversion;
 import org.apache.axis2.jaxws.message.Message;
 import org.apache.axis2.jaxws.message.factory.BlockFactory;
 import org.apache.axis2.jaxws.message.util.Reader2Writer;
@@ -151,6 +152,9 @@ public abstract class BlockImpl<T,C> extends AbstractOMDataSource implements Blo
             busObject = _getBOFromBO(busObject, busContext, consume);
         } else {
             // Transform reader into business object
+            if (omElement != null) {
+                countConversion(Conversion.BLOCK_FROM_XML);
+            }
             busObject = _getBOFromOM(omElement, busContext);
             omElement = null;
         }
@@ -178,6 +182,7 @@ public abstract class BlockImpl<T,C> extends AbstractOMDataSource implements Blo
                 if (omElement == null) {
                     try {
                         XMLStreamReader newReader = _getReaderFromBO(busObject, busContext);
+                        countConversion(Conversion.BLOCK_TO_XML);
                         busObject = null;
                         OMXMLParserWrapper builder = OMXMLBuilderFactory.createStAXOMBuilder(newReader);
                         omElement = builder.getDocumentElement();
@@ -247,6 +252,7 @@ public abstract class BlockImpl<T,C> extends AbstractOMDataSource implements Blo
             // Getting the reader does not destroy the BusinessObject
             busObject = _getBOFromBO(busObject, busContext, consume);
             newReader = _getReaderFromBO(busObject, busContext);
+            countConversion(Conversion.BLOCK_TO_XML);
         }
         setConsumed(consume);
         return newReader;
@@ -282,6 +288,7 @@ public abstract class BlockImpl<T,C> extends AbstractOMDataSource implements Blo
             // Getting the reader does not destroy the BusinessObject
             busObject = _getBOFromBO(busObject, busContext, consume);
             newOMElement = _getOMFromBO(busObject, busContext);
+            countConversion(Conversion.BLOCK_TO_XML);
         }
         setConsumed(consume);
         return newOMElement;
@@ -318,6 +325,12 @@ public abstract class BlockImpl<T,C> extends AbstractOMDataSource implements Blo
         }
     }
 
+    private void countConversion(Conversion conversion) {
+        if (parent != null) {
+            parent.getConversionStatistics().increment(conversion);
+        }
+    }
+
     @Override
     public final boolean isQNameAvailable() {
         return (qName != null);
@@ -28,6 +28,7 @@ import org.apache.axis2.jaxws.ExceptionFactory;
 import org.apache.axis2.jaxws.core.MessageContext;
 import org.apache.axis2.jaxws.i18n.Messages;
 import org.apache.axis2.jaxws.message.Block;
+import org.apache.axis2.jaxws.message.ConversionStatistics;
 import org.apache.axis2.jaxws.message.Message;
 import org.apache.axis2.jaxws.message.Protocol;
 import org.apache.axis2.jaxws.message.XMLFault;
@@ -95,6 +96,8 @@ public class MessageImpl implements Message {
     // Set after we have past the pivot point when the message is consumed
     private boolean postPivot = false;
     private boolean doingSWA = false;
+
+    private final ConversionStatistics conversionStatistics = new ConversionStatistics();
     
     /**
      * MessageImpl should be constructed via the MessageFactory.
@@ -734,11 +737,18 @@ public class MessageImpl implements Message {
     }
     
     public void close() {
+        if (log.isDebugEnabled()) {
+            log.debug("Conversions of the message: " + conversionStatistics);
+        }
         if (xmlPart != null) {
             xmlPart.close();
         }
     }
 
+    public ConversionStatistics getConversionStatistics() {
+        return conversionStatistics;
+    }
+
     public Set<QName> getHeaderQNames() {
         return (xmlPart == null) ? null : xmlPart.getHeaderQNames();     
     }
@@ -27,6 +27,7 @@ import org.apache.axiom.soap.SOAP12Constants;
 import org.apache.axis2.jaxws.ExceptionFactory;
 import org.apache.axis2.jaxws.i18n.Messages;
 import org.apache.axis2.jaxws.message.Block;
+import org.apache.axis2.jaxws.message.ConversionStatistics.Conversion;
 import org.apache.axis2.jaxws.message.Message;
 import org.apache.axis2.jaxws.message.Protocol;
 import org.apache.axis2.jaxws.message.XMLFault;
@@ -194,6 +195,12 @@ public abstract class XMLPartBase implements XMLPart {
         this.contentType = contentType;
     }
 
+    private void countConversion(Conversion conversion) {
+        if (parent != null) {
+            parent.getConversionStatistics().increment(conversion);
+        }
+    }
+
     private OMElement getContentAsOMElement() throws WebServiceException {
 
         OMElement om = null;
@@ -203,9 +210,11 @@ public abstract class XMLPartBase implements XMLPart {
                 break;
             case (SPINE):
                 om = _convertSpine2OM((XMLSpine)content);
+                countConversion(Conversion.SPINE_TO_OM);
                 break;
             case (SOAPENVELOPE):
                 om = _convertSE2OM((SOAPEnvelope)content);
+                countConversion(Conversion.SAAJ_TO_OM);
                 break;
             default:
                 throw ExceptionFactory
@@ -223,9 +232,11 @@ public abstract class XMLPartBase implements XMLPart {
                 break;
             case (SPINE):
                 se = _convertSpine2SE((XMLSpine)content);
+                countConversion(Conversion.SPINE_TO_SAAJ);
                 break;
             case (OM):
                 se = _convertOM2SE((OMElement)content);
+                countConversion(Conversion.OM_TO_SAAJ);
                 break;
             default:
                 throw ExceptionFactory
@@ -243,9 +254,11 @@ public abstract class XMLPartBase implements XMLPart {
                 break;
             case (SOAPENVELOPE):
                 spine = _convertSE2Spine((SOAPEnvelope)content);
+                countConversion(Conversion.SAAJ_TO_SPINE);
                 break;
             case (OM):
                 spine = _convertOM2Spine((OMElement)content);
+                countConversion(Conversion.OM_TO_SPINE);
                 break;
             default:
                 throw ExceptionFactory
@@ -19,10 +19,15 @@
 
 package org.apache.axis2.jaxws.message.impl;
 
+import org.apache.axiom.blob.Blobs;
+import org.apache.axiom.blob.MemoryBlob;
 import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMDataSource;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNamespace;
 import org.apache.axiom.om.OMNode;
+import org.apache.axiom.om.OMSourcedElement;
+import org.apache.axiom.om.util.StAXUtils;
 import org.apache.axiom.soap.RolePlayer;
 import org.apache.axiom.soap.SOAP11Constants;
 import org.apache.axiom.soap.SOAP12Constants;
@@ -33,9 +38,11 @@ import org.apache.axiom.soap.SOAPFault;
 import org.apache.axiom.soap.SOAPFaultDetail;
 import org.apache.axiom.soap.SOAPHeader;
 import org.apache.axiom.soap.SOAPHeaderBlock;
+import org.apache.axis2.jaxws.Constants;
 import org.apache.axis2.jaxws.ExceptionFactory;
 import org.apache.axis2.jaxws.i18n.Messages;
 import org.apache.axis2.jaxws.message.Block;
+import org.apache.axis2.jaxws.message.ConversionStatistics.Conversion;
 import org.apache.axis2.jaxws.message.Message;
 import org.apache.axis2.jaxws.message.Protocol;
 import org.apache.axis2.jaxws.message.XMLFault;
@@ -53,6 +60,8 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import jakarta.xml.ws.WebServiceException;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -74,6 +83,8 @@ class XMLSpineImpl implements XMLSpine {
     private static OMBlockFactory obf =
             (OMBlockFactory)FactoryRegistry.getFactory(OMBlockFactory.class);
 
+    private static final boolean LAZY_BLOCKS = Boolean.getBoolean(Constants.JAXWS_LAZY_BLOCKS);
+
     private Protocol protocol = Protocol.unknown;
     private Style style = Style.DOCUMENT;
     private int indirection = 0;
@@ -82,6 +93,7 @@ class XMLSpineImpl implements XMLSpine {
 
     private boolean consumed = false;
     private Message parent = null;
+    private final boolean lazyBlocks;
 
     /**
      * Create a lightweight representation of this protocol (i.e. the Envelope, Header and Body)
@@ -93,6 +105,7 @@ class XMLSpineImpl implements XMLSpine {
      */
     public XMLSpineImpl(Protocol protocol, Style style, int indirection, OMElement payload) {
         super();
+        this.lazyBlocks = LAZY_BLOCKS;
         this.protocol = protocol;
         this.style = style;
         this.indirection = indirection;
@@ -113,7 +126,23 @@ class XMLSpineImpl implements XMLSpine {
      */
     public XMLSpineImpl(SOAPEnvelope envelope, Style style, int indirection, Protocol protocol)
             throws WebServiceException {
+        this(envelope, style, indirection, protocol, LAZY_BLOCKS);
+    }
+
+    /**
+     * Create spine from an existing OM tree
+     *
+     * @param envelope
+     * @param style       Style
+     * @param indirection (0 or 1) indicates location of body blocks
+     * @param lazyBlocks  true if the conversion of blocks taken from the tree is deferred until
+     *                    their business object is requested
+     * @throws WebServiceException
+     */
+    XMLSpineImpl(SOAPEnvelope envelope, Style style, int indirection, Protocol protocol,
+                 boolean lazyBlocks) throws WebServiceException {
         super();
+        this.lazyBlocks = lazyBlocks;
         this.style = style;
         this.indirection = indirection;
         this.protocol = protocol;
@@ -568,31 +597,48 @@ class XMLSpineImpl implements XMLSpine {
                 role = ((SOAPHeaderBlock)om).getRole();
             }
             
-            /* TODO We could gain performance if OMSourcedElement exposed a getDataSource method 
-             if (om instanceof OMSourcedElementImpl &&
-             ((OMSourcedElementImpl) om).getDataSource() instanceof Block) {
-             Block oldBlock = (Block) ((OMSourcedElementImpl) om).getDataSource();
-             Block newBlock = blockFactory.createFrom(oldBlock, context);
-             newBlock.setParent(getParent());
-             if (newBlock != oldBlock) {
-             // Replace the OMElement with the OMSourcedElement that delegates to the block
-              OMSourcedElementImpl newOM = new OMSourcedElementImpl(qName, soapFactory, newBlock);
-              om.insertSiblingBefore(newOM);
-              om.detach();
-              }
-              return newBlock;
-              } 
-              */
+            Block block = null;
+            if (lazyBlocks && om instanceof OMSourcedElement) {
+                // Reuse the Block that backs the element if it was created by the same factory
+                // and context, otherwise let the factory convert it
+                OMDataSource ds = ((OMSourcedElement)om).getDataSource();
+                if (ds instanceof Block && !((Block)ds).isConsumed()) {
+                    Block oldBlock = (Block)ds;
+                    block = blockFactory.createFrom(oldBlock, context);
+                    block.setParent(getParent());
+                    if (block == oldBlock) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Reusing the block of " + qName);
+                        }
+                        return block;
+                    }
+                    if (getParent() != null) {
+                        getParent().getConversionStatistics().increment(Conversion.BLOCK_TO_BLOCK);
+                    }
+                }
+            }
 
             // Create the block
-            Block block = blockFactory.createFrom(om, context, qName);
-            block.setParent(getParent());
+            if (block == null) {
+                if (lazyBlocks && !om.isComplete() && !(om instanceof SOAPFault)) {
+                    // The element is still backed by the parser.  Stream it to a buffer without
+                    // building it, so that it can be detached from the tree and converted from
+                    // the buffer when the business object is requested.
+                    block = blockFactory.createFrom(_getBufferedReader(om), context, qName);
+                } else {
+                    block = blockFactory.createFrom(om, context, qName);
+                }
+                block.setParent(getParent());
+            }
             if (om instanceof SOAPHeaderBlock) {
                 block.setProperty(SOAPHeaderBlock.ROLE_PROPERTY, role);
             }
 
-            // Get the business object to force a parse
-            block.getBusinessObject(false);
+            // Get the business object to force a parse.  In lazy mode the conversion is deferred
+            // until the business object is requested.
+            if (!lazyBlocks || om instanceof SOAPFault) {
+                block.getBusinessObject(false);
+            }
 
             if (!(om instanceof SOAPFault)) {
                 // Replace the OMElement with the OMSourcedElement that delegates to the block. Note that
@@ -608,6 +654,24 @@ class XMLSpineImpl implements XMLSpine {
         }
     }
 
+    /**
+     * Consume an element that is still backed by the parser into a memory buffer
+     *
+     * @param om
+     * @return a reader over the buffered element
+     */
+    private static XMLStreamReader _getBufferedReader(OMElement om) throws XMLStreamException {
+        MemoryBlob blob = Blobs.createMemoryBlob();
+        OutputStream out = blob.getOutputStream();
+        try {
+            om.serializeAndConsume(out);
+            out.close();
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+        return StAXUtils.createXMLStreamReader(blob.getInputStream());
+    }
+
     private static OMElement _createOMElementFromBlock(String localName, OMNamespace ns, Block b,
                                                        SOAPFactory soapFactory, boolean isHeaderBlock) {
         if (isHeaderBlock) {
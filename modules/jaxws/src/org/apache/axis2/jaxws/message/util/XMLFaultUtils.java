@@ -38,6 +38,7 @@ import org.apache.axiom.soap.SOAPFaultSubCode;
 import org.apache.axiom.soap.SOAPFaultText;
 import org.apache.axiom.soap.SOAPFaultValue;
 import org.apache.axiom.soap.SOAPModelBuilder;
+import org.apache.axis2.jaxws.Constants;
 import org.apache.axis2.jaxws.ExceptionFactory;
 import org.apache.axis2.jaxws.message.Block;
 import org.apache.axis2.jaxws.message.Message;
@@ -69,6 +70,7 @@ import java.util.Locale;
  */
 public class XMLFaultUtils {
 
+    private static final boolean LAZY_BLOCKS = Boolean.getBoolean(Constants.JAXWS_LAZY_BLOCKS);
 
     /**
      * @param envelope jakarta.xml.soap.SOAPEnvelope
@@ -382,6 +384,13 @@ public class XMLFaultUtils {
                 Iterator it = detail.getChildElements();
                 while (it.hasNext()) {
                     OMElement om = (OMElement) it.next();
+                    // The detail is backed by the parser of the copied envelope.  Lazy blocks may
+                    // be read more than once without being converted, so build each element so
+                    // that its block holds a complete element instead of one that is consumed
+                    // by the first reader.
+                    if (LAZY_BLOCKS && !om.isComplete()) {
+                        om.build();
+                    }
                     Block b = bf.createFrom(om, null, om.getQName());
                     list.add(b);
                 }
@@ -21,8 +21,10 @@ package org.apache.axis2.jaxws.message.util.impl;
 
 import org.apache.axiom.attachments.Attachments;
 import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMDataSource;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.OMSourcedElement;
 import org.apache.axiom.om.OMXMLBuilderFactory;
 import org.apache.axiom.om.OMXMLParserWrapper;
 import org.apache.axiom.om.util.StAXUtils;
@@ -31,6 +33,7 @@ import org.apache.axiom.soap.SOAP12Constants;
 import org.apache.axiom.soap.SOAPModelBuilder;
 import org.apache.axis2.jaxws.ExceptionFactory;
 import org.apache.axis2.jaxws.i18n.Messages;
+import org.apache.axis2.jaxws.message.Block;
 import org.apache.axis2.jaxws.message.util.SAAJConverter;
 import org.apache.axis2.jaxws.utility.JavaUtils;
 import org.apache.axis2.jaxws.utility.SAAJFactory;
@@ -231,17 +234,7 @@ public class SAAJConverterImpl implements SAAJConverter {
     		log.debug("The conversion occurs due to " + JavaUtils.stackToString());
     	}
     	
-    	XMLStreamReader reader = null;
-
-        // If the OM element is not attached to a parser (builder), then the OM
-        // is built and you cannot ask for XMLStreamReaderWithoutCaching.
-        // This is probably a bug in OM.  You should be able to ask the OM whether
-        // caching is supported.
-        if (omElement.getBuilder() == null) {
-            reader = omElement.getXMLStreamReader();
-        } else {
-            reader = omElement.getXMLStreamReaderWithoutCaching();
-        }
+    	XMLStreamReader reader = getXMLStreamReader(omElement);
         SOAPElement env = parent;
         while (env != null && !(env instanceof SOAPEnvelope)) {
             env = env.getParentElement();
@@ -265,22 +258,45 @@ public class SAAJConverterImpl implements SAAJConverter {
     		log.debug("The conversion occurs due to " + JavaUtils.stackToString());
     	}
     	
-    	XMLStreamReader reader = null;
+    	XMLStreamReader reader = getXMLStreamReader(omElement);
+        NameCreator nc = new NameCreator(sf);
+        return buildSOAPTree(nc, null, parent, reader, false);
+    }
+
+
+    /**
+     * Get a reader for the OMElement that is converted to SAAJ
+     *
+     * @param omElement
+     * @return XMLStreamReader
+     */
+    private static XMLStreamReader getXMLStreamReader(OMElement omElement)
+            throws WebServiceException {
+        // An element that is still backed by an unconverted Block (see XMLSpineImpl) is read
+        // through the Block without consuming it.  Expanding the element would consume the
+        // Block and force its conversion.
+        if (omElement instanceof OMSourcedElement && !((OMSourcedElement)omElement).isExpanded()) {
+            OMDataSource ds = ((OMSourcedElement)omElement).getDataSource();
+            if (ds instanceof Block && !((Block)ds).isConsumed()) {
+                try {
+                    return ((Block)ds).getXMLStreamReader(false);
+                } catch (XMLStreamException e) {
+                    throw ExceptionFactory.makeWebServiceException(e);
+                }
+            }
+        }
 
         // If the OM element is not attached to a parser (builder), then the OM
         // is built and you cannot ask for XMLStreamReaderWithoutCaching.
         // This is probably a bug in OM.  You should be able to ask the OM whether
         // caching is supported.
         if (omElement.getBuilder() == null) {
-            reader = omElement.getXMLStreamReader();
+            return omElement.getXMLStreamReader();
         } else {
-            reader = omElement.getXMLStreamReaderWithoutCaching();
+            return omElement.getXMLStreamReaderWithoutCaching();
         }
-        NameCreator nc = new NameCreator(sf);
-        return buildSOAPTree(nc, null, parent, reader, false);
     }
 
-
     /**
      * Build SOAPTree Either the root or the parent is null. If the root is null, a new element is
      * created under the parent using information from the reader If the parent is null, the existing
@@ -36,11 +36,9 @@ import org.apache.axis2.jaxws.handler.HandlerChainProcessor;
 import org.apache.axis2.jaxws.handler.HandlerInvocationContext;
 import org.apache.axis2.jaxws.handler.HandlerInvoker;
 import org.apache.axis2.jaxws.handler.HandlerInvokerUtils;
-import org.apache.axis2.jaxws.handler.HandlerResolverImpl;
+import org.apache.axis2.jaxws.handler.HandlerChainPool;
 import org.apache.axis2.jaxws.handler.HandlerUtils;
 import org.apache.axis2.jaxws.handler.factory.HandlerInvokerFactory;
-import org.apache.axis2.jaxws.handler.lifecycle.factory.HandlerLifecycleManager;
-import org.apache.axis2.jaxws.handler.lifecycle.factory.HandlerLifecycleManagerFactory;
 import org.apache.axis2.jaxws.i18n.Messages;
 import org.apache.axis2.jaxws.message.Message;
 import org.apache.axis2.jaxws.message.Protocol;
@@ -58,7 +56,6 @@ import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamReader;
 import jakarta.xml.ws.WebServiceException;
 import jakarta.xml.ws.handler.Handler;
-import jakarta.xml.ws.handler.PortInfo;
 
 import java.io.StringReader;
 import java.security.PrivilegedActionException;
@@ -233,10 +230,9 @@ public class EndpointController {
                 if (log.isDebugEnabled()) {
                     log.debug("No handlers found on the InvocationContext, initializing handler list.");
                 }
-                HandlerResolverImpl hri = new HandlerResolverImpl(endpointDesc.getServiceDescription());
-                PortInfo portInfo = endpointDesc.getPortInfo();
-                eic.setHandlers(hri.getHandlerChain(portInfo));
-                handlerRoles = hri.getRoles(portInfo);
+                HandlerChainPool pool = HandlerChainPool.getHandlerChainPool(endpointDesc);
+                eic.setHandlers(pool.borrowHandlerChain(request));
+                handlerRoles = pool.getRoles();
             }
             
             //  Get the service instance.  This will run the @PostConstruct code.
@@ -418,19 +414,8 @@ public class EndpointController {
     }
 
     private void destroyHandlers(EndpointInvocationContext eic, MessageContext request) {
-        HandlerLifecycleManager hlm = createHandlerlifecycleManager();
-        List<Handler> list = eic.getHandlers();
-        if(list != null) {
-            for (Iterator it = list.iterator(); it.hasNext();) {
-                try {
-                    Handler handler = (Handler) it.next();
-                    hlm.destroyHandlerInstance(request, handler);
-                } catch (Exception e) {
-                    // TODO: can we ignore this?
-                    throw ExceptionFactory.makeWebServiceException(e);
-                }
-            }
-        }
+        // pooled handler chains are given back to their pool; other handlers are destroyed
+        HandlerChainPool.returnHandlerChain(request, eic.getHandlers());
     }
 
     /*
@@ -686,15 +671,6 @@ public class EndpointController {
         }
     }
     
-    /**
-     * we need a HandlerLifecycleManager so we can call the @PreDestroy when we are done with the server-side handler instances
-     */
-    private HandlerLifecycleManager createHandlerlifecycleManager() {
-        HandlerLifecycleManagerFactory elmf = (HandlerLifecycleManagerFactory)FactoryRegistry
-                .getFactory(HandlerLifecycleManagerFactory.class);
-        return elmf.createHandlerLifecycleManager();
-    }
-    
     private MessageContext isProtocolMismatch(MessageContext request, MessageContext response){
     	Protocol requestProtocol =request.getMessage().getProtocol();
     	Protocol responseProtocol = response.getMessage().getProtocol();
@@ -95,7 +95,7 @@ public class JavaBeanDispatcher extends JavaDispatcher {
         Throwable fault = null;
         Object output = null;
         try {
-            output = invokeTargetOperation(target, methodInputParams);
+            output = invokeTargetOperation(mc, target, methodInputParams);
         } 
         catch (Throwable e) {
             faultThrown = true;
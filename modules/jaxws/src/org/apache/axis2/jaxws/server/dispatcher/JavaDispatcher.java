@@ -24,6 +24,7 @@ import org.apache.axis2.description.AxisOperation;
 import org.apache.axis2.jaxws.Constants;
 import org.apache.axis2.jaxws.WebServiceExceptionLogger;
 import org.apache.axis2.jaxws.ExceptionFactory;
+import org.apache.axis2.jaxws.context.WebServiceContextImpl;
 import org.apache.axis2.jaxws.context.utils.ContextUtils;
 import org.apache.axis2.jaxws.core.MessageContext;
 import org.apache.axis2.jaxws.server.EndpointCallback;
@@ -74,6 +75,22 @@ public abstract class JavaDispatcher implements EndpointDispatcher {
         return serviceImplClass;
     }
     
+    /**
+     * Invoke the target operation for a request.  A thread bound WebServiceContext of the
+     * request is bound to the current thread for the duration of the invocation.
+     */
+    protected Object invokeTargetOperation(MessageContext request, Method method, Object[] args)
+            throws Throwable {
+        WebServiceContextImpl wsContext = ContextUtils.bindWebServiceContext(request);
+        try {
+            return invokeTargetOperation(method, args);
+        } finally {
+            if (wsContext != null) {
+                wsContext.unbind();
+            }
+        }
+    }
+
     protected Object invokeTargetOperation(Method method, Object[] args) throws Throwable {
         Object output = null;
         try {
@@ -195,7 +212,7 @@ public abstract class JavaDispatcher implements EndpointDispatcher {
                 boolean faultThrown = false;
                 Throwable fault = null;
                 try {
-                    output = invokeTargetOperation(method, params);
+                    output = invokeTargetOperation(eic.getRequestMessageContext(), method, params);
                 } 
                 catch (Exception e) {
                     fault = ClassUtils.getRootCause(e);
@@ -140,7 +140,7 @@ public class ProviderDispatcher extends JavaDispatcher {
         Method target = null;
         try {
             target = getJavaMethod();
-            responseParamValue = invokeTargetOperation(target, input);
+            responseParamValue = invokeTargetOperation(request, target, input);
         } catch (Throwable e) {
             fault = ClassUtils.getRootCause(e);
             faultThrown = true;
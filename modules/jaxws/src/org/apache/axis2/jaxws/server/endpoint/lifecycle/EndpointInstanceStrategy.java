@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.server.endpoint.lifecycle;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects how instances of a service implementation class are created and reused.  The
+ * annotation is overridden by the
+ * {@link org.apache.axis2.jaxws.Constants#JAXWS_ENDPOINT_INSTANCE_STRATEGY} parameter.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EndpointInstanceStrategy {
+    public enum Mode {
+        /** A new instance is created for every request. */
+        REQUEST,
+        /** A single instance processes all requests concurrently. */
+        SINGLETON,
+        /** Instances are pooled and only used by one request at a time. */
+        POOLED,
+        /**
+         * Each thread uses its own instance.  The instance stays with a request that completes on
+         * another thread, e.g. an asynchronous or one-way request, until it is done.
+         */
+        THREAD
+    }
+
+    Mode value();
+
+    /**
+     * The maximum number of idle instances kept in the pool if the mode is {@link Mode#POOLED}.
+     */
+    int poolSize() default 32;
+}
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.server.endpoint.lifecycle.impl;
+
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.description.Parameter;
+import org.apache.axis2.jaxws.Constants;
+import org.apache.axis2.jaxws.ExceptionFactory;
+import org.apache.axis2.jaxws.context.WebServiceContextImpl;
+import org.apache.axis2.jaxws.core.MessageContext;
+import org.apache.axis2.jaxws.description.EndpointDescription;
+import org.apache.axis2.jaxws.lifecycle.LifecycleException;
+import org.apache.axis2.jaxws.runtime.description.injection.ResourceInjectionServiceRuntimeDescription;
+import org.apache.axis2.jaxws.runtime.description.injection.ResourceInjectionServiceRuntimeDescriptionFactory;
+import org.apache.axis2.jaxws.server.endpoint.lifecycle.EndpointInstanceStrategy;
+import org.apache.axis2.jaxws.server.endpoint.lifecycle.EndpointInstanceStrategy.Mode;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manages the service implementation instances of an endpoint that is configured with an
+ * {@link EndpointInstanceStrategy}, either through the annotation or through the
+ * {@link Constants#JAXWS_ENDPOINT_INSTANCE_STRATEGY} parameter.  There is one instance per
+ * {@link EndpointDescription}; it is stored as a property of the endpoint description.
+ * <p>
+ * Instances used by a single request ({@link Mode#REQUEST}, {@link Mode#POOLED} and
+ * {@link Mode#THREAD}) are leased to the request and given back by
+ * {@link #releaseServiceInstance(MessageContext)} when the request completes, which may happen on
+ * another thread for asynchronous and one-way requests.  A thread whose instance is still leased
+ * gets a new one.  Instances that are not kept are destroyed, i.e. their @PreDestroy method is
+ * invoked.
+ */
+public class EndpointInstancePool {
+    private static final Log log = LogFactory.getLog(EndpointInstancePool.class);
+
+    private static final String PROPERTY_KEY = EndpointInstancePool.class.getName();
+
+    /**
+     * Used when there is neither an annotation nor a parameter.
+     */
+    private static final EndpointInstancePool NONE = new EndpointInstancePool(null, 0, null);
+
+    private static final String LEASE_KEY = EndpointInstancePool.class.getName() + ".lease";
+
+    public static final int DEFAULT_POOL_SIZE = 32;
+
+    /**
+     * A service implementation instance together with the WebServiceContext injected into it
+     * (if any).
+     */
+    static class PooledInstance {
+        final Object instance;
+        final WebServiceContextImpl wsContext;
+
+        PooledInstance(Object instance, WebServiceContextImpl wsContext) {
+            this.instance = instance;
+            this.wsContext = wsContext;
+        }
+    }
+
+    private static class Lease {
+        final EndpointInstancePool pool;
+        final PooledInstance pooledInstance;
+        /** The slot of the thread the instance belongs to in {@link Mode#THREAD}. */
+        final AtomicReference<PooledInstance> threadSlot;
+
+        Lease(EndpointInstancePool pool, PooledInstance pooledInstance,
+              AtomicReference<PooledInstance> threadSlot) {
+            this.pool = pool;
+            this.pooledInstance = pooledInstance;
+            this.threadSlot = threadSlot;
+        }
+    }
+
+    private final Mode mode;
+    private final int maxIdle;
+    private final Method preDestroyMethod;
+    private volatile PooledInstance singleton;
+    private final Queue<PooledInstance> idleInstances = new ConcurrentLinkedQueue<PooledInstance>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    /** The idle instance of each thread; empty while the instance is leased. */
+    private final ThreadLocal<AtomicReference<PooledInstance>> threadInstance =
+            new ThreadLocal<AtomicReference<PooledInstance>>() {
+                @Override
+                protected AtomicReference<PooledInstance> initialValue() {
+                    return new AtomicReference<PooledInstance>();
+                }
+            };
+
+    EndpointInstancePool(Mode mode, int maxIdle, Method preDestroyMethod) {
+        this.mode = mode;
+        this.maxIdle = maxIdle;
+        this.preDestroyMethod = preDestroyMethod;
+    }
+
+    /**
+     * Get the instance pool for an endpoint, creating it if necessary.
+     * 
+     * @param endpointDesc the endpoint
+     * @param serviceImplClass the service implementation class
+     * @return the instance pool, or <code>null</code> if no instance strategy is configured for
+     *         the endpoint, in which case the instance is stored on the ServiceContext
+     */
+    public static EndpointInstancePool getPool(EndpointDescription endpointDesc,
+                                               Class serviceImplClass) {
+        if (endpointDesc == null || serviceImplClass == null) {
+            return null;
+        }
+        synchronized (endpointDesc) {
+            EndpointInstancePool pool = (EndpointInstancePool) endpointDesc.getProperty(PROPERTY_KEY);
+            if (pool == null) {
+                pool = createPool(endpointDesc, serviceImplClass);
+                endpointDesc.setProperty(PROPERTY_KEY, pool);
+            }
+            return pool == NONE ? null : pool;
+        }
+    }
+
+    private static EndpointInstancePool createPool(EndpointDescription endpointDesc,
+                                                   Class serviceImplClass) {
+        Mode mode = null;
+        int maxIdle = DEFAULT_POOL_SIZE;
+        EndpointInstanceStrategy strategy =
+                (EndpointInstanceStrategy) serviceImplClass.getAnnotation(EndpointInstanceStrategy.class);
+        if (strategy != null) {
+            mode = strategy.value();
+            maxIdle = strategy.poolSize();
+        }
+        AxisService axisService = endpointDesc.getAxisService();
+        if (axisService != null) {
+            Parameter param = axisService.getParameter(Constants.JAXWS_ENDPOINT_INSTANCE_STRATEGY);
+            if (param != null) {
+                String value = ((String) param.getValue()).trim();
+                try {
+                    mode = Mode.valueOf(value.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw ExceptionFactory.makeWebServiceException("Invalid value for "
+                            + Constants.JAXWS_ENDPOINT_INSTANCE_STRATEGY + ": " + value);
+                }
+            }
+            param = axisService.getParameter(Constants.JAXWS_ENDPOINT_INSTANCE_POOL_SIZE);
+            if (param != null) {
+                maxIdle = Integer.parseInt(((String) param.getValue()).trim());
+            }
+        }
+        if (mode == null) {
+            return NONE;
+        }
+        Method preDestroyMethod = null;
+        ResourceInjectionServiceRuntimeDescription injectionDesc =
+                ResourceInjectionServiceRuntimeDescriptionFactory.get(
+                        endpointDesc.getServiceDescription(), serviceImplClass);
+        if (injectionDesc != null) {
+            preDestroyMethod = injectionDesc.getPreDestroyMethod();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Creating instance pool for " + serviceImplClass.getName() + "; mode: "
+                    + mode + ", maximum idle instances: " + maxIdle);
+        }
+        return new EndpointInstancePool(mode, maxIdle, preDestroyMethod);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get the number of pooled instances currently available for reuse.
+     * 
+     * @return the number of idle instances
+     */
+    public int getIdleInstanceCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Get an existing instance for a request.
+     * 
+     * @param mc the request message context
+     * @return the instance, or <code>null</code> if a new instance must be created and registered
+     *         using {@link #created(MessageContext, PooledInstance)}
+     */
+    PooledInstance acquire(MessageContext mc) {
+        PooledInstance pi;
+        switch (mode) {
+            case SINGLETON:
+                return singleton;
+            case THREAD:
+                AtomicReference<PooledInstance> slot = threadInstance.get();
+                pi = slot.getAndSet(null);
+                if (pi != null) {
+                    lease(mc, pi, slot);
+                }
+                return pi;
+            case POOLED:
+                pi = idleInstances.poll();
+                if (pi != null) {
+                    idleCount.decrementAndGet();
+                    lease(mc, pi, null);
+                }
+                return pi;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Register a newly created instance.
+     * 
+     * @param mc the request message context
+     * @param pi the new instance
+     * @return the instance to use for the request; this is different from <code>pi</code> if
+     *         another thread concurrently created the singleton instance
+     */
+    PooledInstance created(MessageContext mc, PooledInstance pi) {
+        switch (mode) {
+            case SINGLETON:
+                synchronized (this) {
+                    if (singleton == null) {
+                        singleton = pi;
+                        return pi;
+                    }
+                }
+                destroy(pi);
+                return singleton;
+            case THREAD:
+                lease(mc, pi, threadInstance.get());
+                return pi;
+            default:
+                lease(mc, pi, null);
+                return pi;
+        }
+    }
+
+    private void lease(MessageContext mc, PooledInstance pi,
+                       AtomicReference<PooledInstance> threadSlot) {
+        if (mc != null) {
+            mc.setProperty(LEASE_KEY, new Lease(this, pi, threadSlot));
+        }
+    }
+
+    /**
+     * Give back the service implementation instance leased to a request, if any.  This method
+     * may safely be called more than once for the same request.
+     * 
+     * @param mc the request message context
+     */
+    public static void releaseServiceInstance(MessageContext mc) {
+        if (mc == null || mc.getAxisMessageContext() == null) {
+            return;
+        }
+        Lease lease = (Lease) mc.getAxisMessageContext().getLocalProperty(LEASE_KEY, false);
+        if (lease != null) {
+            mc.getAxisMessageContext().removeProperty(LEASE_KEY);
+            lease.pool.release(lease.pooledInstance, lease.threadSlot);
+        }
+    }
+
+    void release(PooledInstance pi, AtomicReference<PooledInstance> threadSlot) {
+        if (threadSlot != null) {
+            // Give the instance back to its thread, unless the thread got a new one meanwhile
+            if (threadSlot.compareAndSet(null, pi)) {
+                return;
+            }
+        } else if (mode == Mode.POOLED) {
+            if (idleCount.incrementAndGet() <= maxIdle) {
+                idleInstances.offer(pi);
+                return;
+            }
+            idleCount.decrementAndGet();
+        }
+        destroy(pi);
+    }
+
+    private void destroy(PooledInstance pi) {
+        if (preDestroyMethod == null) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Destroying instance of " + pi.instance.getClass().getName());
+        }
+        try {
+            new EndpointLifecycleManagerImpl(pi.instance).destroyServiceInstance(preDestroyMethod);
+        } catch (LifecycleException e) {
+            // Don't let a failing @PreDestroy method affect the response
+            log.warn("Failed to invoke @PreDestroy method on "
+                    + pi.instance.getClass().getName(), e);
+        }
+    }
+}
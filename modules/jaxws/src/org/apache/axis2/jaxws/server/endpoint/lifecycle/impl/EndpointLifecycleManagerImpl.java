@@ -39,6 +39,7 @@ import org.apache.axis2.jaxws.runtime.description.injection.ResourceInjectionSer
 import org.apache.axis2.jaxws.server.endpoint.injection.ResourceInjector;
 import org.apache.axis2.jaxws.server.endpoint.injection.WebServiceContextInjector;
 import org.apache.axis2.jaxws.server.endpoint.injection.factory.ResourceInjectionFactory;
+import org.apache.axis2.jaxws.server.endpoint.lifecycle.EndpointInstanceStrategy;
 import org.apache.axis2.jaxws.server.endpoint.lifecycle.EndpointLifecycleManager;
 import org.apache.axis2.util.Loader;
 import org.apache.commons.logging.Log;
@@ -73,6 +74,11 @@ public class EndpointLifecycleManagerImpl extends BaseLifecycleManager implement
         ResourceInjectionServiceRuntimeDescription injectionDesc =
                 getInjectionDesc(serviceDesc, serviceImplClass);
 
+        EndpointInstancePool pool =
+                EndpointInstancePool.getPool(mc.getEndpointDescription(), serviceImplClass);
+        if (pool != null) {
+            return createPooledServiceInstance(mc, serviceImplClass, injectionDesc, pool);
+        }
 
         Object serviceimpl = retrieveServiceInstance(mc);
         if (serviceimpl != null) {
@@ -116,6 +122,63 @@ public class EndpointLifecycleManagerImpl extends BaseLifecycleManager implement
         }
     }
 
+    /**
+     * Get a service implementation instance from the {@link EndpointInstancePool} of the
+     * endpoint, creating (and initializing) a new one if necessary, and associate the
+     * WebServiceContext of the instance with the current request.
+     */
+    private Object createPooledServiceInstance(MessageContext mc, Class serviceImplClass,
+            ResourceInjectionServiceRuntimeDescription injectionDesc, EndpointInstancePool pool)
+            throws LifecycleException, ResourceInjectionException {
+        EndpointInstancePool.PooledInstance pi = pool.acquire(mc);
+        if (pi == null) {
+            Object serviceimpl =
+                    createServiceInstance(mc.getAxisMessageContext().getAxisService(), serviceImplClass);
+            this.instance = serviceimpl;
+
+            if (log.isDebugEnabled()) {
+                log.debug("New Service Instance created; instance strategy: " + pool.getMode());
+            }
+
+            WebServiceContextImpl wsContext = null;
+            if (hasResourceAnnotation(injectionDesc)) {
+                // A singleton processes requests concurrently, so the MessageContext must be
+                // tracked per thread
+                wsContext = new WebServiceContextImpl(
+                        pool.getMode() == EndpointInstanceStrategy.Mode.SINGLETON);
+                injectWebServiceContext(mc, wsContext, serviceimpl);
+            }
+
+            //Invoke PostConstruct
+            if (injectionDesc != null && injectionDesc.getPostConstructMethod() != null) {
+                invokePostConstruct(injectionDesc.getPostConstructMethod());
+            }
+            pi = pool.created(mc, new EndpointInstancePool.PooledInstance(serviceimpl, wsContext));
+        }
+        this.instance = pi.instance;
+
+        if (pi.wsContext != null) {
+            jakarta.xml.ws.handler.MessageContext soapMessageContext = createSOAPMessageContext(mc);
+            if (pi.wsContext.isThreadBound()) {
+                // The dispatcher binds it to the thread that invokes the instance
+                mc.setProperty(WebServiceContextImpl.BOUND_MESSAGE_CONTEXT, soapMessageContext);
+            } else {
+                updateWebServiceContext(pi.wsContext, soapMessageContext);
+            }
+            // Store the WebServiceContext on the MessageContext so that its resource
+            // can be freed after the web service method completes.
+            mc.setProperty(WEBSERVICE_MESSAGE_CONTEXT, pi.wsContext);
+        }
+        return pi.instance;
+    }
+
+    /**
+     * Invoke the @PreDestroy method on the instance managed by this object.
+     */
+    void destroyServiceInstance(Method preDestroyMethod) throws LifecycleException {
+        invokePreDestroy(preDestroyMethod);
+    }
+
     /**
      * This method locates an existing service implementation instance if
      * one has been previously stored away.
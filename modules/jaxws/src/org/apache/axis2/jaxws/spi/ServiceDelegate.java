@@ -773,7 +773,7 @@ public class ServiceDelegate extends jakarta.xml.ws.spi.ServiceDelegate {
     // Impl methods
     //================================================
 
-    //TODO: Need to make the default number of threads configurable
+    // The kind of default executor is configured with Constants.JAXWS_EXECUTOR_POLICY
     private Executor getDefaultExecutor() {
     	ExecutorFactory executorFactory = (ExecutorFactory) FactoryRegistry.getFactory(
     			ExecutorFactory.class);
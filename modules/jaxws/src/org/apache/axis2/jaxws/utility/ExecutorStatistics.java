@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.utility;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters maintained for an Executor created by the {@link JAXWSExecutorFactory}.  The queue
+ * latency of a task is the time between its submission and the start of its execution.
+ */
+public class ExecutorStatistics {
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalQueueLatency = new LongAdder();
+    private final AtomicLong maxQueueLatency = new AtomicLong();
+    private final LongAdder totalExecutionTime = new LongAdder();
+
+    void taskSubmitted() {
+        submitted.increment();
+    }
+
+    void taskRejected() {
+        rejected.increment();
+    }
+
+    void taskStarted(long queueLatency) {
+        started.increment();
+        totalQueueLatency.add(queueLatency);
+        long max;
+        while (queueLatency > (max = maxQueueLatency.get())) {
+            if (maxQueueLatency.compareAndSet(max, queueLatency)) {
+                break;
+            }
+        }
+    }
+
+    void taskCompleted(long executionTime) {
+        completed.increment();
+        totalExecutionTime.add(executionTime);
+    }
+
+    /**
+     * @return the number of tasks submitted
+     */
+    public long getSubmittedTaskCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return the number of tasks that have completed
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return the number of tasks rejected by the underlying executor
+     */
+    public long getRejectedTaskCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of tasks submitted but not started yet
+     */
+    public long getQueueDepth() {
+        return Math.max(0, submitted.sum() - rejected.sum() - started.sum());
+    }
+
+    /**
+     * @return the number of tasks currently executing
+     */
+    public long getActiveTaskCount() {
+        return Math.max(0, started.sum() - completed.sum());
+    }
+
+    /**
+     * @return the average queue latency in nanoseconds
+     */
+    public long getAverageQueueLatency() {
+        long count = started.sum();
+        return count == 0 ? 0 : totalQueueLatency.sum() / count;
+    }
+
+    /**
+     * @return the maximum queue latency in nanoseconds
+     */
+    public long getMaxQueueLatency() {
+        return maxQueueLatency.get();
+    }
+
+    /**
+     * @return the average execution time of a task in nanoseconds
+     */
+    public long getAverageExecutionTime() {
+        long count = completed.sum();
+        return count == 0 ? 0 : totalExecutionTime.sum() / count;
+    }
+
+    public String toString() {
+        return "submitted=" + getSubmittedTaskCount() + ", completed=" + getCompletedTaskCount()
+                + ", rejected=" + getRejectedTaskCount() + ", queueDepth=" + getQueueDepth()
+                + ", averageQueueLatency=" + getAverageQueueLatency() + "ns, maxQueueLatency="
+                + getMaxQueueLatency() + "ns";
+    }
+}
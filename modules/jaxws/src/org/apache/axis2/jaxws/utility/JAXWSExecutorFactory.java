@@ -19,25 +19,140 @@
 
 package org.apache.axis2.jaxws.utility;
 
+import org.apache.axis2.jaxws.Constants;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is an implementation of the ExecutorFactory interface. It is used
- * to provide an Executor to a ServiceDelegate instance. The Executor instance
- * will be backed by the JAXWSThreadFactory.
- *
+ * to provide an Executor to a ServiceDelegate instance and to the server side
+ * dispatchers. The threads are created by the JAXWSThreadFactory.
+ * <p>
+ * The kind of Executor is selected with the {@link Constants#JAXWS_EXECUTOR_POLICY} system
+ * property.  By default, the Executors of all clients share a single elastic thread pool (and
+ * those of the server side another one), so that the number of threads grows with the load
+ * instead of being fixed per client.  The returned Executors are {@link JAXWSExecutorService}
+ * instances that record {@link ExecutorStatistics}.
  */
 public class JAXWSExecutorFactory implements ExecutorFactory {
+    private static final Log log = LogFactory.getLog(JAXWSExecutorFactory.class);
+
+    static final String POLICY_ELASTIC = "elastic";
+    static final String POLICY_FIXED = "fixed";
+    static final String POLICY_VIRTUAL = "virtual";
+    static final String POLICY_CALLER = "caller";
+
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final String policy;
+    private final int maxThreads;
+    private final int queueSize;
+
+    private final ExecutorService[] sharedExecutors = new ExecutorService[2];
+    private final ExecutorStatistics[] statistics = {
+            new ExecutorStatistics(), new ExecutorStatistics() };
+
+    public JAXWSExecutorFactory() {
+        this(System.getProperty(Constants.JAXWS_EXECUTOR_POLICY, POLICY_ELASTIC),
+             Integer.getInteger(Constants.JAXWS_EXECUTOR_MAX_THREADS,
+                                Math.max(16, 4 * Runtime.getRuntime().availableProcessors())),
+             Integer.getInteger(Constants.JAXWS_EXECUTOR_QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+    }
+
+    JAXWSExecutorFactory(String policy, int maxThreads, int queueSize) {
+        policy = policy.trim().toLowerCase();
+        if (!policy.equals(POLICY_ELASTIC) && !policy.equals(POLICY_FIXED)
+                && !policy.equals(POLICY_VIRTUAL) && !policy.equals(POLICY_CALLER)) {
+            log.warn("Unknown value '" + policy + "' for " + Constants.JAXWS_EXECUTOR_POLICY
+                    + "; using '" + POLICY_ELASTIC + "'");
+            policy = POLICY_ELASTIC;
+        }
+        this.policy = policy;
+        this.maxThreads = maxThreads;
+        this.queueSize = queueSize;
+        if (log.isDebugEnabled()) {
+            log.debug("Executor policy: " + policy + ", maximum threads: " + maxThreads
+                    + ", queue size: " + queueSize);
+        }
+    }
 
     public Executor getExecutorInstance() {
-        return Executors.newFixedThreadPool(3, new JAXWSThreadFactory());
+        return getExecutorInstance(CLIENT_EXECUTOR);
     }
 
     public Executor getExecutorInstance(int executorType) {
-        return getExecutorInstance();
+        int index = executorType == SERVER_EXECUTOR ? SERVER_EXECUTOR : CLIENT_EXECUTOR;
+        if (policy.equals(POLICY_FIXED)) {
+            return new JAXWSExecutorService(
+                    Executors.newFixedThreadPool(3, new JAXWSThreadFactory()), false,
+                    statistics[index]);
+        } else if (policy.equals(POLICY_CALLER)) {
+            return new JAXWSExecutorService(null, true, statistics[index]);
+        } else {
+            return new JAXWSExecutorService(getSharedExecutor(index), true, statistics[index]);
+        }
+    }
+
+    /**
+     * Get the statistics of the Executors of a given type.
+     * 
+     * @param executorType {@link ExecutorFactory#CLIENT_EXECUTOR} or
+     *                     {@link ExecutorFactory#SERVER_EXECUTOR}
+     * @return the statistics
+     */
+    public ExecutorStatistics getStatistics(int executorType) {
+        return statistics[executorType == SERVER_EXECUTOR ? SERVER_EXECUTOR : CLIENT_EXECUTOR];
+    }
+
+    private synchronized ExecutorService getSharedExecutor(int index) {
+        if (sharedExecutors[index] == null) {
+            ExecutorService executor = null;
+            if (policy.equals(POLICY_VIRTUAL)) {
+                executor = createVirtualThreadExecutor();
+            }
+            if (executor == null) {
+                executor = createElasticExecutor();
+            }
+            sharedExecutors[index] = executor;
+        }
+        return sharedExecutors[index];
+    }
+
+    private ExecutorService createElasticExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new JAXWSThreadFactory(),
+                new RejectedExecutionHandler() {
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        // Queue is full: run the task on the calling thread, which slows
+                        // down the producer instead of failing the request
+                        if (!executor.isShutdown()) {
+                            r.run();
+                        }
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
-        
-	
 
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            log.warn("Virtual threads are not supported by this Java runtime; using the '"
+                    + POLICY_ELASTIC + "' executor policy instead");
+            return null;
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.utility;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An ExecutorService handed out by the {@link JAXWSExecutorFactory}.  It submits tasks to an
+ * underlying executor that may be shared by many clients, and records {@link ExecutorStatistics}.
+ * <p>
+ * Shutting down an instance only affects that instance: it stops accepting tasks and terminates
+ * when the tasks it submitted have completed.  The underlying executor is only shut down if it
+ * is not shared.
+ */
+public class JAXWSExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final boolean shared;
+    private final boolean direct;
+    private final ExecutorStatistics statistics;
+    private final Object lock = new Object();
+    private int pendingTasks;
+    private volatile boolean shutdown;
+
+    JAXWSExecutorService(ExecutorService delegate, boolean shared, ExecutorStatistics statistics) {
+        this.delegate = delegate;
+        this.shared = shared;
+        this.direct = delegate == null;
+        this.statistics = statistics;
+    }
+
+    /**
+     * @return the statistics of the underlying executor; they include the tasks submitted
+     *         through other instances sharing the same executor
+     */
+    public ExecutorStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Indicates if tasks are run on the thread that submits them.  In that case callers that
+     * would otherwise hand over work to the executor and wait for its completion can simply run
+     * the work themselves.
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public void execute(final Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            pendingTasks++;
+        }
+        final long submitTime = System.nanoTime();
+        statistics.taskSubmitted();
+        Runnable task = new Runnable() {
+            public void run() {
+                long startTime = System.nanoTime();
+                statistics.taskStarted(startTime - submitTime);
+                try {
+                    command.run();
+                } finally {
+                    statistics.taskCompleted(System.nanoTime() - startTime);
+                    taskDone();
+                }
+            }
+        };
+        if (direct) {
+            task.run();
+            return;
+        }
+        try {
+            delegate.execute(task);
+        } catch (RuntimeException e) {
+            statistics.taskRejected();
+            taskDone();
+            throw e;
+        }
+    }
+
+    private void taskDone() {
+        synchronized (lock) {
+            if (--pendingTasks == 0 && shutdown) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            if (pendingTasks == 0) {
+                lock.notifyAll();
+            }
+        }
+        if (!shared && !direct) {
+            delegate.shutdown();
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        if (!shared && !direct) {
+            return delegate.shutdownNow();
+        }
+        return Collections.emptyList();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return shutdown && pendingTasks == 0;
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            while (!(shutdown && pendingTasks == 0)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+}
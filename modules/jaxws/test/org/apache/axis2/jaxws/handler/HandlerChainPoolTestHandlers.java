@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.handler;
+
+import javax.annotation.PreDestroy;
+import jakarta.xml.ws.handler.MessageContext;
+import jakarta.xml.ws.handler.soap.SOAPHandler;
+import jakarta.xml.ws.handler.soap.SOAPMessageContext;
+import javax.xml.namespace.QName;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SOAP handlers used by {@link HandlerChainPoolTests} and HandlerChainBenchmark.  They
+ * count how many instances have been created and destroyed.
+ */
+public class HandlerChainPoolTestHandlers {
+    static final AtomicInteger created = new AtomicInteger();
+    static final AtomicInteger destroyed = new AtomicInteger();
+
+    static void reset() {
+        created.set(0);
+        destroyed.set(0);
+    }
+
+    public static abstract class CountingHandler implements SOAPHandler<SOAPMessageContext> {
+        public CountingHandler() {
+            created.incrementAndGet();
+        }
+
+        @PreDestroy
+        public void destroy() {
+            destroyed.incrementAndGet();
+        }
+
+        public Set<QName> getHeaders() {
+            return null;
+        }
+
+        public boolean handleMessage(SOAPMessageContext context) {
+            return true;
+        }
+
+        public boolean handleFault(SOAPMessageContext context) {
+            return true;
+        }
+
+        public void close(MessageContext context) {
+        }
+    }
+
+    public static class Handler1 extends CountingHandler {
+    }
+
+    public static class Handler2 extends CountingHandler {
+    }
+
+    public static class Handler3 extends CountingHandler {
+    }
+
+    public static class Handler4 extends CountingHandler {
+    }
+
+    @PerRequestHandler
+    public static class StatefulHandler extends CountingHandler {
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.handler;
+
+import junit.framework.TestCase;
+import org.apache.axis2.jaxws.core.MessageContext;
+import org.apache.axis2.jaxws.description.DescriptionFactory;
+import org.apache.axis2.jaxws.description.EndpointDescription;
+import org.apache.axis2.jaxws.description.ServiceDescription;
+
+import jakarta.jws.HandlerChain;
+import jakarta.jws.WebService;
+import jakarta.xml.ws.handler.Handler;
+import java.util.List;
+
+/**
+ * Verify the reuse of handler instances by {@link HandlerChainPool}.
+ */
+public class HandlerChainPoolTests extends TestCase {
+    private EndpointDescription endpointDesc;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        HandlerChainPoolTestHandlers.reset();
+        ServiceDescription serviceDesc =
+            DescriptionFactory.createServiceDescription(PoolTestServiceImpl.class);
+        endpointDesc = serviceDesc.getEndpointDescriptions()[0];
+    }
+
+    private MessageContext createRequest() {
+        MessageContext request = new MessageContext();
+        request.setEndpointDescription(endpointDesc);
+        return request;
+    }
+
+    /**
+     * Without pooling, handlers are created and destroyed for every request.
+     */
+    public void testRequestMode() {
+        HandlerChainPool pool = new HandlerChainPool(endpointDesc, false, 2);
+        for (int i = 0; i < 3; i++) {
+            MessageContext request = createRequest();
+            List<Handler> chain = pool.borrowHandlerChain(request);
+            assertEquals(3, chain.size());
+            HandlerChainPool.returnHandlerChain(request, chain);
+        }
+        assertEquals(9, HandlerChainPoolTestHandlers.created.get());
+        assertEquals(9, HandlerChainPoolTestHandlers.destroyed.get());
+        assertEquals(0, pool.getIdleChainCount());
+    }
+
+    /**
+     * The handler classes are resolved once and reused by the chains created in request mode.
+     */
+    public void testHandlerClassesResolvedOnce() {
+        HandlerChainPool pool = new HandlerChainPool(endpointDesc, false, 2);
+        List<Class> classes = pool.getHandlerClasses();
+        assertEquals(3, classes.size());
+        for (int i = 0; i < 2; i++) {
+            MessageContext request = createRequest();
+            List<Handler> chain = pool.borrowHandlerChain(request);
+            assertEquals(classes.size(), chain.size());
+            for (int j = 0; j < chain.size(); j++) {
+                assertSame(classes.get(j), chain.get(j).getClass());
+            }
+            HandlerChainPool.returnHandlerChain(request, chain);
+        }
+        assertSame(classes, pool.getHandlerClasses());
+    }
+
+    /**
+     * With pooling, stateless handlers are reused and handlers annotated with
+     * {@link PerRequestHandler} are still created for every request.
+     */
+    public void testPooledMode() {
+        HandlerChainPool pool = new HandlerChainPool(endpointDesc, true, 2);
+        MessageContext request = createRequest();
+        List<Handler> chain1 = pool.borrowHandlerChain(request);
+        HandlerChainPool.returnHandlerChain(request, chain1);
+        assertEquals(1, pool.getIdleChainCount());
+
+        request = createRequest();
+        List<Handler> chain2 = pool.borrowHandlerChain(request);
+        assertEquals(0, pool.getIdleChainCount());
+        assertEquals(3, chain2.size());
+        assertSame(chain1.get(0), chain2.get(0));
+        assertSame(chain1.get(1), chain2.get(1));
+        assertNotSame(chain1.get(2), chain2.get(2));
+        assertTrue(chain2.get(2) instanceof HandlerChainPoolTestHandlers.StatefulHandler);
+        assertEquals(4, HandlerChainPoolTestHandlers.created.get());
+        assertEquals(1, HandlerChainPoolTestHandlers.destroyed.get());
+        HandlerChainPool.returnHandlerChain(request, chain2);
+    }
+
+    /**
+     * Chains returned when the pool is full are destroyed.
+     */
+    public void testPoolSizeLimit() {
+        HandlerChainPool pool = new HandlerChainPool(endpointDesc, true, 1);
+        MessageContext request1 = createRequest();
+        MessageContext request2 = createRequest();
+        List<Handler> chain1 = pool.borrowHandlerChain(request1);
+        List<Handler> chain2 = pool.borrowHandlerChain(request2);
+        HandlerChainPool.returnHandlerChain(request1, chain1);
+        HandlerChainPool.returnHandlerChain(request2, chain2);
+        assertEquals(1, pool.getIdleChainCount());
+        assertEquals(6, HandlerChainPoolTestHandlers.created.get());
+        assertEquals(4, HandlerChainPoolTestHandlers.destroyed.get());
+    }
+
+    public void testPoolIsCachedOnEndpointDescription() {
+        HandlerChainPool pool = HandlerChainPool.getHandlerChainPool(endpointDesc);
+        assertSame(pool, HandlerChainPool.getHandlerChainPool(endpointDesc));
+        assertFalse(pool.isPooled());
+    }
+
+    @WebService
+    @HandlerChain(file="HandlerChainPoolTests.xml")
+    public static class PoolTestServiceImpl {
+    }
+}
@@ -27,6 +27,8 @@ import org.apache.ws.jaxb.a.Data3;
 import org.apache.ws.jaxb.b.BadData3;
 
 import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.ws.Holder;
 
 import java.util.TreeSet;
@@ -76,4 +78,44 @@ public class JAXBUtilsTests extends TestCase {
         assertTrue(jbcString.indexOf(BadData2.class.getName()) < 0);
         assertTrue(jbcString.indexOf(BadData3.class.getName()) < 0);
     }
+
+    /**
+     * Validates that released Marshallers and Unmarshallers are reused, that the pool
+     * statistics are maintained, and that pooled objects can be evicted.
+     * @throws Exception
+     */
+    public void testMarshallerPooling() throws Exception {
+        JAXBContext jbc = JAXBContext.newInstance(Data1.class);
+        JAXBPoolStatistics before = JAXBUtilsMonitor.getMarshallerPoolStatistics();
+
+        Marshaller m1 = JAXBUtils.getJAXBMarshaller(jbc);
+        JAXBUtils.releaseJAXBMarshaller(jbc, m1);
+        Marshaller m2 = JAXBUtils.getJAXBMarshaller(jbc);
+        assertSame(m1, m2);
+
+        JAXBPoolStatistics after = JAXBUtilsMonitor.getMarshallerPoolStatistics();
+        assertEquals(1, after.getHits() - before.getHits());
+        assertEquals(1, after.getMisses() - before.getMisses());
+        assertEquals(1, after.getCreations() - before.getCreations());
+
+        // An evicted Marshaller is not reused
+        JAXBUtils.releaseJAXBMarshaller(jbc, m2);
+        JAXBUtils.evictPooledObjects(jbc);
+        assertNotSame(m2, JAXBUtils.getJAXBMarshaller(jbc));
+        assertTrue(JAXBUtilsMonitor.getMarshallerPoolStatistics().getEvictions() > before.getEvictions());
+    }
+
+    public void testUnmarshallerPooling() throws Exception {
+        JAXBContext jbc = JAXBContext.newInstance(Data1.class);
+        Unmarshaller u1 = JAXBUtils.getJAXBUnmarshaller(jbc);
+        Unmarshaller u2 = JAXBUtils.getJAXBUnmarshaller(jbc);
+        assertNotSame(u1, u2);
+        JAXBUtils.releaseJAXBUnmarshaller(jbc, u1);
+        JAXBUtils.releaseJAXBUnmarshaller(jbc, u2);
+        JAXBPoolStatistics stats = JAXBUtilsMonitor.getUnmarshallerPoolStatistics();
+        assertTrue(stats.getPooledObjects() >= 2);
+        Unmarshaller u3 = JAXBUtils.getJAXBUnmarshaller(jbc);
+        assertTrue(u3 == u1 || u3 == u2);
+        JAXBUtils.evictPooledObjects(jbc);
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.message.impl;
+
+import junit.framework.TestCase;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axis2.jaxws.message.Block;
+import org.apache.axis2.jaxws.message.ConversionStatistics;
+import org.apache.axis2.jaxws.message.ConversionStatistics.Conversion;
+import org.apache.axis2.jaxws.message.Message;
+import org.apache.axis2.jaxws.message.Protocol;
+import org.apache.axis2.jaxws.message.factory.MessageFactory;
+import org.apache.axis2.jaxws.message.factory.OMBlockFactory;
+import org.apache.axis2.jaxws.message.factory.SAAJConverterFactory;
+import org.apache.axis2.jaxws.message.factory.XMLStringBlockFactory;
+import org.apache.axis2.jaxws.message.util.SAAJConverter;
+import org.apache.axis2.jaxws.registry.FactoryRegistry;
+
+import jakarta.jws.soap.SOAPBinding.Style;
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import javax.xml.namespace.QName;
+import java.io.StringReader;
+
+/**
+ * Tests the lazy block mode of the XMLSpine and the conversion counters of the Message.
+ */
+public class LazyBlockTests extends TestCase {
+    private static final String sampleText =
+        "<pre:a xmlns:pre=\"urn://sample\">" +
+        "<b>Hello</b>" +
+        "<c>World</c>" +
+        "</pre:a>";
+
+    private static final String sampleEnvelope =
+        "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">" +
+        "<soapenv:Header /><soapenv:Body>" +
+        sampleText +
+        "</soapenv:Body></soapenv:Envelope>";
+
+    private static final XMLStringBlockFactory f =
+            (XMLStringBlockFactory)FactoryRegistry.getFactory(XMLStringBlockFactory.class);
+
+    private Message message;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        MessageFactory mf = (MessageFactory)FactoryRegistry.getFactory(MessageFactory.class);
+        message = mf.create(Protocol.soap11);
+    }
+
+    /**
+     * Create a spine over an envelope that is still backed by the parser
+     */
+    private XMLSpineImpl createSpine(boolean lazyBlocks) throws Exception {
+        SOAPEnvelope envelope = OMXMLBuilderFactory.createSOAPModelBuilder(
+                new StringReader(sampleEnvelope)).getSOAPEnvelope();
+        XMLSpineImpl spine =
+                new XMLSpineImpl(envelope, Style.DOCUMENT, 0, Protocol.soap11, lazyBlocks);
+        spine.setParent(message);
+        return spine;
+    }
+
+    public void testEagerBlocks() throws Exception {
+        XMLSpineImpl spine = createSpine(false);
+
+        Block block = spine.getBodyBlock(0, null, f);
+        ConversionStatistics stats = message.getConversionStatistics();
+        assertEquals(1, stats.getCount(Conversion.BLOCK_FROM_XML));
+
+        // A second request converts the block again
+        Block block2 = spine.getBodyBlock(0, null, f);
+        assertNotSame(block, block2);
+        assertTrue(stats.getCount(Conversion.BLOCK_FROM_XML) > 1);
+        assertEquals(sampleText, block2.getBusinessObject(false));
+    }
+
+    public void testLazyBlocks() throws Exception {
+        XMLSpineImpl spine = createSpine(true);
+
+        // The block is not converted until it is used
+        Block block = spine.getBodyBlock(0, null, f);
+        ConversionStatistics stats = message.getConversionStatistics();
+        assertEquals(0, stats.getCount(Conversion.BLOCK_FROM_XML));
+        assertFalse(block.isConsumed());
+
+        // The same factory gets the same block back
+        assertSame(block, spine.getBodyBlock(0, null, f));
+        assertEquals(sampleText, block.getBusinessObject(false));
+        assertEquals(1, stats.getCount(Conversion.BLOCK_FROM_XML));
+        assertSame(block, spine.getBodyBlock(0, null, f));
+        assertEquals(1, stats.getCount(Conversion.BLOCK_FROM_XML));
+
+        // Another factory converts it
+        OMBlockFactory obf = (OMBlockFactory)FactoryRegistry.getFactory(OMBlockFactory.class);
+        Block omBlock = spine.getBodyBlock(0, null, obf);
+        assertNotSame(block, omBlock);
+        assertEquals(1, stats.getCount(Conversion.BLOCK_TO_BLOCK));
+        assertEquals(new QName("urn://sample", "a"), omBlock.getQName());
+    }
+
+    public void testLazyBlockFromParser() throws Exception {
+        XMLSpineImpl spine = createSpine(true);
+        SOAPEnvelope envelope = (SOAPEnvelope)spine.getAsOMElement();
+        OMElement source = envelope.getBody().getFirstElement();
+        assertFalse(source.isComplete());
+
+        // The parser-backed element is streamed to a buffer and replaced, without converting it
+        Block block = spine.getBodyBlock(0, null, f);
+        assertEquals(0, message.getConversionStatistics().getCount(Conversion.BLOCK_FROM_XML));
+        assertFalse(block.isConsumed());
+
+        // The source element was consumed from the parser, not built
+        assertFalse(source.isComplete());
+        assertNotSame(source, envelope.getBody().getFirstElement());
+
+        // The rest of the envelope can still be parsed
+        envelope.build();
+        assertTrue(envelope.isComplete());
+        assertEquals(new QName("urn://sample", "a"), envelope.getBody().getFirstElement().getQName());
+
+        assertSame(block, spine.getBodyBlock(0, null, f));
+        assertEquals(sampleText, block.getBusinessObject(false));
+        assertEquals(1, message.getConversionStatistics().getCount(Conversion.BLOCK_FROM_XML));
+    }
+
+    public void testLazyBlockToSAAJ() throws Exception {
+        XMLSpineImpl spine = createSpine(true);
+        Block block = spine.getBodyBlock(0, null, f);
+        OMElement om = ((SOAPEnvelope)spine.getAsOMElement()).getBody().getFirstElement();
+
+        SAAJConverterFactory cf =
+                (SAAJConverterFactory)FactoryRegistry.getFactory(SAAJConverterFactory.class);
+        SAAJConverter converter = cf.getSAAJConverter();
+        SOAPBody body = jakarta.xml.soap.MessageFactory.newInstance().createMessage().getSOAPBody();
+        SOAPElement se = converter.toSAAJ(om, body);
+        assertEquals("a", se.getLocalName());
+        assertEquals("urn://sample", se.getNamespaceURI());
+
+        // The conversion reads the block without consuming or converting it
+        assertFalse(block.isConsumed());
+        assertEquals(0, message.getConversionStatistics().getCount(Conversion.BLOCK_FROM_XML));
+        assertSame(block, spine.getBodyBlock(0, null, f));
+        assertEquals(sampleText, block.getBusinessObject(false));
+    }
+}
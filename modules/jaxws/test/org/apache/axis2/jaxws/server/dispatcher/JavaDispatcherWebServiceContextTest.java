@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.server.dispatcher;
+
+import junit.framework.TestCase;
+import org.apache.axis2.jaxws.context.WebServiceContextImpl;
+import org.apache.axis2.jaxws.core.MessageContext;
+import org.apache.axis2.jaxws.server.EndpointCallback;
+import org.apache.axis2.jaxws.server.endpoint.lifecycle.impl.EndpointLifecycleManagerImpl;
+
+import jakarta.xml.ws.WebServiceContext;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Verify that a thread bound WebServiceContext, as used by singleton endpoints, is available
+ * on the thread that invokes the endpoint, and only during the invocation.
+ */
+public class JavaDispatcherWebServiceContextTest extends TestCase {
+    public static class SingletonEndpoint {
+        WebServiceContext context;
+
+        public jakarta.xml.ws.handler.MessageContext echo() {
+            return context.getMessageContext();
+        }
+    }
+
+    private static jakarta.xml.ws.handler.MessageContext createSOAPMessageContext() {
+        return (jakarta.xml.ws.handler.MessageContext) Proxy.newProxyInstance(
+                JavaDispatcherWebServiceContextTest.class.getClassLoader(),
+                new Class[] { jakarta.xml.ws.handler.MessageContext.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return method.getName().equals("hashCode")
+                                ? Integer.valueOf(System.identityHashCode(proxy)) : null;
+                    }
+                });
+    }
+
+    /**
+     * Simulates an asynchronous or one-way invocation, which runs on an executor thread.
+     */
+    public void testInvocationOnExecutorThread() throws Exception {
+        final SingletonEndpoint endpoint = new SingletonEndpoint();
+        final WebServiceContextImpl wsContext = new WebServiceContextImpl(true);
+        endpoint.context = wsContext;
+        final TestDispatcher dispatcher = new TestDispatcher(SingletonEndpoint.class, endpoint);
+        final Method method = SingletonEndpoint.class.getMethod("echo");
+
+        final MessageContext request = new MessageContext();
+        jakarta.xml.ws.handler.MessageContext soapMessageContext = createSOAPMessageContext();
+        request.setProperty(EndpointLifecycleManagerImpl.WEBSERVICE_MESSAGE_CONTEXT, wsContext);
+        request.setProperty(WebServiceContextImpl.BOUND_MESSAGE_CONTEXT, soapMessageContext);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Object output = executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    try {
+                        return dispatcher.invokeTargetOperation(request, method, new Object[0]);
+                    } catch (Throwable t) {
+                        throw new Exception(t);
+                    }
+                }
+            }).get();
+            assertSame(soapMessageContext, output);
+
+            // The MessageContext is not left on the executor thread
+            Object afterwards = executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    return wsContext.getMessageContext();
+                }
+            }).get();
+            assertNull(afterwards);
+        } finally {
+            executor.shutdown();
+        }
+        // ... nor made available to the request thread
+        assertNull(wsContext.getMessageContext());
+    }
+
+    static class TestDispatcher extends JavaDispatcher {
+        TestDispatcher(Class impl, Object serviceInstance) {
+            super(impl, serviceInstance);
+        }
+
+        protected MessageContext createFaultResponse(MessageContext request, Throwable fault) {
+            return null;
+        }
+
+        protected MessageContext createResponse(MessageContext request, Object[] input,
+                Object output) {
+            return null;
+        }
+
+        public MessageContext invoke(MessageContext request) throws Exception {
+            return null;
+        }
+
+        public void invokeAsync(MessageContext request, EndpointCallback callback) {
+        }
+
+        public void invokeOneWay(MessageContext request) {
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.server.endpoint.lifecycle.impl;
+
+import junit.framework.TestCase;
+import org.apache.axis2.jaxws.context.utils.ContextUtils;
+import org.apache.axis2.jaxws.core.MessageContext;
+import org.apache.axis2.jaxws.server.endpoint.lifecycle.EndpointInstanceStrategy.Mode;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for {@link EndpointInstancePool}.
+ */
+public class EndpointInstancePoolTests extends TestCase {
+    public static class TestEndpoint {
+        boolean destroyed;
+
+        public void destroy() {
+            destroyed = true;
+        }
+    }
+
+    private static Method getPreDestroyMethod() throws Exception {
+        return TestEndpoint.class.getMethod("destroy");
+    }
+
+    private static EndpointInstancePool.PooledInstance newInstance() {
+        return new EndpointInstancePool.PooledInstance(new TestEndpoint(), null);
+    }
+
+    public void testPooled() throws Exception {
+        EndpointInstancePool pool = new EndpointInstancePool(Mode.POOLED, 1, getPreDestroyMethod());
+        assertNull(pool.acquire(null));
+        EndpointInstancePool.PooledInstance pi1 = pool.created(null, newInstance());
+        EndpointInstancePool.PooledInstance pi2 = pool.created(null, newInstance());
+        pool.release(pi1, null);
+        pool.release(pi2, null);
+        assertEquals(1, pool.getIdleInstanceCount());
+        assertFalse(((TestEndpoint) pi1.instance).destroyed);
+        assertTrue(((TestEndpoint) pi2.instance).destroyed);
+        assertSame(pi1, pool.acquire(null));
+        assertEquals(0, pool.getIdleInstanceCount());
+        assertNull(pool.acquire(null));
+    }
+
+    public void testRequest() throws Exception {
+        EndpointInstancePool pool = new EndpointInstancePool(Mode.REQUEST, 32, getPreDestroyMethod());
+        EndpointInstancePool.PooledInstance pi = pool.created(null, newInstance());
+        pool.release(pi, null);
+        assertTrue(((TestEndpoint) pi.instance).destroyed);
+        assertEquals(0, pool.getIdleInstanceCount());
+        assertNull(pool.acquire(null));
+    }
+
+    public void testSingleton() throws Exception {
+        EndpointInstancePool pool = new EndpointInstancePool(Mode.SINGLETON, 32, getPreDestroyMethod());
+        assertNull(pool.acquire(null));
+        EndpointInstancePool.PooledInstance pi1 = pool.created(null, newInstance());
+        // Simulates a concurrent creation by another thread
+        EndpointInstancePool.PooledInstance pi2 = newInstance();
+        assertSame(pi1, pool.created(null, pi2));
+        assertTrue(((TestEndpoint) pi2.instance).destroyed);
+        assertFalse(((TestEndpoint) pi1.instance).destroyed);
+        assertSame(pi1, pool.acquire(null));
+    }
+
+    public void testThread() throws Exception {
+        final EndpointInstancePool pool = new EndpointInstancePool(Mode.THREAD, 32, getPreDestroyMethod());
+        MessageContext request1 = new MessageContext();
+        assertNull(pool.acquire(request1));
+        EndpointInstancePool.PooledInstance pi = pool.created(request1, newInstance());
+        EndpointInstancePool.releaseServiceInstance(request1);
+
+        MessageContext request2 = new MessageContext();
+        assertSame(pi, pool.acquire(request2));
+        final EndpointInstancePool.PooledInstance[] other = new EndpointInstancePool.PooledInstance[1];
+        Thread thread = new Thread() {
+            public void run() {
+                other[0] = pool.acquire(new MessageContext());
+            }
+        };
+        thread.start();
+        thread.join();
+        assertNull(other[0]);
+        EndpointInstancePool.releaseServiceInstance(request2);
+        assertFalse(((TestEndpoint) pi.instance).destroyed);
+    }
+
+    /**
+     * An asynchronous or one-way request completes on an executor thread, while the thread that
+     * received it goes on with the next request.
+     */
+    public void testThreadWithOneWayRequest() throws Exception {
+        EndpointInstancePool pool = new EndpointInstancePool(Mode.THREAD, 32, getPreDestroyMethod());
+        final MessageContext oneWayRequest = new MessageContext();
+        assertNull(pool.acquire(oneWayRequest));
+        EndpointInstancePool.PooledInstance pi1 = pool.created(oneWayRequest, newInstance());
+
+        // The instance is still in use, so the next request gets a new one
+        MessageContext request = new MessageContext();
+        assertNull(pool.acquire(request));
+        EndpointInstancePool.PooledInstance pi2 = pool.created(request, newInstance());
+        assertNotSame(pi1, pi2);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(new Runnable() {
+                public void run() {
+                    ContextUtils.releaseWebServiceContextResources(oneWayRequest);
+                }
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+        assertFalse(((TestEndpoint) pi1.instance).destroyed);
+
+        // The thread already has an instance again, so the second one is destroyed
+        EndpointInstancePool.releaseServiceInstance(request);
+        assertTrue(((TestEndpoint) pi2.instance).destroyed);
+        assertSame(pi1, pool.acquire(new MessageContext()));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.jaxws.utility;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the Executors created by the JAXWSExecutorFactory.
+ */
+public class JAXWSExecutorFactoryTests extends TestCase {
+    public void testElasticExecutorIsShared() throws Exception {
+        JAXWSExecutorFactory factory = new JAXWSExecutorFactory("elastic", 4, 10);
+        ExecutorService e1 = (ExecutorService) factory.getExecutorInstance(ExecutorFactory.CLIENT_EXECUTOR);
+        ExecutorService e2 = (ExecutorService) factory.getExecutorInstance(ExecutorFactory.CLIENT_EXECUTOR);
+        final CountDownLatch latch = new CountDownLatch(2);
+        Runnable task = new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        };
+        e1.execute(task);
+        e2.execute(task);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        // Shutting down one client's executor doesn't affect the other
+        e1.shutdown();
+        assertTrue(e1.awaitTermination(10, TimeUnit.SECONDS));
+        try {
+            e1.execute(task);
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            // Expected
+        }
+        assertFalse(e2.isShutdown());
+        e2.submit(task).get(10, TimeUnit.SECONDS);
+        e2.shutdown();
+        assertTrue(e2.awaitTermination(10, TimeUnit.SECONDS));
+
+        ExecutorStatistics stats = factory.getStatistics(ExecutorFactory.CLIENT_EXECUTOR);
+        assertEquals(3, stats.getSubmittedTaskCount());
+        assertEquals(3, stats.getCompletedTaskCount());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(0, factory.getStatistics(ExecutorFactory.SERVER_EXECUTOR).getSubmittedTaskCount());
+    }
+
+    public void testCallerPolicy() throws Exception {
+        JAXWSExecutorFactory factory = new JAXWSExecutorFactory("caller", 4, 10);
+        JAXWSExecutorService executor =
+                (JAXWSExecutorService) factory.getExecutorInstance(ExecutorFactory.SERVER_EXECUTOR);
+        assertTrue(executor.isDirect());
+        final Thread[] thread = new Thread[1];
+        executor.execute(new Runnable() {
+            public void run() {
+                thread[0] = Thread.currentThread();
+            }
+        });
+        assertSame(Thread.currentThread(), thread[0]);
+    }
+
+    public void testUnknownPolicy() throws Exception {
+        JAXWSExecutorFactory factory = new JAXWSExecutorFactory("bogus", 4, 10);
+        JAXWSExecutorService executor = (JAXWSExecutorService) factory.getExecutorInstance();
+        assertFalse(executor.isDirect());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.context;
+
+import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.dispatchers.RequestURIBasedDispatcher;
+import org.apache.axis2.engine.Handler;
+import org.apache.axis2.engine.Phase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+
+/**
+ * Measures the size and the time needed to externalize a message context with a typical
+ * execution chain. Run it once with and once without the
+ * <code>org.apache.axis2.context.MessageContext.compactExternalization</code> system property
+ * to compare the compact format with the default one.
+ */
+public class MessageContextExternalizeBenchmark {
+    private static MessageContext createMessageContext() {
+        MessageContext mc = new MessageContext();
+        ArrayList<Handler> chain = new ArrayList<Handler>();
+        for (int i = 0; i < 10; i++) {
+            Phase phase = new Phase("Phase" + i);
+            for (int j = 0; j < 3; j++) {
+                RequestURIBasedDispatcher handler = new RequestURIBasedDispatcher();
+                handler.init(new HandlerDescription("Handler" + i + "_" + j));
+                phase.addHandler(handler);
+            }
+            chain.add(phase);
+            mc.addExecutedPhase(phase);
+        }
+        mc.setExecutionChain(chain);
+        for (int i = 0; i < 10; i++) {
+            mc.setProperty("key" + i, "value" + i);
+        }
+        return mc;
+    }
+
+    private static byte[] write(MessageContext mc) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        mc.writeExternal(out);
+        out.close();
+        return baos.toByteArray();
+    }
+
+    private static void read(byte[] data) throws Exception {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+        new MessageContext().readExternal(in);
+        in.close();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        MessageContext mc = createMessageContext();
+        byte[] data = write(mc);
+        for (int i = 0; i < iterations / 10; i++) {
+            read(write(mc));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            write(mc);
+        }
+        long writeTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            read(data);
+        }
+        long readTime = System.nanoTime() - start;
+        System.out.println("Compact format:  "
+                + Boolean.getBoolean(MessageContext.COMPACT_EXTERNALIZATION_PROPERTY));
+        System.out.println("Size:            " + data.length + " bytes");
+        System.out.println("Write:           " + writeTime / iterations / 1000.0 + " us");
+        System.out.println("Read:            " + readTime / iterations / 1000.0 + " us");
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.context;
+
+import org.apache.axiom.util.UIDGenerator;
+import org.apache.axis2.util.CounterIdGenerator;
+import org.apache.axis2.util.IdGenerator;
+
+/**
+ * Measures the per message cost of the identifiers and keys the engine creates for every
+ * message: message IDs generated by Axiom's {@link UIDGenerator} and by the default
+ * {@link CounterIdGenerator}, and a message context that gets a log ID and a few entries of
+ * self managed data.
+ */
+public class MessageIdBenchmark {
+    private static long axiom(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            UIDGenerator.generateURNString();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long counter(IdGenerator generator, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            generator.generateURNString();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long messageContext(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            MessageContext mc = new MessageContext();
+            mc.getLogIDString();
+            for (int j = 0; j < 4; j++) {
+                mc.setSelfManagedData(MessageIdBenchmark.class, "key" + j, mc);
+            }
+            for (int j = 0; j < 4; j++) {
+                mc.getSelfManagedData(MessageIdBenchmark.class, "key" + j);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        IdGenerator generator = new CounterIdGenerator();
+        axiom(iterations / 10);
+        counter(generator, iterations / 10);
+        messageContext(iterations / 10);
+        System.out.println("Axiom UIDGenerator: " + axiom(iterations) / (double) iterations + " ns");
+        System.out.println("CounterIdGenerator: "
+                + counter(generator, iterations) / (double) iterations + " ns");
+        System.out.println("Message context:    "
+                + messageContext(iterations) / (double) iterations + " ns");
+    }
+}
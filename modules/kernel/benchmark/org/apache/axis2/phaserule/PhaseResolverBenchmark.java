@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.phaserule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.apache.axis2.description.AxisModule;
+import org.apache.axis2.description.AxisOperation;
+import org.apache.axis2.description.Flow;
+import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.description.InOutAxisOperation;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.axis2.engine.Handler;
+import org.apache.axis2.engine.Phase;
+import org.apache.axis2.phaseresolver.PhaseHolder;
+import org.apache.axis2.phaseresolver.PhaseResolver;
+
+/**
+ * Measures the time needed to engage a module on every operation of a large deployment (by
+ * default 150 services with 20 operations each), once with {@link PhaseResolver} and once
+ * adding the module's handlers one by one, as earlier releases did.
+ */
+public class PhaseResolverBenchmark {
+    private static final String[] GLOBAL_IN_PHASES = { "Transport", "Addressing", "Security",
+            "PreDispatch", "Dispatch", "RMPhase" };
+    private static final String[] GLOBAL_OUT_PHASES = { "soapmonitorPhase", "OperationOutPhase",
+            "RMPhase", "PolicyDetermination", "MessageOut", "Security" };
+
+    private static List<Phase> createPhases(String... names) {
+        List<Phase> phases = new ArrayList<Phase>();
+        for (String name : names) {
+            phases.add(new Phase(name));
+        }
+        return phases;
+    }
+
+    private static AxisConfiguration createConfiguration() {
+        AxisConfiguration axisConfig = new AxisConfiguration();
+        axisConfig.setInPhasesUptoAndIncludingPostDispatch(createPhases(GLOBAL_IN_PHASES));
+        axisConfig.setGlobalOutPhase(createPhases(GLOBAL_OUT_PHASES));
+        return axisConfig;
+    }
+
+    private static List<AxisOperation> createOperations(int count) {
+        List<AxisOperation> operations = new ArrayList<AxisOperation>(count);
+        for (int i = 0; i < count; i++) {
+            AxisOperation operation = new InOutAxisOperation(new QName("op" + i));
+            operation.setRemainingPhasesInFlow(
+                    new ArrayList<Phase>(createPhases("OperationInPhase", "soapmonitorPhase")));
+            operation.setPhasesOutFlow(new ArrayList<Phase>(createPhases("OperationOutPhase")));
+            operations.add(operation);
+        }
+        return operations;
+    }
+
+    private static HandlerDescription createHandler(String name, String phaseName,
+                                                    String before, String after) {
+        HandlerDescription handlerDesc = new HandlerDescription(name);
+        handlerDesc.getRules().setPhaseName(phaseName);
+        handlerDesc.getRules().setBefore(before);
+        handlerDesc.getRules().setAfter(after);
+        Handler handler = new PhaseRuleHandler(name);
+        handler.init(handlerDesc);
+        handlerDesc.setHandler(handler);
+        return handlerDesc;
+    }
+
+    private static AxisModule createModule() {
+        Flow inFlow = new Flow();
+        inFlow.addHandler(createHandler("SecurityIn", "Security", null, null));
+        inFlow.addHandler(createHandler("RMIn", "RMPhase", null, null));
+        inFlow.addHandler(createHandler("RMInAfter", "RMPhase", null, "RMIn"));
+        inFlow.addHandler(createHandler("OperationIn", "OperationInPhase", null, null));
+        inFlow.addHandler(createHandler("Monitor", "soapmonitorPhase", null, null));
+        Flow outFlow = new Flow();
+        outFlow.addHandler(createHandler("OperationOut", "OperationOutPhase", null, null));
+        outFlow.addHandler(createHandler("RMOut", "RMPhase", null, null));
+        outFlow.addHandler(createHandler("RMOutBefore", "RMPhase", "RMOut", null));
+        outFlow.addHandler(createHandler("SecurityOut", "Security", null, null));
+        AxisModule module = new AxisModule("benchmark");
+        module.setInFlow(inFlow);
+        module.setOutFlow(outFlow);
+        return module;
+    }
+
+    private static void addFlow(Flow flow, List phases) throws Exception {
+        PhaseHolder phaseHolder = new PhaseHolder(phases);
+        for (int i = 0; i < flow.getHandlerCount(); i++) {
+            phaseHolder.addHandler(flow.getHandler(i));
+        }
+    }
+
+    private static long legacy(AxisModule module, int operationCount) throws Exception {
+        AxisConfiguration axisConfig = createConfiguration();
+        List<AxisOperation> operations = createOperations(operationCount);
+        long start = System.nanoTime();
+        for (AxisOperation operation : operations) {
+            List phases = new ArrayList();
+            phases.addAll(axisConfig.getInFlowPhases());
+            phases.addAll(operation.getRemainingPhasesInFlow());
+            addFlow(module.getInFlow(), phases);
+            phases = new ArrayList();
+            phases.addAll(operation.getPhasesOutFlow());
+            phases.addAll(axisConfig.getOutFlowPhases());
+            addFlow(module.getOutFlow(), phases);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long resolver(AxisModule module, int operationCount) throws Exception {
+        AxisConfiguration axisConfig = createConfiguration();
+        List<AxisOperation> operations = createOperations(operationCount);
+        PhaseResolver phaseResolver = new PhaseResolver(axisConfig);
+        long start = System.nanoTime();
+        for (AxisOperation operation : operations) {
+            phaseResolver.engageModuleToOperation(operation, module);
+        }
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int operationCount = args.length > 0 ? Integer.parseInt(args[0]) : 150 * 20;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        AxisModule module = createModule();
+        for (int i = 0; i < rounds / 2; i++) {
+            legacy(module, operationCount);
+            resolver(module, operationCount);
+        }
+        long legacyTime = 0;
+        long resolverTime = 0;
+        for (int i = 0; i < rounds; i++) {
+            legacyTime += legacy(module, operationCount);
+            resolverTime += resolver(module, operationCount);
+        }
+        System.out.println("Operations:         " + operationCount);
+        System.out.println("Handler by handler: " + legacyTime / rounds / 1000 + " us");
+        System.out.println("PhaseResolver:      " + resolverTime / rounds / 1000 + " us");
+    }
+}
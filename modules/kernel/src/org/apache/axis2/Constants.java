@@ -181,6 +181,7 @@ public class Constants extends org.apache.axis2.namespace.Constants {
     public static final String LIST_OPERATIONS_FOR_THE_SERVICE = "listOperations";
     public static final String IS_FAULTY = "Fault";
     public static final String GLOBAL_HANDLERS = "axisconfig";
+    public static final String INVOCATION_STATISTICS = "invocationStatistics";
 
     /**
      * Keys for service/module error maps
@@ -366,6 +367,13 @@ public class Constants extends org.apache.axis2.namespace.Constants {
 
         public static final String CONFIG_CONTEXT_TIMEOUT_INTERVAL = "ConfigContextTimeoutInterval";
 
+        /**
+         * axis2.xml parameter that limits the number of asynchronous requests a client operation
+         * may have waiting for a response. Further requests fail until responses arrive or time
+         * out.
+         */
+        public static final String MAX_PENDING_CALLBACKS = "MaxPendingCallbacks";
+
         public static final String TRANSPORT_IN_URL = "TransportInURL";
 
         public static final String URL_PARAMETER_LIST = "URLParameterList";
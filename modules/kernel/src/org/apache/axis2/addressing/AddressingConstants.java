@@ -99,6 +99,12 @@ public interface AddressingConstants {
      */
     static final String INCLUDE_OPTIONAL_HEADERS = "includeOptionalHeaders";
 
+    /**
+     * When set to Boolean.FALSE this will stop the addressing out handler from reusing
+     * pre-built wsa:ReplyTo, wsa:FaultTo and wsa:From headers across messages.
+     */
+    static final String CACHE_EPR_HEADERS = "cacheEPRHeaders";
+
     /**
      * This property, if set to Boolean.TRUE, will mean that the addressing handler allows partially
      * ws-addressed messages to be sent even if they are then invalid rather than throwing a fault.
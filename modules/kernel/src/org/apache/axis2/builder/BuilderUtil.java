@@ -48,6 +48,7 @@ import org.apache.axis2.description.AxisOperation;
 import org.apache.axis2.description.Parameter;
 import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.axis2.java.security.AccessController;
+import org.apache.axis2.kernel.ContentTypeInfo;
 import org.apache.axis2.kernel.http.HTTPConstants;
 import org.apache.axis2.util.JavaUtils;
 import org.apache.axis2.util.MessageProcessorSelector;
@@ -401,35 +402,7 @@ public class BuilderUtil {
             return MessageContext.DEFAULT_CHAR_SET_ENCODING;
         }
 
-        int index = contentType.indexOf(HTTPConstants.CHAR_SET_ENCODING);
-
-        if (index == -1) {    // Charset encoding not found in the content-type header
-            // Using the default UTF-8
-            if (log.isDebugEnabled()) {
-                log.debug("CharSetEncoding defaulted (" + MessageContext.DEFAULT_CHAR_SET_ENCODING +
-                          ")");
-            }
-            return MessageContext.DEFAULT_CHAR_SET_ENCODING;
-        }
-
-        // If there are spaces around the '=' sign
-        int indexOfEq = contentType.indexOf("=", index);
-
-        // There can be situations where "charset" is not the last parameter of the Content-Type header
-        int indexOfSemiColon = contentType.indexOf(";", indexOfEq);
-        String value;
-
-        if (indexOfSemiColon > 0) {
-            value = (contentType.substring(indexOfEq + 1, indexOfSemiColon));
-        } else {
-            value = (contentType.substring(indexOfEq + 1, contentType.length())).trim();
-        }
-
-        // There might be "" around the value - if so remove them
-        if (value.indexOf('\"') != -1) {
-            value = value.replaceAll("\"", "");
-        }
-        value = value.trim();
+        String value = ContentTypeInfo.get(contentType).getCharSetEncoding();
         if (log.isDebugEnabled()) {
             log.debug("CharSetEncoding from content-type (" + value + ")");
         }
@@ -20,7 +20,6 @@
 package org.apache.axis2.client;
 
 import org.apache.axiom.om.OMElement;
-import org.apache.axiom.util.UIDGenerator;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.addressing.EndpointReference;
 import org.apache.axis2.client.async.AxisCallback;
@@ -32,6 +31,7 @@ import org.apache.axis2.description.AxisOperation;
 import org.apache.axis2.description.ClientUtils;
 import org.apache.axis2.description.TransportOutDescription;
 import org.apache.axis2.i18n.Messages;
+import org.apache.axis2.util.IdGenerator;
 import org.apache.axis2.util.TargetResolver;
 import org.apache.axis2.wsdl.WSDLConstants;
 
@@ -230,7 +230,7 @@ public abstract class OperationClient {
         // if there is no message id still, set a new one.
         String messageId = options.getMessageId();
         if (messageId == null || "".equals(messageId)) {
-            messageId = UIDGenerator.generateURNString();
+            messageId = IdGenerator.getInstance().generateURNString();
         }
         mc.setMessageID(messageId);
     }
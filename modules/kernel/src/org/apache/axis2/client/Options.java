@@ -21,7 +21,6 @@ package org.apache.axis2.client;
 
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.soap.SOAP11Constants;
-import org.apache.axiom.util.UIDGenerator;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.Constants;
 import org.apache.axis2.addressing.AddressingConstants;
@@ -37,6 +36,7 @@ import org.apache.axis2.description.TransportOutDescription;
 import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.axis2.i18n.Messages;
 import org.apache.axis2.kernel.TransportListener;
+import org.apache.axis2.util.IdGenerator;
 import org.apache.axis2.util.JavaUtils;
 import org.apache.axis2.util.MetaDataEntry;
 import org.apache.axis2.util.Utils;
@@ -1533,7 +1533,7 @@ public class Options implements Externalizable, SafeSerializable {
      */
     public String getLogCorrelationIDString() {
         if (logCorrelationIDString == null) {
-            logCorrelationIDString = myClassName + "@" + UIDGenerator.generateUID();
+            logCorrelationIDString = myClassName + "@" + IdGenerator.getInstance().generateUID();
         }
         return logCorrelationIDString;
     }
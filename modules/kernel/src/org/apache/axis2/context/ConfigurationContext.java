@@ -47,7 +47,6 @@ import java.io.File;
 import java.net.URL;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
@@ -71,7 +70,8 @@ public class ConfigurationContext extends AbstractContext {
     private static final OnDemandLogger log = new OnDemandLogger(ConfigurationContext.class);
     /** Map containing <code>MessageID</code> to <code>OperationContext</code> mapping. */
     private final ConcurrentHashMap<String, OperationContext> operationContextMap = new ConcurrentHashMap<String, OperationContext>();
-    private final Hashtable<String, ServiceGroupContext> serviceGroupContextMap = new Hashtable<String, ServiceGroupContext>();
+    /** SOAP session table holding the ServiceGroupContexts of <code>soapsession</code> services. */
+    private final SoapSessionTable serviceGroupContextMap = new SoapSessionTable(this);
     private Hashtable<String, ServiceGroupContext> applicationSessionServiceGroupContexts = new Hashtable<String, ServiceGroupContext>();
     private AxisConfiguration axisConfiguration;
     private ThreadFactory threadPool;
@@ -244,8 +244,6 @@ public class ConfigurationContext extends AbstractContext {
                 messageContext
                         .setServiceContext(serviceGroupContext.getServiceContext(axisService));
             } else if (Constants.SCOPE_SOAP_SESSION.equals(scope)) {
-                //cleaning the session
-                cleanupServiceGroupContexts();
                 String serviceGroupContextId = messageContext.getServiceGroupContextId();
                 if (serviceGroupContextId != null) {
                     serviceGroupContext =
@@ -359,12 +357,9 @@ public class ConfigurationContext extends AbstractContext {
      */
     public void addServiceGroupContextIntoSoapSessionTable(
             ServiceGroupContext serviceGroupContext) {
-        String id = serviceGroupContext.getId();
-        serviceGroupContextMap.put(id, serviceGroupContext);
         serviceGroupContext.touch();
         serviceGroupContext.setParent(this);
-        // this is the best time to clean up the SGCtxts since are not being used anymore
-        cleanupServiceGroupContexts();
+        serviceGroupContextMap.add(serviceGroupContext);
     }
 
     /**
@@ -574,18 +569,54 @@ public class ConfigurationContext extends AbstractContext {
      * @return Returns hashmap of ServiceGroupContexts.
      */
     public String[] getServiceGroupContextIDs() {
-        String[] ids = new String[serviceGroupContextMap.size() +
-                                  applicationSessionServiceGroupContexts.size()];
-        int index = 0;
-        for (Object o : serviceGroupContextMap.keySet()) {
-            ids[index] = (String)o;
-            index++;
-        }
-        for (Object o : applicationSessionServiceGroupContexts.keySet()) {
-            ids[index] = (String)o;
-            index++;
-        }
-        return ids;
+        // The SOAP session table may change while we copy it, so don't presize an array
+        List<String> ids = new ArrayList<String>(serviceGroupContextMap.ids());
+        ids.addAll(applicationSessionServiceGroupContexts.keySet());
+        return ids.toArray(new String[ids.size()]);
+    }
+
+    SoapSessionTable getSoapSessionTable() {
+        return serviceGroupContextMap;
+    }
+
+    /**
+     * Returns the number of live SOAP sessions.
+     *
+     * @return the number of ServiceGroupContexts in the SOAP session table
+     */
+    public int getSoapSessionCount() {
+        return serviceGroupContextMap.size();
+    }
+
+    /**
+     * Returns the number of SOAP sessions added to the session table since this context was
+     * created.
+     *
+     * @return the number of SOAP sessions created
+     */
+    public long getCreatedSoapSessionCount() {
+        return serviceGroupContextMap.getCreatedCount();
+    }
+
+    /**
+     * Returns the number of SOAP sessions that timed out and were removed by the background
+     * sweeper.
+     *
+     * @return the number of expired SOAP sessions
+     * @see #getServiceGroupContextTimeoutInterval()
+     */
+    public long getExpiredSoapSessionCount() {
+        return serviceGroupContextMap.getExpiredCount();
+    }
+
+    /**
+     * Returns the number of SOAP sessions that were removed explicitly, e.g. through
+     * {@link #removeServiceGroupContext(String)}.
+     *
+     * @return the number of removed SOAP sessions
+     */
+    public long getRemovedSoapSessionCount() {
+        return serviceGroupContextMap.getRemovedCount();
     }
 
 
@@ -634,30 +665,22 @@ public class ConfigurationContext extends AbstractContext {
         if (serviceGroupContextMap == null) {
             return;
         }
-        ServiceGroupContext serviceGroupContext =serviceGroupContextMap.get(serviceGroupContextId);
-        serviceGroupContextMap.remove(serviceGroupContextId);
+        ServiceGroupContext serviceGroupContext =serviceGroupContextMap.remove(serviceGroupContextId);
         cleanupServiceContexts(serviceGroupContext);
     }
 
-    private void cleanupServiceGroupContexts() {
-        if (serviceGroupContextMap == null) {
-            return;
-        }
-        long currentTime = new Date().getTime();
-
-        synchronized (serviceGroupContextMap) {
-            for (Iterator<String> sgCtxtMapKeyIter = serviceGroupContextMap.keySet().iterator();
-                 sgCtxtMapKeyIter.hasNext();) {
-                String sgCtxtId = sgCtxtMapKeyIter.next();
-                ServiceGroupContext serviceGroupContext =serviceGroupContextMap.get(sgCtxtId);
-                if ((currentTime - serviceGroupContext.getLastTouchedTime()) >
-                    getServiceGroupContextTimeoutInterval()) {
-                    sgCtxtMapKeyIter.remove();
-                    cleanupServiceContexts(serviceGroupContext);
-                    contextRemoved(serviceGroupContext);
-                }
-            }
+    /**
+     * Called by the SOAP session sweeper once a ServiceGroupContext has timed out and has been
+     * removed from the session table.
+     *
+     * @param serviceGroupContext the expired ServiceGroupContext
+     */
+    void serviceGroupContextExpired(ServiceGroupContext serviceGroupContext) {
+        if (log.isDebugEnabled()) {
+            log.debug("SOAP session " + serviceGroupContext.getId() + " timed out");
         }
+        cleanupServiceContexts(serviceGroupContext);
+        contextRemoved(serviceGroupContext);
     }
 
     /**
@@ -703,12 +726,11 @@ public class ConfigurationContext extends AbstractContext {
             }
             applicationSessionServiceGroupContexts.clear();
         }
-        if ((serviceGroupContextMap != null) && (serviceGroupContextMap.size() > 0)) {
-            for (Object o : serviceGroupContextMap.values()) {
-                ServiceGroupContext serviceGroupContext =
-                        (ServiceGroupContext)o;
+        if (serviceGroupContextMap != null) {
+            for (ServiceGroupContext serviceGroupContext : serviceGroupContextMap.values()) {
                 cleanupServiceContexts(serviceGroupContext);
             }
+            // also stops the session sweeper
             serviceGroupContextMap.clear();
         }
     }
@@ -34,6 +34,7 @@ import org.apache.axis2.client.Options;
 import org.apache.axis2.context.externalize.ActivateUtils;
 import org.apache.axis2.context.externalize.ExternalizeConstants;
 import org.apache.axis2.context.externalize.MessageExternalizeUtils;
+import org.apache.axis2.context.externalize.MetaDataEntryCodec;
 import org.apache.axis2.context.externalize.SafeObjectInputStream;
 import org.apache.axis2.context.externalize.SafeObjectOutputStream;
 import org.apache.axis2.context.externalize.SafeSerializable;
@@ -56,7 +57,9 @@ import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.axis2.engine.AxisError;
 import org.apache.axis2.engine.Handler;
 import org.apache.axis2.engine.Phase;
+import org.apache.axis2.util.IdGenerator;
 import org.apache.axis2.util.JavaUtils;
+import org.apache.axis2.util.Loader;
 import org.apache.axis2.util.MetaDataEntry;
 import org.apache.axis2.util.SelfManagedDataHolder;
 import org.apache.axis2.util.PolicyUtil;
@@ -146,9 +149,23 @@ public class MessageContext extends AbstractContext
      * Refer to the writeExternal() and readExternal() methods.
      */
     // supported revision levels, add a new level to manage compatible changes
-    private static final int REVISION_2 = 2;
+    static final int REVISION_2 = 2;
+    // REVISION_3 writes the meta data entries with a MetaDataEntryCodec
+    // instead of Java serialization
+    static final int REVISION_3 = 3;
+
+    /**
+     * System property that can be set to <code>true</code> to write message contexts in
+     * the more compact REVISION_3 format. Both formats are always read, but versions that
+     * only support REVISION_2 can't read message contexts written in the REVISION_3 format,
+     * so this should only be enabled once all the readers have been upgraded.
+     */
+    public static final String COMPACT_EXTERNALIZATION_PROPERTY =
+            "org.apache.axis2.context.MessageContext.compactExternalization";
+
     // current revision level of this object
-    private static final int revisionID = REVISION_2;
+    private static final int revisionID =
+            Boolean.getBoolean(COMPACT_EXTERNALIZATION_PROPERTY) ? REVISION_3 : REVISION_2;
 
     private static final boolean DEBUG_ENABLED = log.isDebugEnabled() || log.isTraceEnabled();
 
@@ -431,7 +448,7 @@ public class MessageContext extends AbstractContext
      * Note that this list is not explicitly saved by the MessageContext, but
      * rather through the SelfManagedDataManager interface implemented by handlers
      */
-    private transient LinkedHashMap<String, Object> selfManagedDataMap = null;
+    private transient LinkedHashMap<SelfManagedDataKey, Object> selfManagedDataMap = null;
 
     //-------------------------------------------------------------------------
     // MetaData for data to be restored in activate() after readExternal()
@@ -565,7 +582,7 @@ public class MessageContext extends AbstractContext
      */
     public String getLogCorrelationID() {
         if (logCorrelationID == null) {
-            logCorrelationID = UIDGenerator.generateUID();
+            logCorrelationID = IdGenerator.getInstance().generateUID();
         }
         return logCorrelationID;
     }
@@ -1829,29 +1846,46 @@ public class MessageContext extends AbstractContext
      * ===============================================================
      */
 
-    /*
-    * character to delimit strings
-    */
-    private String selfManagedDataDelimiter = "*";
+    /**
+     * Key of the self managed data map: the class that owns the key and the key itself. Unlike a
+     * string built from the class name and the key, creating one costs a single small allocation.
+     */
+    private static final class SelfManagedDataKey {
+        private final Class clazz;
+        private final Object key;
+        private final int hashCode;
+
+        SelfManagedDataKey(Class clazz, Object key) {
+            this.clazz = clazz;
+            this.key = key;
+            this.hashCode = 31 * clazz.hashCode() + key.hashCode();
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
 
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SelfManagedDataKey)) {
+                return false;
+            }
+            SelfManagedDataKey other = (SelfManagedDataKey) obj;
+            return hashCode == other.hashCode && clazz == other.clazz && key.equals(other.key);
+        }
+    }
 
     /**
-     * Set up a unique key in the form of
-     * <OL>
-     * <LI>the class name for the class that owns the key
-     * <LI>delimitor
-     * <LI>the key as a string
-     * <LI>delimitor
-     * <LI>the key's hash code as a string
-     * </OL>
+     * Set up a unique key from the class that owns the key and the key.
      *
      * @param clazz The class that owns the supplied key
      * @param key   The key
-     * @return A string key
+     * @return The key of the self managed data map
      */
-    private String generateSelfManagedDataKey(Class clazz, Object key) {
-        return clazz.getName() + selfManagedDataDelimiter + key.toString() +
-                selfManagedDataDelimiter + Integer.toString(key.hashCode());
+    private SelfManagedDataKey generateSelfManagedDataKey(Class clazz, Object key) {
+        return new SelfManagedDataKey(clazz, key);
     }
 
     /**
@@ -1867,7 +1901,7 @@ public class MessageContext extends AbstractContext
      */
     public void setSelfManagedData(Class clazz, Object key, Object value) {
         if (selfManagedDataMap == null) {
-            selfManagedDataMap = new LinkedHashMap<String, Object>();
+            selfManagedDataMap = new LinkedHashMap<SelfManagedDataKey, Object>();
         }
 
         // make sure we have a unique key and a delimiter so we can
@@ -2261,6 +2295,17 @@ public class MessageContext extends AbstractContext
      * @throws IOException
      */
     public void writeExternal(ObjectOutput o) throws IOException {
+        writeExternal(o, revisionID);
+    }
+
+    /**
+     * Save the contents of this MessageContext instance in the given revision of the format.
+     *
+     * @param o        The stream to write the object contents to
+     * @param revision REVISION_2 or REVISION_3
+     * @throws IOException
+     */
+    void writeExternal(ObjectOutput o, int revision) throws IOException {
         SafeObjectOutputStream out = SafeObjectOutputStream.install(o);
         String logCorrelationIDString = getLogIDString();
 
@@ -2277,7 +2322,9 @@ public class MessageContext extends AbstractContext
         out.writeLong(serialVersionUID);
 
         // revision ID
-        out.writeInt(revisionID);
+        out.writeInt(revision);
+
+        MetaDataEntryCodec codec = revision == REVISION_3 ? new MetaDataEntryCodec() : null;
 
         //---------------------------------------------------------
         // various simple fields
@@ -2404,7 +2451,7 @@ public class MessageContext extends AbstractContext
                             objClass + "] qname [" + qnameAsString + "]");
                 }
 
-                out.writeObject(mdEntry);
+                writeMetaDataEntry(out, codec, mdEntry);
 
                 // update the index so that the index
                 // now indicates the next entry that
@@ -2424,7 +2471,7 @@ public class MessageContext extends AbstractContext
             MetaDataEntry lastEntry = new MetaDataEntry();
             lastEntry.setClassName(MetaDataEntry.END_OF_LIST);
 
-            out.writeObject(lastEntry);
+            writeMetaDataEntry(out, codec, lastEntry);
             nextIndex++;
 
             // nextIndex also gives us the number of entries
@@ -2509,7 +2556,7 @@ public class MessageContext extends AbstractContext
                             objClass + "] qname [" + qnameAsString + "]");
                 }
 
-                out.writeObject(mdEntry);
+                writeMetaDataEntry(out, codec, mdEntry);
 
                 // update the index so that the index
                 // now indicates the next entry that
@@ -2529,7 +2576,7 @@ public class MessageContext extends AbstractContext
             MetaDataEntry lastEntry = new MetaDataEntry();
             lastEntry.setClassName(MetaDataEntry.END_OF_LIST);
 
-            out.writeObject(lastEntry);
+            writeMetaDataEntry(out, codec, lastEntry);
             execNextIndex++;
 
             // execNextIndex also gives us the number of entries
@@ -2554,7 +2601,7 @@ public class MessageContext extends AbstractContext
         String tmpID = getMessageID();
         if (tmpID == null) {
             // get an id to use when restoring this object
-            tmpID = UIDGenerator.generateUID();
+            tmpID = IdGenerator.getInstance().generateUID();
             setMessageID(tmpID);
         }
 
@@ -2586,7 +2633,7 @@ public class MessageContext extends AbstractContext
             metaAxisOperation = new MetaDataEntry(axisOperation.getClass().getName(),
                                                   axisOperation.getName().toString());
         }
-        out.writeObject(metaAxisOperation);
+        writeMetaDataEntry(out, codec, metaAxisOperation);
 
         //---------------------------------------------------------
         // operation context
@@ -2619,7 +2666,7 @@ public class MessageContext extends AbstractContext
             metaAxisService = new MetaDataEntry(axisService.getClass().getName(), 
                     axisService.getName(), serviceAndPortNames);
         }
-        out.writeObject(metaAxisService);
+        writeMetaDataEntry(out, codec, metaAxisService);
 
         //-------------------------
         // serviceContextID string
@@ -2665,7 +2712,7 @@ public class MessageContext extends AbstractContext
             metaAxisServiceGroup = new MetaDataEntry(axisServiceGroup.getClass().getName(),
                                                      axisServiceGroup.getServiceGroupName());
         }
-        out.writeObject(metaAxisServiceGroup);
+        writeMetaDataEntry(out, codec, metaAxisServiceGroup);
 
         //-----------------------------
         // serviceGroupContextId string
@@ -2734,7 +2781,7 @@ public class MessageContext extends AbstractContext
                                                 axisMessage.getName(), amTmpElemQNameString);
 
         }
-        out.writeObject(metaAxisMessage);
+        writeMetaDataEntry(out, codec, metaAxisMessage);
 
         //---------------------------------------------------------
         // configuration context
@@ -2766,14 +2813,14 @@ public class MessageContext extends AbstractContext
         if (transportIn != null) {
             metaTransportIn = new MetaDataEntry(null, transportIn.getName());
         }
-        out.writeObject(metaTransportIn);
+        writeMetaDataEntry(out, codec, metaTransportIn);
 
         // TransportOutDescription transportOut
         metaTransportOut = null;
         if (transportOut != null) {
             metaTransportOut = new MetaDataEntry(null, transportOut.getName());
         }
-        out.writeObject(metaTransportOut);
+        writeMetaDataEntry(out, codec, metaTransportOut);
 
 
         //---------------------------------------------------------
@@ -2838,6 +2885,30 @@ public class MessageContext extends AbstractContext
         return persistOptimized;
     }
 
+    /**
+     * Write a meta data entry, using the codec if the current revision has one.
+     */
+    private static void writeMetaDataEntry(ObjectOutput out, MetaDataEntryCodec codec,
+                                           MetaDataEntry entry) throws IOException {
+        if (codec != null) {
+            codec.write(out, entry);
+        } else {
+            out.writeObject(entry);
+        }
+    }
+
+    /**
+     * Read a meta data entry written by {@link #writeMetaDataEntry}.
+     */
+    private static MetaDataEntry readMetaDataEntry(ObjectInput in, MetaDataEntryCodec codec)
+            throws IOException, ClassNotFoundException {
+        if (codec != null) {
+            return codec.read(in);
+        } else {
+            return (MetaDataEntry) in.readObject();
+        }
+    }
+
 
     /**
      * Restore the contents of the MessageContext that was
@@ -2880,10 +2951,12 @@ public class MessageContext extends AbstractContext
         }
 
         // make sure the object data is in a revision level we can handle
-        if (revID != REVISION_2) {
+        if (revID != REVISION_2 && revID != REVISION_3) {
             throw new ClassNotFoundException(ExternalizeConstants.UNSUPPORTED_REVID);
         }
 
+        MetaDataEntryCodec codec = revID == REVISION_3 ? new MetaDataEntryCodec() : null;
+
         //---------------------------------------------------------
         // various simple fields
         //---------------------------------------------------------
@@ -2984,7 +3057,7 @@ public class MessageContext extends AbstractContext
                 // stop when we get to the end-of-list marker
 
                 // get the object
-                Object tmpObj = in.readObject();
+                Object tmpObj = readMetaDataEntry(in, codec);
 
                 count++;
 
@@ -3131,7 +3204,7 @@ public class MessageContext extends AbstractContext
                 // stop when we get to the end-of-list marker
 
                 // get the object
-                Object tmpObj = in.readObject();
+                Object tmpObj = readMetaDataEntry(in, codec);
 
                 count++;
 
@@ -3238,7 +3311,7 @@ public class MessageContext extends AbstractContext
             log.trace(getLogIDString() +
                       ": readExternal(): About to read axisOperation, marker is: " + marker);
         }
-        metaAxisOperation = (MetaDataEntry) in.readObject();
+        metaAxisOperation = readMetaDataEntry(in, codec);
 
         // operation context is not usable until it has been activated
         // NOTE: expect this to be the parent
@@ -3267,7 +3340,7 @@ public class MessageContext extends AbstractContext
             log.trace(getLogIDString() +
                       ": readExternal(): About to read axisService, marker is: " + marker);
         }
-        metaAxisService = (MetaDataEntry) in.readObject();
+        metaAxisService = readMetaDataEntry(in, codec);
 
         //-------------------------
         // serviceContextID string
@@ -3315,7 +3388,7 @@ public class MessageContext extends AbstractContext
             log.trace(getLogIDString() +
                       ": readExternal(): About to read AxisServiceGroup, marker is: " + marker);
         }
-        metaAxisServiceGroup = (MetaDataEntry) in.readObject();
+        metaAxisServiceGroup = readMetaDataEntry(in, codec);
 
         //-----------------------------
         // serviceGroupContextId string
@@ -3363,7 +3436,7 @@ public class MessageContext extends AbstractContext
             log.trace(getLogIDString() +
                       ": readExternal(): About to read AxisMessage, marker is: " + marker);
         }
-        metaAxisMessage = (MetaDataEntry) in.readObject();
+        metaAxisMessage = readMetaDataEntry(in, codec);
         reconcileAxisMessage = (metaAxisMessage != null);
 
 
@@ -3394,12 +3467,12 @@ public class MessageContext extends AbstractContext
         // TransportInDescription transportIn
         // is not usable until the meta data has been reconciled
         transportIn = null;
-        metaTransportIn = (MetaDataEntry) in.readObject();
+        metaTransportIn = readMetaDataEntry(in, codec);
 
         // TransportOutDescription transportOut
         // is not usable until the meta data has been reconciled
         transportOut = null;
-        metaTransportOut = (MetaDataEntry) in.readObject();
+        metaTransportOut = readMetaDataEntry(in, codec);
 
         //---------------------------------------------------------
         // properties
@@ -4236,7 +4309,7 @@ public class MessageContext extends AbstractContext
         // special data
         //---------------------------------------------------------
 
-        copy.setSelfManagedDataMapExplicit(selfManagedDataMap);
+        copy.selfManagedDataMap = selfManagedDataMap;
 
         //---------------------------------------------------------
         // done
@@ -4257,8 +4330,42 @@ public class MessageContext extends AbstractContext
         executedPhases = inb;
     }
 
+    /**
+     * Replaces the self managed data with the entries of a map keyed by the owner class name, the
+     * key and its hash code, separated by "*", which is how the keys were built before.
+     *
+     * @param map the self managed data
+     * @deprecated The self managed data is no longer keyed by strings. Only the entries whose
+     *             key was a string can be converted; use
+     *             {@link #setSelfManagedData(Class, Object, Object)} instead.
+     */
+    @Deprecated
     public void setSelfManagedDataMapExplicit(LinkedHashMap<String, Object> map) {
-        selfManagedDataMap = map;
+        if (map == null) {
+            selfManagedDataMap = null;
+            return;
+        }
+        LinkedHashMap<SelfManagedDataKey, Object> converted =
+                new LinkedHashMap<SelfManagedDataKey, Object>();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            String key = entry.getKey();
+            int start = key.indexOf('*');
+            int end = key.lastIndexOf('*');
+            if (start < 0 || end <= start) {
+                log.warn(getLogIDString() + ":setSelfManagedDataMapExplicit(): ignoring key [" +
+                        key + "]");
+                continue;
+            }
+            try {
+                Class clazz = Loader.loadClass(key.substring(0, start));
+                converted.put(generateSelfManagedDataKey(clazz, key.substring(start + 1, end)),
+                              entry.getValue());
+            } catch (ClassNotFoundException e) {
+                log.warn(getLogIDString() + ":setSelfManagedDataMapExplicit(): ignoring key [" +
+                        key + "]", e);
+            }
+        }
+        selfManagedDataMap = converted;
     }
 
     public void setOptionsExplicit(Options op) {
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.context;
+
+import org.apache.axis2.java.security.AccessController;
+import org.apache.axis2.util.OnDemandLogger;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the {@link ServiceGroupContext}s of <code>soapsession</code> scoped services.
+ * <p/>
+ * Lookups go to a concurrent map and never take a global lock. Expiry is driven by a
+ * time-ordered index that a background task sweeps, so a request no longer pays for a scan of
+ * every live session. Touching a session does not update the index: when an entry falls due, the
+ * sweeper re-reads {@link ServiceGroupContext#getLastTouchedTime()} and either expires the
+ * session or puts it back with its new deadline. A lookup expires a session that has timed out
+ * but has not been swept yet.
+ */
+class SoapSessionTable {
+
+    private static final OnDemandLogger log = new OnDemandLogger(SoapSessionTable.class);
+
+    /** Lower bound for the interval between two sweeps, in milliseconds. */
+    private static final long MIN_SWEEP_INTERVAL = 1000;
+
+    private final ConfigurationContext configurationContext;
+    private final ConcurrentHashMap<String, ServiceGroupContext> sessions =
+            new ConcurrentHashMap<String, ServiceGroupContext>();
+    /** Expiry index; guarded by its own monitor. */
+    private final PriorityQueue<Entry> expiryQueue = new PriorityQueue<Entry>();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder removedCount = new LongAdder();
+    private ScheduledExecutorService sweeper;
+
+    SoapSessionTable(ConfigurationContext configurationContext) {
+        this.configurationContext = configurationContext;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final ServiceGroupContext serviceGroupContext;
+        final long deadline;
+
+        Entry(ServiceGroupContext serviceGroupContext, long deadline) {
+            this.serviceGroupContext = serviceGroupContext;
+            this.deadline = deadline;
+        }
+
+        public int compareTo(Entry other) {
+            return deadline < other.deadline ? -1 : (deadline == other.deadline ? 0 : 1);
+        }
+    }
+
+    /**
+     * Looks up a session. A session that has timed out but has not been swept yet is expired
+     * instead of being returned.
+     *
+     * @return the session, or <code>null</code> if there is no live session with this ID
+     */
+    ServiceGroupContext get(String id) {
+        ServiceGroupContext serviceGroupContext = sessions.get(id);
+        if (serviceGroupContext != null && serviceGroupContext.getLastTouchedTime()
+                + configurationContext.getServiceGroupContextTimeoutInterval()
+                < System.currentTimeMillis()) {
+            // The entry in the expiry index is discarded when it falls due
+            if (sessions.remove(id, serviceGroupContext)) {
+                expiredCount.increment();
+                configurationContext.serviceGroupContextExpired(serviceGroupContext);
+            }
+            return null;
+        }
+        return serviceGroupContext;
+    }
+
+    Set<String> ids() {
+        return sessions.keySet();
+    }
+
+    Collection<ServiceGroupContext> values() {
+        return sessions.values();
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Adds a session to the table and to the expiry index. The session must have been touched
+     * before it is added.
+     */
+    void add(ServiceGroupContext serviceGroupContext) {
+        ServiceGroupContext previous = sessions.put(serviceGroupContext.getId(), serviceGroupContext);
+        if (previous == serviceGroupContext) {
+            return;
+        }
+        createdCount.increment();
+        long deadline = serviceGroupContext.getLastTouchedTime()
+                + configurationContext.getServiceGroupContextTimeoutInterval();
+        synchronized (expiryQueue) {
+            expiryQueue.add(new Entry(serviceGroupContext, deadline));
+            if (sweeper == null) {
+                sweeper = createSweeper();
+                scheduleSweep();
+            }
+        }
+    }
+
+    /**
+     * Removes a session from the table. Its entry in the expiry index is discarded when it falls
+     * due.
+     */
+    ServiceGroupContext remove(String id) {
+        ServiceGroupContext serviceGroupContext = sessions.remove(id);
+        if (serviceGroupContext != null) {
+            removedCount.increment();
+        }
+        return serviceGroupContext;
+    }
+
+    /**
+     * Expires all sessions that have not been touched within the timeout interval.
+     *
+     * @param now the current time in milliseconds
+     * @return the sessions that were expired; the caller is responsible for releasing them
+     */
+    List<ServiceGroupContext> sweep(long now) {
+        long timeout = configurationContext.getServiceGroupContextTimeoutInterval();
+        List<ServiceGroupContext> expired = null;
+        synchronized (expiryQueue) {
+            Entry entry;
+            while ((entry = expiryQueue.peek()) != null && entry.deadline < now) {
+                expiryQueue.poll();
+                ServiceGroupContext serviceGroupContext = entry.serviceGroupContext;
+                if (sessions.get(serviceGroupContext.getId()) != serviceGroupContext) {
+                    // Already removed or replaced
+                    continue;
+                }
+                long deadline = serviceGroupContext.getLastTouchedTime() + timeout;
+                if (deadline >= now) {
+                    expiryQueue.add(new Entry(serviceGroupContext, deadline));
+                } else if (sessions.remove(serviceGroupContext.getId(), serviceGroupContext)) {
+                    if (expired == null) {
+                        expired = new ArrayList<ServiceGroupContext>();
+                    }
+                    expired.add(serviceGroupContext);
+                }
+            }
+        }
+        if (expired == null) {
+            return Collections.emptyList();
+        }
+        expiredCount.add(expired.size());
+        return expired;
+    }
+
+    /**
+     * Removes all sessions and stops the background sweeper. The sweeper is restarted if
+     * sessions are added again.
+     */
+    void clear() {
+        synchronized (expiryQueue) {
+            if (sweeper != null) {
+                sweeper.shutdownNow();
+                sweeper = null;
+            }
+            expiryQueue.clear();
+        }
+        sessions.clear();
+    }
+
+    long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    long getRemovedCount() {
+        return removedCount.sum();
+    }
+
+    /** Must be called while holding the expiry index monitor. */
+    private void scheduleSweep() {
+        long interval = Math.max(MIN_SWEEP_INTERVAL,
+                configurationContext.getServiceGroupContextTimeoutInterval() / 4);
+        final ScheduledExecutorService executor = sweeper;
+        executor.schedule(new Runnable() {
+            public void run() {
+                try {
+                    for (ServiceGroupContext serviceGroupContext
+                            : sweep(System.currentTimeMillis())) {
+                        configurationContext.serviceGroupContextExpired(serviceGroupContext);
+                    }
+                } catch (Throwable t) {
+                    log.warn("Unable to expire SOAP session contexts", t);
+                } finally {
+                    synchronized (expiryQueue) {
+                        if (sweeper == executor) {
+                            scheduleSweep();
+                        }
+                    }
+                }
+            }
+        }, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledExecutorService createSweeper() {
+        return AccessController.doPrivileged(new PrivilegedAction<ScheduledExecutorService>() {
+            public ScheduledExecutorService run() {
+                return new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "axis2-soapsession-sweeper");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.context.externalize;
+
+import org.apache.axis2.util.MetaDataEntry;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes and reads {@link MetaDataEntry} objects in a compact form that doesn't rely on Java
+ * serialization. Each distinct string (class name, qname, extra name) is written only once per
+ * stream; later occurrences are written as an index into the table of strings seen so far.
+ * Since the entries that describe the phases and handlers of an execution chain share a small
+ * set of class names, this avoids most of the cost of saving the chain.
+ * <p>
+ * A codec instance keeps state and must only be used for a single stream. The writer and the
+ * reader must encode and decode the same sequence of entries.
+ */
+public class MetaDataEntryCodec {
+
+    private static final int NULL_STRING = -1;
+    private static final int NEW_STRING = -2;
+
+    private static final int NULL_LIST = -1;
+
+    private final Map<String, Integer> writeTable = new HashMap<String, Integer>();
+    private final List<String> readTable = new ArrayList<String>();
+
+    /**
+     * Write a string, or a reference to it if it has already been written.
+     *
+     * @param out the stream to write to
+     * @param str the string; may be <code>null</code>
+     * @throws IOException
+     */
+    public void writeString(ObjectOutput out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        Integer index = writeTable.get(str);
+        if (index != null) {
+            out.writeInt(index);
+        } else {
+            writeTable.put(str, writeTable.size());
+            out.writeInt(NEW_STRING);
+            out.writeUTF(str);
+        }
+    }
+
+    /**
+     * Read a string written by {@link #writeString(ObjectOutput, String)}.
+     *
+     * @param in the stream to read from
+     * @return the string
+     * @throws IOException if the stream doesn't contain a valid string reference
+     */
+    public String readString(ObjectInput in) throws IOException {
+        int index = in.readInt();
+        if (index == NULL_STRING) {
+            return null;
+        } else if (index == NEW_STRING) {
+            String str = in.readUTF();
+            readTable.add(str);
+            return str;
+        } else if (index >= 0 && index < readTable.size()) {
+            return readTable.get(index);
+        } else {
+            throw new IOException("Invalid string reference " + index);
+        }
+    }
+
+    /**
+     * Write a meta data entry, including its children.
+     *
+     * @param out   the stream to write to
+     * @param entry the entry; may be <code>null</code>
+     * @throws IOException
+     */
+    public void write(ObjectOutput out, MetaDataEntry entry) throws IOException {
+        if (entry == null) {
+            out.writeBoolean(ExternalizeConstants.EMPTY_OBJECT);
+            return;
+        }
+        out.writeBoolean(ExternalizeConstants.ACTIVE_OBJECT);
+        writeString(out, entry.getClassName());
+        writeString(out, entry.getQNameAsString());
+        writeString(out, entry.getExtraName());
+        List children = entry.getChildren();
+        if (children == null) {
+            out.writeInt(NULL_LIST);
+        } else {
+            out.writeInt(children.size());
+            for (Object child : children) {
+                write(out, (MetaDataEntry) child);
+            }
+        }
+    }
+
+    /**
+     * Read a meta data entry written by {@link #write(ObjectOutput, MetaDataEntry)}.
+     *
+     * @param in the stream to read from
+     * @return the entry, or <code>null</code> if a <code>null</code> entry was written
+     * @throws IOException
+     */
+    public MetaDataEntry read(ObjectInput in) throws IOException {
+        if (in.readBoolean() == ExternalizeConstants.EMPTY_OBJECT) {
+            return null;
+        }
+        String className = readString(in);
+        String qnameAsString = readString(in);
+        String extraName = readString(in);
+        MetaDataEntry entry = new MetaDataEntry(className, qnameAsString, extraName);
+        int childCount = in.readInt();
+        if (childCount != NULL_LIST) {
+            ArrayList<MetaDataEntry> children = new ArrayList<MetaDataEntry>(childCount);
+            for (int i = 0; i < childCount; i++) {
+                children.add(read(in));
+            }
+            entry.setChildren(children);
+        }
+        return entry;
+    }
+}
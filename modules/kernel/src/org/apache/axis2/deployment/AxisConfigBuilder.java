@@ -39,6 +39,7 @@ import org.apache.axis2.deployment.util.Utils;
 import org.apache.axis2.description.*;
 import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.axis2.engine.AxisObserver;
+import org.apache.axis2.engine.InvocationInstrumentation;
 import org.apache.axis2.engine.MessageReceiver;
 import org.apache.axis2.engine.Phase;
 import org.apache.axis2.i18n.Messages;
@@ -138,6 +139,11 @@ public class AxisConfigBuilder extends DescriptionBuilder {
                     config_element.getFirstChildWithName(new QName(TAG_THREAD_CONTEXT_MIGRATORS));
             processThreadContextMigrators(axisConfig, threadContextMigrators);
 
+            // Process InvocationInstrumentation
+            OMElement instrumentation =
+                    config_element.getFirstChildWithName(new QName(TAG_INSTRUMENTATION));
+            processInstrumentation(axisConfig, instrumentation);
+
             // Process Observers
             Iterator<OMElement> obs_ittr = config_element.getChildrenWithName(new QName(TAG_LISTENER));
 
@@ -339,6 +345,21 @@ public class AxisConfigBuilder extends DescriptionBuilder {
         }
     }
 
+    private void processInstrumentation(AxisConfiguration axisConfig, OMElement instrumentation) {
+        if (instrumentation != null) {
+            String className = instrumentation.getAttributeValue(new QName(TAG_CLASS_NAME));
+            try {
+                Class clazz = Loader.loadClass(className);
+                InvocationInstrumentation instance = (InvocationInstrumentation) clazz.newInstance();
+                instance.init(axisConfig);
+                axisConfig.setInvocationInstrumentation(instance);
+            } catch (Exception e) {
+                log.warn("Unable to initialise InvocationInstrumentation " + className +
+                        "; phases and handlers will not be timed", e);
+            }
+        }
+    }
+
     private void processAttachmentsLifecycleManager(AxisConfiguration axisConfig, OMElement element) {
         String className = element.getAttributeValue(new QName(TAG_CLASS_NAME));
         try {
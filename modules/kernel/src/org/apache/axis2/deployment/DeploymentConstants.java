@@ -52,6 +52,7 @@ public interface DeploymentConstants {
     String TAG_TARGET_RESOLVER = "targetResolver";
     String TAG_THREAD_CONTEXT_MIGRATORS = "threadContextMigrators";
     String TAG_THREAD_CONTEXT_MIGRATOR = "threadContextMigrator";
+    String TAG_INSTRUMENTATION = "instrumentation";
     String TAG_TRANSPORT_SENDER = "transportSender";
     String TAG_TRANSPORT_RECEIVER = "transportReceiver";
     String TAG_SERVICE_GROUP = "serviceGroup";
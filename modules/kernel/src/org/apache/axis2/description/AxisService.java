@@ -740,6 +740,7 @@ public class AxisService extends AxisDescription {
             axisOperation.setMessageReceiver(loadDefaultMessageReceiver(
                     axisOperation.getMessageExchangePattern(), this));
         }
+        invalidateDispatchTable();
     }
 
     private MessageReceiver loadDefaultMessageReceiver(String mepURL,
@@ -963,6 +964,7 @@ public class AxisService extends AxisDescription {
             // operationsAliasesMap.put(axisOperation.getName().getLocalPart(),
             // axisOperation);
         }
+        invalidateDispatchTable();
     }
 
     /**
@@ -2695,6 +2697,18 @@ public class AxisService extends AxisDescription {
             }
             operationsAliasesMap.remove(operation.getName().getLocalPart());
             invalidOperationsAliases.remove(operation.getName().getLocalPart());
+            invalidateDispatchTable();
+        }
+    }
+
+    /**
+     * Drops the operations the dispatchers have resolved for this service, so that changed
+     * operations and action mappings take effect.
+     */
+    private void invalidateDispatchTable() {
+        AxisConfiguration axisConfiguration = getAxisConfiguration();
+        if (axisConfiguration != null) {
+            axisConfiguration.getDispatchTable().invalidate(this);
         }
     }
 
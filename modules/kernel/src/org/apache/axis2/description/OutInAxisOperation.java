@@ -254,21 +254,30 @@ class OutInAxisOperationClient extends OperationClient {
                     log.debug("Creating new callback receiver");
                 }
                 callbackReceiver = new CallbackReceiver();
+                callbackReceiver.setThreadPool(mc.getConfigurationContext().getThreadPool());
+                Object maxPendingCallbacks = mc.getConfigurationContext().getAxisConfiguration()
+                        .getParameterValue(Constants.Configuration.MAX_PENDING_CALLBACKS);
+                if (maxPendingCallbacks != null) {
+                    callbackReceiver.setMaxPendingCallbacks(
+                            Integer.parseInt(maxPendingCallbacks.toString().trim()));
+                }
                 axisOp.setMessageReceiver(callbackReceiver);
                 if (log.isDebugEnabled()) log.debug("OutInAxisOperation: callbackReceiver " + callbackReceiver + " : " + axisOp);
             }
         }
 
+        // Callbacks whose response never arrives are evicted and told about the timeout
+        long timeout = options.getTimeOutInMilliSeconds();
         SyncCallBack internalCallback = null;
         if (axisCallback != null) {
-            callbackReceiver.addCallback(mc.getMessageID(), axisCallback);  
+            callbackReceiver.addCallback(mc.getMessageID(), axisCallback, timeout);
             if (log.isDebugEnabled()) log.debug("OutInAxisOperationClient: Creating axis callback");            
         } else {
             if (log.isDebugEnabled()) {
                 log.debug("Creating internal callback");
             }
             internalCallback = new SyncCallBack();
-            callbackReceiver.addCallback(mc.getMessageID(), internalCallback);
+            callbackReceiver.addCallback(mc.getMessageID(), internalCallback, timeout);
             if (log.isDebugEnabled()) log.debug("OutInAxisOperationClient: Creating internal callback");
         }
 
@@ -304,7 +313,14 @@ class OutInAxisOperationClient extends OperationClient {
         mc.getConfigurationContext().registerOperationContext(mc.getMessageID(), oc);
         AxisEngine.send(mc);
         if (internalCallback != null) {
-            internalCallback.waitForCompletion(options.getTimeOutInMilliSeconds());
+            try {
+                internalCallback.waitForCompletion(timeout);
+            } finally {
+                if (!internalCallback.isComplete()) {
+                    // Don't leave the callback behind if we gave up waiting
+                    callbackReceiver.lookupCallback(mc.getMessageID());
+                }
+            }
 
             // process the result of the invocation
             if (internalCallback.envelope == null) {
@@ -482,7 +498,19 @@ class OutInAxisOperationClient extends OperationClient {
             synchronized (this) {
                 try {
                     if (complete) return !receivedFault;
-                    wait(timeout);
+                    if (timeout > 0) {
+                        // Guard against spurious wakeups
+                        long deadline = System.currentTimeMillis() + timeout;
+                        long remaining = timeout;
+                        while (!complete && remaining > 0) {
+                            wait(remaining);
+                            remaining = deadline - System.currentTimeMillis();
+                        }
+                    } else {
+                        while (!complete) {
+                            wait();
+                        }
+                    }
                     if (!complete) {
                         // We timed out!
                         throw new AxisFault( Messages.getMessage("responseTimeOut"));
@@ -532,6 +560,10 @@ class OutInAxisOperationClient extends OperationClient {
             notify();
         }
 
+        synchronized boolean isComplete() {
+            return complete;
+        }
+
         private SOAPEnvelope envelope;
 
         private Exception error;
@@ -24,12 +24,12 @@ import org.apache.axis2.context.MessageContext;
 import org.apache.axis2.description.AxisOperation;
 import org.apache.axis2.description.AxisService;
 import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.axis2.engine.DispatchTable;
 import org.apache.axis2.util.LoggingControl;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import javax.xml.namespace.QName;
-
 public class ActionBasedOperationDispatcher extends AbstractOperationDispatcher {
 
     public static final String NAME = "ActionBasedOperationDispatcher";
@@ -44,27 +44,12 @@ public class ActionBasedOperationDispatcher extends AbstractOperationDispatcher
                     action);
         }
         if (action != null) {
-            // REVIEW: Should we FIRST try to find an operation that explicitly mapped this 
-            // SOAPAction as an alias by calling: 
-            // AxisOperation op = service.getOperationByAction(action);
-            // And THEN, if we didn't find an explicit mapping of this action, see if there's an 
-            // operation that has the same name as the action, and route to that by calling:
-            // service.getOperationBySOAPAction(action);
-            AxisOperation op = service.getOperationBySOAPAction(action);
-            if (op == null) {
-                op = service.getOperationByAction(action);
-            }
-            
-            /*
-             * HACK: Please remove this when we add support for custom action
-             * uri
-             */
-            if ((op == null) && (action.lastIndexOf('/') != -1)) {
-                op = service.getOperation(new QName(action.substring(action.lastIndexOf('/'),
-                                                                     action.length())));
+            AxisConfiguration axisConfiguration = service.getAxisConfiguration();
+            if (axisConfiguration != null) {
+                // Remembered per service and action
+                return axisConfiguration.getDispatchTable().getOperationByAction(service, action);
             }
-            
-            return op;
+            return DispatchTable.findOperationByAction(service, action);
         }
 
         return null;
@@ -99,6 +99,11 @@ public abstract class AbstractDispatcher extends AbstractHandler {
                                                                                   axisService.getName()));
                 }
                 msgctx.setAxisService(axisService);
+                msgctx.setProperty(DispatchTable.SERVICE_DISPATCHER, getName());
+                DispatchTable dispatchTable = getDispatchTable(msgctx);
+                if (dispatchTable != null) {
+                    dispatchTable.serviceDispatched(getName());
+                }
             }
         }
 
@@ -113,6 +118,11 @@ public abstract class AbstractDispatcher extends AbstractHandler {
                 }
 
                 msgctx.setAxisOperation(axisOperation);
+                msgctx.setProperty(DispatchTable.OPERATION_DISPATCHER, getName());
+                DispatchTable dispatchTable = getDispatchTable(msgctx);
+                if (dispatchTable != null) {
+                    dispatchTable.operationDispatched(getName());
+                }
                 //setting axisMessage into messageContext
                 msgctx.setAxisMessage(axisOperation.getMessage(
                         WSDLConstants.MESSAGE_LABEL_IN_VALUE));
@@ -150,4 +160,12 @@ public abstract class AbstractDispatcher extends AbstractHandler {
         }
         return InvocationResponse.CONTINUE;
     }
+
+    private static DispatchTable getDispatchTable(MessageContext msgctx) {
+        if (msgctx.getConfigurationContext() == null) {
+            return null;
+        }
+        AxisConfiguration axisConfiguration = msgctx.getConfigurationContext().getAxisConfiguration();
+        return axisConfiguration == null ? null : axisConfiguration.getDispatchTable();
+    }
 }
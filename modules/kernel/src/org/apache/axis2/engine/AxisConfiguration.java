@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -113,6 +114,12 @@ public class AxisConfiguration extends AxisDescription {
     private Map<String, AxisService> allServices = new ConcurrentHashMap<String, AxisService>();
     private Map<String, AxisService> allEndpoints = new ConcurrentHashMap<String, AxisService>();
 
+    /** Resolved operations and dispatch statistics shared by the dispatchers */
+    private final DispatchTable dispatchTable = new DispatchTable();
+
+    /** Receives phase and handler timings; null unless configured in axis2.xml */
+    private volatile InvocationInstrumentation invocationInstrumentation;
+
     /**
      * Stores the module specified in the server.xml at the document parsing time.
      */
@@ -144,6 +151,15 @@ public class AxisConfiguration extends AxisDescription {
 
     private HashMap<String, MessageFormatter> messageFormatters;
 
+    private static final int MAX_RESOLVED_MESSAGE_BUILDERS = 256;
+
+    /**
+     * The results of {@link #getMessageBuilder(String)}, by content type; cleared when a builder
+     * is added or when it fills up
+     */
+    private final ConcurrentHashMap<String, Optional<Builder>> resolvedMessageBuilders =
+            new ConcurrentHashMap<String, Optional<Builder>>();
+
     private ClassLoader moduleClassLoader;
 
     private HashMap<String, ModuleConfiguration> moduleConfigmap;
@@ -213,6 +229,7 @@ public class AxisConfiguration extends AxisDescription {
     public void addMessageBuilder(String contentType,
                                   Builder messageBuilder) {
         messageBuilders.put(contentType, messageBuilder);
+        resolvedMessageBuilders.clear();
     }
 
     /**
@@ -842,6 +859,10 @@ public class AxisConfiguration extends AxisDescription {
             return null;
         }
         if (contentType != null) {
+            Optional<Builder> resolved = resolvedMessageBuilders.get(contentType);
+            if (resolved != null) {
+                return resolved.orElse(null);
+            }
             builder = messageBuilders.get(contentType);
             if (builder == null) {
                 builder = messageBuilders.get(contentType.toLowerCase());
@@ -856,6 +877,10 @@ public class AxisConfiguration extends AxisDescription {
                     }
                 }
             }
+            if (resolvedMessageBuilders.size() >= MAX_RESOLVED_MESSAGE_BUILDERS) {
+                resolvedMessageBuilders.clear();
+            }
+            resolvedMessageBuilders.put(contentType, Optional.ofNullable(builder));
         }
         return builder;
     }
@@ -1386,6 +1411,10 @@ public class AxisConfiguration extends AxisDescription {
         this.outPhases.clear();
         this.messageReceivers.clear();
         this.targetResolvers.clear();
+        if (invocationInstrumentation != null) {
+            invocationInstrumentation.destroy();
+            invocationInstrumentation = null;
+        }
         if (this.engagedModules != null) {
             this.engagedModules.clear();
         }
@@ -1517,6 +1546,7 @@ public class AxisConfiguration extends AxisDescription {
 
         AxisService axisService = allServices.remove(serviceName);
         if (axisService != null) {
+            dispatchTable.invalidate(axisService);
             if (!axisService.isClientSide()) {
                 notifyObservers(new AxisEvent(AxisEvent.SERVICE_REMOVE,
                         axisService), axisService);
@@ -1532,6 +1562,35 @@ public class AxisConfiguration extends AxisDescription {
         return axisService;
     }
     
+    /**
+     * Get the table the dispatchers use to resolve operations.
+     *
+     * @return the DispatchTable of this configuration
+     */
+    public DispatchTable getDispatchTable() {
+        return dispatchTable;
+    }
+
+    /**
+     * Get the instrumentation that receives the time spent in phases, handlers and message
+     * receivers.
+     *
+     * @return the instrumentation, or null if none is configured
+     */
+    public InvocationInstrumentation getInvocationInstrumentation() {
+        return invocationInstrumentation;
+    }
+
+    /**
+     * Set the instrumentation that receives the time spent in phases, handlers and message
+     * receivers. The instrumentation must already be initialized.
+     *
+     * @param invocationInstrumentation the instrumentation, or null to stop measuring
+     */
+    public void setInvocationInstrumentation(InvocationInstrumentation invocationInstrumentation) {
+        this.invocationInstrumentation = invocationInstrumentation;
+    }
+
     public boolean isGlobalModulesRegistered(String moduleName) {
         if (globalModuleList.contains(moduleName)) {
             return true;
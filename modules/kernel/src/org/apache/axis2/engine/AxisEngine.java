@@ -152,6 +152,9 @@ public class AxisEngine {
         ArrayList<Handler> executionChain = new ArrayList<Handler>();
         executionChain.addAll(preCalculatedPhases);
         msgContext.setExecutionChain(executionChain);
+        InvocationInstrumentation instrumentation =
+                confContext.getAxisConfiguration().getInvocationInstrumentation();
+        long start = instrumentation == null ? 0 : System.nanoTime();
         try {
             InvocationResponse pi = invoke(msgContext, NOT_RESUMING_EXECUTION);
 
@@ -210,6 +213,11 @@ public class AxisEngine {
             flowComplete(msgContext);
             throw e;
         }
+        finally {
+            if (instrumentation != null) {
+                instrumentation.messageReceived(msgContext, System.nanoTime() - start);
+            }
+        }
 
         return InvocationResponse.CONTINUE;
     }
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.engine;
+
+import org.apache.axis2.description.AxisOperation;
+import org.apache.axis2.description.AxisService;
+
+import javax.xml.namespace.QName;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per {@link AxisConfiguration} table used by the dispatchers to resolve operations in one step.
+ * <p/>
+ * Resolving a SOAPAction or wsa:Action against an {@link AxisService} goes through the alias map,
+ * a scan of all operations by name and a final fallback on the last path segment of the action.
+ * The table remembers the result for each (service, action) pair, so that a known action costs a
+ * single map lookup. Actions that don't resolve to an operation are kept in a negative cache; it
+ * is bounded per service and simply cleared when it fills up, so clients sending arbitrary actions
+ * can't make it grow without limit. Entries for a service are dropped whenever its operations or
+ * action mappings change and when the service is removed.
+ * <p/>
+ * The table also counts how many messages each dispatcher resolved. The name of the dispatchers
+ * that found the service and the operation are stored on the message context under
+ * {@link #SERVICE_DISPATCHER} and {@link #OPERATION_DISPATCHER}.
+ */
+public class DispatchTable {
+
+    /** Message context property holding the name of the dispatcher that found the service. */
+    public static final String SERVICE_DISPATCHER = "org.apache.axis2.dispatcher.service";
+
+    /** Message context property holding the name of the dispatcher that found the operation. */
+    public static final String OPERATION_DISPATCHER = "org.apache.axis2.dispatcher.operation";
+
+    /** Default maximum number of unknown actions remembered per service. */
+    public static final int DEFAULT_NEGATIVE_CACHE_SIZE = 1024;
+
+    private static final class ServiceTable {
+        final Map<String, AxisOperation> operations = new ConcurrentHashMap<String, AxisOperation>();
+        final Set<String> unknownActions = ConcurrentHashMap.newKeySet();
+    }
+
+    private final ConcurrentHashMap<AxisService, ServiceTable> services =
+            new ConcurrentHashMap<AxisService, ServiceTable>();
+    private final ConcurrentHashMap<String, LongAdder> serviceDispatchCounts =
+            new ConcurrentHashMap<String, LongAdder>();
+    private final ConcurrentHashMap<String, LongAdder> operationDispatchCounts =
+            new ConcurrentHashMap<String, LongAdder>();
+    private final LongAdder negativeCacheHits = new LongAdder();
+    private volatile int negativeCacheSize = DEFAULT_NEGATIVE_CACHE_SIZE;
+
+    /**
+     * Finds the operation of a service for a SOAPAction or wsa:Action. The action is looked up with
+     * {@link AxisService#getOperationBySOAPAction(String)}, then with
+     * {@link AxisService#getOperationByAction(String)} and finally by the last path segment of the
+     * action.
+     *
+     * @param service the service
+     * @param action  the action; may be null
+     * @return the operation, or null if the action doesn't identify one
+     */
+    public AxisOperation getOperationByAction(AxisService service, String action) {
+        if (action == null) {
+            return null;
+        }
+        ServiceTable table = services.get(service);
+        if (table == null) {
+            table = new ServiceTable();
+            ServiceTable existing = services.putIfAbsent(service, table);
+            if (existing != null) {
+                table = existing;
+            }
+        }
+        AxisOperation operation = table.operations.get(action);
+        if (operation != null) {
+            return operation;
+        }
+        if (table.unknownActions.contains(action)) {
+            negativeCacheHits.increment();
+            return null;
+        }
+        operation = findMappedOperation(service, action);
+        if (operation != null) {
+            // Only aliases and operation names get here, so this is bounded by the service
+            table.operations.put(action, operation);
+            return operation;
+        }
+        // Not cached: the prefix of the action is arbitrary
+        operation = findOperationByLastSegment(service, action);
+        int maxUnknownActions = negativeCacheSize;
+        if (operation == null && maxUnknownActions > 0) {
+            if (table.unknownActions.size() >= maxUnknownActions) {
+                table.unknownActions.clear();
+            }
+            table.unknownActions.add(action);
+        }
+        return operation;
+    }
+
+    /**
+     * Finds the operation of a service for an action without remembering the result. This is used
+     * for services that are not part of an {@link AxisConfiguration}; the lookups are those of
+     * {@link #getOperationByAction(AxisService, String)}.
+     *
+     * @param service the service
+     * @param action  the action; may be null
+     * @return the operation, or null if the action doesn't identify one
+     */
+    public static AxisOperation findOperationByAction(AxisService service, String action) {
+        if (action == null) {
+            return null;
+        }
+        AxisOperation operation = findMappedOperation(service, action);
+        return operation != null ? operation : findOperationByLastSegment(service, action);
+    }
+
+    private static AxisOperation findMappedOperation(AxisService service, String action) {
+        AxisOperation operation = service.getOperationBySOAPAction(action);
+        if (operation == null) {
+            operation = service.getOperationByAction(action);
+        }
+        return operation;
+    }
+
+    private static AxisOperation findOperationByLastSegment(AxisService service, String action) {
+        /*
+         * HACK: Please remove this when we add support for custom action
+         * uri
+         */
+        int index = action.lastIndexOf('/');
+        if (index == -1) {
+            return null;
+        }
+        return service.getOperation(new QName(action.substring(index, action.length())));
+    }
+
+    /**
+     * Drops all entries for a service. Must be called when the operations or the action mappings
+     * of the service change.
+     *
+     * @param service the service
+     */
+    public void invalidate(AxisService service) {
+        services.remove(service);
+    }
+
+    /** Drops all entries. */
+    public void clear() {
+        services.clear();
+    }
+
+    /**
+     * Records that a dispatcher found the service of a message.
+     *
+     * @param dispatcher the name of the dispatcher
+     */
+    public void serviceDispatched(String dispatcher) {
+        increment(serviceDispatchCounts, dispatcher);
+    }
+
+    /**
+     * Records that a dispatcher found the operation of a message.
+     *
+     * @param dispatcher the name of the dispatcher
+     */
+    public void operationDispatched(String dispatcher) {
+        increment(operationDispatchCounts, dispatcher);
+    }
+
+    private static void increment(ConcurrentHashMap<String, LongAdder> counts, String dispatcher) {
+        LongAdder count = counts.get(dispatcher);
+        if (count == null) {
+            count = new LongAdder();
+            LongAdder existing = counts.putIfAbsent(dispatcher, count);
+            if (existing != null) {
+                count = existing;
+            }
+        }
+        count.increment();
+    }
+
+    /**
+     * Returns the number of services found by each dispatcher.
+     *
+     * @return a map from dispatcher name to count
+     */
+    public Map<String, Long> getServiceDispatchCounts() {
+        return snapshot(serviceDispatchCounts);
+    }
+
+    /**
+     * Returns the number of operations found by each dispatcher.
+     *
+     * @return a map from dispatcher name to count
+     */
+    public Map<String, Long> getOperationDispatchCounts() {
+        return snapshot(operationDispatchCounts);
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counts) {
+        Map<String, Long> result = new TreeMap<String, Long>();
+        for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return result;
+    }
+
+    /**
+     * Returns how often an unknown action was answered from the negative cache.
+     *
+     * @return the number of negative cache hits
+     */
+    public long getNegativeCacheHits() {
+        return negativeCacheHits.sum();
+    }
+
+    public int getNegativeCacheSize() {
+        return negativeCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of unknown actions remembered per service.
+     *
+     * @param negativeCacheSize the maximum number of entries; 0 disables the negative cache
+     */
+    public void setNegativeCacheSize(int negativeCacheSize) {
+        this.negativeCacheSize = negativeCacheSize;
+        if (negativeCacheSize <= 0) {
+            for (ServiceTable table : services.values()) {
+                table.unknownActions.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.engine;
+
+import org.apache.axis2.context.MessageContext;
+
+/**
+ * Receives the time spent in phases, handlers and message receivers.
+ * <p/>
+ * An implementation is configured in axis2.xml with an <code>instrumentation</code> element
+ * naming its class, for example
+ * <pre>
+ * &lt;instrumentation class="org.apache.axis2.engine.InvocationStatistics"/&gt;
+ * </pre>
+ * When none is configured the engine doesn't read the clock at all. The callbacks are made on
+ * the threads processing the messages and must therefore be cheap and thread safe. Durations are
+ * measured with {@link System#nanoTime()} and include the time spent in nested invocations, e.g.
+ * the time to receive a request includes the time to send the response if the message receiver
+ * sends it synchronously.
+ *
+ * @see InvocationStatistics
+ */
+public interface InvocationInstrumentation {
+
+    /**
+     * Called once when the configuration is built.
+     *
+     * @param axisConfig the configuration the instrumentation belongs to
+     */
+    void init(AxisConfiguration axisConfig);
+
+    /**
+     * Called after a handler of a phase has been invoked, whether it returned or threw.
+     *
+     * @param msgContext   the message context
+     * @param phase        the phase the handler belongs to
+     * @param handler      the handler
+     * @param elapsedNanos the time spent in the handler
+     */
+    void handlerInvoked(MessageContext msgContext, Phase phase, Handler handler, long elapsedNanos);
+
+    /**
+     * Called after a phase has been invoked, whether it returned or threw.
+     *
+     * @param msgContext   the message context
+     * @param phase        the phase
+     * @param elapsedNanos the time spent in the phase, including its handlers
+     */
+    void phaseInvoked(MessageContext msgContext, Phase phase, long elapsedNanos);
+
+    /**
+     * Called when {@link AxisEngine#receive(MessageContext)} returns or throws. At that point the
+     * operation of the message is known, unless dispatching failed.
+     *
+     * @param msgContext   the message context
+     * @param elapsedNanos the time spent in the in flow and the message receiver
+     */
+    void messageReceived(MessageContext msgContext, long elapsedNanos);
+
+    /**
+     * Called when the configuration is cleaned up.
+     */
+    void destroy();
+}
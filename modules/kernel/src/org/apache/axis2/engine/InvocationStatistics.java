@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.engine;
+
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.AxisOperation;
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.util.LatencyHistogram;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link InvocationInstrumentation} that keeps a {@link LatencyHistogram} per phase, per handler
+ * and per operation.
+ * <p/>
+ * Phases are named <code>flow/phase</code> and handlers <code>flow/phase/handler</code>, where
+ * flow is one of InFlow, OutFlow, InFaultFlow and OutFaultFlow, since phases such as Security
+ * exist in several flows. Operations are named <code>service/operation</code>. The histograms are
+ * keyed by the parts of these names, so that recording a value doesn't build any strings and no
+ * reference to a phase, handler or operation instance is kept, e.g. after a service was
+ * redeployed.
+ * <p/>
+ * The statistics are registered as an MBean in the platform MBean server, under the same domain
+ * as the transport MBeans, and can be viewed in the administration console of the web
+ * application. A failure to register the MBean doesn't prevent the statistics from being
+ * collected.
+ */
+public class InvocationStatistics implements InvocationInstrumentation, InvocationStatisticsMBean {
+
+    private static final Log log = LogFactory.getLog(InvocationStatistics.class);
+
+    /** Name of a histogram, made of two or three parts separated by a slash. */
+    private static final class Key {
+        private final String first;
+        private final String second;
+        private final String third;
+        private final int hashCode;
+
+        Key(String first, String second, String third) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+            int hash = first == null ? 0 : first.hashCode();
+            hash = 31 * hash + (second == null ? 0 : second.hashCode());
+            this.hashCode = 31 * hash + (third == null ? 0 : third.hashCode());
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return hashCode == other.hashCode && equal(first, other.first)
+                    && equal(second, other.second) && equal(third, other.third);
+        }
+
+        private static boolean equal(String s1, String s2) {
+            return s1 == null ? s2 == null : s1.equals(s2);
+        }
+
+        public String toString() {
+            return third == null ? first + "/" + second : first + "/" + second + "/" + third;
+        }
+    }
+
+    private final ConcurrentHashMap<Key, LatencyHistogram> phases =
+            new ConcurrentHashMap<Key, LatencyHistogram>();
+    private final ConcurrentHashMap<Key, LatencyHistogram> handlers =
+            new ConcurrentHashMap<Key, LatencyHistogram>();
+    private final ConcurrentHashMap<Key, LatencyHistogram> operations =
+            new ConcurrentHashMap<Key, LatencyHistogram>();
+    private volatile long lastResetTime = System.currentTimeMillis();
+    private ObjectName mbeanName;
+
+    public void init(AxisConfiguration axisConfig) {
+        String jmxAgentName = System.getProperty("jmx.agent.name");
+        if (jmxAgentName == null || "".equals(jmxAgentName)) {
+            jmxAgentName = "org.apache.axis2";
+        }
+        String mbeanNameString = jmxAgentName + ":Type=Engine,Name=InvocationStatistics-"
+                + axisConfig.hashCode();
+        try {
+            MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = ObjectName.getInstance(mbeanNameString);
+            mbs.registerMBean(this, name);
+            mbeanName = name;
+        } catch (Exception e) {
+            log.warn("Error registering a MBean with objectname ' " + mbeanNameString +
+                    " ' for JMX management", e);
+        }
+    }
+
+    public void destroy() {
+        if (mbeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+            } catch (Exception e) {
+                log.warn("Error un-registering a MBean with objectname ' " + mbeanName +
+                        " ' for JMX management", e);
+            }
+            mbeanName = null;
+        }
+    }
+
+    public void handlerInvoked(MessageContext msgContext, Phase phase, Handler handler,
+                               long elapsedNanos) {
+        histogram(handlers, new Key(getFlowName(msgContext.getFLOW()), phase.getPhaseName(),
+                handler.getName())).record(elapsedNanos);
+    }
+
+    public void phaseInvoked(MessageContext msgContext, Phase phase, long elapsedNanos) {
+        histogram(phases, new Key(getFlowName(msgContext.getFLOW()), phase.getPhaseName(), null))
+                .record(elapsedNanos);
+    }
+
+    public void messageReceived(MessageContext msgContext, long elapsedNanos) {
+        AxisOperation axisOperation = msgContext.getAxisOperation();
+        if (axisOperation == null) {
+            return;
+        }
+        AxisService axisService = axisOperation.getAxisService();
+        histogram(operations, new Key(axisService == null ? null : axisService.getName(),
+                axisOperation.getName().getLocalPart(), null)).record(elapsedNanos);
+    }
+
+    private static LatencyHistogram histogram(ConcurrentHashMap<Key, LatencyHistogram> map,
+                                              Key key) {
+        LatencyHistogram histogram = map.get(key);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            LatencyHistogram existing = map.putIfAbsent(key, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+        return histogram;
+    }
+
+    private static String getFlowName(int flow) {
+        switch (flow) {
+            case MessageContext.IN_FLOW:
+                return "InFlow";
+            case MessageContext.OUT_FLOW:
+                return "OutFlow";
+            case MessageContext.IN_FAULT_FLOW:
+                return "InFaultFlow";
+            case MessageContext.OUT_FAULT_FLOW:
+                return "OutFaultFlow";
+            default:
+                return "Flow" + flow;
+        }
+    }
+
+    /**
+     * Get the histogram of a phase.
+     *
+     * @param name the name of the phase, in the form <code>flow/phase</code>
+     * @return the histogram, or null if the phase hasn't been invoked
+     */
+    public LatencyHistogram getPhaseHistogram(String name) {
+        return find(phases, name);
+    }
+
+    /**
+     * Get the histogram of a handler.
+     *
+     * @param name the name of the handler, in the form <code>flow/phase/handler</code>
+     * @return the histogram, or null if the handler hasn't been invoked
+     */
+    public LatencyHistogram getHandlerHistogram(String name) {
+        return find(handlers, name);
+    }
+
+    /**
+     * Get the histogram of an operation.
+     *
+     * @param name the name of the operation, in the form <code>service/operation</code>
+     * @return the histogram, or null if no message has been received for the operation
+     */
+    public LatencyHistogram getOperationHistogram(String name) {
+        return find(operations, name);
+    }
+
+    private static LatencyHistogram find(Map<Key, LatencyHistogram> histograms, String name) {
+        for (Map.Entry<Key, LatencyHistogram> entry : histograms.entrySet()) {
+            if (entry.getKey().toString().equals(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    public Map<String, String> getPhaseStatistics() {
+        return summarize(phases);
+    }
+
+    public Map<String, String> getHandlerStatistics() {
+        return summarize(handlers);
+    }
+
+    public Map<String, String> getOperationStatistics() {
+        return summarize(operations);
+    }
+
+    private static Map<String, String> summarize(Map<Key, LatencyHistogram> histograms) {
+        Map<String, String> result = new TreeMap<String, String>();
+        for (Map.Entry<Key, LatencyHistogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey().toString(), entry.getValue().toString());
+        }
+        return result;
+    }
+
+    public long getLastResetTime() {
+        return lastResetTime;
+    }
+
+    public void resetStatistics() {
+        phases.clear();
+        handlers.clear();
+        operations.clear();
+        lastResetTime = System.currentTimeMillis();
+    }
+}
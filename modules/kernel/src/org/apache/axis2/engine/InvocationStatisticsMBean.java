@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.engine;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link InvocationStatistics}. The maps are keyed by phase, handler or operation and
+ * hold a summary of the recorded durations in microseconds.
+ */
+public interface InvocationStatisticsMBean {
+
+    // JMX Attributes
+    public Map<String, String> getPhaseStatistics();
+    public Map<String, String> getHandlerStatistics();
+    public Map<String, String> getOperationStatistics();
+    public long getLastResetTime();
+
+    // JMX Operations
+    public void resetStatistics();
+}
@@ -21,6 +21,7 @@
 package org.apache.axis2.engine;
 
 import org.apache.axis2.AxisFault;
+import org.apache.axis2.context.ConfigurationContext;
 import org.apache.axis2.context.MessageContext;
 import org.apache.axis2.description.HandlerDescription;
 import org.apache.axis2.description.Parameter;
@@ -300,12 +301,33 @@ public class Phase implements Handler {
             log.debug(msgctx.getLogIDString() + " Invoking phase \"" + phaseName + "\"");
         }
 
+        InvocationInstrumentation instrumentation = getInstrumentation(msgctx);
+        if (instrumentation == null) {
+            return invokeHandlers(msgctx, currentIndex, null);
+        }
+        long start = System.nanoTime();
+        try {
+            return invokeHandlers(msgctx, currentIndex, instrumentation);
+        } finally {
+            instrumentation.phaseInvoked(msgctx, this, System.nanoTime() - start);
+        }
+    }
+
+    private static InvocationInstrumentation getInstrumentation(MessageContext msgctx) {
+        ConfigurationContext configContext = msgctx.getConfigurationContext();
+        return configContext == null ? null
+                : configContext.getAxisConfiguration().getInvocationInstrumentation();
+    }
+
+    private InvocationResponse invokeHandlers(MessageContext msgctx, int currentIndex,
+                                              InvocationInstrumentation instrumentation)
+            throws AxisFault {
         int handlersSize = handlers.size();
         
         for (int i= currentIndex; i < handlersSize; i++) {
             Handler handler = (Handler) handlers.get(i);
 
-            InvocationResponse pi = invokeHandler(handler, msgctx);
+            InvocationResponse pi = invokeHandler(handler, msgctx, instrumentation);
            
             if (!pi.equals(InvocationResponse.CONTINUE)) {
                 return pi;
@@ -325,14 +347,23 @@ public class Phase implements Handler {
         return InvocationResponse.CONTINUE;
     }
     
-    private InvocationResponse invokeHandler(Handler handler, MessageContext msgctx)
+    private InvocationResponse invokeHandler(Handler handler, MessageContext msgctx,
+                                             InvocationInstrumentation instrumentation)
             throws AxisFault  {
         if (isDebugEnabled) {
             log.debug(msgctx.getLogIDString() + " Invoking Handler '" + handler.getName() +
                     "' in Phase '" + phaseName + "'");
         }
         
-        return handler.invoke(msgctx);
+        if (instrumentation == null) {
+            return handler.invoke(msgctx);
+        }
+        long start = System.nanoTime();
+        try {
+            return handler.invoke(msgctx);
+        } finally {
+            instrumentation.handlerInvoked(msgctx, this, handler, System.nanoTime() - start);
+        }
     }
 
     public void flowComplete(MessageContext msgContext) {
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.kernel;
+
+import org.apache.axiom.mime.ContentType;
+import org.apache.axiom.soap.SOAP11Constants;
+import org.apache.axiom.soap.SOAP12Constants;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.kernel.http.HTTPConstants;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.text.ParseException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The information the transports extract from a raw Content-Type header: the media type, the
+ * character set encoding, the SOAP action and the kind of message it announces.
+ * <p/>
+ * Clients usually send a handful of distinct Content-Type values, so instances are cached by
+ * the raw header value and {@link #get(String)} parses each value only once. Multipart values,
+ * whose boundary is typically unique to a message, are not cached. The cache is simply cleared
+ * when it fills up, which bounds it no matter what clients send. Instances are immutable.
+ */
+public final class ContentTypeInfo {
+
+    private static final Log log = LogFactory.getLog(ContentTypeInfo.class);
+
+    /** Maximum number of cached Content-Type values. */
+    static final int MAX_ENTRIES = 256;
+
+    private static final ConcurrentHashMap<String, ContentTypeInfo> cache =
+            new ConcurrentHashMap<String, ContentTypeInfo>();
+
+    private final String contentType;
+    private final String mediaType;
+    private final String charSetEncoding;
+    private final String action;
+    private final boolean multipart;
+    private final boolean soap11;
+    private final boolean soap12;
+    private final boolean rest;
+    private final boolean json;
+
+    private ContentTypeInfo(String contentType) {
+        this.contentType = contentType;
+        int index = contentType.indexOf(';');
+        mediaType = index > 0 ? contentType.substring(0, index) : contentType;
+        charSetEncoding = parseCharSetEncoding(contentType);
+        String action = null;
+        boolean multipart = false;
+        try {
+            ContentType ct = new ContentType(contentType);
+            action = ct.getParameter("action");
+            if (action == null) {
+                String startInfo = ct.getParameter("start-info");
+                if (startInfo != null) {
+                    action = new ContentType(startInfo).getParameter("action");
+                }
+            }
+            multipart = ct.getParameter("boundary") != null;
+        } catch (ParseException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to parse Content-Type Header: " + e.getMessage(), e);
+            }
+        }
+        this.action = action;
+        this.multipart = multipart;
+        soap12 = contentType.indexOf(SOAP12Constants.SOAP_12_CONTENT_TYPE) > -1;
+        soap11 = contentType.indexOf(SOAP11Constants.SOAP_11_CONTENT_TYPE) > -1;
+        rest = contentType.indexOf(HTTPConstants.MEDIA_TYPE_APPLICATION_XML) > -1
+                || contentType.indexOf(HTTPConstants.MEDIA_TYPE_X_WWW_FORM) > -1
+                || contentType.indexOf(HTTPConstants.MEDIA_TYPE_MULTIPART_FORM_DATA) > -1;
+        json = contentType.toLowerCase().indexOf(HTTPConstants.MEDIA_TYPE_APPLICATION_JSON) != -1;
+    }
+
+    /**
+     * Get the information for a Content-Type header.
+     *
+     * @param contentType the raw value of the header; must not be null
+     * @return the parsed information
+     */
+    public static ContentTypeInfo get(String contentType) {
+        ContentTypeInfo info = cache.get(contentType);
+        if (info == null) {
+            info = new ContentTypeInfo(contentType);
+            // The boundary of a multipart message usually differs from one message to the next;
+            // caching those would only evict the values that do repeat
+            if (!info.multipart) {
+                if (cache.size() >= MAX_ENTRIES) {
+                    cache.clear();
+                }
+                cache.put(contentType, info);
+            }
+        }
+        return info;
+    }
+
+    static int cacheSize() {
+        return cache.size();
+    }
+
+    private static String parseCharSetEncoding(String contentType) {
+        int index = contentType.indexOf(HTTPConstants.CHAR_SET_ENCODING);
+
+        if (index == -1) {    // Charset encoding not found in the content-type header
+            // Using the default UTF-8
+            return MessageContext.DEFAULT_CHAR_SET_ENCODING;
+        }
+
+        // If there are spaces around the '=' sign
+        int indexOfEq = contentType.indexOf("=", index);
+
+        // There can be situations where "charset" is not the last parameter of the Content-Type header
+        int indexOfSemiColon = contentType.indexOf(";", indexOfEq);
+        String value;
+
+        if (indexOfSemiColon > 0) {
+            value = (contentType.substring(indexOfEq + 1, indexOfSemiColon));
+        } else {
+            value = (contentType.substring(indexOfEq + 1, contentType.length())).trim();
+        }
+
+        // There might be "" around the value - if so remove them
+        if (value.indexOf('\"') != -1) {
+            value = value.replaceAll("\"", "");
+        }
+        return value.trim();
+    }
+
+    /**
+     * @return the raw Content-Type value
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return the part of the Content-Type that precedes the parameters, e.g. "text/xml"
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return the value of the charset parameter, or
+     *         {@link MessageContext#DEFAULT_CHAR_SET_ENCODING} if there is none
+     */
+    public String getCharSetEncoding() {
+        return charSetEncoding;
+    }
+
+    /**
+     * @return the SOAP action given by the action parameter, or by the action parameter of the
+     *         start-info parameter of an MTOM message; null if there is none
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * @return true if the Content-Type has a boundary parameter
+     */
+    public boolean isMultipart() {
+        return multipart;
+    }
+
+    /**
+     * @return true if the Content-Type refers to the SOAP 1.1 media type
+     */
+    public boolean isSOAP11() {
+        return soap11;
+    }
+
+    /**
+     * @return true if the Content-Type refers to the SOAP 1.2 media type
+     */
+    public boolean isSOAP12() {
+        return soap12;
+    }
+
+    /**
+     * @return true if the Content-Type refers to a media type handled as REST (POX, form data)
+     */
+    public boolean isREST() {
+        return rest;
+    }
+
+    /**
+     * @return true if the Content-Type refers to JSON
+     */
+    public boolean isJSON() {
+        return json;
+    }
+
+    public String toString() {
+        return contentType;
+    }
+}
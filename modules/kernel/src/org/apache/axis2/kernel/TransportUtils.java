@@ -23,7 +23,6 @@ package org.apache.axis2.kernel;
 import org.apache.axiom.attachments.Attachments;
 import org.apache.axiom.attachments.CachedFileDataSource;
 import org.apache.axiom.attachments.lifecycle.LifecycleManager;
-import org.apache.axiom.mime.ContentType;
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMException;
@@ -56,7 +55,6 @@ import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.text.ParseException;
 import java.util.List;
 import java.util.Optional;
 
@@ -250,13 +248,7 @@ public class TransportUtils {
     }
 
     public static String getContentType(String contentType, MessageContext msgContext) {
-        String type;
-        int index = contentType.indexOf(';');
-        if (index > 0) {
-            type = contentType.substring(0, index);
-        } else {
-            type = contentType;
-        }
+        String type = ContentTypeInfo.get(contentType).getMediaType();
         // Some services send REST responces as text/xml. We should convert it to
         // application/xml if its a REST response, if not it will try to use the SOAPMessageBuilder.
         // isDoingREST should already be properly set by HTTPTransportUtils.initializeMessageContext
@@ -285,34 +277,7 @@ public class TransportUtils {
         if (log.isDebugEnabled()) {
             log.debug("Input contentType (" + contentType + ")");
         }
-        int index = contentType.indexOf(HTTPConstants.CHAR_SET_ENCODING);
-
-        if (index == -1) {    // Charset encoding not found in the content-type header
-            // Using the default UTF-8
-            if (log.isDebugEnabled()) {
-                log.debug("CharSetEncoding defaulted (" + MessageContext.DEFAULT_CHAR_SET_ENCODING + ")");
-            }
-            return MessageContext.DEFAULT_CHAR_SET_ENCODING;
-        }
-
-        // If there are spaces around the '=' sign
-        int indexOfEq = contentType.indexOf("=", index);
-
-        // There can be situations where "charset" is not the last parameter of the Content-Type header
-        int indexOfSemiColon = contentType.indexOf(";", indexOfEq);
-        String value;
-
-        if (indexOfSemiColon > 0) {
-            value = (contentType.substring(indexOfEq + 1, indexOfSemiColon));
-        } else {
-            value = (contentType.substring(indexOfEq + 1, contentType.length())).trim();
-        }
-
-        // There might be "" around the value - if so remove them
-        if (value.indexOf('\"') != -1) {
-            value = value.replaceAll("\"", "");
-        }
-        value = value.trim();
+        String value = ContentTypeInfo.get(contentType).getCharSetEncoding();
         if (log.isDebugEnabled()) {
             log.debug("CharSetEncoding from content-type (" + value + ")");
         }
@@ -412,20 +377,8 @@ public class TransportUtils {
 
     public static void processContentTypeForAction(String contentType, MessageContext msgContext) {
         //Check for action header and set it in as soapAction in MessageContext
-        try {
-            ContentType ct = new ContentType(contentType);
-            String startInfo = ct.getParameter("start-info");
-            if (startInfo != null) {
-                Optional.ofNullable(new ContentType(startInfo).getParameter("action"))
-                        .ifPresent(msgContext::setSoapAction);
-            }
-            Optional.ofNullable(ct.getParameter("action"))
-                    .ifPresent(msgContext::setSoapAction);
-        } catch (ParseException e) {
-            if (log.isDebugEnabled()) {
-                log.debug("Failed to parse Content-Type Header: " + e.getMessage(), e);
-            }
-        }
+        Optional.ofNullable(ContentTypeInfo.get(contentType).getAction())
+                .ifPresent(msgContext::setSoapAction);
     }
 
     /**
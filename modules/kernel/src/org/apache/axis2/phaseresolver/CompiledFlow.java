@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.phaseresolver;
+
+import org.apache.axis2.description.Flow;
+import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.description.PhaseRule;
+import org.apache.axis2.engine.Phase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The handlers of a module {@link Flow}, grouped by the phase they belong to.
+ * <p/>
+ * The rules of the flow are validated once, and the handlers destined for each phase are sorted
+ * so that a handler comes after every other handler of the same flow that its before/after rule
+ * refers to. Inserting them into a phase in that order places each handler correctly without
+ * depending on the order in which the module lists them, and engaging the module on an
+ * operation needs a single pass over the operation's phases.
+ */
+class CompiledFlow {
+    private final int handlerCount;
+
+    /**
+     * The sorted handlers for each phase named by the flow, including the handlers that go to
+     * all phases
+     */
+    private final Map<String, List<HandlerDescription>> phaseHandlers;
+
+    /**
+     * The handlers that go to all phases, for phases that the flow doesn't name
+     */
+    private final List<HandlerDescription> allPhaseHandlers;
+
+    CompiledFlow(Flow flow) throws PhaseException {
+        handlerCount = flow.getHandlerCount();
+        Map<String, List<HandlerDescription>> handlersByPhase =
+                new HashMap<String, List<HandlerDescription>>();
+        List<HandlerDescription> all = new ArrayList<HandlerDescription>();
+        for (int i = 0; i < handlerCount; i++) {
+            HandlerDescription handlerDesc = flow.getHandler(i);
+            PhaseRule rule = handlerDesc.getRules();
+            // Make sure this rule makes sense (throws PhaseException if not)
+            rule.validate();
+            if (Phase.ALL_PHASES.equals(rule.getPhaseName())) {
+                rule.setBefore("");
+                rule.setAfter("");
+                all.add(handlerDesc);
+                for (List<HandlerDescription> handlers : handlersByPhase.values()) {
+                    handlers.add(handlerDesc);
+                }
+            } else {
+                List<HandlerDescription> handlers = handlersByPhase.get(rule.getPhaseName());
+                if (handlers == null) {
+                    // keep the handlers for all phases that precede this one in the flow
+                    handlers = new ArrayList<HandlerDescription>(all);
+                    handlersByPhase.put(rule.getPhaseName(), handlers);
+                }
+                handlers.add(handlerDesc);
+            }
+        }
+        phaseHandlers = new HashMap<String, List<HandlerDescription>>();
+        for (Map.Entry<String, List<HandlerDescription>> entry : handlersByPhase.entrySet()) {
+            phaseHandlers.put(entry.getKey(), sort(entry.getValue()));
+        }
+        allPhaseHandlers = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Sort the handlers of a phase so that the targets of before/after rules come first,
+     * keeping the order of the flow wherever the rules allow it.
+     */
+    private static List<HandlerDescription> sort(List<HandlerDescription> handlers) {
+        int count = handlers.size();
+        if (count < 2) {
+            return Collections.unmodifiableList(handlers);
+        }
+        Map<String, Integer> indexes = new HashMap<String, Integer>();
+        for (int i = count - 1; i >= 0; i--) {
+            indexes.put(handlers.get(i).getName(), i);
+        }
+        int[] dependencies = new int[count];
+        List<List<Integer>> dependents = new ArrayList<List<Integer>>(count);
+        for (int i = 0; i < count; i++) {
+            dependents.add(new ArrayList<Integer>(1));
+        }
+        for (int i = 0; i < count; i++) {
+            PhaseRule rule = handlers.get(i).getRules();
+            addDependency(indexes, rule.getBefore(), i, dependencies, dependents);
+            addDependency(indexes, rule.getAfter(), i, dependencies, dependents);
+        }
+        PriorityQueue<Integer> ready = new PriorityQueue<Integer>();
+        for (int i = 0; i < count; i++) {
+            if (dependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+        List<HandlerDescription> sorted = new ArrayList<HandlerDescription>(count);
+        boolean[] done = new boolean[count];
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            sorted.add(handlers.get(i));
+            done[i] = true;
+            for (int dependent : dependents.get(i)) {
+                if (--dependencies[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        // Handlers with circular rules can't all be satisfied; keep them in flow order and let
+        // the phase place them as best it can
+        for (int i = 0; i < count; i++) {
+            if (!done[i]) {
+                sorted.add(handlers.get(i));
+            }
+        }
+        return Collections.unmodifiableList(sorted);
+    }
+
+    private static void addDependency(Map<String, Integer> indexes, String name, int handler,
+                                      int[] dependencies, List<List<Integer>> dependents) {
+        Integer target = name == null ? null : indexes.get(name);
+        if (target != null && target != handler) {
+            dependencies[handler]++;
+            dependents.get(target).add(handler);
+        }
+    }
+
+    /**
+     * Check whether this is still up to date with the given flow. Flows only ever grow.
+     */
+    boolean isCurrent(Flow flow) {
+        return flow.getHandlerCount() == handlerCount;
+    }
+
+    /**
+     * Get the names of the phases the flow explicitly refers to.
+     */
+    Iterable<String> getPhaseNames() {
+        return phaseHandlers.keySet();
+    }
+
+    /**
+     * Get the handlers to add to the given phase, in the order in which to add them.
+     */
+    List<HandlerDescription> getHandlers(String phaseName) {
+        List<HandlerDescription> handlers = phaseHandlers.get(phaseName);
+        return handlers == null ? allPhaseHandlers : handlers;
+    }
+}
@@ -26,7 +26,9 @@ import org.apache.axis2.description.PhaseRule;
 import org.apache.axis2.engine.Phase;
 import org.apache.axis2.i18n.Messages;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This class hold all the phases found in the services.xml and server.xml
@@ -78,6 +80,37 @@ public class PhaseHolder {
         }
     }
 
+    /**
+     * Add all the handlers of a flow. Each phase is visited once and receives the handlers
+     * destined for it in an order that satisfies the rules among them.
+     *
+     * @param flow the compiled flow
+     * @throws PhaseException if the flow refers to a phase that doesn't exist
+     */
+    void addHandlers(CompiledFlow flow) throws PhaseException {
+        Set<String> phaseNames = new HashSet<String>();
+        for (int i = 0; i < phaseList.size(); i++) {
+            phaseNames.add(((Phase) phaseList.get(i)).getPhaseName());
+        }
+        for (String phaseName : flow.getPhaseNames()) {
+            if (!phaseNames.contains(phaseName)) {
+                for (HandlerDescription handlerDesc : flow.getHandlers(phaseName)) {
+                    if (phaseName.equals(handlerDesc.getRules().getPhaseName())) {
+                        throw new PhaseException(Messages.getMessage(
+                                DeploymentErrorMsgs.INVALID_PHASE, phaseName,
+                                handlerDesc.getName()));
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < phaseList.size(); i++) {
+            Phase phase = (Phase) phaseList.get(i);
+            for (HandlerDescription handlerDesc : flow.getHandlers(phase.getPhaseName())) {
+                phase.addHandler(handlerDesc);
+            }
+        }
+    }
+
     /**
      * this method is used to get the actual phase object given in the phase array list
      *
@@ -30,8 +30,11 @@ import org.apache.axis2.engine.Phase;
 import org.apache.axis2.wsdl.WSDLConstants;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Class PhaseResolver
@@ -41,6 +44,12 @@ public class PhaseResolver {
     private static final int IN_FLOW = 1;
     private static final int OUT_FAULT_FLOW = 5;
 
+    /**
+     * The compiled module flows; weak keys, so that they go away with the modules
+     */
+    private static final Map<Flow, CompiledFlow> compiledFlows =
+            Collections.synchronizedMap(new WeakHashMap<Flow, CompiledFlow>());
+
     /**
      * Field axisConfig
      */
@@ -63,11 +72,25 @@ public class PhaseResolver {
     private void engageModuleToFlow(Flow flow, List handlerChain) throws PhaseException {
         phaseHolder = new PhaseHolder(handlerChain);
         if (flow != null) {
-            for (int j = 0; j < flow.getHandlerCount(); j++) {
-                HandlerDescription metadata = flow.getHandler(j);
-                phaseHolder.addHandler(metadata);
-            }
+            phaseHolder.addHandlers(compile(flow));
+        }
+    }
+
+    /**
+     * Get the compiled form of a module flow. A module is usually engaged on every operation
+     * of every service, so the result is shared.
+     *
+     * @param flow the flow
+     * @return the compiled flow
+     * @throws PhaseException if a rule of the flow is invalid
+     */
+    private static CompiledFlow compile(Flow flow) throws PhaseException {
+        CompiledFlow compiledFlow = compiledFlows.get(flow);
+        if (compiledFlow == null || !compiledFlow.isCurrent(flow)) {
+            compiledFlow = new CompiledFlow(flow);
+            compiledFlows.put(flow, compiledFlow);
         }
+        return compiledFlow;
     }
 
     private void engageModuleToOperation(AxisOperation axisOperation,
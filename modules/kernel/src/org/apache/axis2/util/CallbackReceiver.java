@@ -26,30 +26,130 @@ import org.apache.axis2.client.async.AxisCallback;
 import org.apache.axis2.context.MessageContext;
 import org.apache.axis2.context.OperationContext;
 import org.apache.axis2.engine.MessageReceiver;
+import org.apache.axis2.i18n.Messages;
+import org.apache.axis2.util.threadpool.ThreadFactory;
+import org.apache.axis2.util.threadpool.ThreadPool;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This is a MessageReceiver which is used on the client side to accept the
  * messages (response) that come to the client. This correlates the incoming message to
  * the related messages and makes a call to the appropriate callback.
+ * <p/>
+ * Callbacks registered with a timeout are removed when no response arrives in time; the callback
+ * is then notified through {@link AxisCallback#onError(Exception)} and
+ * {@link AxisCallback#onComplete()}. The timeouts are managed by a {@link HashedWheelTimer}
+ * shared by all receivers; the timer thread only evicts the callback and the notification runs on
+ * the thread pool set with {@link #setThreadPool(ThreadFactory)}, so that a slow callback does
+ * not delay the other timeouts.
  */
 public class CallbackReceiver implements MessageReceiver {
 
 	private static final Log log = LogFactory.getLog(CallbackReceiver.class);
 	
     public static String SERVICE_NAME = "ClientService";
+
+    private static final HashedWheelTimer timer =
+            new HashedWheelTimer("axis2-callback-timeout", 100, TimeUnit.MILLISECONDS, 512);
+
     private ConcurrentHashMap callbackStore;
+    /** Pending timeouts keyed by message ID */
+    private final ConcurrentHashMap<String, HashedWheelTimer.Timeout> timeouts =
+            new ConcurrentHashMap<String, HashedWheelTimer.Timeout>();
+    private volatile int maxPendingCallbacks = Integer.MAX_VALUE;
+    private final LongAdder timedOutCallbacks = new LongAdder();
+    private final LongAdder rejectedCallbacks = new LongAdder();
+    private volatile ThreadFactory threadPool;
+
+    /**
+     * Runs the timeout notifications of the receivers that have no thread pool. The pool has no
+     * core threads so that it doesn't keep idle threads around.
+     */
+    private static class DefaultThreadPoolHolder {
+        static final ThreadFactory INSTANCE = new ThreadPool(0, Integer.MAX_VALUE);
+    }
 
     public CallbackReceiver() {
         callbackStore = new ConcurrentHashMap();
     }
 
     public void addCallback(String msgID, AxisCallback callback) throws AxisFault {
+    	addCallback(msgID, callback, 0);
+    }
+
+    /**
+     * Registers a callback that is notified with a timeout fault if no response arrives within
+     * the given time.
+     *
+     * @param msgID The message id.
+     * @param callback The callback object.
+     * @param timeoutInMilliSeconds The time to wait for the response; zero or a negative value
+     *        means that the callback never times out.
+     * @throws AxisFault If the message id was a duplicate or too many callbacks are pending.
+     */
+    public void addCallback(String msgID, final AxisCallback callback, long timeoutInMilliSeconds)
+            throws AxisFault {
+        if (callbackStore.size() >= maxPendingCallbacks) {
+            rejectedCallbacks.increment();
+            throw new AxisFault("Unable to register the Callback for MessageID " + msgID + ": "
+                    + maxPendingCallbacks + " callbacks are already pending");
+        }
     	putIfAbsent(msgID, callback);
+        if (timeoutInMilliSeconds > 0) {
+            final String messageID = msgID;
+            HashedWheelTimer.Timeout timeout = timer.newTimeout(new Runnable() {
+                public void run() {
+                    timeout(messageID, callback);
+                }
+            }, timeoutInMilliSeconds, TimeUnit.MILLISECONDS);
+            timeouts.put(msgID, timeout);
+            // The response may have been received before the timeout was registered
+            if (!callbackStore.containsKey(msgID)) {
+                cancelTimeout(msgID);
+            }
+        }
+    }
+
+    private void timeout(String msgID, final AxisCallback callback) {
+        timeouts.remove(msgID);
+        if (!callbackStore.remove(msgID, callback)) {
+            return;
+        }
+        timedOutCallbacks.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("CallbackReceiver: callback " + msgID + ", " + callback + " timed out, " + this);
+        }
+        Runnable notification = new Runnable() {
+            public void run() {
+                try {
+                    callback.onError(new AxisFault(Messages.getMessage("responseTimeOut")));
+                } finally {
+                    callback.onComplete();
+                }
+            }
+        };
+        ThreadFactory pool = threadPool;
+        try {
+            (pool == null ? DefaultThreadPoolHolder.INSTANCE : pool).execute(notification);
+        } catch (RuntimeException ex) {
+            // The pool has been shut down; the callback must still learn about the timeout
+            log.warn("Unable to dispatch the timeout of callback " + msgID
+                    + " to the thread pool; notifying it on the timer thread", ex);
+            notification.run();
+        }
+    }
+
+    private void cancelTimeout(String msgID) {
+        HashedWheelTimer.Timeout timeout = timeouts.remove(msgID);
+        if (timeout != null) {
+            timeout.cancel();
+        }
     }
     
     /**
@@ -72,6 +172,7 @@ public class CallbackReceiver implements MessageReceiver {
 
     public Object lookupCallback(String msgID) {
 		Object o = callbackStore.remove(msgID);
+		cancelTimeout(msgID);
 		if (log.isDebugEnabled()) log.debug("CallbackReceiver: lookup callback " + msgID + ", " + o + " ," + this);
         return o;
     }
@@ -84,6 +185,7 @@ public class CallbackReceiver implements MessageReceiver {
         String messageID = relatesTO.getValue();
 
         Object callbackObj = callbackStore.remove(messageID);
+        cancelTimeout(messageID);
 		if (log.isDebugEnabled()) log.debug("CallbackReceiver: receive found callback " + callbackObj + ", " + messageID + ", " + this + ", " + msgContext.getAxisOperation());
 
         if (callbackObj == null) {
@@ -108,4 +210,61 @@ public class CallbackReceiver implements MessageReceiver {
     public Map getCallbackStore() {
         return callbackStore;
     }
+
+    /**
+     * Returns the number of callbacks waiting for a response.
+     *
+     * @return the number of pending callbacks
+     */
+    public int getPendingCallbackCount() {
+        return callbackStore.size();
+    }
+
+    /**
+     * Returns the number of callbacks that were removed because no response arrived in time.
+     *
+     * @return the number of timed out callbacks
+     */
+    public long getTimedOutCallbackCount() {
+        return timedOutCallbacks.sum();
+    }
+
+    /**
+     * Returns the number of callbacks that were not registered because
+     * {@link #getMaxPendingCallbacks()} callbacks were already pending.
+     *
+     * @return the number of rejected callbacks
+     */
+    public long getRejectedCallbackCount() {
+        return rejectedCallbacks.sum();
+    }
+
+    public ThreadFactory getThreadPool() {
+        return threadPool;
+    }
+
+    /**
+     * Sets the thread pool that notifies the callbacks that timed out. If no thread pool is set,
+     * a pool shared by all receivers is used.
+     *
+     * @param threadPool the thread pool, typically {@link
+     *        org.apache.axis2.context.ConfigurationContext#getThreadPool()}
+     */
+    public void setThreadPool(ThreadFactory threadPool) {
+        this.threadPool = threadPool;
+    }
+
+    public int getMaxPendingCallbacks() {
+        return maxPendingCallbacks;
+    }
+
+    /**
+     * Limits the number of callbacks that may wait for a response at the same time. Once the limit
+     * is reached {@link #addCallback(String, AxisCallback, long)} throws an AxisFault.
+     *
+     * @param maxPendingCallbacks the maximum number of pending callbacks
+     */
+    public void setMaxPendingCallbacks(int maxPendingCallbacks) {
+        this.maxPendingCallbacks = maxPendingCallbacks;
+    }
 }
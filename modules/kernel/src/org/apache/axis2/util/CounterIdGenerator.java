@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.util;
+
+import java.security.SecureRandom;
+
+/**
+ * {@link IdGenerator} based on per-thread counters.
+ * <p/>
+ * Each thread draws a random 64 bit prefix when it first needs an ID and then simply counts. The
+ * prefix and counter are rendered as a UUID (with the version 4 and IETF variant bits set) into
+ * a buffer owned by the thread, so generating an ID takes no locks and allocates nothing but the
+ * resulting string. Two IDs can only collide if two threads, in this or any other JVM, draw the
+ * same 60 random bits.
+ */
+public class CounterIdGenerator extends IdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final String URN_PREFIX = "urn:uuid:";
+
+    private static final SecureRandom random = new SecureRandom();
+
+    private static final class State {
+        final long prefix;
+        long counter;
+        // "urn:uuid:" followed by the UUID in its canonical 8-4-4-4-12 form
+        final char[] buffer = new char[URN_PREFIX.length() + 36];
+
+        State(long prefix) {
+            // version 4
+            this.prefix = (prefix & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+            URN_PREFIX.getChars(0, URN_PREFIX.length(), buffer, 0);
+            int offset = URN_PREFIX.length();
+            buffer[offset + 8] = '-';
+            buffer[offset + 13] = '-';
+            buffer[offset + 18] = '-';
+            buffer[offset + 23] = '-';
+        }
+
+        String next(boolean urn) {
+            // IETF variant
+            long low = (counter++ & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            int offset = URN_PREFIX.length();
+            hex(prefix >>> 32, buffer, offset, 8);
+            hex(prefix >>> 16, buffer, offset + 9, 4);
+            hex(prefix, buffer, offset + 14, 4);
+            hex(low >>> 48, buffer, offset + 19, 4);
+            hex(low, buffer, offset + 24, 12);
+            return urn ? new String(buffer) : new String(buffer, offset, 36);
+        }
+    }
+
+    private final ThreadLocal<State> state = new ThreadLocal<State>() {
+        protected State initialValue() {
+            return new State(random.nextLong());
+        }
+    };
+
+    private static void hex(long value, char[] buffer, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int)value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    public String generateUID() {
+        return state.get().next(false);
+    }
+
+    public String generateURNString() {
+        return state.get().next(true);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.util;
+
+import org.apache.axis2.java.security.AccessController;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A timer optimized for large numbers of short lived timeouts that are usually cancelled before
+ * they expire, such as response timeouts.
+ * <p/>
+ * Timeouts are hashed into a fixed number of buckets by their deadline. A single daemon thread
+ * advances one bucket per tick and runs the tasks that have expired. Scheduling and cancelling a
+ * timeout are O(1) and never block; the price is that timeouts fire with a precision of one tick.
+ * Tasks are run on the timer thread and must therefore be short.
+ */
+public class HashedWheelTimer {
+
+    private static final Log log = LogFactory.getLog(HashedWheelTimer.class);
+
+    /** A task scheduled with {@link HashedWheelTimer#newTimeout(Runnable, long, TimeUnit)}. */
+    public static final class Timeout {
+        private static final int ST_PENDING = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(ST_PENDING);
+        private final long deadline;
+        private volatile Runnable task;
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout.
+         *
+         * @return <code>true</code> if the timeout was cancelled, <code>false</code> if it had
+         *         already expired or been cancelled
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(ST_PENDING, ST_CANCELLED)) {
+                // Don't keep the task reachable until the wheel reaches the bucket
+                task = null;
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(ST_PENDING, ST_EXPIRED)) {
+                return;
+            }
+            Runnable task = this.task;
+            this.task = null;
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("Timeout task " + task + " failed", t);
+            }
+        }
+    }
+
+    /** Doubly linked list of timeouts; only accessed by the timer thread. */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Expires the due timeouts and drops the cancelled ones.
+         *
+         * @return the number of timeouts removed from the bucket
+         */
+        int expire(long now) {
+            int removed = 0;
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                    removed++;
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    remove(timeout);
+                    removed++;
+                    timeout.expire();
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            return removed;
+        }
+
+        private void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+
+    private final String name;
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Timeout> newTimeouts = new ConcurrentLinkedQueue<Timeout>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private final long startTime = currentTime();
+    private long tick;
+
+    /**
+     * Creates a new timer. The timer thread is started when the first timeout is scheduled.
+     *
+     * @param name          the name of the timer thread
+     * @param tickDuration  the duration of one tick
+     * @param unit          the unit of <code>tickDuration</code>
+     * @param ticksPerWheel the number of buckets; rounded up to a power of two
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel out of range: " + ticksPerWheel);
+        }
+        this.name = name;
+        this.tickDuration = Math.max(1, unit.toMillis(tickDuration));
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        if (size == 0) {
+            size = 1;
+        }
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task  the task to run on the timer thread
+     * @param delay the delay
+     * @param unit  the unit of <code>delay</code>
+     * @return a handle that can be used to cancel the task
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("task must not be null");
+        }
+        start();
+        Timeout timeout = new Timeout(task,
+                currentTime() - startTime + unit.toMillis(Math.max(0, delay)));
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts that have been scheduled but have neither expired nor been
+     * removed from the wheel after being cancelled.
+     *
+     * @return the number of pending timeouts
+     */
+    public int getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                public Object run() {
+                    Thread thread = new Thread(new Worker(), name);
+                    thread.setDaemon(true);
+                    thread.start();
+                    return null;
+                }
+            });
+        }
+    }
+
+    /** Milliseconds from an arbitrary origin; not affected by changes of the wall clock. */
+    private static long currentTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private final class Worker implements Runnable {
+        public void run() {
+            while (true) {
+                long now = waitForNextTick();
+                Bucket bucket = wheel[(int)(tick & mask)];
+                transferNewTimeouts();
+                pendingTimeouts.addAndGet(-bucket.expire(now));
+                tick++;
+            }
+        }
+
+        private void transferNewTimeouts() {
+            Timeout timeout;
+            while ((timeout = newTimeouts.poll()) != null) {
+                if (timeout.isCancelled()) {
+                    pendingTimeouts.decrementAndGet();
+                    continue;
+                }
+                long calculated = timeout.deadline / tickDuration;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                // Don't schedule into the past
+                long ticks = Math.max(calculated, tick);
+                wheel[(int)(ticks & mask)].add(timeout);
+            }
+        }
+
+        private long waitForNextTick() {
+            long deadline = tickDuration * (tick + 1);
+            while (true) {
+                long current = currentTime() - startTime;
+                long sleepTime = deadline - current;
+                if (sleepTime <= 0) {
+                    return current;
+                }
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    // The timer thread is a daemon and is never interrupted on purpose
+                }
+            }
+        }
+    }
+}
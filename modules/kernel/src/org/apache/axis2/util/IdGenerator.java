@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.util;
+
+import org.apache.axis2.java.security.AccessController;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.security.PrivilegedAction;
+
+/**
+ * Generates the identifiers the engine assigns to every message: message IDs, log correlation IDs
+ * and the like.
+ * <p/>
+ * The generator in use is shared by the whole JVM. It is a {@link CounterIdGenerator} unless the
+ * system property <code>Axis2.IdGenerator</code> names another subclass, which must have a public
+ * no-argument constructor, or one is set with {@link #setInstance(IdGenerator)}.
+ * {@link AxiomIdGenerator} restores the identifiers generated by earlier releases.
+ * Implementations must be thread safe and return values that are unique across JVMs.
+ */
+public abstract class IdGenerator {
+
+    private static final Log log = LogFactory.getLog(IdGenerator.class);
+
+    /** The system property naming the {@link IdGenerator} class to use. */
+    public static final String ID_GENERATOR_PROPERTY = "Axis2.IdGenerator";
+
+    private static volatile IdGenerator instance = createDefault();
+
+    private static IdGenerator createDefault() {
+        String className = null;
+        try {
+            // need doPriv to get system prop with J2S enabled
+            className = (String) AccessController.doPrivileged(new PrivilegedAction<String>() {
+                public String run() {
+                    return System.getProperty(ID_GENERATOR_PROPERTY);
+                }
+            });
+        } catch (SecurityException e) {
+            //do nothing
+        }
+        if (className != null) {
+            try {
+                return (IdGenerator) Loader.loadClass(className).newInstance();
+            } catch (Exception e) {
+                log.warn("Unable to create IdGenerator " + className + "; using the default", e);
+            }
+        }
+        return new CounterIdGenerator();
+    }
+
+    /**
+     * Get the generator in use.
+     *
+     * @return the generator
+     */
+    public static IdGenerator getInstance() {
+        return instance;
+    }
+
+    /**
+     * Set the generator to use from now on.
+     *
+     * @param generator the generator; null restores the default
+     */
+    public static void setInstance(IdGenerator generator) {
+        instance = generator == null ? new CounterIdGenerator() : generator;
+    }
+
+    /**
+     * Generate a unique ID made of characters that are safe in XML, URIs and file names.
+     *
+     * @return the ID
+     */
+    public abstract String generateUID();
+
+    /**
+     * Generate a unique URN, suitable as a wsa:MessageID.
+     *
+     * @return the URN, usually of the form <code>urn:uuid:...</code>
+     */
+    public abstract String generateURNString();
+}
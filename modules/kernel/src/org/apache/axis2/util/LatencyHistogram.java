@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds.
+ * <p/>
+ * Values are counted in buckets whose bounds are powers of two, so recording a value is a few
+ * atomic increments and never blocks, whatever the number of threads. Percentiles are therefore
+ * approximate: they are reported as the upper bound of the bucket they fall into, but never above
+ * the largest value recorded. Count, total and maximum are exact.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a value.
+     *
+     * @param nanos the duration in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(nanos));
+        count.increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : total.sum() / n;
+    }
+
+    /**
+     * Returns an approximation of a percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return a value that is greater than or equal to the given percentage of the recorded
+     *         values, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(n * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        int bucket = 0;
+        for (; bucket < BUCKETS - 1; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                break;
+            }
+        }
+        long upperBound = bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        return Math.min(upperBound, max.get());
+    }
+
+    /**
+     * Clears the histogram. Values recorded concurrently may be partly lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Returns a summary with count, mean, 50th, 90th and 99th percentile and maximum, the durations
+     * in microseconds.
+     */
+    public String toString() {
+        return "count=" + getCount()
+                + ", mean=" + micros(getMeanNanos())
+                + ", p50=" + micros(getPercentileNanos(50))
+                + ", p90=" + micros(getPercentileNanos(90))
+                + ", p99=" + micros(getPercentileNanos(99))
+                + ", max=" + micros(getMaxNanos()) + " us";
+    }
+
+    private static String micros(long nanos) {
+        return String.valueOf(nanos / 1000);
+    }
+}
@@ -36,7 +36,6 @@ import org.apache.axiom.soap.SOAPHeader;
 import org.apache.axiom.soap.SOAPHeaderBlock;
 import org.apache.axiom.soap.SOAPProcessingException;
 import org.apache.axiom.soap.SOAPFaultNode;
-import org.apache.axiom.util.UIDGenerator;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.Constants;
 import org.apache.axis2.addressing.AddressingConstants;
@@ -157,7 +156,7 @@ public class MessageContextBuilder {
                 newmsgCtx.setReplyTo(new EndpointReference(AddressingConstants.Final.WSA_NONE_URI));
             }
 
-            newmsgCtx.setMessageID(UIDGenerator.generateURNString());
+            newmsgCtx.setMessageID(IdGenerator.getInstance().generateURNString());
 
             // add the service group id as a reference parameter
             String serviceGroupContextId = inMessageContext.getServiceGroupContextId();
@@ -173,7 +172,7 @@ public class MessageContextBuilder {
             Object version = newmsgCtx.getProperty(AddressingConstants.WS_ADDRESSING_VERSION);
             if (AddressingConstants.Submission.WSA_NAMESPACE.equals(version) ||
                 (outboundToEPR != null && !outboundToEPR.hasAnonymousAddress())) {
-                newmsgCtx.setMessageID(UIDGenerator.generateURNString());
+                newmsgCtx.setMessageID(IdGenerator.getInstance().generateURNString());
                 newmsgCtx.setReplyTo(new EndpointReference(AddressingConstants.Final.WSA_NONE_URI));
             }
         }
@@ -331,7 +330,7 @@ public class MessageContextBuilder {
         Object version = faultContext.getProperty(AddressingConstants.WS_ADDRESSING_VERSION);
         if (AddressingConstants.Submission.WSA_NAMESPACE.equals(version) ||
             (outboundToEPR != null && !outboundToEPR.hasAnonymousAddress())) {
-            faultContext.setMessageID(UIDGenerator.generateURNString());
+            faultContext.setMessageID(IdGenerator.getInstance().generateURNString());
             faultContext.setReplyTo(new EndpointReference(AddressingConstants.Final.WSA_NONE_URI));
         }
 
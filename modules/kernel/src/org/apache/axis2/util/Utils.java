@@ -23,7 +23,6 @@ package org.apache.axis2.util;
 import org.apache.axiom.soap.SOAPBody;
 import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axiom.soap.SOAPFault;
-import org.apache.axiom.util.UIDGenerator;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.Constants;
 import org.apache.axis2.ServiceObjectSupplier;
@@ -71,6 +70,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.UUID;
 
 public class Utils {
     private static final Log log = LogFactory.getLog(Utils.class);
@@ -179,7 +179,8 @@ public class Utils {
     private static ServiceContext fillServiceContextAndServiceGroupContext(AxisService axisService,
                                                                            ConfigurationContext configurationContext)
             throws AxisFault {
-        String serviceGroupContextId = UIDGenerator.generateURNString();
+        // The ID is the soapsession token, so it must not be predictable
+        String serviceGroupContextId = "urn:uuid:" + UUID.randomUUID();
         ServiceGroupContext serviceGroupContext =
                 configurationContext.createServiceGroupContext(axisService.getAxisServiceGroup());
 
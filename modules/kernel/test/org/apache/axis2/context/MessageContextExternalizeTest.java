@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.dispatchers.RequestURIBasedDispatcher;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.axis2.engine.Handler;
+import org.apache.axis2.engine.Phase;
+
+/**
+ * Externalizes a message context with an execution chain in each supported revision of the
+ * format and checks that it can be read back and activated.
+ */
+public class MessageContextExternalizeTest extends TestCase {
+    private ConfigurationContext configurationContext;
+    private List<Phase> phases;
+
+    protected void setUp() throws Exception {
+        AxisConfiguration axisConfig = new AxisConfiguration();
+        phases = new ArrayList<Phase>();
+        for (int i = 0; i < 3; i++) {
+            Phase phase = new Phase("Phase" + i);
+            for (int j = 0; j < 2; j++) {
+                RequestURIBasedDispatcher handler = new RequestURIBasedDispatcher();
+                handler.init(new HandlerDescription("Handler" + i + "_" + j));
+                phase.addHandler(handler);
+            }
+            phases.add(phase);
+        }
+        axisConfig.getInFlowPhases().addAll(phases);
+        configurationContext = new ConfigurationContext(axisConfig);
+    }
+
+    private MessageContext createMessageContext() throws Exception {
+        MessageContext mc = configurationContext.createMessageContext();
+        mc.setMessageID("urn:uuid:externalize-test");
+        mc.setExecutionChain(new ArrayList<Handler>(phases));
+        mc.addExecutedPhase(phases.get(0));
+        mc.addExecutedPhase(phases.get(1));
+        mc.setProperty("key1", "value1");
+        mc.setProperty("key2", "value2");
+        return mc;
+    }
+
+    private MessageContext roundTrip(MessageContext mc, int revision) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        mc.writeExternal(out, revision);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        in.readLong();
+        assertEquals(revision, in.readInt());
+        in.close();
+
+        in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        MessageContext restored = new MessageContext();
+        restored.readExternal(in);
+        in.close();
+        restored.activate(configurationContext);
+        return restored;
+    }
+
+    private void checkRestored(MessageContext restored) {
+        assertEquals("urn:uuid:externalize-test", restored.getMessageID());
+        assertEquals("value1", restored.getProperty("key1"));
+        assertEquals("value2", restored.getProperty("key2"));
+
+        List<Handler> chain = restored.getExecutionChain();
+        assertEquals(phases.size(), chain.size());
+        for (int i = 0; i < phases.size(); i++) {
+            assertSame(phases.get(i), chain.get(i));
+        }
+
+        Iterator<Handler> executed = restored.getExecutedPhases();
+        assertSame(phases.get(1), executed.next());
+        assertSame(phases.get(0), executed.next());
+        assertFalse(executed.hasNext());
+    }
+
+    /**
+     * Streams written by earlier releases must remain readable.
+     */
+    public void testReadRevision2() throws Exception {
+        checkRestored(roundTrip(createMessageContext(), MessageContext.REVISION_2));
+    }
+
+    public void testRoundTripRevision3() throws Exception {
+        checkRestored(roundTrip(createMessageContext(), MessageContext.REVISION_3));
+    }
+
+    /**
+     * The compact format refers to repeated class names by index, so it must be smaller.
+     */
+    public void testRevision3IsSmaller() throws Exception {
+        MessageContext mc = createMessageContext();
+        assertTrue(size(mc, MessageContext.REVISION_3) < size(mc, MessageContext.REVISION_2));
+    }
+
+    private static int size(MessageContext mc, int revision) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        mc.writeExternal(out, revision);
+        out.close();
+        return baos.size();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.context;
+
+import junit.framework.TestCase;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.Constants;
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.engine.AxisConfiguration;
+
+import java.util.List;
+
+public class SoapSessionTableTest extends TestCase {
+
+    private ConfigurationContext configContext;
+    private AxisService axisService;
+
+    protected void setUp() throws Exception {
+        configContext = new ConfigurationContext(new AxisConfiguration());
+        configContext.setProperty(Constants.Configuration.CONFIG_CONTEXT_TIMEOUT_INTERVAL,
+                Integer.valueOf(1000));
+        axisService = new AxisService("SessionService");
+        configContext.getAxisConfiguration().addService(axisService);
+    }
+
+    protected void tearDown() throws Exception {
+        configContext.cleanupContexts();
+    }
+
+    private ServiceGroupContext addSession(String id) {
+        ServiceGroupContext sgc =
+                configContext.createServiceGroupContext(axisService.getAxisServiceGroup());
+        sgc.setId(id);
+        configContext.addServiceGroupContextIntoSoapSessionTable(sgc);
+        return sgc;
+    }
+
+    public void testIdleSessionIsExpired() throws Exception {
+        ServiceGroupContext sgc = addSession("s1");
+        long touched = sgc.getLastTouchedTime();
+        SoapSessionTable table = configContext.getSoapSessionTable();
+
+        assertTrue(table.sweep(touched + 1000).isEmpty());
+        List<ServiceGroupContext> expired = table.sweep(touched + 1001);
+        assertEquals(1, expired.size());
+        assertSame(sgc, expired.get(0));
+        assertNull(configContext.getServiceGroupContext("s1"));
+        assertEquals(0, configContext.getSoapSessionCount());
+        assertEquals(1, configContext.getCreatedSoapSessionCount());
+        assertEquals(1, configContext.getExpiredSoapSessionCount());
+    }
+
+    public void testTouchedSessionIsRescheduled() throws Exception {
+        ServiceGroupContext sgc = addSession("s1");
+        long touched = sgc.getLastTouchedTime();
+        SoapSessionTable table = configContext.getSoapSessionTable();
+
+        sgc.setLastTouchedTime(touched + 800);
+        assertTrue(table.sweep(touched + 1500).isEmpty());
+        assertSame(sgc, configContext.getServiceGroupContextFromSoapSessionTable("s1", null));
+
+        sgc.setLastTouchedTime(touched);
+        assertEquals(1, table.sweep(touched + 1801).size());
+        assertEquals(0, configContext.getSoapSessionCount());
+    }
+
+    public void testTimedOutSessionIsExpiredOnLookup() throws Exception {
+        ServiceGroupContext sgc = addSession("s1");
+        sgc.setLastTouchedTime(System.currentTimeMillis() - 2000);
+
+        try {
+            configContext.getServiceGroupContextFromSoapSessionTable("s1", null);
+            fail("Expected AxisFault");
+        } catch (AxisFault ex) {
+            // Expected
+        }
+        // The expired session was not touched
+        assertTrue(sgc.getLastTouchedTime() < System.currentTimeMillis() - 1000);
+        assertNull(configContext.getServiceGroupContext("s1"));
+        assertEquals(0, configContext.getSoapSessionCount());
+        assertEquals(1, configContext.getExpiredSoapSessionCount());
+        assertTrue(configContext.getSoapSessionTable().sweep(System.currentTimeMillis() + 60000)
+                .isEmpty());
+        assertEquals(1, configContext.getExpiredSoapSessionCount());
+    }
+
+    public void testRemovedSessionIsNotExpired() throws Exception {
+        ServiceGroupContext sgc = addSession("s1");
+        addSession("s2");
+        configContext.removeServiceGroupContext("s1");
+
+        assertEquals(1, configContext.getSoapSessionCount());
+        assertEquals(1, configContext.getRemovedSoapSessionCount());
+        List<ServiceGroupContext> expired =
+                configContext.getSoapSessionTable().sweep(sgc.getLastTouchedTime() + 60000);
+        assertEquals(1, expired.size());
+        assertEquals("s2", expired.get(0).getId());
+        assertEquals(1, configContext.getExpiredSoapSessionCount());
+    }
+
+    public void testServiceGroupContextIDs() throws Exception {
+        addSession("s1");
+        addSession("s2");
+        String[] ids = configContext.getServiceGroupContextIDs();
+        assertEquals(2, ids.length);
+    }
+}
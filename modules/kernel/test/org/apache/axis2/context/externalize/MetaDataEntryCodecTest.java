@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.context.externalize;
+
+import org.apache.axis2.util.MetaDataEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class MetaDataEntryCodecTest extends TestCase {
+    private static List<MetaDataEntry> createChain() {
+        List<MetaDataEntry> chain = new ArrayList<MetaDataEntry>();
+        for (int i = 0; i < 10; i++) {
+            MetaDataEntry phase = new MetaDataEntry("org.apache.axis2.engine.Phase", "Phase" + i);
+            for (int j = 0; j < 3; j++) {
+                phase.addToList(new MetaDataEntry("org.apache.axis2.handlers.TestHandler",
+                        "handler" + j));
+            }
+            chain.add(phase);
+        }
+        chain.add(null);
+        chain.add(new MetaDataEntry(MetaDataEntry.END_OF_LIST, null, "extra"));
+        return chain;
+    }
+
+    public void testRoundTrip() throws Exception {
+        List<MetaDataEntry> chain = createChain();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        MetaDataEntryCodec codec = new MetaDataEntryCodec();
+        for (MetaDataEntry entry : chain) {
+            codec.write(out, entry);
+        }
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        codec = new MetaDataEntryCodec();
+        for (MetaDataEntry expected : chain) {
+            MetaDataEntry actual = codec.read(in);
+            if (expected == null) {
+                assertNull(actual);
+                continue;
+            }
+            assertEquals(expected.getClassName(), actual.getClassName());
+            assertEquals(expected.getQNameAsString(), actual.getQNameAsString());
+            assertEquals(expected.getExtraName(), actual.getExtraName());
+            if (expected.getChildren() == null) {
+                assertNull(actual.getChildren());
+            } else {
+                assertEquals(expected.getChildren().size(), actual.getChildren().size());
+                for (int i = 0; i < expected.getChildren().size(); i++) {
+                    MetaDataEntry expectedChild = (MetaDataEntry) expected.getChildren().get(i);
+                    MetaDataEntry actualChild = (MetaDataEntry) actual.getChildren().get(i);
+                    assertEquals(expectedChild.getClassName(), actualChild.getClassName());
+                    assertEquals(expectedChild.getQNameAsString(), actualChild.getQNameAsString());
+                }
+            }
+        }
+    }
+
+    public void testSmallerThanSerialization() throws Exception {
+        List<MetaDataEntry> chain = createChain();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(encoded);
+        MetaDataEntryCodec codec = new MetaDataEntryCodec();
+        for (MetaDataEntry entry : chain) {
+            codec.write(out, entry);
+        }
+        out.close();
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        out = new ObjectOutputStream(serialized);
+        for (MetaDataEntry entry : chain) {
+            out.writeObject(entry);
+        }
+        out.close();
+
+        assertTrue(encoded.size() < serialized.size());
+    }
+
+    public void testInvalidReference() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        out.writeInt(5);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        try {
+            new MetaDataEntryCodec().readString(in);
+            fail("Expected IOException");
+        } catch (java.io.IOException ex) {
+            // Expected
+        }
+    }
+}
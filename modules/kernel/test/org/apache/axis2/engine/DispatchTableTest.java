@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.engine;
+
+import junit.framework.TestCase;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.AxisOperation;
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.description.InOnlyAxisOperation;
+import org.apache.axis2.dispatchers.ActionBasedOperationDispatcher;
+
+import javax.xml.namespace.QName;
+
+public class DispatchTableTest extends TestCase {
+    private AxisConfiguration axisConfiguration;
+    private AxisService service;
+    private AxisOperation operation1;
+
+    protected void setUp() throws Exception {
+        axisConfiguration = new AxisConfiguration();
+        service = new AxisService("Service1");
+        operation1 = new InOnlyAxisOperation(new QName("operation1"));
+        service.addOperation(operation1);
+        service.mapActionToOperation("urn:test:operation1", operation1);
+        axisConfiguration.addService(service);
+    }
+
+    public void testKnownAction() {
+        DispatchTable table = axisConfiguration.getDispatchTable();
+        assertSame(operation1, table.getOperationByAction(service, "urn:test:operation1"));
+        assertSame(operation1, table.getOperationByAction(service, "urn:test:operation1"));
+        assertSame(operation1, table.getOperationByAction(service, "operation1"));
+        assertNull(table.getOperationByAction(service, null));
+    }
+
+    public void testNegativeCache() {
+        DispatchTable table = axisConfiguration.getDispatchTable();
+        table.setNegativeCacheSize(2);
+        assertNull(table.getOperationByAction(service, "urn:test:unknown"));
+        assertEquals(0, table.getNegativeCacheHits());
+        assertNull(table.getOperationByAction(service, "urn:test:unknown"));
+        assertEquals(1, table.getNegativeCacheHits());
+
+        // Filling the cache clears it
+        assertNull(table.getOperationByAction(service, "urn:test:unknown2"));
+        assertNull(table.getOperationByAction(service, "urn:test:unknown3"));
+        assertNull(table.getOperationByAction(service, "urn:test:unknown"));
+        assertEquals(1, table.getNegativeCacheHits());
+    }
+
+    public void testInvalidation() throws Exception {
+        DispatchTable table = axisConfiguration.getDispatchTable();
+        assertNull(table.getOperationByAction(service, "urn:test:operation2"));
+
+        AxisOperation operation2 = new InOnlyAxisOperation(new QName("operation2"));
+        service.addOperation(operation2);
+        service.mapActionToOperation("urn:test:operation2", operation2);
+        assertSame(operation2, table.getOperationByAction(service, "urn:test:operation2"));
+
+        service.removeOperation(operation2.getName());
+        assertNull(table.getOperationByAction(service, "urn:test:operation2"));
+    }
+
+    public void testAddOperationInvalidatesUnknownAction() throws Exception {
+        DispatchTable table = axisConfiguration.getDispatchTable();
+        assertNull(table.getOperationByAction(service, "operation3"));
+        assertNull(table.getOperationByAction(service, "operation3"));
+        assertEquals(1, table.getNegativeCacheHits());
+
+        AxisOperation operation3 = new InOnlyAxisOperation(new QName("operation3"));
+        service.addOperation(operation3);
+        assertSame(operation3, table.getOperationByAction(service, "operation3"));
+    }
+
+    public void testServiceWithoutConfiguration() throws Exception {
+        AxisService standalone = new AxisService("Standalone");
+        AxisOperation operation = new InOnlyAxisOperation(new QName("operation1"));
+        standalone.addOperation(operation);
+        standalone.mapActionToOperation("urn:test:alias", operation);
+
+        MessageContext messageContext = new MessageContext();
+        ActionBasedOperationDispatcher dispatcher = new ActionBasedOperationDispatcher();
+        messageContext.setSoapAction("urn:test:alias");
+        assertSame(operation, dispatcher.findOperation(standalone, messageContext));
+        messageContext.setSoapAction("operation1");
+        assertSame(operation, dispatcher.findOperation(standalone, messageContext));
+        messageContext.setSoapAction("urn:test:unknown");
+        assertNull(dispatcher.findOperation(standalone, messageContext));
+    }
+
+    public void testDispatchCounts() throws Exception {
+        ConfigurationContext configurationContext = new ConfigurationContext(axisConfiguration);
+        MessageContext messageContext = configurationContext.createMessageContext();
+        messageContext.setAxisService(service);
+        messageContext.setWSAAction("urn:test:operation1");
+
+        ActionBasedOperationDispatcher dispatcher = new ActionBasedOperationDispatcher();
+        dispatcher.initDispatcher();
+        dispatcher.invoke(messageContext);
+
+        assertSame(operation1, messageContext.getAxisOperation());
+        assertEquals(ActionBasedOperationDispatcher.NAME,
+                messageContext.getProperty(DispatchTable.OPERATION_DISPATCHER));
+        assertEquals(Long.valueOf(1), axisConfiguration.getDispatchTable()
+                .getOperationDispatchCounts().get(ActionBasedOperationDispatcher.NAME));
+    }
+}
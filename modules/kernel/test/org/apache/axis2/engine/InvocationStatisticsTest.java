@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.engine;
+
+import junit.framework.TestCase;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.handlers.AbstractHandler;
+
+public class InvocationStatisticsTest extends TestCase {
+    private ConfigurationContext configContext;
+    private InvocationStatistics statistics;
+
+    private static class TestHandler extends AbstractHandler {
+        private final boolean fail;
+
+        TestHandler(String name, boolean fail) {
+            this.fail = fail;
+            init(new HandlerDescription(name));
+        }
+
+        public InvocationResponse invoke(MessageContext msgContext) throws AxisFault {
+            if (fail) {
+                throw new AxisFault("failed");
+            }
+            return InvocationResponse.CONTINUE;
+        }
+    }
+
+    protected void setUp() throws Exception {
+        configContext = ConfigurationContextFactory.createEmptyConfigurationContext();
+        statistics = new InvocationStatistics();
+        statistics.init(configContext.getAxisConfiguration());
+        configContext.getAxisConfiguration().setInvocationInstrumentation(statistics);
+    }
+
+    protected void tearDown() throws Exception {
+        statistics.destroy();
+    }
+
+    public void testPhaseAndHandlerTimes() throws Exception {
+        Phase phase = new Phase("Security");
+        phase.addHandler(new TestHandler("first", false));
+        phase.addHandler(new TestHandler("second", false));
+
+        MessageContext msgContext = configContext.createMessageContext();
+        msgContext.setFLOW(MessageContext.IN_FLOW);
+        phase.invoke(msgContext);
+        phase.invoke(msgContext);
+        msgContext.setFLOW(MessageContext.OUT_FLOW);
+        phase.invoke(msgContext);
+
+        assertEquals(2, statistics.getPhaseHistogram("InFlow/Security").getCount());
+        assertEquals(1, statistics.getPhaseHistogram("OutFlow/Security").getCount());
+        assertEquals(2, statistics.getHandlerHistogram("InFlow/Security/first").getCount());
+        assertEquals(2, statistics.getHandlerHistogram("InFlow/Security/second").getCount());
+        assertEquals(1, statistics.getHandlerHistogram("OutFlow/Security/second").getCount());
+        assertTrue(statistics.getHandlerStatistics().containsKey("OutFlow/Security/first"));
+    }
+
+    public void testRedeployedPhase() throws Exception {
+        MessageContext msgContext = configContext.createMessageContext();
+        msgContext.setFLOW(MessageContext.IN_FLOW);
+        for (int i = 0; i < 2; i++) {
+            // A new instance with the same names, as after a redeployment
+            Phase phase = new Phase("Security");
+            phase.addHandler(new TestHandler("first", false));
+            phase.invoke(msgContext);
+        }
+
+        assertEquals(2, statistics.getPhaseHistogram("InFlow/Security").getCount());
+        assertEquals(2, statistics.getHandlerHistogram("InFlow/Security/first").getCount());
+        assertEquals(1, statistics.getPhaseStatistics().size());
+    }
+
+    public void testFailingHandler() throws Exception {
+        Phase phase = new Phase("Transport");
+        phase.addHandler(new TestHandler("failing", true));
+        phase.addHandler(new TestHandler("skipped", false));
+
+        MessageContext msgContext = configContext.createMessageContext();
+        msgContext.setFLOW(MessageContext.IN_FLOW);
+        try {
+            phase.invoke(msgContext);
+            fail("Expected AxisFault");
+        } catch (AxisFault e) {
+            // expected
+        }
+
+        assertEquals(1, statistics.getPhaseHistogram("InFlow/Transport").getCount());
+        assertEquals(1, statistics.getHandlerHistogram("InFlow/Transport/failing").getCount());
+        assertNull(statistics.getHandlerHistogram("InFlow/Transport/skipped"));
+    }
+
+    public void testReset() throws Exception {
+        Phase phase = new Phase("Dispatch");
+        phase.addHandler(new TestHandler("handler", false));
+        MessageContext msgContext = configContext.createMessageContext();
+        phase.invoke(msgContext);
+        statistics.resetStatistics();
+        assertTrue(statistics.getPhaseStatistics().isEmpty());
+        phase.invoke(msgContext);
+        assertEquals(1, statistics.getPhaseHistogram("InFlow/Dispatch").getCount());
+    }
+
+    public void testNoInstrumentation() throws Exception {
+        configContext.getAxisConfiguration().setInvocationInstrumentation(null);
+        Phase phase = new Phase("Dispatch");
+        phase.addHandler(new TestHandler("handler", false));
+        phase.invoke(configContext.createMessageContext());
+        assertNull(statistics.getPhaseHistogram("InFlow/Dispatch"));
+    }
+}
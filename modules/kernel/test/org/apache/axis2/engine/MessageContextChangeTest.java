@@ -107,7 +107,6 @@ public class MessageContextChangeTest extends TestCase {
             new FieldDescription("org.apache.axis2.util.MetaDataEntry", "metaAxisMessage"),
             new FieldDescription("boolean", "reconcileAxisMessage"),
             new FieldDescription("boolean", "executedPhasesReset"),
-            new FieldDescription("java.lang.String", "selfManagedDataDelimiter"),
 //            new FieldDescription("java.lang.Class",
 //                                 new String[] {"class$org$apache$axis2$context$MessageContext","class$0"}),
 //            new FieldDescription("java.lang.Class",
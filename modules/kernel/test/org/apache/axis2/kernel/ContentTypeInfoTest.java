@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.kernel;
+
+import junit.framework.TestCase;
+import org.apache.axis2.context.MessageContext;
+
+public class ContentTypeInfoTest extends TestCase {
+
+    public void testSOAP12() {
+        ContentTypeInfo info = ContentTypeInfo.get(
+                "application/soap+xml; charset=\"ISO-8859-1\"; action=\"urn:test\"");
+        assertEquals("application/soap+xml", info.getMediaType());
+        assertEquals("ISO-8859-1", info.getCharSetEncoding());
+        assertEquals("urn:test", info.getAction());
+        assertTrue(info.isSOAP12());
+        assertFalse(info.isSOAP11());
+        assertFalse(info.isREST());
+        assertFalse(info.isMultipart());
+    }
+
+    public void testDefaults() {
+        ContentTypeInfo info = ContentTypeInfo.get("text/xml");
+        assertEquals("text/xml", info.getMediaType());
+        assertEquals(MessageContext.DEFAULT_CHAR_SET_ENCODING, info.getCharSetEncoding());
+        assertNull(info.getAction());
+        assertTrue(info.isSOAP11());
+    }
+
+    public void testRESTAndJSON() {
+        assertTrue(ContentTypeInfo.get("application/xml; charset=UTF-8").isREST());
+        assertTrue(ContentTypeInfo.get("application/x-www-form-urlencoded").isREST());
+        assertTrue(ContentTypeInfo.get("Application/JSON").isJSON());
+        assertFalse(ContentTypeInfo.get("application/json").isREST());
+    }
+
+    public void testCharSetWithFollowingParameter() {
+        assertEquals("utf-16", ContentTypeInfo.get("text/xml; charset = utf-16 ; foo=bar")
+                .getCharSetEncoding());
+    }
+
+    public void testUnparsable() {
+        ContentTypeInfo info = ContentTypeInfo.get("text/xml; charset=UTF-8; \"");
+        assertEquals("text/xml", info.getMediaType());
+        assertNull(info.getAction());
+    }
+
+    public void testCaching() {
+        String contentType = "text/xml; charset=UTF-8";
+        assertSame(ContentTypeInfo.get(contentType), ContentTypeInfo.get(contentType));
+        String multipart = "multipart/related; boundary=MIMEBoundary_1234; type=\"text/xml\"";
+        ContentTypeInfo info = ContentTypeInfo.get(multipart);
+        assertTrue(info.isMultipart());
+        assertNotSame(info, ContentTypeInfo.get(multipart));
+    }
+
+    public void testBounded() {
+        for (int i = 0; i < ContentTypeInfo.MAX_ENTRIES * 2; i++) {
+            ContentTypeInfo.get("application/x-test-" + i);
+        }
+        assertTrue(ContentTypeInfo.cacheSize() <= ContentTypeInfo.MAX_ENTRIES);
+    }
+}
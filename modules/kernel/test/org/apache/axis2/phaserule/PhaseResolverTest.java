@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.phaserule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import junit.framework.TestCase;
+
+import org.apache.axis2.description.AxisModule;
+import org.apache.axis2.description.AxisOperation;
+import org.apache.axis2.description.Flow;
+import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.description.InOutAxisOperation;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.axis2.engine.Handler;
+import org.apache.axis2.engine.Phase;
+import org.apache.axis2.phaseresolver.PhaseException;
+import org.apache.axis2.phaseresolver.PhaseResolver;
+
+public class PhaseResolverTest extends TestCase {
+    private AxisConfiguration axisConfig;
+    private Phase dispatch;
+    private Phase userPhase;
+    private AxisOperation operation;
+
+    protected void setUp() throws Exception {
+        axisConfig = new AxisConfiguration();
+        dispatch = new Phase("Dispatch");
+        axisConfig.getInFlowPhases().add(dispatch);
+        userPhase = new Phase("PhaseA");
+        operation = new InOutAxisOperation(new QName("op"));
+        ArrayList phases = new ArrayList();
+        phases.add(userPhase);
+        operation.setRemainingPhasesInFlow(phases);
+    }
+
+    private static HandlerDescription createHandler(String name, String phaseName,
+                                                    String before, String after) {
+        HandlerDescription handlerDesc = new HandlerDescription(name);
+        handlerDesc.getRules().setPhaseName(phaseName);
+        handlerDesc.getRules().setBefore(before);
+        handlerDesc.getRules().setAfter(after);
+        Handler handler = new PhaseRuleHandler(name);
+        handler.init(handlerDesc);
+        handlerDesc.setHandler(handler);
+        return handlerDesc;
+    }
+
+    private static AxisModule createModule(Flow inFlow) {
+        AxisModule module = new AxisModule("testModule");
+        module.setInFlow(inFlow);
+        return module;
+    }
+
+    /**
+     * The rules of a module's handlers are honoured regardless of the order in which the
+     * module lists them.
+     */
+    public void testRulesWithinFlow() throws Exception {
+        HandlerDescription h1 = createHandler("H1", "PhaseA", null, null);
+        HandlerDescription h2 = createHandler("H2", "PhaseA", null, "H1");
+        HandlerDescription h3 = createHandler("H3", "PhaseA", "H2", null);
+        HandlerDescription all = createHandler("All", Phase.ALL_PHASES, null, null);
+        Flow flow = new Flow();
+        flow.addHandler(h2);
+        flow.addHandler(h3);
+        flow.addHandler(h1);
+        flow.addHandler(all);
+
+        new PhaseResolver(axisConfig).engageModuleToOperation(operation, createModule(flow));
+
+        List<Handler> handlers = userPhase.getHandlers();
+        assertEquals(4, handlers.size());
+        assertSame(h1.getHandler(), handlers.get(0));
+        assertSame(h3.getHandler(), handlers.get(1));
+        assertSame(h2.getHandler(), handlers.get(2));
+        assertSame(all.getHandler(), handlers.get(3));
+        assertEquals(1, dispatch.getHandlerCount());
+        assertSame(all.getHandler(), dispatch.getHandlers().get(0));
+    }
+
+    /**
+     * Engaging the same module on several operations adds its handlers to the global phases
+     * only once.
+     */
+    public void testSeveralOperations() throws Exception {
+        Flow flow = new Flow();
+        flow.addHandler(createHandler("H1", "Dispatch", null, null));
+        flow.addHandler(createHandler("H2", "PhaseA", null, null));
+        AxisModule module = createModule(flow);
+        PhaseResolver phaseResolver = new PhaseResolver(axisConfig);
+        phaseResolver.engageModuleToOperation(operation, module);
+
+        AxisOperation operation2 = new InOutAxisOperation(new QName("op2"));
+        Phase userPhase2 = new Phase("PhaseA");
+        ArrayList phases = new ArrayList();
+        phases.add(userPhase2);
+        operation2.setRemainingPhasesInFlow(phases);
+        phaseResolver.engageModuleToOperation(operation2, module);
+
+        assertEquals(1, dispatch.getHandlerCount());
+        assertEquals(1, userPhase.getHandlerCount());
+        assertEquals(1, userPhase2.getHandlerCount());
+    }
+
+    public void testInvalidPhase() throws Exception {
+        Flow flow = new Flow();
+        flow.addHandler(createHandler("H1", "PhaseA", null, null));
+        flow.addHandler(createHandler("H2", "NoSuchPhase", null, null));
+        try {
+            new PhaseResolver(axisConfig).engageModuleToOperation(operation, createModule(flow));
+            fail("Expected PhaseException");
+        } catch (PhaseException e) {
+            assertTrue(e.getMessage().indexOf("NoSuchPhase") != -1);
+        }
+        // Nothing is added if the flow can't be engaged
+        assertEquals(0, userPhase.getHandlerCount());
+    }
+}
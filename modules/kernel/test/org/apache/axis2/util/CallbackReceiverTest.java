@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.client.async.AxisCallback;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.util.threadpool.ThreadFactory;
+import org.junit.Test;
+
+public class CallbackReceiverTest {
+    private static class TestCallback implements AxisCallback {
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Exception error;
+        volatile Thread thread;
+
+        public void onMessage(MessageContext msgContext) {
+        }
+
+        public void onFault(MessageContext msgContext) {
+        }
+
+        public void onError(Exception e) {
+            error = e;
+            thread = Thread.currentThread();
+        }
+
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        CallbackReceiver receiver = new CallbackReceiver();
+        TestCallback callback = new TestCallback();
+        receiver.addCallback("urn:uuid:1", callback, 200);
+        assertThat(receiver.getPendingCallbackCount()).isEqualTo(1);
+
+        assertThat(callback.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(callback.error).isInstanceOf(AxisFault.class);
+        assertThat(receiver.getPendingCallbackCount()).isEqualTo(0);
+        assertThat(receiver.getTimedOutCallbackCount()).isEqualTo(1);
+        assertThat(receiver.lookupCallback("urn:uuid:1")).isNull();
+    }
+
+    @Test
+    public void testTimeoutNotifiedOnThreadPool() throws Exception {
+        final Thread[] poolThread = new Thread[1];
+        CallbackReceiver receiver = new CallbackReceiver();
+        receiver.setThreadPool(new ThreadFactory() {
+            public void execute(Runnable runnable) {
+                Thread thread = new Thread(runnable, "test-pool");
+                poolThread[0] = thread;
+                thread.start();
+            }
+        });
+        TestCallback callback = new TestCallback();
+        receiver.addCallback("urn:uuid:6", callback, 200);
+
+        assertThat(callback.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(callback.thread).isSameAs(poolThread[0]);
+    }
+
+    @Test
+    public void testTimeoutNotNotifiedOnTimerThread() throws Exception {
+        CallbackReceiver receiver = new CallbackReceiver();
+        TestCallback callback = new TestCallback();
+        receiver.addCallback("urn:uuid:7", callback, 200);
+
+        assertThat(callback.completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(callback.thread.getName()).isNotEqualTo("axis2-callback-timeout");
+    }
+
+    @Test
+    public void testLookupCancelsTimeout() throws Exception {
+        CallbackReceiver receiver = new CallbackReceiver();
+        TestCallback callback = new TestCallback();
+        receiver.addCallback("urn:uuid:2", callback, 200);
+        assertThat(receiver.lookupCallback("urn:uuid:2")).isSameAs(callback);
+
+        assertThat(callback.completed.await(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(callback.error).isNull();
+        assertThat(receiver.getTimedOutCallbackCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testNoTimeout() throws Exception {
+        CallbackReceiver receiver = new CallbackReceiver();
+        TestCallback callback = new TestCallback();
+        receiver.addCallback("urn:uuid:3", callback);
+
+        assertThat(callback.completed.await(500, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(receiver.getPendingCallbackCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMaxPendingCallbacks() throws Exception {
+        CallbackReceiver receiver = new CallbackReceiver();
+        receiver.setMaxPendingCallbacks(1);
+        receiver.addCallback("urn:uuid:4", new TestCallback(), 60000);
+        try {
+            receiver.addCallback("urn:uuid:5", new TestCallback(), 60000);
+            fail("Expected AxisFault");
+        } catch (AxisFault ex) {
+            // Expected
+        }
+        assertThat(receiver.getRejectedCallbackCount()).isEqualTo(1);
+        receiver.lookupCallback("urn:uuid:4");
+        receiver.addCallback("urn:uuid:5", new TestCallback(), 60000);
+        assertThat(receiver.getPendingCallbackCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+    @Test
+    public void testExpiry() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("test", 10, TimeUnit.MILLISECONDS, 8);
+        final CountDownLatch latch = new CountDownLatch(3);
+        long start = System.nanoTime();
+        // The second delay needs more than one round of the wheel
+        for (long delay : new long[] { 0, 200, 50 }) {
+            timer.newTimeout(new Runnable() {
+                public void run() {
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer("test", 10, TimeUnit.MILLISECONDS, 8);
+        final AtomicInteger count = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(new Runnable() {
+            public void run() {
+                count.incrementAndGet();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        Thread.sleep(300);
+        assertThat(count.get()).isEqualTo(0);
+        assertThat(timeout.isExpired()).isFalse();
+        assertThat(timer.getPendingTimeouts()).isEqualTo(0);
+    }
+}
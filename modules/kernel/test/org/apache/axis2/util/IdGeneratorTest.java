@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class IdGeneratorTest {
+    private static final String UUID_PATTERN =
+            "[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}";
+
+    @Test
+    public void testFormat() {
+        IdGenerator generator = new CounterIdGenerator();
+        String uid = generator.generateUID();
+        assertThat(uid).matches(UUID_PATTERN);
+        assertThat(UUID.fromString(uid).version()).isEqualTo(4);
+        assertThat(UUID.fromString(uid).variant()).isEqualTo(2);
+        String urn = generator.generateURNString();
+        assertThat(urn).startsWith("urn:uuid:");
+        assertThat(urn.substring(9)).matches(UUID_PATTERN);
+    }
+
+    @Test
+    public void testUniqueness() throws Exception {
+        final IdGenerator generator = new CounterIdGenerator();
+        final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        ids.add(generator.generateUID());
+                        ids.add(generator.generateURNString());
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(ids).hasSize(threads.length * 20000);
+    }
+
+    @Test
+    public void testSetInstance() {
+        IdGenerator generator = new AxiomIdGenerator();
+        IdGenerator.setInstance(generator);
+        try {
+            assertThat(IdGenerator.getInstance()).isSameAs(generator);
+            assertThat(IdGenerator.getInstance().generateURNString()).startsWith("urn:uuid:");
+        } finally {
+            IdGenerator.setInstance(null);
+        }
+        assertThat(IdGenerator.getInstance()).isInstanceOf(CounterIdGenerator.class);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount()).isEqualTo(0);
+        assertThat(histogram.getMeanNanos()).isEqualTo(0);
+        assertThat(histogram.getPercentileNanos(99)).isEqualTo(0);
+    }
+
+    @Test
+    public void testRecord() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getTotalNanos()).isEqualTo(5050000L);
+        assertThat(histogram.getMeanNanos()).isEqualTo(50500L);
+        assertThat(histogram.getMaxNanos()).isEqualTo(100000L);
+        // Percentiles are the upper bound of a power of two bucket
+        assertThat(histogram.getPercentileNanos(50)).isBetween(50000L, 65535L);
+        assertThat(histogram.getPercentileNanos(99)).isBetween(99000L, 100000L);
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(100000L);
+    }
+
+    @Test
+    public void testZeroAndNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(-5);
+        assertThat(histogram.getCount()).isEqualTo(2);
+        assertThat(histogram.getMaxNanos()).isEqualTo(0);
+        assertThat(histogram.getPercentileNanos(100)).isEqualTo(0);
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1234);
+        histogram.reset();
+        assertThat(histogram.getCount()).isEqualTo(0);
+        assertThat(histogram.getMaxNanos()).isEqualTo(0);
+        assertThat(histogram.getPercentileNanos(50)).isEqualTo(0);
+    }
+}
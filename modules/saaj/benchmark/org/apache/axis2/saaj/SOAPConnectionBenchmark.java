@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.saaj;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPConnection;
+import jakarta.xml.soap.SOAPConnectionFactory;
+import jakarta.xml.soap.SOAPMessage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of {@link SOAPConnection#call(SOAPMessage, Object)} with several
+ * client threads sharing a connection. The server returns a canned response.
+ */
+public class SOAPConnectionBenchmark {
+    private static final byte[] RESPONSE = ("<soapenv:Envelope xmlns:soapenv="
+            + "'http://schemas.xmlsoap.org/soap/envelope/'><soapenv:Header/><soapenv:Body>"
+            + "<ns:echoResponse xmlns:ns='urn:test'><ns:value>Hello</ns:value>"
+            + "<ns:value>World</ns:value></ns:echoResponse></soapenv:Body></soapenv:Envelope>")
+            .getBytes();
+
+    private static long run(final SOAPConnection connection, final URL url, int threads,
+                            final int iterations) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicLong failures = new AtomicLong();
+        for (int t = 0; t < threads; t++) {
+            new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            SOAPMessage request = MessageFactory.newInstance().createMessage();
+                            request.getSOAPBody().addChildElement("echo", "ns", "urn:test")
+                                    .addChildElement("value", "ns").addTextNode("Hello");
+                            SOAPMessage response = connection.call(request, url);
+                            response.getSOAPBody().getChildElements().next();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }.start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long time = System.nanoTime() - startTime;
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " threads failed");
+        }
+        return time;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                InputStream in = exchange.getRequestBody();
+                byte[] buffer = new byte[4096];
+                while (in.read(buffer) != -1) {
+                    // Discard the request
+                }
+                exchange.getResponseHeaders().set("Content-Type", "text/xml; charset=UTF-8");
+                exchange.sendResponseHeaders(200, RESPONSE.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(RESPONSE);
+                out.close();
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(threads));
+        server.start();
+        try {
+            URL url = new URL("http://localhost:" + server.getAddress().getPort() + "/echo");
+            SOAPConnection connection = SOAPConnectionFactory.newInstance().createConnection();
+            try {
+                // warm up
+                run(connection, url, threads, iterations / 10);
+                long time = run(connection, url, threads, iterations);
+                System.out.println((long)threads * iterations * 1000000000L / time + " calls/s");
+            } finally {
+                connection.close();
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.saaj.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Measures the heap used while a large attachment is cached by {@link SAAJDataSource} and
+ * written out again through {@link SAAJDataHandler#writeTo(OutputStream)}.
+ */
+public class SAAJDataSourceBenchmark {
+    private static final long SIZE = 100L * 1024 * 1024;
+
+    /** Generates <code>size</code> bytes of content without holding them in memory. */
+    private static class GeneratedInputStream extends InputStream {
+        private long remaining;
+
+        GeneratedInputStream(long size) {
+            remaining = size;
+        }
+
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return (int)(remaining & 0x7F);
+        }
+
+        public int read(byte[] b, int off, int len) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int count = (int)Math.min(len, remaining);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte)((remaining - i - 1) & 0x7F);
+            }
+            remaining -= count;
+            return count;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        public void write(int b) {
+            count++;
+        }
+
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws IOException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            long before = usedHeap(memory);
+            long startTime = System.nanoTime();
+            SAAJDataSource source = new SAAJDataSource(new GeneratedInputStream(SIZE),
+                    SAAJDataSource.MAX_MEMORY_DISK_CACHED, "application/octet-stream", true);
+            long cached = usedHeap(memory) - before;
+            CountingOutputStream out = new CountingOutputStream();
+            new SAAJDataHandler(source).writeTo(out);
+            long time = System.nanoTime() - startTime;
+            if (out.count != SIZE) {
+                throw new IllegalStateException("Wrote " + out.count + " bytes; expected " + SIZE);
+            }
+            source.dispose();
+            System.out.println("Cached " + SIZE / (1024 * 1024) + "MB in " + time / 1000000
+                    + " ms; heap delta " + cached / 1024 + " KB; idle direct buffers "
+                    + DirectBufferPool.getIdleBufferCount());
+        }
+    }
+}
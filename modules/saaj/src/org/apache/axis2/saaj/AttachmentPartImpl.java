@@ -23,6 +23,7 @@ import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMText;
 import org.apache.axiom.util.activation.DataHandlerUtils;
 import org.apache.axiom.util.base64.Base64Utils;
+import org.apache.axis2.saaj.util.SAAJDataHandler;
 import org.apache.axis2.saaj.util.SAAJDataSource;
 import org.apache.axis2.kernel.http.HTTPConstants;
 
@@ -46,6 +47,12 @@ import java.util.Iterator;
 public class AttachmentPartImpl extends AttachmentPart {
     private DataHandler dataHandler;
 
+    /**
+     * The data handler created by this part in {@link #setContent(Object, String)}. This is the
+     * only handler the part disposes of when its content is released.
+     */
+    private SAAJDataHandler ownedDataHandler;
+
     private MimeHeaders mimeHeaders = new MimeHeaders();
     private String attachmentFile;
 
@@ -117,10 +124,27 @@ public class AttachmentPartImpl extends AttachmentPart {
      * is left untouched.
      */
     public void clearContent() {
+        releaseContent(null);
         dataHandler = null;
         omText = null;
     }
 
+    /**
+     * Release the resources (direct buffers or a temporary file) held by the content of this
+     * attachment part if it was cached by the part itself, is being replaced and hasn't been
+     * handed to another part.
+     *
+     * @param replacement the new data handler, or <code>null</code> if the content is cleared
+     */
+    void releaseContent(DataHandler replacement) {
+        if (ownedDataHandler != null && ownedDataHandler != replacement) {
+            if (!ownedDataHandler.isShared()) {
+                ownedDataHandler.dispose();
+            }
+            ownedDataHandler = null;
+        }
+    }
+
     /**
      * Gets the content of this <code>AttachmentPart</code> object as a Java object. The type of the
      * returned Java object depends on <ol> <li> the <code>DataContentHandler</code> object that is
@@ -199,7 +223,7 @@ public class AttachmentPartImpl extends AttachmentPart {
                                             SAAJDataSource.MAX_MEMORY_DISK_CACHED,
                                             contentType, true);
                 extractFilename(source);
-                this.dataHandler = new DataHandler(source);
+                this.dataHandler = new SAAJDataHandler(source);
             } catch (java.io.IOException io) {
                 throw new java.lang.IllegalArgumentException("Illegal Argument");
             }
@@ -210,7 +234,7 @@ public class AttachmentPartImpl extends AttachmentPart {
                                             SAAJDataSource.MIN_MEMORY_DISK_CACHED,
                                             contentType, true);
                 extractFilename(source);
-                this.dataHandler = new DataHandler(source);
+                this.dataHandler = new SAAJDataHandler(source);
             } catch (java.io.IOException io) {
                 throw new java.lang.IllegalArgumentException("Illegal Argument");
             }
@@ -220,7 +244,7 @@ public class AttachmentPartImpl extends AttachmentPart {
                                             SAAJDataSource.MAX_MEMORY_DISK_CACHED,
                                             contentType, true);
                 extractFilename(source);
-                this.dataHandler = new DataHandler(source);
+                this.dataHandler = new SAAJDataHandler(source);
             } catch (java.io.IOException io) {
                 throw new java.lang.IllegalArgumentException("Illegal Argument");
             }
@@ -239,13 +263,16 @@ public class AttachmentPartImpl extends AttachmentPart {
                                             contentType, true);
                 extractFilename(source);
 
-                this.dataHandler = new DataHandler(source);
+                this.dataHandler = new SAAJDataHandler(source);
             } catch (Exception e) {
                 throw new java.lang.IllegalArgumentException(e.getMessage());
             }
         } else {
             throw new java.lang.IllegalArgumentException("Illegal Argument");
         }
+        releaseContent(dataHandler);
+        ownedDataHandler = dataHandler instanceof SAAJDataHandler
+                ? (SAAJDataHandler)dataHandler : null;
     }
 
     /**
@@ -281,6 +308,11 @@ public class AttachmentPartImpl extends AttachmentPart {
      */
     public void setDataHandler(DataHandler datahandler) {
         if (datahandler != null) {
+            if (datahandler instanceof SAAJDataHandler && datahandler != ownedDataHandler) {
+                // The handler belongs to another part, which may still use it
+                ((SAAJDataHandler)datahandler).setShared();
+            }
+            releaseContent(datahandler);
             this.dataHandler = datahandler;
             setMimeHeader(HTTPConstants.HEADER_CONTENT_TYPE, datahandler.getContentType());
             omText = OMAbstractFactory.getMetaFactory(OMAbstractFactory.FEATURE_DOM).getOMFactory().createOMText(DataHandlerUtils.toBlob(datahandler), true);
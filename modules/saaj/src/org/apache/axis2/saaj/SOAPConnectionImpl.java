@@ -47,6 +47,7 @@ import org.apache.axis2.wsdl.WSDLConstants;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.w3c.dom.Element;
 
 import jakarta.activation.DataHandler;
 import javax.xml.namespace.QName;
@@ -71,7 +72,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 
 /**
@@ -82,10 +86,31 @@ public class SOAPConnectionImpl extends SOAPConnection {
     private static Log log = LogFactory.getLog(SOAPConnectionImpl.class);
 
     /** Attribute which keeps track of whether this connection has been closed */
-    private boolean closed = false;
+    private volatile boolean closed = false;
+
+    /** Maximum number of idle ServiceClient instances kept per endpoint */
+    private static final int MAX_IDLE_CLIENTS_PER_ENDPOINT = 8;
+
+    /** Maximum number of endpoints for which ServiceClient instances are kept */
+    private static final int MAX_CACHED_ENDPOINTS = 32;
 
     private final ConfigurationContext configurationContext;
 
+    /**
+     * Idle ServiceClient instances, keyed by endpoint URL. Creating a ServiceClient registers an
+     * anonymous service with the AxisConfiguration, which is too expensive to do on every call.
+     * A ServiceClient is only used by one call at a time.
+     */
+    private final ConcurrentHashMap<String,Queue<ServiceClient>> idleClients =
+            new ConcurrentHashMap<String,Queue<ServiceClient>>();
+
+    /**
+     * Indicates if the DOM tree of a request can be sent as is, without copying it to a plain
+     * Axiom tree. This is only the case if no modules are engaged that may modify the
+     * request envelope.
+     */
+    private final boolean sendRequestTree;
+
     SOAPConnectionImpl() throws SOAPException {
         // Create a new ConfigurationContext that will be used by all ServiceClient instances.
         // There are two reasons why this is necessary:
@@ -103,6 +128,8 @@ public class SOAPConnectionImpl extends SOAPConnection {
         try {
             configurationContext = ConfigurationContextFactory.createConfigurationContextFromFileSystem(null, null);
             disableMustUnderstandProcessing(configurationContext.getAxisConfiguration());            
+            sendRequestTree =
+                    configurationContext.getAxisConfiguration().getEngagedModules().isEmpty();
         } catch (AxisFault ex) {
             throw new SOAPException(ex);
         }
@@ -134,20 +161,20 @@ public class SOAPConnectionImpl extends SOAPConnection {
             throw new SOAPException(e.getMessage());
         }
 
-        // initialize and set Options
-        Options options = new Options();
-        options.setTo(new EndpointReference(url.toString()));
-
         // initialize the Sender
+        String endpointURL = url.toString();
         ServiceClient serviceClient;
         OperationClient opClient;
         try {
-            serviceClient = new ServiceClient(configurationContext, null);
+            serviceClient = borrowServiceClient(endpointURL);
             opClient = serviceClient.createClient(ServiceClient.ANON_OUT_IN_OP);
         } catch (AxisFault e) {
             throw new SOAPException(e);
         }
 
+        // initialize and set Options; the target endpoint is inherited from the options
+        // of the ServiceClient
+        Options options = new Options(serviceClient.getOptions());
         options.setProperty(Constants.Configuration.CHARACTER_SET_ENCODING, 
                             request.getProperty(SOAPMessage.CHARACTER_SET_ENCODING));
 
@@ -159,7 +186,8 @@ public class SOAPConnectionImpl extends SOAPConnection {
             envelope = SAAJUtil.toOMSOAPEnvelope(request);
             options.setProperty(Constants.Configuration.ENABLE_MTOM, Constants.VALUE_TRUE);
         } else {
-            envelope = SAAJUtil.toOMSOAPEnvelope(request.getSOAPPart().getDocumentElement());
+            envelope = toRequestEnvelope(request.getSOAPPart().getDocumentElement(),
+                                         sendRequestTree);
             if (request.countAttachments() != 0) { // SOAPMessage with attachments
                 Attachments attachments = requestMsgCtx.getAttachmentMap();
                 for (Iterator it = request.getAttachments(); it.hasNext(); ) {
@@ -203,6 +231,7 @@ public class SOAPConnectionImpl extends SOAPConnection {
             requestMsgCtx.setProperty(HTTPConstants.HTTP_HEADERS, httpHeaders);
         }
         
+        boolean reusable = false;
         try {
             MessageContext responseMsgCtx;
             try {
@@ -215,7 +244,15 @@ public class SOAPConnectionImpl extends SOAPConnection {
                 throw new SOAPException(ex.getMessage(), ex);
             }
             
-            SOAPMessage response = getSOAPMessage(responseMsgCtx.getEnvelope());
+            SOAPMessage response;
+            org.apache.axiom.soap.SOAPEnvelope responseEnvelope = responseMsgCtx.getEnvelope();
+            if (!responseMsgCtx.isDoingMTOM() && responseMsgCtx.isSOAP11()) {
+                // No optimized binary content: build the SAAJ tree in a single pass
+                // over the response instead of copying it node by node
+                response = toSOAPMessage(responseEnvelope);
+            } else {
+                response = getSOAPMessage(responseEnvelope);
+            }
             Attachments attachments = responseMsgCtx.getAttachmentMap();
             for (String contentId : attachments.getAllContentIDs()) {
                 if (!contentId.equals(attachments.getRootPartContentID())) {
@@ -226,17 +263,91 @@ public class SOAPConnectionImpl extends SOAPConnection {
                 }
             }
             
+            reusable = true;
             return response;
         } finally {
             try {
                 serviceClient.cleanupTransport();
-                serviceClient.cleanup();
+                if (reusable) {
+                    returnServiceClient(endpointURL, serviceClient);
+                } else {
+                    serviceClient.cleanup();
+                }
             } catch (AxisFault ex) {
                 throw new SOAPException(ex);
             }
         }
     }
 
+    private ServiceClient borrowServiceClient(String endpointURL) throws AxisFault {
+        Queue<ServiceClient> clients = idleClients.get(endpointURL);
+        ServiceClient serviceClient = clients == null ? null : clients.poll();
+        if (serviceClient == null) {
+            serviceClient = new ServiceClient(configurationContext, null);
+            serviceClient.getOptions().setTo(new EndpointReference(endpointURL));
+        }
+        return serviceClient;
+    }
+
+    /**
+     * Get the number of idle ServiceClient instances kept for an endpoint.
+     */
+    int getIdleServiceClientCount(String endpointURL) {
+        Queue<ServiceClient> clients = idleClients.get(endpointURL);
+        return clients == null ? 0 : clients.size();
+    }
+
+    private void returnServiceClient(String endpointURL, ServiceClient serviceClient)
+            throws AxisFault {
+        Queue<ServiceClient> clients = idleClients.get(endpointURL);
+        if (clients == null && idleClients.size() < MAX_CACHED_ENDPOINTS) {
+            Queue<ServiceClient> newClients = new ConcurrentLinkedQueue<ServiceClient>();
+            clients = idleClients.putIfAbsent(endpointURL, newClients);
+            if (clients == null) {
+                clients = newClients;
+            }
+        }
+        if (!closed && clients != null && clients.size() < MAX_IDLE_CLIENTS_PER_ENDPOINT) {
+            clients.offer(serviceClient);
+        } else {
+            serviceClient.cleanup();
+        }
+    }
+
+    /**
+     * Get the envelope to send for a request that doesn't use MTOM.
+     *
+     * @param documentElement the document element of the SAAJ request
+     * @param sendTree <code>true</code> if the SAAJ tree may be sent as is
+     * @return the envelope to send
+     */
+    static org.apache.axiom.soap.SOAPEnvelope toRequestEnvelope(Element documentElement,
+                                                                boolean sendTree) {
+        if (sendTree && documentElement instanceof org.apache.axiom.soap.SOAPEnvelope) {
+            // The SAAJ tree is an Axiom (DOM compatible) tree; it can be serialized
+            // directly instead of being copied
+            return (org.apache.axiom.soap.SOAPEnvelope)documentElement;
+        } else {
+            return SAAJUtil.toOMSOAPEnvelope(documentElement);
+        }
+    }
+
+    /**
+     * Convert a response envelope without optimized binary content to a SAAJ SOAPMessage,
+     * building the SAAJ tree in a single pass over the envelope.
+     *
+     * @param respOMSoapEnv the response envelope
+     * @return the SAAJ SOAPMessage
+     */
+    static SOAPMessage toSOAPMessage(org.apache.axiom.soap.SOAPEnvelope respOMSoapEnv) {
+        org.apache.axiom.soap.SOAPEnvelope domEnvelope =
+                (org.apache.axiom.soap.SOAPEnvelope)SAAJUtil.toDOOMSOAPEnvelope(respOMSoapEnv);
+        domEnvelope.build();
+        SOAPMessageImpl message = new SOAPMessageImpl(new SOAPEnvelopeImpl(domEnvelope));
+        message.setSaveRequired();
+        return message;
+    }
+
     private static boolean isMTOM(SOAPMessage soapMessage) {
         SOAPPart soapPart = soapMessage.getSOAPPart();
         String[] contentTypes = soapPart.getMimeHeader("Content-Type");
@@ -282,12 +393,19 @@ public class SOAPConnectionImpl extends SOAPConnection {
         if (closed) {
             throw new SOAPException("SOAPConnection Closed");
         }
+        closed = true;
         try {
+            for (Queue<ServiceClient> clients : idleClients.values()) {
+                ServiceClient serviceClient;
+                while ((serviceClient = clients.poll()) != null) {
+                    serviceClient.cleanup();
+                }
+            }
+            idleClients.clear();
             configurationContext.terminate();
         } catch (AxisFault axisFault) {
             throw new SOAPException(axisFault.getMessage());
         }
-        closed = true;
     }
 
     /**
@@ -297,7 +415,7 @@ public class SOAPConnectionImpl extends SOAPConnection {
      * @return the SAAJ SOAPMessage
      * @throws SOAPException If an exception occurs during this conversion
      */
-    private SOAPMessage getSOAPMessage(org.apache.axiom.soap.SOAPEnvelope respOMSoapEnv)
+    SOAPMessage getSOAPMessage(org.apache.axiom.soap.SOAPEnvelope respOMSoapEnv)
             throws SOAPException {
 
         // Create the basic SOAP Message
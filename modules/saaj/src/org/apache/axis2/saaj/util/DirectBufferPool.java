@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.saaj.util;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of direct byte buffers of a fixed size, used by {@link SAAJDataSource} to hold
+ * attachments of medium size outside of the heap.  Buffers that are not given back are simply
+ * garbage collected.
+ */
+final class DirectBufferPool {
+    /** Size of the buffers in the pool */
+    static final int BUFFER_SZ = 64 * 1024;
+
+    /** Maximum number of idle buffers kept in the pool */
+    private static final int MAX_IDLE_BUFFERS = 256;
+
+    private static final Queue<ByteBuffer> idleBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private static final AtomicInteger idleCount = new AtomicInteger();
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * Get a buffer, ready to be written to.
+     *
+     * @return a cleared direct buffer of size {@link #BUFFER_SZ}
+     */
+    static ByteBuffer acquire() {
+        ByteBuffer buffer = idleBuffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SZ);
+        }
+        idleCount.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Give back a buffer. The buffer must no longer be used by the caller.
+     *
+     * @param buffer the buffer
+     */
+    static void release(ByteBuffer buffer) {
+        if (idleCount.incrementAndGet() <= MAX_IDLE_BUFFERS) {
+            idleBuffers.offer(buffer);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of idle buffers in the pool
+     */
+    static int getIdleBufferCount() {
+        return idleCount.get();
+    }
+}
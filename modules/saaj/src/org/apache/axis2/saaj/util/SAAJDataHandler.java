@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.saaj.util;
+
+import jakarta.activation.DataHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A DataHandler for a {@link SAAJDataSource} that writes the content using
+ * {@link SAAJDataSource#writeTo(OutputStream)}, i.e. without copying it through an
+ * intermediate input stream.
+ */
+public class SAAJDataHandler extends DataHandler {
+    private final SAAJDataSource dataSource;
+    private volatile boolean shared;
+
+    public SAAJDataHandler(SAAJDataSource dataSource) {
+        super(dataSource);
+        this.dataSource = dataSource;
+    }
+
+    public void writeTo(OutputStream os) throws IOException {
+        dataSource.writeTo(os);
+    }
+
+    /**
+     * Mark this handler as used by more than one attachment part. None of them will dispose of
+     * it then; the resources are released when the data source is garbage collected.
+     */
+    public void setShared() {
+        shared = true;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Release the resources held by the data source.
+     *
+     * @see SAAJDataSource#dispose()
+     */
+    public void dispose() {
+        dataSource.dispose();
+    }
+}
@@ -16,7 +16,6 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.apache.axis2.saaj.util;
 
 import org.apache.axis2.Constants;
@@ -24,19 +23,29 @@ import org.apache.axis2.context.MessageContext;
 import org.apache.axis2.description.Parameter;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
- * 
+ * A DataSource that caches the content of a stream.  Depending on its size, the content is held
+ * in heap buffers (up to <code>maxCached</code> bytes), in pooled direct buffers (up to
+ * {@link #MAX_DIRECT_CACHED} more bytes) or in a temporary file.  Files are read back through
+ * memory mapped regions, and {@link #writeTo(OutputStream)} transfers them with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so that large attachments
+ * don't need to be copied through the heap.
  */
 public class SAAJDataSource implements jakarta.activation.DataSource {
 
@@ -52,6 +61,12 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
     /** Field MAX_MEMORY_DISK_CACHED */
     public static final int MAX_MEMORY_DISK_CACHED = 16 * 1024;
 
+    /** Maximum number of bytes held in direct buffers before the content is moved to disk. */
+    public static final int MAX_DIRECT_CACHED = 1024 * 1024;
+
+    /** Size of the regions of the disk cache file that are mapped at once. */
+    private static final int MAP_CHUNK_SZ = 16 * 1024 * 1024;
+
     /** Field maxCached */
     protected int maxCached = MAX_MEMORY_DISK_CACHED;       // max in memory cached. Default.
 
@@ -79,11 +94,20 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
     /** The number of bytes written to the above buffer. */
     protected int currentMemoryBufSz;
 
+    /**
+     * The pooled direct buffers holding the content once it no longer fits in the memory
+     * buffers. The buffers are in write mode, i.e. their position is the number of bytes held.
+     */
+    protected List<ByteBuffer> directbuflist;
+
     /** The total size in bytes in this data source. */
     protected long totalsz;
 
-    /** This is the cached disk stream. */
-    protected java.io.BufferedOutputStream cachediskstream;
+    /** This is the channel used to write the disk cache. */
+    protected FileChannel cachediskchannel;
+
+    /** If true the disk cache could not be created and the content stays in direct buffers. */
+    private boolean diskCacheDisabled;
 
     /** If true the source input stream is now closed. */
     protected boolean closed = false;
@@ -133,7 +157,6 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
             throw new IllegalArgumentException("badMaxCached " + maxCached);
         }
 
-        // for now read all in to disk.
         if (readall) {
             byte[] readbuffer = new byte[READ_CHUNK_SZ];
 
@@ -142,7 +165,7 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
                 read = ss.read(readbuffer);
 
                 if (read > 0) {
-                    writeToMemory(readbuffer, read);
+                    write(readbuffer, read);
                 }
             } while (read > -1);
             close();
@@ -158,10 +181,10 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
 
         if (!closed) {
             closed = true;                    // Markit as closed.
-            if (null != cachediskstream) {    // close the disk cache.
-                cachediskstream.close();
+            if (null != cachediskchannel) {   // close the disk cache.
+                cachediskchannel.close();
 
-                cachediskstream = null;
+                cachediskchannel = null;
             }
             if (null != memorybuflist) {      // There is a memory buffer.
                 if (currentMemoryBufSz > 0) {
@@ -184,60 +207,92 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
      * @throws java.io.IOException
      * @throws java.io.FileNotFoundException
      */
-    protected void flushToDisk() throws IOException, FileNotFoundException {
+    protected synchronized void flushToDisk() throws IOException, FileNotFoundException {
+        if (diskCacheFile != null || diskCacheDisabled || deleted) {
+            return;
+        }
+        FileChannel channel = null;
+        try {
+            diskCacheFile = java.io.File.createTempFile("Axis", ".att", getAttachmentDir());
+            channel = new FileOutputStream(diskCacheFile).getChannel();
+        } catch (java.lang.SecurityException se) {
+            diskCacheFile = null;
+            diskCacheDisabled = true;
+            return;
+        }
+
+        // Write out the entire memory held store to disk.
         LinkedList ml = memorybuflist;
         if (ml != null) {
-            if (null == cachediskstream) {    // Need to create a disk cache
-                try {
-                    /* MessageContext mc = MessageContext.getCurrentContext();
-            String attdir = (mc == null)
-                            ? null
-                            : mc.getStrProp(
-                    MessageContext.ATTACHMENTS_DIR);*/
-
-
-                    MessageContext messageContext = MessageContext.getCurrentMessageContext();
-                    String attachementDir = "";
-                    attachementDir = (String)messageContext.getProperty
-                            (Constants.Configuration.ATTACHMENT_TEMP_DIR);
-
-                    if (attachementDir.equals("")) {
-                        Parameter param = (Parameter)messageContext.getParameter
-                                (Constants.Configuration.ATTACHMENT_TEMP_DIR);
-                        if (param != null) {
-                            attachementDir = (String)param.getValue();
-                        }
-                    }
+            int listsz = ml.size();
+            for (java.util.Iterator it = ml.iterator(); it.hasNext();) {
+                byte[] rbuf = (byte[])it.next();
+                int bwrite = (--listsz == 0 && currentMemoryBuf != null)
+                        ? currentMemoryBufSz
+                        : rbuf.length;
+                writeFully(channel, ByteBuffer.wrap(rbuf, 0, bwrite));
+            }
+            memorybuflist = null;
+            currentMemoryBuf = null;
+        }
+        List<ByteBuffer> dl = directbuflist;
+        if (dl != null) {
+            for (ByteBuffer buf : dl) {
+                ByteBuffer content = buf.duplicate();
+                content.flip();
+                writeFully(channel, content);
+                DirectBufferPool.release(buf);
+            }
+            directbuflist = null;
+        }
+        if (closed) {
+            channel.close();
+        } else {
+            cachediskchannel = channel;
+        }
+    }
 
-                    diskCacheFile = java.io.File.createTempFile("Axis", ".att",
-                                                                (attachementDir == null)
-                                                                        ? null
-                                                                        : new File(
-                                                                        attachementDir));
-                    cachediskstream = new BufferedOutputStream(new FileOutputStream(diskCacheFile));
-                    int listsz = ml.size();
-
-                    // Write out the entire memory held store to disk.
-                    for (java.util.Iterator it = ml.iterator();
-                         it.hasNext();) {
-                        byte[] rbuf = (byte[])it.next();
-                        int bwrite = (listsz-- == 0)
-                                ? currentMemoryBufSz
-                                : rbuf.length;
-                        cachediskstream.write(rbuf, 0, bwrite);
-                        if (closed) {
-                            cachediskstream.close();
-                            cachediskstream = null;
-                        }
-                    }
-                    memorybuflist = null;
-                } catch (java.lang.SecurityException se) {
-                    diskCacheFile = null;
-                    cachediskstream = null;
-                    maxCached = java.lang.Integer.MAX_VALUE;
-                }
+    private static File getAttachmentDir() {
+        MessageContext messageContext = MessageContext.getCurrentMessageContext();
+        if (messageContext == null) {
+            return null;
+        }
+        String attachementDir = (String)messageContext.getProperty
+                (Constants.Configuration.ATTACHMENT_TEMP_DIR);
+        if (attachementDir == null || attachementDir.equals("")) {
+            Parameter param = (Parameter)messageContext.getParameter
+                    (Constants.Configuration.ATTACHMENT_TEMP_DIR);
+            if (param != null) {
+                attachementDir = (String)param.getValue();
             }
         }
+        return (attachementDir == null || attachementDir.equals(""))
+                ? null
+                : new File(attachementDir);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Move the content from the heap buffers to direct buffers.
+     */
+    private void moveToDirectBuffers() {
+        directbuflist = new ArrayList<ByteBuffer>();
+        LinkedList ml = memorybuflist;
+        memorybuflist = null;
+        int listsz = ml.size();
+        for (java.util.Iterator it = ml.iterator(); it.hasNext();) {
+            byte[] rbuf = (byte[])it.next();
+            int bwrite = (--listsz == 0 && currentMemoryBuf != null)
+                    ? currentMemoryBufSz
+                    : rbuf.length;
+            writeToDirect(rbuf, bwrite);
+        }
+        currentMemoryBuf = null;
     }
 
     /**
@@ -251,8 +306,8 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
     }
 
     /**
-     * This method is a low level write. Note it is designed to in the future to allow streaming to
-     * both memory AND to disk simultaneously.
+     * This method is a low level write. The content moves from the memory buffers to direct
+     * buffers and then to disk as it grows.
      *
      * @param data
      * @param length
@@ -264,48 +319,17 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
             throw new java.io.IOException("streamClosed");
         }
 
-        int byteswritten = 0;
-
         if ((null != memorybuflist)
-                && (totalsz + length > maxCached)) {    // Cache to disk.
-            if (null == cachediskstream) {               // Need to create a disk cache
-                flushToDisk();
-            }
+                && (totalsz + length > maxCached)) {    // Move to direct buffers.
+            moveToDirectBuffers();
         }
 
-        if (memorybuflist != null) {    // Can write to memory.
-            do {
-                if (null == currentMemoryBuf) {
-                    currentMemoryBuf = new byte[READ_CHUNK_SZ];
-                    currentMemoryBufSz = 0;
-
-                    memorybuflist.add(currentMemoryBuf);
-                }
-
-                // bytes to write is the min. between the remaining bytes and what is left in this buffer.
-                int bytes2write = Math.min((length - byteswritten),
-                                           (currentMemoryBuf.length
-                                                   - currentMemoryBufSz));
-
-                // copy the data.
-                System.arraycopy(data, byteswritten, currentMemoryBuf,
-                                 currentMemoryBufSz, bytes2write);
-
-                byteswritten += bytes2write;
-                currentMemoryBufSz += bytes2write;
-
-                if (byteswritten
-                        < length) {    // only get more if we really need it.
-                    currentMemoryBuf = new byte[READ_CHUNK_SZ];
-                    currentMemoryBufSz = 0;
-                    memorybuflist.add(currentMemoryBuf);    // add it to the chain.
-                }
-            } while (byteswritten < length);
+        if ((null != directbuflist)
+                && (totalsz + length > Math.max(maxCached, 0) + (long)MAX_DIRECT_CACHED)) {
+            flushToDisk();                              // Cache to disk.
         }
 
-        if (null != cachediskstream) {    // Write to the out going stream.
-            cachediskstream.write(data, 0, length);
-        }
+        append(data, length);
         totalsz += length;
     }
 
@@ -323,37 +347,206 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
             throw new java.io.IOException("streamClosed");
         }
 
+        append(data, length);
+        totalsz += length;
+    }
+
+    /**
+     * Add data to the store that currently holds the content.
+     */
+    private void append(byte[] data, int length) throws IOException {
+        if (memorybuflist != null) {
+            writeToHeap(data, length);
+        } else if (directbuflist != null) {
+            writeToDirect(data, length);
+        } else if (cachediskchannel != null) {
+            writeFully(cachediskchannel, ByteBuffer.wrap(data, 0, length));
+        }
+    }
+
+    private void writeToHeap(byte[] data, int length) {
         int byteswritten = 0;
-        if (memorybuflist != null) {    // Can write to memory.
-            do {
-                if (null == currentMemoryBuf) {
-                    currentMemoryBuf = new byte[READ_CHUNK_SZ];
-                    currentMemoryBufSz = 0;
+        do {
+            if (null == currentMemoryBuf) {
+                currentMemoryBuf = new byte[READ_CHUNK_SZ];
+                currentMemoryBufSz = 0;
 
-                    memorybuflist.add(currentMemoryBuf);
-                }
+                memorybuflist.add(currentMemoryBuf);
+            }
+
+            // bytes to write is the min. between the remaining bytes and what is left in this buffer.
+            int bytes2write = Math.min((length - byteswritten),
+                                       (currentMemoryBuf.length
+                                               - currentMemoryBufSz));
+
+            // copy the data.
+            System.arraycopy(data, byteswritten, currentMemoryBuf,
+                             currentMemoryBufSz, bytes2write);
+
+            byteswritten += bytes2write;
+            currentMemoryBufSz += bytes2write;
+
+            if (byteswritten
+                    < length) {    // only get more if we really need it.
+                currentMemoryBuf = new byte[READ_CHUNK_SZ];
+                currentMemoryBufSz = 0;
+                memorybuflist.add(currentMemoryBuf);    // add it to the chain.
+            }
+        } while (byteswritten < length);
+    }
+
+    private void writeToDirect(byte[] data, int length) {
+        int byteswritten = 0;
+        while (byteswritten < length) {
+            ByteBuffer buf = directbuflist.isEmpty()
+                    ? null
+                    : directbuflist.get(directbuflist.size() - 1);
+            if (buf == null || !buf.hasRemaining()) {
+                buf = DirectBufferPool.acquire();
+                directbuflist.add(buf);
+            }
+            int bytes2write = Math.min(length - byteswritten, buf.remaining());
+            buf.put(data, byteswritten, bytes2write);
+            byteswritten += bytes2write;
+        }
+    }
 
-                // bytes to write is the min. between the remaining bytes and what is left in this buffer.
-                int bytes2write = Math.min((length - byteswritten),
-                                           (currentMemoryBuf.length
-                                                   - currentMemoryBufSz));
+    /**
+     * Copy content to an array.
+     *
+     * @param pos the position of the first byte to copy
+     * @param b   the destination
+     * @param off the offset in the destination
+     * @param len the number of bytes to copy; the content must have at least
+     *            <code>pos + len</code> bytes
+     * @param fileReader the reader of the disk cache, if the content is on disk
+     */
+    private void readContent(long pos, byte[] b, int off, int len, DiskCacheReader fileReader)
+            throws IOException {
+        if (memorybuflist != null) {
+            int index = (int)(pos / READ_CHUNK_SZ);
+            int bufPos = (int)(pos % READ_CHUNK_SZ);
+            int bcopied = 0;
+            while (bcopied < len) {
+                byte[] buf = (byte[])memorybuflist.get(index++);
+                int bcopy = Math.min(buf.length - bufPos, len - bcopied);
+                System.arraycopy(buf, bufPos, b, off + bcopied, bcopy);
+                bcopied += bcopy;
+                bufPos = 0;
+            }
+        } else if (directbuflist != null) {
+            int index = (int)(pos / DirectBufferPool.BUFFER_SZ);
+            int bufPos = (int)(pos % DirectBufferPool.BUFFER_SZ);
+            int bcopied = 0;
+            while (bcopied < len) {
+                ByteBuffer buf = directbuflist.get(index++).duplicate();
+                buf.flip();
+                buf.position(bufPos);
+                int bcopy = Math.min(buf.remaining(), len - bcopied);
+                buf.get(b, off + bcopied, bcopy);
+                bcopied += bcopy;
+                bufPos = 0;
+            }
+        } else {
+            fileReader.read(pos, b, off, len);
+        }
+    }
 
-                // copy the data.
-                System.arraycopy(data, byteswritten, currentMemoryBuf,
-                                 currentMemoryBufSz, bytes2write);
+    /**
+     * Write the content to a stream.  Content cached on disk is transferred by the file channel,
+     * without copying it to the heap.
+     *
+     * @param out the stream
+     * @throws IOException
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        File file;
+        long size;
+        synchronized (this) {
+            if (deleted) {
+                throw new IOException("resourceDeleted");
+            }
+            if (!closed || diskCacheFile == null) {
+                file = null;
+                size = 0;
+            } else {
+                file = diskCacheFile;
+                size = totalsz;
+            }
+        }
+        if (file == null) {
+            InputStream in = getInputStream();
+            try {
+                byte[] buffer = new byte[READ_CHUNK_SZ];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                in.close();
+            }
+            return;
+        }
+        WritableByteChannel target = (out instanceof FileOutputStream)
+                ? ((FileOutputStream)out).getChannel()
+                : Channels.newChannel(out);
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long pos = 0;
+            while (pos < size) {
+                long transferred = channel.transferTo(pos, size - pos, target);
+                if (transferred <= 0) {
+                    throw new IOException("Unexpected end of disk cache file " + file);
+                }
+                pos += transferred;
+            }
+        } finally {
+            raf.close();
+        }
+    }
 
-                byteswritten += bytes2write;
-                currentMemoryBufSz += bytes2write;
+    /**
+     * Release the resources held by this data source: direct buffers are given back to the pool
+     * and the disk cache file is deleted. The data source can no longer be read afterwards.
+     */
+    public synchronized void dispose() {
+        if (deleted) {
+            return;
+        }
+        deleted = true;
+        memorybuflist = null;
+        currentMemoryBuf = null;
+        if (directbuflist != null) {
+            for (ByteBuffer buf : directbuflist) {
+                DirectBufferPool.release(buf);
+            }
+            directbuflist = null;
+        }
+        if (cachediskchannel != null) {
+            try {
+                cachediskchannel.close();
+            } catch (IOException e) {
+                // Ignore; the file is deleted anyway
+            }
+            cachediskchannel = null;
+        }
+        if (diskCacheFile != null) {
+            diskCacheFile.delete();
+        }
+    }
 
-                if (byteswritten
-                        < length) {    // only get more if we really need it.
-                    currentMemoryBuf = new byte[READ_CHUNK_SZ];
-                    currentMemoryBufSz = 0;
-                    memorybuflist.add(currentMemoryBuf);    // add it to the chain.
+    protected void finalize() throws Throwable {
+        super.finalize();
+        // Don't give back direct buffers here: readers may still be reachable
+        synchronized (this) {
+            if (!deleted && diskCacheFile != null) {
+                if (cachediskchannel != null) {
+                    cachediskchannel.close();
                 }
-            } while (byteswritten < length);
+                diskCacheFile.delete();
+            }
         }
-        totalsz += length;
     }
 
     /**
@@ -391,6 +584,58 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
         return ret;
     }
 
+    /**
+     * Reads the disk cache file.  Once the content is complete, the file is read through memory
+     * mapped regions; before that, positional reads are used.
+     */
+    private class DiskCacheReader {
+        private RandomAccessFile raf;
+        private FileChannel channel;
+        private MappedByteBuffer region;
+        private long regionStart;
+
+        void read(long pos, byte[] b, int off, int len) throws IOException {
+            if (channel == null) {
+                raf = new RandomAccessFile(diskCacheFile, "r");
+                channel = raf.getChannel();
+            }
+            if (!closed) {
+                ByteBuffer dst = ByteBuffer.wrap(b, off, len);
+                long p = pos;
+                while (dst.hasRemaining()) {
+                    int read = channel.read(dst, p);
+                    if (read < 0) {
+                        throw new IOException("Unexpected end of disk cache file");
+                    }
+                    p += read;
+                }
+                return;
+            }
+            int bcopied = 0;
+            while (bcopied < len) {
+                long p = pos + bcopied;
+                if (region == null || p < regionStart || p >= regionStart + region.capacity()) {
+                    regionStart = p - (p % MAP_CHUNK_SZ);
+                    region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                                         Math.min(MAP_CHUNK_SZ, totalsz - regionStart));
+                }
+                ByteBuffer src = region.duplicate();
+                src.position((int)(p - regionStart));
+                int bcopy = Math.min(src.remaining(), len - bcopied);
+                src.get(b, off + bcopied, bcopy);
+                bcopied += bcopy;
+            }
+        }
+
+        void close() throws IOException {
+            region = null;
+            if (raf != null) {
+                raf.close();
+                raf = null;
+                channel = null;
+            }
+        }
+    }
 
     /**
      * Inner class to handle getting an input stream to this data source Handles creating an input
@@ -401,17 +646,8 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
         /** bytes read. */
         protected long bread = 0;
 
-        /** The real stream. */
-        private FileInputStream fileIS;
-
-        /** The position in the list were we are reading from. */
-        int currentIndex;
-
-        /** the buffer we are currently reading from. */
-        byte[] currentBuf;
-
-        /** The current position in there. */
-        int currentBufPos;
+        /** Reads the disk cache, if the content is on disk. */
+        private DiskCacheReader fileReader;
 
         /** The read stream has been closed. */
         boolean readClosed;
@@ -442,7 +678,7 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
             if (readClosed) {
                 throw new java.io.IOException("streamClosed");
             }
-            return new Long(Math.min(Integer.MAX_VALUE, totalsz - bread)).intValue();
+            return (int)Math.min(Integer.MAX_VALUE, totalsz - bread);
         }
 
         /**
@@ -500,33 +736,6 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
 
             synchronized (SAAJDataSource.this) {
                 skipped = Math.min(skipped, totalsz - bread);    // only skip what we've read.
-                if (skipped == 0) {
-                    return 0;
-                }
-                List ml = memorybuflist;    // hold the memory list.
-                int bwritten = 0;
-                if (ml != null) {
-                    if (null == currentBuf) {    // get the buffer we need to read from.
-                        currentBuf = (byte[])ml.get(currentIndex);
-                        currentBufPos = 0;    // start reading from the begining.
-                    }
-                    do {
-                        long bcopy = Math.min(currentBuf.length - currentBufPos,
-                                              skipped - bwritten);
-
-                        bwritten += bcopy;
-                        currentBufPos += bcopy;
-                        if (bwritten < skipped) {
-                            currentBuf = (byte[])ml.get(++currentIndex);
-                            currentBufPos = 0;
-                        }
-                    } while (bwritten < skipped);
-                }
-
-                if (null != fileIS) {
-                    fileIS.skip(skipped);
-                }
-
                 bread += skipped;
             }
             return skipped;
@@ -561,58 +770,19 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
                 return 0;
             }
 
-            int bwritten = 0;
-
             synchronized (SAAJDataSource.this) {
                 if (bread == totalsz) {
                     return -1;
                 }
-                List ml = memorybuflist;
-                long longlen = len;
-                longlen = Math.min(longlen, totalsz -
-                        bread);    // Only return the number of bytes in the data store that is left.
-                len = new Long(longlen).intValue();
-                if (ml != null) {
-                    if (null == currentBuf) {    // Get the buffer we need to read from.
-                        currentBuf = (byte[])ml.get(currentIndex);
-                        currentBufPos = 0;    // New buffer start from the begining.
-                    }
-                    do {
-
-                        // The bytes to copy, the minimum of the bytes left in this buffer or bytes remaining.
-                        int bcopy = Math.min(currentBuf.length - currentBufPos, len - bwritten);
-
-                        // Copy the data.
-                        System.arraycopy(currentBuf, currentBufPos, b, off + bwritten, bcopy);
-                        bwritten += bcopy;
-                        currentBufPos += bcopy;
-                        if (bwritten < len) {    // Get the next buffer.
-                            currentBuf = (byte[])ml.get(++currentIndex);
-                            currentBufPos = 0;
-                        }
-                    } while (bwritten < len);
-                }
-
-                if ((bwritten == 0) && (null != diskCacheFile)) {
-                    if (null == fileIS) {           // we are now reading from disk.
-                        fileIS = new java.io.FileInputStream(diskCacheFile);
-
-                        if (bread > 0) {
-                            fileIS.skip(bread);     // Skip what we've read so far.
-                        }
-                    }
-
-                    if (cachediskstream != null) {
-                        cachediskstream.flush();
-                    }
-                    bwritten = fileIS.read(b, off, len);
-                }
-
-                if (bwritten > 0) {
-                    bread += bwritten;
+                // Only return the number of bytes in the data store that is left.
+                len = (int)Math.min(len, totalsz - bread);
+                if (memorybuflist == null && directbuflist == null && fileReader == null) {
+                    fileReader = new DiskCacheReader();
                 }
+                readContent(bread, b, off, len, fileReader);
+                bread += len;
             }
-            return bwritten;
+            return len;
         }
 
         /**
@@ -624,11 +794,11 @@ public class SAAJDataSource implements jakarta.activation.DataSource {
             if (!readClosed) {
                 readers.remove(this);
                 readClosed = true;
-                if (fileIS != null) {
-                    fileIS.close();
+                if (fileReader != null) {
+                    fileReader.close();
                 }
 
-                fileIS = null;
+                fileReader = null;
             }
         }
 
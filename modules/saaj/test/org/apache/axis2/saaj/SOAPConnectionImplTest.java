@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.saaj;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.axiom.om.OMXMLBuilderFactory;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.custommonkey.xmlunit.XMLAssert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the reuse of ServiceClient instances by {@link SOAPConnectionImpl} and checks that the
+ * paths that avoid tree copies produce the same messages as the general conversion.
+ */
+@RunWith(SAAJTestRunner.class)
+public class SOAPConnectionImplTest extends XMLAssert {
+    private static final String RESPONSE = "<soapenv:Envelope xmlns:soapenv="
+            + "'http://schemas.xmlsoap.org/soap/envelope/'><soapenv:Header>"
+            + "<h:token xmlns:h='urn:header' soapenv:mustUnderstand='1' h:type='t'>abc</h:token>"
+            + "</soapenv:Header><soapenv:Body><ns:echoResponse xmlns:ns='urn:test'>"
+            + "<ns:value ns:index='1'>Hello</ns:value><value xmlns='urn:other'>World</value>"
+            + "</ns:echoResponse></soapenv:Body></soapenv:Envelope>";
+
+    private final List<HttpExchangeRecord> requests = new ArrayList<HttpExchangeRecord>();
+    private HttpServer server;
+    private URL url;
+    private URL missingURL;
+
+    private static class HttpExchangeRecord {
+        final String contentType;
+        final String soapAction;
+        final String testHeader;
+
+        HttpExchangeRecord(HttpExchange exchange) {
+            contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            soapAction = exchange.getRequestHeaders().getFirst("SOAPAction");
+            testHeader = exchange.getRequestHeaders().getFirst("X-Test");
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                synchronized (requests) {
+                    requests.add(new HttpExchangeRecord(exchange));
+                }
+                InputStream in = exchange.getRequestBody();
+                byte[] buffer = new byte[4096];
+                while (in.read(buffer) != -1) {
+                    // Discard the request
+                }
+                byte[] response = RESPONSE.getBytes("UTF-8");
+                exchange.getResponseHeaders().set("Content-Type", "text/xml; charset=UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(response);
+                out.close();
+            }
+        });
+        server.start();
+        url = new URL("http://localhost:" + server.getAddress().getPort() + "/echo");
+        missingURL = new URL("http://localhost:" + server.getAddress().getPort() + "/missing");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private static SOAPMessage createRequest() throws SOAPException {
+        SOAPMessage request = MessageFactory.newInstance().createMessage();
+        request.getSOAPHeader().addHeaderElement(
+                request.getSOAPPart().getEnvelope().createName("token", "h", "urn:header"))
+                .addTextNode("abc");
+        SOAPElement echo = request.getSOAPBody().addChildElement("echo", "ns", "urn:test");
+        echo.addAttribute(request.getSOAPPart().getEnvelope().createName("index", "ns", "urn:test"), "1");
+        echo.addChildElement("value", "ns").addTextNode("Hello");
+        echo.addChildElement("value", "", "urn:other").addTextNode("World");
+        request.saveChanges();
+        return request;
+    }
+
+    private static String toString(SOAPMessage message) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        return out.toString("UTF-8");
+    }
+
+    private static String toString(SOAPEnvelope envelope) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        envelope.serialize(out);
+        return out.toString("UTF-8");
+    }
+
+    private static SOAPEnvelope parseResponse() throws Exception {
+        return OMXMLBuilderFactory.createSOAPModelBuilder(
+                new ByteArrayInputStream(RESPONSE.getBytes("UTF-8")), "UTF-8").getSOAPEnvelope();
+    }
+
+    /**
+     * Per-call settings of a request are not seen by the next call that reuses the same
+     * ServiceClient.
+     */
+    @Test
+    public void testServiceClientReuse() throws Exception {
+        SOAPConnectionImpl connection = new SOAPConnectionImpl();
+        try {
+            SOAPMessage request = createRequest();
+            request.getMimeHeaders().addHeader("SOAPAction", "urn:first");
+            request.getMimeHeaders().addHeader("X-Test", "first");
+            request.setProperty(SOAPMessage.CHARACTER_SET_ENCODING, "UTF-16");
+            connection.call(request, url);
+            assertEquals(1, connection.getIdleServiceClientCount(url.toString()));
+
+            SOAPMessage response = connection.call(createRequest(), url);
+            assertEquals(1, connection.getIdleServiceClientCount(url.toString()));
+            assertEquals("echoResponse",
+                    ((SOAPElement)response.getSOAPBody().getChildElements().next()).getLocalName());
+
+            assertEquals(2, requests.size());
+            assertEquals("first", requests.get(0).testHeader);
+            assertTrue(requests.get(0).contentType.toUpperCase().contains("UTF-16"));
+            assertNull(requests.get(1).testHeader);
+            assertFalse("urn:first".equals(requests.get(1).soapAction)
+                    || "\"urn:first\"".equals(requests.get(1).soapAction));
+            assertTrue(requests.get(1).contentType.toUpperCase().contains("UTF-8"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * A ServiceClient used by a failed call is not reused.
+     */
+    @Test
+    public void testServiceClientDiscardedAfterFailure() throws Exception {
+        SOAPConnectionImpl connection = new SOAPConnectionImpl();
+        try {
+            connection.call(createRequest(), missingURL);
+            fail("Expected SOAPException");
+        } catch (SOAPException ex) {
+            // Expected
+        }
+        try {
+            assertEquals(0, connection.getIdleServiceClientCount(missingURL.toString()));
+            connection.call(createRequest(), url);
+            assertEquals(1, connection.getIdleServiceClientCount(url.toString()));
+        } finally {
+            connection.close();
+        }
+        assertEquals(0, connection.getIdleServiceClientCount(url.toString()));
+    }
+
+    /**
+     * Sending the SAAJ tree as is produces the same request as sending a copy of it, and leaves
+     * the request message unchanged.
+     */
+    @Test
+    public void testRequestTreeEquivalence() throws Exception {
+        SOAPMessage request = createRequest();
+        String before = toString(request);
+        String copied = toString(SOAPConnectionImpl.toRequestEnvelope(
+                request.getSOAPPart().getDocumentElement(), false));
+        String sent = toString(SOAPConnectionImpl.toRequestEnvelope(
+                request.getSOAPPart().getDocumentElement(), true));
+        assertXMLEqual(copied, sent);
+        assertXMLEqual(before, toString(request));
+    }
+
+    /**
+     * Building a response in a single pass produces the same SAAJ message as the node by node
+     * conversion.
+     */
+    @Test
+    public void testResponseConversionEquivalence() throws Exception {
+        SOAPConnectionImpl connection = new SOAPConnectionImpl();
+        try {
+            SOAPMessage converted = connection.getSOAPMessage(parseResponse());
+            SOAPMessage built = SOAPConnectionImpl.toSOAPMessage(parseResponse());
+            assertXMLEqual(toString(converted), toString(built));
+            assertXMLEqual(RESPONSE, toString(built));
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.axis2.saaj.util;
+
+import org.apache.axis2.saaj.AttachmentPartImpl;
+import org.apache.axis2.saaj.MessageFactoryImpl;
+import org.junit.Test;
+
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.SOAPMessage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the caching of content in memory, in direct buffers and on disk by
+ * {@link SAAJDataSource}, and the release of the cached content.
+ */
+public class SAAJDataSourceTest {
+    private static final int MAX_CACHED = SAAJDataSource.MAX_MEMORY_DISK_CACHED;
+
+    private static byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte)(i * 31 % 251);
+        }
+        return content;
+    }
+
+    private static SAAJDataSource createDataSource(byte[] content) throws IOException {
+        return new SAAJDataSource(new ByteArrayInputStream(content), MAX_CACHED,
+                                  "application/octet-stream", true);
+    }
+
+    private static byte[] read(SAAJDataSource source) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream in = source.getInputStream();
+        try {
+            byte[] buffer = new byte[1000];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return out.toByteArray();
+    }
+
+    private static void checkContent(SAAJDataSource source, byte[] content) throws IOException {
+        assertArrayEquals(content, read(source));
+        // A second reader sees the same content
+        assertArrayEquals(content, read(source));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        source.writeTo(out);
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    private static void checkDisposed(SAAJDataSource source) {
+        try {
+            source.getInputStream();
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testMemory() throws Exception {
+        byte[] content = createContent(MAX_CACHED);
+        SAAJDataSource source = createDataSource(content);
+        assertNull(source.directbuflist);
+        assertNull(source.getDiskCacheFile());
+        checkContent(source, content);
+        source.dispose();
+        checkDisposed(source);
+    }
+
+    @Test
+    public void testDirectBuffers() throws Exception {
+        byte[] content = createContent(MAX_CACHED + 1);
+        SAAJDataSource source = createDataSource(content);
+        assertNotNull(source.directbuflist);
+        assertNull(source.getDiskCacheFile());
+        checkContent(source, content);
+        source.dispose();
+        assertTrue(DirectBufferPool.getIdleBufferCount() > 0);
+        checkDisposed(source);
+    }
+
+    @Test
+    public void testDirectBuffersLimit() throws Exception {
+        byte[] content = createContent(MAX_CACHED + SAAJDataSource.MAX_DIRECT_CACHED);
+        SAAJDataSource source = createDataSource(content);
+        assertNotNull(source.directbuflist);
+        assertNull(source.getDiskCacheFile());
+        checkContent(source, content);
+        source.dispose();
+    }
+
+    @Test
+    public void testDisk() throws Exception {
+        int idleBuffers = DirectBufferPool.getIdleBufferCount();
+        byte[] content = createContent(MAX_CACHED + SAAJDataSource.MAX_DIRECT_CACHED + 1);
+        SAAJDataSource source = createDataSource(content);
+        assertNull(source.directbuflist);
+        File file = source.getDiskCacheFile();
+        assertNotNull(file);
+        assertTrue(file.exists());
+        // The direct buffers are given back when the content moves to disk
+        assertTrue(DirectBufferPool.getIdleBufferCount() >= Math.min(idleBuffers + 1, 256));
+        checkContent(source, content);
+        source.dispose();
+        assertFalse(file.exists());
+        checkDisposed(source);
+    }
+
+    private static SAAJDataSource getDataSource(AttachmentPart attachment) throws Exception {
+        return (SAAJDataSource)attachment.getDataHandler().getDataSource();
+    }
+
+    @Test
+    public void testClearContent() throws Exception {
+        SOAPMessage message = new MessageFactoryImpl().createMessage();
+        byte[] content = createContent(MAX_CACHED + SAAJDataSource.MAX_DIRECT_CACHED + 1);
+        AttachmentPart attachment = message.createAttachmentPart();
+        attachment.setRawContent(new ByteArrayInputStream(content), "application/octet-stream");
+        SAAJDataSource source = getDataSource(attachment);
+        File file = source.getDiskCacheFile();
+        assertNotNull(file);
+        assertArrayEquals(content, attachment.getRawContentBytes());
+        attachment.clearContent();
+        assertFalse(file.exists());
+        checkDisposed(source);
+    }
+
+    @Test
+    public void testReplaceContent() throws Exception {
+        SOAPMessage message = new MessageFactoryImpl().createMessage();
+        byte[] content = createContent(MAX_CACHED + SAAJDataSource.MAX_DIRECT_CACHED + 1);
+        AttachmentPart attachment = message.createAttachmentPart();
+        attachment.setRawContent(new ByteArrayInputStream(content), "application/octet-stream");
+        SAAJDataSource source = getDataSource(attachment);
+        File file = source.getDiskCacheFile();
+        byte[] newContent = createContent(100);
+        attachment.setRawContentBytes(newContent, 0, newContent.length, "application/octet-stream");
+        assertFalse(file.exists());
+        assertTrue(Arrays.equals(newContent, attachment.getRawContentBytes()));
+    }
+
+    @Test
+    public void testSharedDataHandler() throws Exception {
+        SOAPMessage message = new MessageFactoryImpl().createMessage();
+        byte[] content = createContent(MAX_CACHED + SAAJDataSource.MAX_DIRECT_CACHED + 1);
+        AttachmentPart attachment1 = message.createAttachmentPart();
+        attachment1.setRawContent(new ByteArrayInputStream(content), "application/octet-stream");
+        AttachmentPart attachment2 = message.createAttachmentPart();
+        attachment2.setDataHandler(attachment1.getDataHandler());
+        SAAJDataSource source = getDataSource(attachment1);
+        File file = source.getDiskCacheFile();
+        // The part that created the content doesn't release it while another part uses it
+        attachment1.clearContent();
+        assertTrue(file.exists());
+        assertArrayEquals(content, attachment2.getRawContentBytes());
+        // Neither does the part the content was handed to
+        attachment2.clearContent();
+        assertTrue(file.exists());
+        source.dispose();
+    }
+
+    @Test
+    public void testRemoveAllAttachments() throws Exception {
+        SOAPMessage message = new MessageFactoryImpl().createMessage();
+        byte[] content = createContent(MAX_CACHED + SAAJDataSource.MAX_DIRECT_CACHED + 1);
+        AttachmentPart attachment = message.createAttachmentPart();
+        attachment.setRawContent(new ByteArrayInputStream(content), "application/octet-stream");
+        message.addAttachmentPart(attachment);
+        assertTrue(attachment instanceof AttachmentPartImpl);
+        message.removeAllAttachments();
+        // The removed part keeps its content until it is cleared
+        assertArrayEquals(content, attachment.getRawContentBytes());
+        File file = getDataSource(attachment).getDiskCacheFile();
+        attachment.clearContent();
+        assertFalse(file.exists());
+    }
+}
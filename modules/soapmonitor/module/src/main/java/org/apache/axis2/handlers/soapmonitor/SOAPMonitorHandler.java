@@ -19,18 +19,48 @@
 
 package org.apache.axis2.handlers.soapmonitor;
 
+import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.addressing.EndpointReference;
 import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.HandlerDescription;
+import org.apache.axis2.description.Parameter;
 import org.apache.axis2.handlers.AbstractHandler;
 import org.apache.axis2.soapmonitor.servlet.SOAPMonitorConstants;
 import org.apache.axis2.soapmonitor.servlet.SOAPMonitorService;
-
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures SOAP messages for the SOAP monitor applet.
+ * <p/>
+ * To keep the overhead bounded the handler does nothing unless an applet is connected, captures
+ * only one in {@link SOAPMonitorConstants#SOAP_MONITOR_SAMPLE_RATE} requests (and their responses)
+ * and truncates messages to {@link SOAPMonitorConstants#SOAP_MONITOR_MAX_MESSAGE_SIZE} characters.
+ * Both can be set as module parameters in module.xml or axis2.xml. Captured messages are handed to
+ * {@link SOAPMonitorService#publishMessage(Long, Integer, String, String)}, which queues them for
+ * a background publisher.
+ */
 public class SOAPMonitorHandler extends AbstractHandler {
 
+    private static final Log log = LogFactory.getLog(SOAPMonitorHandler.class);
+
+    private static final int DEFAULT_MAX_MESSAGE_SIZE = 64 * 1024;
+
+    private static final String TRUNCATED = "<!-- truncated by SOAP monitor -->";
+
     private String name;
 
-    private static long next_message_id = 1;
+    private static final AtomicLong next_message_id = new AtomicLong(1);
+
+    private static final AtomicLong requests = new AtomicLong();
+
+    private int sampleRate = 1;
+
+    private int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
 
     /**
      * Constructor
@@ -50,6 +80,27 @@ public class SOAPMonitorHandler extends AbstractHandler {
         this.name = name;
     }
 
+    public void init(HandlerDescription handlerdesc) {
+        super.init(handlerdesc);
+        sampleRate = getIntParameter(SOAPMonitorConstants.SOAP_MONITOR_SAMPLE_RATE, 1);
+        maxMessageSize = getIntParameter(SOAPMonitorConstants.SOAP_MONITOR_MAX_MESSAGE_SIZE,
+                                         DEFAULT_MAX_MESSAGE_SIZE);
+    }
+
+    private int getIntParameter(String name, int defaultValue) {
+        Parameter parameter = getParameter(name);
+        if (parameter == null || parameter.getValue() == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(parameter.getValue().toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value for SOAP monitor parameter " + name + ": "
+                     + parameter.getValue());
+            return defaultValue;
+        }
+    }
+
 
     /**
      * Process and SOAP message
@@ -63,6 +114,10 @@ public class SOAPMonitorHandler extends AbstractHandler {
         Integer type;
         // 'soap request' must be called first
         if (messageContext.getFLOW() == MessageContext.IN_FLOW) {
+            // Don't capture anything if nobody is watching or the request is not sampled
+            if (!SOAPMonitorService.isPublishing() || !isSampled()) {
+                return InvocationResponse.CONTINUE;
+            }
             // show soap message inside the 'soap request' pane in the applet
             id = assignMessageId(messageContext);
             type = new Integer(SOAPMonitorConstants.SOAP_MONITOR_REQUEST);
@@ -86,6 +141,11 @@ public class SOAPMonitorHandler extends AbstractHandler {
             throw new IllegalStateException("unknown FLOW detected in messageContext: " + messageContext.getFLOW());
         }
 
+        // The request of this exchange was not captured
+        if (id == null) {
+            return InvocationResponse.CONTINUE;
+        }
+
         String target = null;
         if (ref != null) {
             target = ref.getAddress();
@@ -98,25 +158,83 @@ public class SOAPMonitorHandler extends AbstractHandler {
         // Get the SOAP portion of the message
         String soap = null;
         if (messageContext.getEnvelope() != null) {
-            soap = messageContext.getEnvelope().toString();
+            soap = serialize(messageContext.getEnvelope());
         }
-        // If we have an id and a SOAP portion, then send the
+        // If we have a SOAP portion, then send the
         // message to the SOAP monitor service
-        if ((id != null) && (soap != null)) {
+        if (soap != null) {
             SOAPMonitorService.publishMessage(id, type, target, soap);
         }
         return InvocationResponse.CONTINUE;
     }
 
+    private boolean isSampled() {
+        return sampleRate <= 1 || requests.incrementAndGet() % sampleRate == 0;
+    }
+
+    /**
+     * Serialize the envelope, keeping at most maxMessageSize characters
+     */
+    private String serialize(SOAPEnvelope envelope) {
+        BoundedWriter writer = new BoundedWriter(maxMessageSize);
+        try {
+            envelope.serialize(writer);
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Unable to capture SOAP message", e);
+            }
+            return null;
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writer that discards everything beyond a fixed number of characters
+     */
+    private static class BoundedWriter extends Writer {
+        private final StringBuilder buffer;
+        private final int limit;
+        private boolean truncated;
+
+        BoundedWriter(int limit) {
+            this.limit = limit;
+            buffer = new StringBuilder(Math.min(limit, 4096));
+        }
+
+        public void write(char[] cbuf, int off, int len) {
+            int remaining = limit - buffer.length();
+            if (len > remaining) {
+                truncated = true;
+                len = Math.max(remaining, 0);
+            }
+            buffer.append(cbuf, off, len);
+        }
+
+        public void write(String str, int off, int len) {
+            int remaining = limit - buffer.length();
+            if (len > remaining) {
+                truncated = true;
+                len = Math.max(remaining, 0);
+            }
+            buffer.append(str, off, off + len);
+        }
+
+        public void flush() {
+        }
+
+        public void close() {
+        }
+
+        public String toString() {
+            return truncated ? buffer + TRUNCATED : buffer.toString();
+        }
+    }
+
     /**
      * Assign a new message id
      */
     private Long assignMessageId(MessageContext messageContext) {
-        Long id;
-        synchronized (SOAPMonitorConstants.SOAP_MONITOR_ID) {
-            id = new Long(next_message_id);
-            next_message_id++;
-        }
+        Long id = Long.valueOf(next_message_id.getAndIncrement());
         messageContext.getOperationContext().setProperty(
                 SOAPMonitorConstants.SOAP_MONITOR_ID, id);
         return id;
@@ -41,6 +41,21 @@ public class SOAPMonitorConstants {
      */
     public static final String SOAP_MONITOR_HOST_NAME = "SOAPMonitorHostName";
 
+    /**
+     * Size of the queue of messages waiting to be published, Servlet initialization parameter
+     */
+    public static final String SOAP_MONITOR_QUEUE_SIZE = "SOAPMonitorQueueSize";
+
+    /**
+     * Module parameter: capture one in this many requests
+     */
+    public static final String SOAP_MONITOR_SAMPLE_RATE = "SOAPMonitorSampleRate";
+
+    /**
+     * Module parameter: maximum number of characters captured per message
+     */
+    public static final String SOAP_MONITOR_MAX_MESSAGE_SIZE = "SOAPMonitorMaxMessageSize";
+
     /**
      * Unique SOAP monitor id tag
      */
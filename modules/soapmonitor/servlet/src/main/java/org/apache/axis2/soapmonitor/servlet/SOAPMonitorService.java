@@ -33,8 +33,10 @@ import java.io.ObjectOutputStream;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.Enumeration;
-import java.util.Vector;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is a SOAP Monitor Service class.
@@ -57,8 +59,10 @@ import java.util.Vector;
  * The publishMethod routine is invoked by the SOAP monitor
  * handler when a SOAP message request or response is
  * detected.  The information about the SOAP message is
- * then forwared to all current socket connections for
- * display by the applet.
+ * queued and a publisher thread forwards it to all current
+ * socket connections for display by the applet.  The queue
+ * is bounded; when it is full, messages are dropped rather
+ * than holding up the request threads.
  */
 
 public class SOAPMonitorService extends HttpServlet {
@@ -67,7 +71,13 @@ public class SOAPMonitorService extends HttpServlet {
      * Private data
      */
     private static ServerSocket serverSocket = null;
-    private static Vector connections = null;
+    private static CopyOnWriteArrayList<ConnectionThread> connections = null;
+    private static volatile BlockingQueue<Message> queue = null;
+    private static Thread publisherThread = null;
+    private static final AtomicLong publishedMessages = new AtomicLong();
+    private static final AtomicLong droppedMessages = new AtomicLong();
+
+    private static final int DEFAULT_QUEUE_SIZE = 1000;
 
     private static final Log log = LogFactory.getLog(SOAPMonitorService.class);
 
@@ -79,28 +89,77 @@ public class SOAPMonitorService extends HttpServlet {
 
 
     /**
-     * Publish a SOAP message to listeners
+     * Publish a SOAP message to listeners.  The message is queued
+     * and sent by the publisher thread; if the queue is full the
+     * message is dropped.
      */
     public static void publishMessage(Long id,
                                       Integer type,
                                       String target,
                                       String soap) {
-        if (connections != null) {
-            Enumeration e = connections.elements();
-            while (e.hasMoreElements()) {
-                ConnectionThread ct = (ConnectionThread) e.nextElement();
-                ct.publishMessage(id, type, target, soap);
+        BlockingQueue<Message> q = queue;
+        if (q != null && isPublishing()) {
+            if (!q.offer(new Message(id, type, target, soap))) {
+                droppedMessages.incrementAndGet();
             }
         }
     }
 
+    /**
+     * Check whether there are applets connected to receive messages
+     */
+    public static boolean isPublishing() {
+        CopyOnWriteArrayList<ConnectionThread> c = connections;
+        return c != null && !c.isEmpty();
+    }
+
+    /**
+     * Get the number of messages sent to the connected applets
+     */
+    public static long getPublishedMessageCount() {
+        return publishedMessages.get();
+    }
+
+    /**
+     * Get the number of messages dropped because the publisher
+     * could not keep up
+     */
+    public static long getDroppedMessageCount() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * Get the number of messages waiting to be published
+     */
+    public static int getQueuedMessageCount() {
+        BlockingQueue<Message> q = queue;
+        return q == null ? 0 : q.size();
+    }
+
     /**
      * Servlet initialiation
      */
     public void init() throws ServletException {
         if (connections == null) {
-            // Create vector to hold connection information
-            connections = new Vector();
+            // Create list to hold connection information
+            connections = new CopyOnWriteArrayList<ConnectionThread>();
+        }
+        if (queue == null) {
+            int queueSize = DEFAULT_QUEUE_SIZE;
+            String size = getServletConfig().getInitParameter(
+                    SOAPMonitorConstants.SOAP_MONITOR_QUEUE_SIZE);
+            if (size != null) {
+                try {
+                    queueSize = Integer.parseInt(size.trim());
+                } catch (NumberFormatException ex) {
+                    log.warn("Invalid SOAPMonitorService queue size " + size);
+                }
+            }
+            queue = new ArrayBlockingQueue<Message>(Math.max(queueSize, 1));
+            // Start the publisher thread
+            publisherThread = new Thread(new PublisherThread(queue), "SOAPMonitorPublisher");
+            publisherThread.setDaemon(true);
+            publisherThread.start();
         }
         if (serverSocket == null) {
             // Get the server socket port from the init params
@@ -140,11 +199,15 @@ public class SOAPMonitorService extends HttpServlet {
      */
     public void destroy() {
         // End all connection threads
-        Enumeration e = connections.elements();
-        while (e.hasMoreElements()) {
-            ConnectionThread ct = (ConnectionThread) e.nextElement();
+        for (ConnectionThread ct : connections) {
             ct.close();
         }
+        // End the publisher thread
+        if (publisherThread != null) {
+            publisherThread.interrupt();
+            publisherThread = null;
+        }
+        queue = null;
         // End main server socket thread
         if (serverSocket != null) {
             try {
@@ -208,6 +271,49 @@ public class SOAPMonitorService extends HttpServlet {
         }
     }
 
+    /**
+     * Captured SOAP message waiting to be published
+     */
+    static class Message {
+        final Long id;
+        final Integer type;
+        final String target;
+        final String soap;
+
+        Message(Long id, Integer type, String target, String soap) {
+            this.id = id;
+            this.type = type;
+            this.target = target;
+            this.soap = soap;
+        }
+    }
+
+    /**
+     * Thread class for sending queued messages to the connections
+     */
+    static class PublisherThread implements Runnable {
+
+        private final BlockingQueue<Message> queue;
+
+        PublisherThread(BlockingQueue<Message> queue) {
+            this.queue = queue;
+        }
+
+        public void run() {
+            try {
+                while (true) {
+                    Message message = queue.take();
+                    for (ConnectionThread ct : connections) {
+                        ct.publishMessage(message.id, message.type, message.target, message.soap);
+                    }
+                    publishedMessages.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                // The servlet was destroyed
+            }
+        }
+    }
+
     /**
      * Thread class for handling socket connections
      */
@@ -236,9 +342,7 @@ public class SOAPMonitorService extends HttpServlet {
             } catch (Exception e) {
             }
             // Add the connection to our list
-            synchronized (connections) {
-                connections.addElement(this);
-            }
+            connections.add(this);
         }
 
         /**
@@ -263,9 +367,7 @@ public class SOAPMonitorService extends HttpServlet {
             } catch (Exception e) {
             }
             // Cleanup connection list
-            synchronized (connections) {
-                connections.removeElement(this);
-            }
+            connections.remove(this);
             // Cleanup I/O streams
             if (out != null) {
                 try {
@@ -50,6 +50,10 @@ public abstract class AbstractPollTableEntry extends ProtocolEndpoint {
     TimerTask timerTask;
     /** Flag indicating whether polling has been canceled. */
     boolean canceled;
+    /** Flag indicating whether a poll is currently being executed. */
+    boolean pollInProgress;
+    /** Flag indicating that a new poll has been requested while a poll was in progress. */
+    boolean pollRequested;
     
     public long getNextPollTime() {
         return nextPollTime;
@@ -52,6 +52,10 @@ public abstract class AbstractPollingTransportListener<T extends AbstractPollTab
      * @param pollInterval the interval between successive polls in milliseconds
      */
     void schedulePoll(final T entry) {
+        schedulePoll(entry, entry.getPollInterval());
+    }
+
+    private void schedulePoll(final T entry, long delay) {
         final long pollInterval = entry.getPollInterval();
         TimerTask timerTask = new TimerTask() {
             @Override
@@ -64,6 +68,11 @@ public abstract class AbstractPollingTransportListener<T extends AbstractPollTab
                                         " poll trigger : Transport is currently paused..");
                             }
                         } else {
+                            if (!entry.isConcurrentPollingAllowed()) {
+                                synchronized (entry) {
+                                    entry.pollInProgress = true;
+                                }
+                            }
                             poll(entry);
                         }
                     }
@@ -72,9 +81,40 @@ public abstract class AbstractPollingTransportListener<T extends AbstractPollTab
         };
         entry.timerTask = timerTask;
         if (entry.isConcurrentPollingAllowed()) {
-            timer.scheduleAtFixedRate(timerTask, pollInterval, pollInterval);
+            timer.scheduleAtFixedRate(timerTask, delay, pollInterval);
+        } else {
+            timer.schedule(timerTask, delay);
+        }
+    }
+
+    /**
+     * Request a poll for a given service to be executed as soon as possible, e.g. because the
+     * transport has been notified that new messages are available. If concurrent polling is
+     * not allowed and a poll is currently in progress, the next poll will be executed
+     * immediately after the current one has completed.
+     * @param entry the poll table entry with the configuration for the service
+     */
+    protected void triggerPoll(final T entry) {
+        if (entry.isConcurrentPollingAllowed()) {
+            if (!entry.canceled && state != BaseConstants.PAUSED) {
+                workerPool.execute(new Runnable() {
+                    public void run() {
+                        poll(entry);
+                    }
+                });
+            }
         } else {
-            timer.schedule(timerTask, pollInterval);
+            synchronized (entry) {
+                if (entry.canceled) {
+                    return;
+                }
+                if (entry.pollInProgress) {
+                    entry.pollRequested = true;
+                } else if (entry.timerTask != null && entry.timerTask.cancel()) {
+                    schedulePoll(entry, 0);
+                }
+                // otherwise the timer task has already fired and the poll is about to start
+            }
         }
     }
 
@@ -96,9 +136,11 @@ public abstract class AbstractPollingTransportListener<T extends AbstractPollTab
     protected void onPollCompletion(T entry) {
         if (!entry.isConcurrentPollingAllowed()) {
             synchronized (entry) {
+                entry.pollInProgress = false;
                 if (!entry.canceled) {
-                    schedulePoll(entry);
+                    schedulePoll(entry, entry.pollRequested ? 0 : entry.getPollInterval());
                 }
+                entry.pollRequested = false;
             }
         }
     }
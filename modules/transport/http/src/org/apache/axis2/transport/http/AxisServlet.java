@@ -44,6 +44,7 @@ import org.apache.axis2.engine.AxisEngine;
 import org.apache.axis2.engine.Handler.InvocationResponse;
 import org.apache.axis2.engine.ListenerManager;
 
+import org.apache.axis2.kernel.ContentTypeInfo;
 import org.apache.axis2.kernel.http.HTTPConstants;
 import org.apache.axis2.kernel.RequestResponseTransport;
 import org.apache.axis2.kernel.TransportListener;
@@ -157,12 +158,15 @@ public class AxisServlet extends HttpServlet {
         MessageContext msgContext;
         OutputStream out = response.getOutputStream();
         String contentType = request.getContentType();
-        if (enableJSONOnly && (contentType == null || contentType.isEmpty() || !HTTPTransportUtils.isJSONRequest(contentType))) {
+        // parsed once per distinct Content-Type value and shared by all requests
+        ContentTypeInfo contentTypeInfo = contentType == null || contentType.isEmpty() ? null
+                : ContentTypeInfo.get(contentType);
+        if (enableJSONOnly && (contentTypeInfo == null || !contentTypeInfo.isJSON())) {
             log.error("doPost() returning with no action taken, enableJSONOnly is true in the axis2.xml file and the content-type is not application/json: " + contentType);
             response.setContentType("application/json");
             showJSONOnlyErrorMessage(response);
             return;
-        } else if (!HTTPTransportUtils.isRESTRequest(contentType)) {
+        } else if (contentTypeInfo == null || !contentTypeInfo.isREST()) {
             msgContext = createMessageContext(request, response);
             msgContext.setProperty(Constants.Configuration.CONTENT_TYPE, contentType);
             try {
@@ -24,8 +24,6 @@ import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMException;
 import org.apache.axiom.om.OMNamespace;
-import org.apache.axiom.soap.SOAP11Constants;
-import org.apache.axiom.soap.SOAP12Constants;
 import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axiom.soap.SOAPFactory;
 import org.apache.axiom.soap.SOAPProcessingException;
@@ -33,7 +31,6 @@ import org.apache.axis2.AxisFault;
 import org.apache.axis2.Constants;
 import org.apache.axis2.addressing.EndpointReference;
 import org.apache.axis2.builder.Builder;
-import org.apache.axis2.builder.BuilderUtil;
 import org.apache.axis2.context.ConfigurationContext;
 import org.apache.axis2.context.MessageContext;
 import org.apache.axis2.description.AxisService;
@@ -42,6 +39,7 @@ import org.apache.axis2.description.TransportInDescription;
 import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.axis2.engine.AxisEngine;
 import org.apache.axis2.engine.Handler.InvocationResponse;
+import org.apache.axis2.kernel.ContentTypeInfo;
 import org.apache.axis2.kernel.http.HTTPConstants;
 import org.apache.axis2.kernel.TransportListener;
 import org.apache.axis2.kernel.TransportUtils;
@@ -258,21 +256,21 @@ public class HTTPTransportUtils {
         msgContext.setTo(new EndpointReference(requestURI));
         msgContext.setServerSide(true);
 
+        ContentTypeInfo contentTypeInfo =
+                contentType == null ? null : ContentTypeInfo.get(contentType);
+
         // get the type of char encoding
-        String charSetEnc = BuilderUtil.getCharSetEncoding(contentType);
-        if (charSetEnc == null) {
-            charSetEnc = MessageContext.DEFAULT_CHAR_SET_ENCODING;
-        }
+        String charSetEnc = contentTypeInfo == null ? MessageContext.DEFAULT_CHAR_SET_ENCODING
+                : contentTypeInfo.getCharSetEncoding();
         msgContext.setProperty(Constants.Configuration.CHARACTER_SET_ENCODING, charSetEnc);
 
-        if (contentType != null) {
-            if (contentType.indexOf(SOAP12Constants.SOAP_12_CONTENT_TYPE) > -1) {
+        if (contentTypeInfo != null) {
+            if (contentTypeInfo.isSOAP12()) {
                 soapVersion = VERSION_SOAP12;
                 TransportUtils.processContentTypeForAction(contentType, msgContext);
-            } else if (contentType
-                    .indexOf(SOAP11Constants.SOAP_11_CONTENT_TYPE) > -1) {
+            } else if (contentTypeInfo.isSOAP11()) {
                 soapVersion = VERSION_SOAP11;
-            } else if (isRESTRequest(contentType)) {
+            } else if (contentTypeInfo.isREST()) {
                 // If REST, construct a SOAP11 envelope to hold the rest message and
                 // indicate that this is a REST message.
                 soapVersion = VERSION_SOAP11;
@@ -324,10 +322,7 @@ public class HTTPTransportUtils {
      * @return Boolean
      */
     public static boolean isRESTRequest(String contentType) {
-        return contentType != null &&
-               (contentType.indexOf(HTTPConstants.MEDIA_TYPE_APPLICATION_XML) > -1 ||
-                contentType.indexOf(HTTPConstants.MEDIA_TYPE_X_WWW_FORM) > -1 ||
-                contentType.indexOf(HTTPConstants.MEDIA_TYPE_MULTIPART_FORM_DATA) > -1);
+        return contentType != null && ContentTypeInfo.get(contentType).isREST();
     }
     
     /**
@@ -344,7 +339,7 @@ public class HTTPTransportUtils {
         if (contentType == null || contentType.isEmpty()) {
             return false;
         }
-        return (contentType.toLowerCase().indexOf(HTTPConstants.MEDIA_TYPE_APPLICATION_JSON) != -1);
+        return ContentTypeInfo.get(contentType).isJSON();
     }
 
     public static EndpointReference[] getEPRsForService(ConfigurationContext configurationContext,
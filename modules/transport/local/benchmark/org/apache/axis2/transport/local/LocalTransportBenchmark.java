@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.axis2.transport.local;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axis2.client.ServiceClient;
+
+/**
+ * Measures the overhead of an in-VM call through the local transport in byte mode and in
+ * object mode. This is not run as part of the build; execute the main method directly.
+ */
+public class LocalTransportBenchmark {
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 20000;
+
+    public static void main(String[] args) throws Exception {
+        run(LocalTransportSender.MODE_BYTES);
+        run(LocalTransportSender.MODE_OBJECT);
+    }
+
+    private static void run(String mode) throws Exception {
+        ServiceClient serviceClient = LocalTransportTest.createServiceClient(new EchoMessageReceiver());
+        serviceClient.getOptions().setProperty(LocalTransportSender.MESSAGE_PASSING_MODE, mode);
+        serviceClient.getOptions().setCallTransportCleanup(true);
+        for (int i = 0; i < WARMUP; i++) {
+            call(serviceClient);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call(serviceClient);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(mode + ": " + (elapsed / ITERATIONS / 1000.0) + " us/call");
+    }
+
+    private static void call(ServiceClient serviceClient) throws Exception {
+        OMElement response = serviceClient.sendReceive(LocalTransportTest.createRequestElement());
+        response.getText();
+    }
+}
@@ -20,6 +20,7 @@
 
 package org.apache.axis2.transport.local;
 
+import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.addressing.EndpointReference;
 import org.apache.axis2.context.ConfigurationContext;
@@ -44,8 +45,35 @@ public class LocalResponder extends AbstractHandler implements TransportSender {
     //  fixed for Executing LocalTransport in MulthThread. 
     private OutputStream out;
 
+    // in object mode, the response is captured here instead of being written to out
+    private final boolean objectMode;
+    private SOAPEnvelope responseEnvelope;
+    private ByteArrayOutputStream responseBytes;
+
     public LocalResponder(OutputStream response) {
-        this.out = response;        
+        this(response, false);
+    }
+
+    /**
+     * @param response the stream to write the response to; may be <code>null</code> in object
+     *                 mode
+     * @param objectMode if <code>true</code>, the response envelope is kept as is and can be
+     *                   retrieved using {@link #getResponseEnvelope()}, unless it needs to be
+     *                   sent as bytes (e.g. SwA), in which case it is available from
+     *                   {@link #getResponseBytes()}
+     */
+    public LocalResponder(OutputStream response, boolean objectMode) {
+        this.out = response;
+        this.objectMode = objectMode;
+    }
+
+    public SOAPEnvelope getResponseEnvelope() {
+        return responseEnvelope;
+    }
+
+    public byte[] getResponseBytes() {
+        return responseBytes == null || responseBytes.size() == 0 ? null
+                : responseBytes.toByteArray();
     }
 
     public void init(ConfigurationContext confContext, TransportOutDescription transportOut)
@@ -82,7 +110,14 @@ public class LocalResponder extends AbstractHandler implements TransportSender {
                 log.debug("Response - " + msgContext.getEnvelope().toString());
             }
 
-            if (epr != null) {
+            if (objectMode) {
+                if (msgContext.isDoingSwA() || msgContext.isDoingREST()) {
+                    responseBytes = new ByteArrayOutputStream();
+                    TransportUtils.writeMessage(msgContext, responseBytes);
+                } else {
+                    responseEnvelope = msgContext.getEnvelope();
+                }
+            } else if (epr != null) {
                 if (!epr.hasNoneAddress()) {
                     TransportUtils.writeMessage(msgContext, out);
                 }
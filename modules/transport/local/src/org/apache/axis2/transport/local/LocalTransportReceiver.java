@@ -62,6 +62,27 @@ public class LocalTransportReceiver {
         processMessage(in, to, action, response);
     }
 
+    /**
+     * Process a message that is handed over as an object tree rather than a byte stream.
+     *
+     * @param inMessageContext the message context of the client
+     * @param envelope the request envelope; it must not be shared with the client, since the
+     *                 service is free to modify it
+     * @param responder the responder that will receive the response
+     * @throws AxisFault
+     */
+    public void processMessage(MessageContext inMessageContext,
+                               SOAPEnvelope envelope,
+                               LocalResponder responder) throws AxisFault {
+        if (this.confContext == null) {
+            this.confContext = inMessageContext.getConfigurationContext();
+        }
+        this.inMessageContext = inMessageContext;
+        EndpointReference to = inMessageContext.getTo();
+        String action = inMessageContext.getOptions().getAction();
+        processMessage(null, envelope, to, action, null, responder);
+    }
+
     public void processMessage(ConfigurationContext configurationContext,
                                InputStream in,
                                EndpointReference to,
@@ -76,6 +97,13 @@ public class LocalTransportReceiver {
     public void processMessage(InputStream in, EndpointReference to, String action,
                                OutputStream response)
             throws AxisFault {
+        processMessage(in, null, to, action, response, new LocalResponder(response));
+    }
+
+    private void processMessage(InputStream in, SOAPEnvelope requestEnvelope,
+                                EndpointReference to, String action,
+                                OutputStream response, LocalResponder responder)
+            throws AxisFault {
         MessageContext msgCtx = confContext.createMessageContext();
         if (inMessageContext != null) {
             msgCtx.setProperty(HTTPConstants.MC_HTTP_SERVLETREQUEST,
@@ -94,7 +122,7 @@ public class LocalTransportReceiver {
         // We escaped this problem by the following code.
         LocalResponseTransportOutDescription localTransportResOut = new LocalResponseTransportOutDescription(
                 tOut);
-        localTransportResOut.setSender(new LocalResponder(response));
+        localTransportResOut.setSender(responder);
 
         try {
             msgCtx.setIncomingTransportName(Constants.TRANSPORT_LOCAL);
@@ -111,8 +139,11 @@ public class LocalTransportReceiver {
             msgCtx.setWSAAction(action);
             msgCtx.setServerSide(true);
 
-            InputStreamReader streamReader = new InputStreamReader(in);
-            SOAPEnvelope envelope = OMXMLBuilderFactory.createSOAPModelBuilder(streamReader).getSOAPEnvelope();
+            SOAPEnvelope envelope = requestEnvelope;
+            if (envelope == null) {
+                InputStreamReader streamReader = new InputStreamReader(in);
+                envelope = OMXMLBuilderFactory.createSOAPModelBuilder(streamReader).getSOAPEnvelope();
+            }
 
             msgCtx.setEnvelope(envelope);
 
@@ -20,14 +20,19 @@
 
 package org.apache.axis2.transport.local;
 
+import org.apache.axiom.om.OMCloneOptions;
+import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.axis2.AxisFault;
 import org.apache.axis2.addressing.EndpointReference;
 import org.apache.axis2.context.ConfigurationContext;
 import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.context.OperationContext;
+import org.apache.axis2.description.Parameter;
 import org.apache.axis2.description.TransportOutDescription;
 import org.apache.axis2.handlers.AbstractHandler;
 import org.apache.axis2.kernel.TransportSender;
 import org.apache.axis2.kernel.TransportUtils;
+import org.apache.axis2.wsdl.WSDLConstants;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -40,6 +45,26 @@ import java.io.OutputStream;
 public class LocalTransportSender extends AbstractHandler implements TransportSender {
     protected static final Log log = LogFactory.getLog(LocalTransportSender.class);
 
+    /**
+     * Name of the transport parameter (or message context property, which takes precedence)
+     * that selects how messages are handed over to the {@link LocalTransportReceiver}. The
+     * value is either {@link #MODE_BYTES} (the default) or {@link #MODE_OBJECT}.
+     */
+    public static final String MESSAGE_PASSING_MODE = "messagePassingMode";
+
+    /**
+     * Serialize the request and response and parse them again on the other side. This fully
+     * isolates the client and the service from each other.
+     */
+    public static final String MODE_BYTES = "bytes";
+
+    /**
+     * Hand a detached copy of the request envelope directly to the service and the response
+     * envelope directly back to the client, without going through a byte stream. Messages
+     * that can't be passed as objects (SwA and REST) are still sent in byte mode.
+     */
+    public static final String MODE_OBJECT = "object";
+
     public void init(ConfigurationContext confContext, TransportOutDescription transportOut)
             throws AxisFault {
     }
@@ -72,6 +97,11 @@ public class LocalTransportSender extends AbstractHandler implements TransportSe
 
         if (epr != null) {
             if (!epr.hasNoneAddress()) {
+                if (isObjectModeApplicable(msgContext)) {
+                    finalizeSendWithToAddress(msgContext, cloneEnvelope(msgContext.getEnvelope()));
+                    TransportUtils.setResponseWritten(msgContext, true);
+                    return InvocationResponse.CONTINUE;
+                }
                 out = new ByteArrayOutputStream();
                 TransportUtils.writeMessage(msgContext, out);
                 finalizeSendWithToAddress(msgContext, (ByteArrayOutputStream)out);
@@ -111,4 +141,83 @@ public class LocalTransportSender extends AbstractHandler implements TransportSe
             throw AxisFault.makeFault(e);
         }
     }
+
+    /**
+     * Send the message to the local receiver without serializing it. The response envelope (if
+     * any) is set directly on the IN message context of the operation; if there is no such
+     * message context, the response is serialized to {@link MessageContext#TRANSPORT_IN} as in
+     * byte mode.
+     *
+     * @param msgContext the current MessageContext
+     * @param envelope a detached envelope that the receiver side is free to modify
+     * @throws AxisFault
+     */
+    public void finalizeSendWithToAddress(MessageContext msgContext, SOAPEnvelope envelope)
+            throws AxisFault {
+        LocalResponder responder = new LocalResponder(null, true);
+        LocalTransportReceiver localTransportReceiver = new LocalTransportReceiver(this);
+        localTransportReceiver.processMessage(msgContext, envelope, responder);
+
+        SOAPEnvelope responseEnvelope = responder.getResponseEnvelope();
+        if (responseEnvelope != null) {
+            MessageContext responseMessageContext = null;
+            OperationContext opContext = msgContext.getOperationContext();
+            if (opContext != null) {
+                responseMessageContext =
+                        opContext.getMessageContext(WSDLConstants.MESSAGE_LABEL_IN_VALUE);
+            }
+            if (responseMessageContext != null
+                    && responseMessageContext.getEnvelope() == null) {
+                responseMessageContext.setEnvelope(responseEnvelope);
+            } else {
+                ByteArrayOutputStream response = new ByteArrayOutputStream();
+                try {
+                    responseEnvelope.serialize(response);
+                } catch (Exception e) {
+                    throw AxisFault.makeFault(e);
+                }
+                msgContext.setProperty(MessageContext.TRANSPORT_IN,
+                        new ByteArrayInputStream(response.toByteArray()));
+            }
+        } else if (responder.getResponseBytes() != null) {
+            msgContext.setProperty(MessageContext.TRANSPORT_IN,
+                    new ByteArrayInputStream(responder.getResponseBytes()));
+        }
+    }
+
+    /**
+     * Determine whether the given message can be handed over to the receiver as an object
+     * tree. This is only the case if object mode has been enabled and the message doesn't
+     * need a serialized form (SwA attachments or REST).
+     */
+    private static boolean isObjectModeApplicable(MessageContext msgContext) {
+        return MODE_OBJECT.equals(getMessagePassingMode(msgContext))
+                && msgContext.getEnvelope() != null
+                && !msgContext.isDoingSwA()
+                && !msgContext.isDoingREST();
+    }
+
+    static String getMessagePassingMode(MessageContext msgContext) {
+        Object mode = msgContext.getProperty(MESSAGE_PASSING_MODE);
+        if (mode == null) {
+            TransportOutDescription transportOut = msgContext.getTransportOut();
+            if (transportOut != null) {
+                Parameter param = transportOut.getParameter(MESSAGE_PASSING_MODE);
+                if (param != null) {
+                    mode = param.getValue();
+                }
+            }
+        }
+        return mode == null ? MODE_BYTES : mode.toString().trim();
+    }
+
+    /**
+     * Create a copy of the envelope that doesn't share any nodes with the original, so that
+     * the service may modify it freely while the client still holds the request.
+     */
+    static SOAPEnvelope cloneEnvelope(SOAPEnvelope envelope) {
+        OMCloneOptions options = new OMCloneOptions();
+        options.setPreserveModel(true);
+        return (SOAPEnvelope) envelope.clone(options);
+    }
 }
@@ -23,17 +23,24 @@ import javax.xml.namespace.QName;
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axis2.AxisFault;
 import org.apache.axis2.addressing.EndpointReference;
 import org.apache.axis2.client.Options;
 import org.apache.axis2.client.ServiceClient;
 import org.apache.axis2.context.ConfigurationContext;
 import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.context.MessageContext;
 import org.apache.axis2.description.AxisOperation;
 import org.apache.axis2.description.AxisService;
 import org.apache.axis2.description.InOutAxisOperation;
+import org.apache.axis2.engine.MessageReceiver;
 import org.custommonkey.xmlunit.XMLAssert;
 import org.junit.Test;
 
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
 public class LocalTransportTest {
     @Test
     public void test() throws Exception {
@@ -60,4 +67,53 @@ public class LocalTransportTest {
         
         XMLAssert.assertXMLEqual(requestElement.toString(), responseElement.toString());
     }
+
+    @Test
+    public void testObjectMode() throws Exception {
+        final SOAPEnvelope[] serviceResponse = new SOAPEnvelope[1];
+        ServiceClient serviceClient = createServiceClient(new EchoMessageReceiver() {
+            @Override
+            public void invokeBusinessLogic(MessageContext inMessage, MessageContext outMessage)
+                    throws AxisFault {
+                super.invokeBusinessLogic(inMessage, outMessage);
+                serviceResponse[0] = outMessage.getEnvelope();
+            }
+        });
+        serviceClient.getOptions().setProperty(LocalTransportSender.MESSAGE_PASSING_MODE,
+                LocalTransportSender.MODE_OBJECT);
+        OMElement requestElement = createRequestElement();
+        OMElement responseElement = serviceClient.sendReceive(requestElement);
+        
+        XMLAssert.assertXMLEqual(requestElement.toString(), responseElement.toString());
+        // The client gets the tree produced by the service instead of a parsed copy, and the
+        // service got a copy of the request instead of the client's own tree
+        assertSame(serviceResponse[0].getBody().getFirstElement(), responseElement);
+        assertNotSame(requestElement, responseElement);
+    }
+
+    static ServiceClient createServiceClient(MessageReceiver messageReceiver) throws Exception {
+        ConfigurationContext configurationContext =
+            ConfigurationContextFactory.createConfigurationContextFromURIs(
+                    LocalTransportTest.class.getResource("axis2.xml"), null);
+        
+        AxisService service = new AxisService("Echo");
+        AxisOperation operation = new InOutAxisOperation(new QName("echo"));
+        operation.setMessageReceiver(messageReceiver);
+        service.addOperation(operation);
+        service.addParameter(AxisService.SUPPORT_SINGLE_OP, true);
+        configurationContext.getAxisConfiguration().addService(service);
+        
+        Options options = new Options();
+        options.setTo(new EndpointReference("local://localhost/axis2/services/Echo"));
+        ServiceClient serviceClient = new ServiceClient(configurationContext, null);
+        serviceClient.setOptions(options);
+        return serviceClient;
+    }
+
+    static OMElement createRequestElement() {
+        OMFactory factory = OMAbstractFactory.getOMFactory();
+        OMElement requestElement = factory.createOMElement("test", "urn:test", "t");
+        requestElement.setText("Hi there!");
+        return requestElement;
+    }
 }
@@ -40,6 +40,11 @@ public class MailConstants {
     public static final String TRANSPORT_MAIL_MOVE_AFTER_FAILURE = "transport.mail.MoveAfterFailure";
 
     public static final String TRANSPORT_MAIL_PROCESS_IN_PARALLEL = "transport.mail.ProcessInParallel";
+    public static final String TRANSPORT_MAIL_MAX_MESSAGES_IN_PARALLEL = "transport.mail.MaxMessagesInParallel";
+    public static final int    DEFAULT_MAX_MESSAGES_IN_PARALLEL = 20;
+
+    /** Use IMAP IDLE to be notified of new messages instead of waiting for the next poll */
+    public static final String TRANSPORT_MAIL_USE_IDLE = "transport.mail.UseIdle";
 
     public static final String MAX_RETRY_COUNT   = "transport.mail.MaxRetryCount";
     public static final String RECONNECT_TIMEOUT = "transport.mail.ReconnectTimeout";
@@ -34,6 +34,8 @@ import org.apache.axis2.transport.base.event.TransportErrorSource;
 import org.apache.axis2.transport.base.event.TransportErrorSourceSupport;
 
 import jakarta.mail.*;
+import jakarta.mail.event.MessageCountAdapter;
+import jakarta.mail.event.MessageCountEvent;
 import jakarta.mail.internet.ContentType;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
@@ -46,6 +48,8 @@ import java.io.InputStream;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
@@ -56,6 +60,11 @@ import java.lang.reflect.Method;
  * and can be configured to be optionally moved to a different folder, if the server supports it
  * (e.g. with imap). When checking for new mail, the transport ignores messages already flaged as
  * SEEN and DELETED
+ * <p>
+ * With IMAP, the transport can optionally use the IDLE command to be notified of new mail,
+ * in which case a poll is triggered as soon as a message arrives, instead of waiting for the
+ * end of the poll interval. When mail is processed in parallel, the number of messages of a
+ * single poll that are processed at the same time is bounded.
  */
 
 public class MailTransportListener extends AbstractPollingTransportListener<PollTableEntry>
@@ -66,6 +75,10 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
     
     private final TransportErrorSourceSupport tess = new TransportErrorSourceSupport(this);
 
+    /** The IDLE monitors for the endpoints that use IMAP IDLE */
+    private final Map<PollTableEntry, IdleMonitor> idleMonitors =
+        new ConcurrentHashMap<PollTableEntry, IdleMonitor>();
+
     @Override
     protected void doInit() throws AxisFault {
         super.doInit();
@@ -75,6 +88,27 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
         }
     }
 
+    @Override
+    protected void startEndpoint(PollTableEntry entry) throws AxisFault {
+        super.startEndpoint(entry);
+        if (entry.isUsingIdle()) {
+            IdleMonitor monitor = new IdleMonitor(entry);
+            idleMonitors.put(entry, monitor);
+            Thread thread = new Thread(monitor, "MailIdleMonitor-" + entry.getEmailAddress());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    protected void stopEndpoint(PollTableEntry entry) {
+        IdleMonitor monitor = idleMonitors.remove(entry);
+        if (monitor != null) {
+            monitor.stop();
+        }
+        super.stopEndpoint(entry);
+    }
+
     @Override
     protected void poll(PollTableEntry entry) {
         checkMail(entry, entry.getEmailAddress());
@@ -99,7 +133,6 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
         Session session = entry.getSession();
         Store store = null;
         Folder folder = null;
-        boolean mailProcessingStarted = false;
 
         while (!connected) {
             try {
@@ -153,6 +186,8 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
         if (connected && folder != null) {
 
             CountDownLatch latch = null;
+            int total = 0;
+            int i = 0;
             Runnable onCompletion = new MailCheckCompletionTask(folder, store, emailAddress, entry);
 
             try {
@@ -162,15 +197,30 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
                 }
 
                 folder.open(Folder.READ_WRITE);
-                int total = folder.getMessageCount();
+                total = folder.getMessageCount();
                 Message[] messages = folder.getMessages();
 
                 if (log.isDebugEnabled()) {
                     log.debug(messages.length + " messgaes in folder : " + folder);
                 }
 
+                if (total > 0) {
+                    // fetch the headers and flags needed to select the messages in a single
+                    // round trip instead of one round trip per message
+                    FetchProfile fetchProfile = new FetchProfile();
+                    fetchProfile.add(FetchProfile.Item.ENVELOPE);
+                    fetchProfile.add(FetchProfile.Item.FLAGS);
+                    fetchProfile.add("Status");
+                    if (entry.isConcurrentPollingAllowed() && folder instanceof UIDFolder) {
+                        fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+                    }
+                    folder.fetch(messages, fetchProfile);
+                }
+
                 latch = new CountDownLatch(total);
-                for (int i = 0; i < total; i++) {
+                Semaphore permits = entry.isProcessingMailInParallel() ?
+                    new Semaphore(entry.getMaxMessagesInParallel()) : null;
+                for (; i < total; i++) {
 
                     try {
                         String[] status = messages[i].getHeader("Status");
@@ -195,9 +245,19 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
                             }
                             latch.countDown();
 
-                        } else {
-                            processMail(entry, folder, store, messages[i], latch, onCompletion);
-                            mailProcessingStarted = true;
+                        } else if (!processMail(entry, folder, store, messages[i], latch, permits,
+                                onCompletion)) {
+                            // all the permits of this mail check are in use, leave the remaining
+                            // messages for the next poll instead of blocking this worker thread
+                            if (log.isDebugEnabled()) {
+                                log.debug("Maximum number of messages processed in parallel " +
+                                    "reached, leaving " + (total - i) + " messages of account : " +
+                                    emailAddress + " for the next poll");
+                            }
+                            if (!entry.isConcurrentPollingAllowed()) {
+                                triggerPoll(entry);
+                            }
+                            break;
                         }
                     } catch (MessageRemovedException ignore) {
                         // while reading the meta information, this mail was deleted, thats ok
@@ -209,13 +269,12 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
                     }
                 }
 
-                if (!mailProcessingStarted) {
-                    // if we didnt process any mail in this run, the onCompletion will not
-                    // run from the mail processor by default
-                    onCompletion.run();
-                }
+                releaseRemaining(latch, total - i, onCompletion);
 
             } catch (MessagingException me) {
+                if (latch != null) {
+                    releaseRemaining(latch, total - i, onCompletion);
+                }
                 processFailure("Error checking mail for account : " +
                     emailAddress + " :: " + me.getMessage(), me, entry);
             }
@@ -225,6 +284,23 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
         }
     }
 
+    /**
+     * Count down the messages of a mail check that were not handed to a mail processor, and run
+     * the onCompletion task if no mail processor is outstanding, as it will then not run from
+     * the mail processor
+     * @param latch the completion latch of the mail check
+     * @param remaining the number of messages that were not handed to a mail processor
+     * @param onCompletion the tasks to run on the completion of mail processing
+     */
+    private void releaseRemaining(CountDownLatch latch, int remaining, Runnable onCompletion) {
+        for (int i = 0; i < remaining; i++) {
+            latch.countDown();
+        }
+        if (latch.getCount() == 0) {
+            onCompletion.run();
+        }
+    }
+
     /**
      * Invoke the actual message processor in the current thread or another worker thread
      * @param entry PolltableEntry
@@ -234,10 +310,14 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
      * @param pos the message position seen initially
      * @param mp the MailProcessor object
      * @param latch the completion latch to notify
+     * @param permits limits the number of messages processed in parallel, or null if
+     *                messages are processed in the current thread
      * @param onCompletion the tasks to run on the completion of mail processing
+     * @return false if the message was not processed because the maximum number of messages
+     *         processed in parallel has been reached
      */
-    private void processMail(PollTableEntry entry, Folder folder, Store store, Message message,
-                             CountDownLatch latch, Runnable onCompletion) {
+    private boolean processMail(PollTableEntry entry, Folder folder, Store store, Message message,
+                                CountDownLatch latch, Semaphore permits, Runnable onCompletion) {
 
         MailProcessor mp = new MailProcessor(entry, message, store, folder, latch, onCompletion);
 
@@ -260,11 +340,14 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
                     mp.setUID(uid);
                     
                     if (entry.isProcessingMailInParallel()) {
+                        if (!executeInParallel(mp, permits)) {
+                            entry.removeUID(uid);
+                            return false;
+                        }
                         if (log.isDebugEnabled()) {
                             log.debug("Processing message # : " + message.getMessageNumber() +
                                 " with UID : " + uid + " with a worker thread");
                         }
-                        workerPool.execute(mp);
                     } else {
                         if (log.isDebugEnabled()) {
                             log.debug("Processing message # : " + message.getMessageNumber() +
@@ -283,11 +366,13 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
 
         } else {
             if (entry.isProcessingMailInParallel()) {
+                if (!executeInParallel(mp, permits)) {
+                    return false;
+                }
                 if (log.isDebugEnabled()) {
                     log.debug("Processing message # : " + message.getMessageNumber() +
                         " with a worker thread");
                 }
-                workerPool.execute(mp);
             } else {
                 if (log.isDebugEnabled()) {
                     log.debug("Processing message # : " + message.getMessageNumber() + " in same thread");
@@ -295,6 +380,29 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
                 mp.run();
             }
         }
+        return true;
+    }
+
+    /**
+     * Execute a mail processor with a worker thread, if fewer than the configured maximum
+     * number of messages are being processed. This never waits for a permit, as the mail check
+     * itself runs on a worker thread and would otherwise hold it while the pool is exhausted.
+     * @param mp the MailProcessor object
+     * @param permits the permits for the current mail check
+     * @return false if no permit was available and the mail processor was not executed
+     */
+    private boolean executeInParallel(MailProcessor mp, Semaphore permits) {
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+        mp.setPermits(permits);
+        try {
+            workerPool.execute(mp);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return true;
     }
 
     /**
@@ -309,6 +417,7 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
         private String uid = null;
         private CountDownLatch doneSignal = null;
         private Runnable onCompletion = null;
+        private Semaphore permits = null;
 
         MailProcessor(PollTableEntry entry, Message message, Store store, Folder folder,
                       CountDownLatch doneSignal, Runnable onCompletion) {
@@ -324,6 +433,10 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
             this.uid = uid;
         }
 
+        public void setPermits(Semaphore permits) {
+            this.permits = permits;
+        }
+
         public void run() {
 
             entry.setLastPollState(PollTableEntry.NONE);
@@ -350,6 +463,10 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
                 tess.error(entry.getService(), e);
             }
 
+            if (permits != null) {
+                permits.release();
+            }
+
             doneSignal.countDown();
 
             if (doneSignal.getCount() == 0) {
@@ -421,6 +538,99 @@ public class MailTransportListener extends AbstractPollingTransportListener<Poll
         }
     }
 
+    /**
+     * Keeps a connection to an IMAP folder open and uses the IDLE command to be notified of new
+     * messages. Whenever messages are added to the folder, a poll is triggered for the
+     * corresponding endpoint. The messages themselves are still processed by the normal poll.
+     */
+    private class IdleMonitor implements Runnable {
+        private final PollTableEntry entry;
+        private volatile boolean stopped = false;
+        private volatile Store store = null;
+
+        public IdleMonitor(PollTableEntry entry) {
+            this.entry = entry;
+        }
+
+        public void run() {
+            while (!stopped) {
+                Folder folder = null;
+                try {
+                    store = entry.getSession().getStore(entry.getProtocol());
+                    store.connect(entry.getUserName(), entry.getPassword());
+                    folder = store.getFolder(entry.getFolder() != null ?
+                        entry.getFolder() : MailConstants.DEFAULT_FOLDER);
+
+                    Method idle;
+                    try {
+                        idle = folder.getClass().getMethod("idle");
+                    } catch (NoSuchMethodException e) {
+                        log.warn("Mail store for account : " + entry.getEmailAddress() +
+                            " doesn't support IDLE; new mail will only be detected by polling");
+                        return;
+                    }
+
+                    folder.addMessageCountListener(new MessageCountAdapter() {
+                        @Override
+                        public void messagesAdded(MessageCountEvent e) {
+                            if (log.isDebugEnabled()) {
+                                log.debug(e.getMessages().length + " new message(s) for account : "
+                                    + entry.getEmailAddress() + "; triggering poll");
+                            }
+                            triggerPoll(entry);
+                        }
+                    });
+                    folder.open(Folder.READ_ONLY);
+
+                    // pick up any mail that arrived while we were not connected
+                    triggerPoll(entry);
+
+                    while (!stopped && folder.isOpen()) {
+                        idle.invoke(folder);
+                    }
+
+                } catch (Exception e) {
+                    if (!stopped) {
+                        Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+                        log.warn("IDLE connection for account : " + entry.getEmailAddress() +
+                            " lost :: " + cause.getMessage() + "; reconnecting");
+                        try {
+                            long timeout = entry.getReconnectTimeout();
+                            Thread.sleep(timeout > 0 ? timeout : MailConstants.DEFAULT_RECONNECT_TIMEOUT);
+                        } catch (InterruptedException ignore) {
+                        }
+                    }
+                } finally {
+                    close(folder);
+                }
+            }
+        }
+
+        private void close(Folder folder) {
+            if (folder != null && folder.isOpen()) {
+                try {
+                    folder.close(false);
+                } catch (MessagingException ignore) {
+                }
+            }
+            Store s = store;
+            if (s != null) {
+                try {
+                    s.close();
+                } catch (MessagingException ignore) {
+                }
+            }
+        }
+
+        /**
+         * Stop the monitor. Closing the store aborts the IDLE command that is in progress.
+         */
+        public void stop() {
+            stopped = true;
+            close(null);
+        }
+    }
+
     /**
      * Process a mail message through Axis2
      *
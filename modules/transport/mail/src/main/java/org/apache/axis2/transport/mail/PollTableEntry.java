@@ -88,6 +88,10 @@ public class PollTableEntry extends AbstractPollTableEntry {
     private String moveAfterFailure;
     /** Should mail be processed in parallel? e.g. with IMAP */
     private boolean processingMailInParallel = false;
+    /** Maximum number of messages of a single poll that are processed at the same time */
+    private int maxMessagesInParallel = MailConstants.DEFAULT_MAX_MESSAGES_IN_PARALLEL;
+    /** Should IMAP IDLE be used to detect new messages? */
+    private boolean usingIdle = false;
     /** UIDs of messages currently being processed */
     private List<String> uidList = Collections.synchronizedList(new ArrayList<String>());
 
@@ -208,6 +212,14 @@ public class PollTableEntry extends AbstractPollTableEntry {
         return processingMailInParallel;
     }
 
+    public int getMaxMessagesInParallel() {
+        return maxMessagesInParallel;
+    }
+
+    public boolean isUsingIdle() {
+        return usingIdle;
+    }
+
     @Override
     public boolean loadConfiguration(ParameterInclude paramIncl) throws AxisFault {
         String address =
@@ -290,6 +302,31 @@ public class PollTableEntry extends AbstractPollTableEntry {
                 }
             }
 
+            String strMaxMessagesInParallel = ParamUtils.getOptionalParam(
+                paramIncl, MailConstants.TRANSPORT_MAIL_MAX_MESSAGES_IN_PARALLEL);
+            if (strMaxMessagesInParallel != null) {
+                maxMessagesInParallel = Integer.parseInt(strMaxMessagesInParallel);
+                if (maxMessagesInParallel < 1) {
+                    throw new AxisFault("Invalid value specified by '" +
+                        MailConstants.TRANSPORT_MAIL_MAX_MESSAGES_IN_PARALLEL + "' parameter :: " +
+                        strMaxMessagesInParallel);
+                }
+            }
+
+            String useIdle = ParamUtils.getOptionalParam(
+                paramIncl, MailConstants.TRANSPORT_MAIL_USE_IDLE);
+            if (useIdle != null) {
+                usingIdle = Boolean.parseBoolean(useIdle);
+                if (usingIdle && protocol != null && !protocol.startsWith(MailConstants.MAIL_IMAP)) {
+                    log.warn("IMAP IDLE is not supported by protocol " + protocol + " used by : "
+                        + address + "; falling back to polling");
+                    usingIdle = false;
+                }
+                if (log.isDebugEnabled() && usingIdle) {
+                    log.debug("IMAP IDLE enabled for : " + address);
+                }
+            }
+
             String pollInParallel = ParamUtils.getOptionalParam(
                 paramIncl, BaseConstants.TRANSPORT_POLL_IN_PARALLEL);
             if (pollInParallel != null) {
@@ -28,6 +28,9 @@ import java.util.Map;
 
 import jakarta.mail.Flags;
 
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.description.Parameter;
+import org.apache.axis2.description.ParameterInclude;
 import org.apache.axis2.transport.testkit.name.Key;
 import org.apache.axis2.transport.testkit.name.Name;
 import org.apache.axis2.transport.testkit.tests.Setup;
@@ -48,6 +51,7 @@ import com.icegreen.greenmail.util.ServerSetup;
 @Name("greenmail")
 public class GreenMailTestEnvironment extends MailTestEnvironment {
     private final String protocol;
+    private final boolean idle;
     private @Transient PortAllocator portAllocator;
     private @Transient ServerSetup smtpServerSetup;
     private @Transient ServerSetup storeServerSetup;
@@ -58,7 +62,19 @@ public class GreenMailTestEnvironment extends MailTestEnvironment {
     private @Transient List<Account> unallocatedAccounts;
 
     public GreenMailTestEnvironment(String protocol) {
+        this(protocol, false);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param protocol the protocol used to retrieve mail
+     * @param idle whether the listener should use IMAP IDLE to detect new mail; in that case
+     *             the poll interval is set to a value much larger than the test timeouts
+     */
+    public GreenMailTestEnvironment(String protocol, boolean idle) {
         this.protocol = protocol;
+        this.idle = idle;
     }
 
     @Setup @SuppressWarnings("unused")
@@ -90,6 +106,20 @@ public class GreenMailTestEnvironment extends MailTestEnvironment {
         return protocol;
     }
     
+    @Key("detection")
+    public String getDetection() {
+        return idle ? "idle" : "poll";
+    }
+
+    @Override
+    public void setupPoll(ParameterInclude params, Account account) throws AxisFault {
+        super.setupPoll(params, account);
+        if (idle) {
+            params.addParameter(new Parameter(MailConstants.TRANSPORT_MAIL_USE_IDLE, "true"));
+            params.addParameter(new Parameter("transport.PollInterval", "300"));
+        }
+    }
+
     @Override
     public Account allocateAccount() throws Exception {
         if (unallocatedAccounts.isEmpty()) {
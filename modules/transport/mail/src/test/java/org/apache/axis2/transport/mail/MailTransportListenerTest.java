@@ -0,0 +1,196 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *   * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.axis2.transport.mail;
+
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.activation.DataHandler;
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
+
+import junit.framework.TestCase;
+
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.context.ConfigurationContextFactory;
+import org.apache.axis2.context.MessageContext;
+import org.apache.axis2.description.AxisService;
+import org.apache.axis2.description.Parameter;
+import org.apache.axis2.description.TransportInDescription;
+import org.apache.axis2.transport.testkit.util.ServerUtil;
+
+import com.icegreen.greenmail.user.GreenMailUser;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+
+/**
+ * Tests the IMAP IDLE support and the limit on the number of messages processed in parallel
+ * of {@link MailTransportListener}, against a GreenMail IMAP server.
+ */
+public class MailTransportListenerTest extends TestCase {
+    /**
+     * Listener that counts the messages it receives instead of dispatching them, and that can
+     * hold the mail processors until the test releases them.
+     */
+    private static class TestMailTransportListener extends MailTransportListener {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final AtomicInteger received = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void handleIncomingMessage(MessageContext msgCtx, Map trpHeaders,
+                String soapAction, String contentType) throws AxisFault {
+            int current = active.incrementAndGet();
+            int max;
+            while ((max = maxActive.get()) < current && !maxActive.compareAndSet(max, current)) {
+                // retry
+            }
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+                synchronized (this) {
+                    received.incrementAndGet();
+                    notifyAll();
+                }
+            }
+        }
+
+        synchronized boolean waitForMessages(int count, long timeout) throws InterruptedException {
+            long end = System.currentTimeMillis() + timeout;
+            while (received.get() < count) {
+                long remaining = end - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    private int port;
+    private GreenMail greenMail;
+    private GreenMailUser user;
+    private ConfigurationContext cfgCtx;
+    private TestMailTransportListener listener;
+
+    @Override
+    protected void setUp() throws Exception {
+        ServerSocket ss = new ServerSocket(0);
+        port = ss.getLocalPort();
+        ss.close();
+        greenMail = new GreenMail(new ServerSetup(port, "127.0.0.1", ServerSetup.PROTOCOL_IMAP));
+        greenMail.start();
+        user = greenMail.setUser("test@localhost", "test", "password");
+        ServerUtil.waitForServer(port);
+
+        cfgCtx = ConfigurationContextFactory.createEmptyConfigurationContext();
+        TransportInDescription trpInDesc = new TransportInDescription(MailConstants.TRANSPORT_NAME);
+        listener = new TestMailTransportListener();
+        trpInDesc.setReceiver(listener);
+        cfgCtx.getAxisConfiguration().addTransportIn(trpInDesc);
+        listener.init(cfgCtx, trpInDesc);
+        listener.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        listener.release.countDown();
+        listener.stop();
+        listener.destroy();
+        greenMail.stop();
+    }
+
+    private void deployService(String... params) throws Exception {
+        AxisService service = new AxisService("MailTestService");
+        service.addParameter(new Parameter("transport.mail.Protocol", "imap"));
+        service.addParameter(new Parameter("transport.mail.Address", user.getEmail()));
+        service.addParameter(new Parameter("mail.imap.host", "127.0.0.1"));
+        service.addParameter(new Parameter("mail.imap.port", String.valueOf(port)));
+        service.addParameter(new Parameter("mail.imap.user", user.getLogin()));
+        service.addParameter(new Parameter("mail.imap.password", user.getPassword()));
+        for (int i = 0; i < params.length; i += 2) {
+            service.addParameter(new Parameter(params[i], params[i+1]));
+        }
+        cfgCtx.getAxisConfiguration().addService(service);
+    }
+
+    private void deliver(int count) throws Exception {
+        Session session = Session.getInstance(new Properties());
+        for (int i = 0; i < count; i++) {
+            MimeMessage message = new MimeMessage(session);
+            message.setFrom(new InternetAddress("sender@localhost"));
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(user.getEmail()));
+            message.setSubject("Message " + i);
+            message.setDataHandler(new DataHandler(new ByteArrayDataSource(
+                    "<soapenv:Envelope xmlns:soapenv='http://schemas.xmlsoap.org/soap/envelope/'>" +
+                    "<soapenv:Body><test>" + i + "</test></soapenv:Body></soapenv:Envelope>",
+                    "text/xml; charset=UTF-8")));
+            message.saveChanges();
+            user.deliver(message);
+        }
+    }
+
+    public void testMaxMessagesInParallel() throws Exception {
+        deliver(5);
+        deployService(MailConstants.TRANSPORT_MAIL_PROCESS_IN_PARALLEL, "true",
+                MailConstants.TRANSPORT_MAIL_MAX_MESSAGES_IN_PARALLEL, "2",
+                "transport.PollInterval", "50ms");
+        long end = System.currentTimeMillis() + 20000;
+        while (listener.active.get() < 2 && System.currentTimeMillis() < end) {
+            Thread.sleep(50);
+        }
+        assertEquals(2, listener.active.get());
+        // the remaining messages must wait for the next poll, which only starts once the
+        // messages of the current poll have been processed
+        Thread.sleep(500);
+        assertEquals(2, listener.maxActive.get());
+        assertEquals(0, listener.received.get());
+        listener.release.countDown();
+        assertTrue(listener.waitForMessages(5, 20000));
+        assertEquals(2, listener.maxActive.get());
+    }
+
+    public void testIdle() throws Exception {
+        listener.release.countDown();
+        // with a poll interval of 300 seconds, new mail can only be detected through IDLE
+        deployService(MailConstants.TRANSPORT_MAIL_USE_IDLE, "true",
+                "transport.PollInterval", "300");
+        deliver(1);
+        assertTrue(listener.waitForMessages(1, 20000));
+        // wait for the completion of the poll, so that the next message is only detected
+        // by the IDLE notification
+        Thread.sleep(500);
+        deliver(1);
+        assertTrue(listener.waitForMessages(2, 20000));
+    }
+}
@@ -32,6 +32,8 @@ import org.apache.axis2.description.AxisService;
 import org.apache.axis2.description.AxisServiceGroup;
 import org.apache.axis2.description.Parameter;
 import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.axis2.engine.InvocationInstrumentation;
+import org.apache.axis2.engine.InvocationStatistics;
 import org.apache.axis2.transport.http.AbstractAgent;
 import org.apache.commons.fileupload2.core.FileItem;
 import org.apache.commons.fileupload2.core.RequestContext;
@@ -70,6 +72,7 @@ final class AdminActions {
     private static final String ACTIVATE_SERVICE = "activateService";
     private static final String EDIT_SERVICE_PARAMETERS = "editServiceParameters";
     private static final String VIEW_OPERATION_SPECIFIC_CHAINS = "viewOperationSpecificChains";
+    private static final String VIEW_INVOCATION_STATISTICS = "viewInvocationStatistics";
     private static final String HTTP_PARAM_VALUE_REGEX_WHITELIST_CHARS = "^[a-zA-Z0-9.\\-\\/+=@,:\\\\ ]*$";
     private static final String FILENAME_REGEX_INVALID_CHARS = "^[a-zA-Z0-9!@#$%^&{}\\[\\]()_+\\-=,.~'` ]{1,255}$";
 
@@ -656,6 +659,23 @@ final class AdminActions {
         return new View("viewOperationSpecificChains.jsp");
     }
 
+    @Action(name=VIEW_INVOCATION_STATISTICS)
+    public View viewInvocationStatistics(HttpServletRequest req) {
+        req.getSession().setAttribute(Constants.INVOCATION_STATISTICS,
+                configContext.getAxisConfiguration().getInvocationInstrumentation());
+        return new View("viewInvocationStatistics.jsp");
+    }
+
+    @Action(name="resetInvocationStatistics", post=true)
+    public Redirect resetInvocationStatistics(HttpServletRequest request) {
+        InvocationInstrumentation instrumentation =
+                configContext.getAxisConfiguration().getInvocationInstrumentation();
+        if (instrumentation instanceof InvocationStatistics) {
+            ((InvocationStatistics) instrumentation).resetStatistics();
+        }
+        return new Redirect(VIEW_INVOCATION_STATISTICS);
+    }
+
     @Action(name="listPhases")
     public View listPhases(HttpServletRequest req) {
         PhasesInfo info = configContext.getAxisConfiguration().getPhasesInfo();
@@ -97,6 +97,14 @@
     <td >
       <a href="<c:url value="axis2-admin/listPhases"/>">Available Phases</a>
     </td>
+ </tr>
+ <tr>
+    <td>
+       &nbsp;&nbsp;&nbsp;&nbsp;
+    </td>
+    <td >
+      <a href="<c:url value="axis2-admin/viewInvocationStatistics"/>">Invocation Statistics</a>
+    </td>
  </tr>
   <tr>
      <td colspan="2" >
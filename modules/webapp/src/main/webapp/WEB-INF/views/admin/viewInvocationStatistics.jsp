@@ -0,0 +1,67 @@
+<%--
+  ~ Licensed to the Apache Software Foundation (ASF) under one
+  ~ or more contributor license agreements. See the NOTICE file
+  ~ distributed with this work for additional information
+  ~ regarding copyright ownership. The ASF licenses this file
+  ~ to you under the Apache License, Version 2.0 (the
+  ~ "License"); you may not use this file except in compliance
+  ~ with the License. You may obtain a copy of the License at
+  ~
+  ~ http://www.apache.org/licenses/LICENSE-2.0
+  ~
+  ~ Unless required by applicable law or agreed to in writing,
+  ~ software distributed under the License is distributed on an
+  ~ "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+  ~ KIND, either express or implied. See the License for the
+  ~ specific language governing permissions and limitations
+  ~ under the License.
+  --%>
+
+<%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
+<%@ page import="org.apache.axis2.Constants,
+                 org.apache.axis2.engine.InvocationStatistics,
+                 java.util.Date,
+                 java.util.Map"%>
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<jsp:include page="/WEB-INF/include/adminheader.jsp"/>
+<h1>Invocation Statistics</h1>
+   <%
+       Object instrumentation = request.getSession().getAttribute(Constants.INVOCATION_STATISTICS);
+       request.getSession().setAttribute(Constants.INVOCATION_STATISTICS, null);
+       if (instrumentation instanceof InvocationStatistics) {
+           InvocationStatistics statistics = (InvocationStatistics) instrumentation;
+           String[] titles = { "Operations", "Phases", "Handlers" };
+           Map[] tables = { statistics.getOperationStatistics(), statistics.getPhaseStatistics(),
+                            statistics.getHandlerStatistics() };
+   %>
+   <p>Times are in microseconds. Collected since <%=new Date(statistics.getLastResetTime())%>.</p>
+   <form method="post" name="resetInvocationStatistics" action="<c:url value="axis2-admin/resetInvocationStatistics"/>">
+       <input name="submit" type="submit" value=" Reset " >
+   </form>
+   <%
+           for (int i = 0; i < tables.length; i++) {
+   %>
+   <h2 style="color:blue"><%=titles[i]%></h2>
+   <table summary="<%=titles[i]%>" border="0">
+   <%
+               pageContext.setAttribute("table", tables[i]);
+   %>
+   <c:forEach var="entry" items="${table}">
+       <tr><td><c:out value="${entry.key}"/></td><td><c:out value="${entry.value}"/></td></tr>
+   </c:forEach>
+   </table>
+   <%
+           }
+       } else if (instrumentation != null) {
+   %>
+   <p>The configured instrumentation, <%=instrumentation.getClass().getName()%>, doesn't provide statistics.</p>
+   <%
+       } else {
+   %>
+   <p>No instrumentation is configured. Add
+   <code>&lt;instrumentation class="org.apache.axis2.engine.InvocationStatistics"/&gt;</code>
+   to axis2.xml to record the time spent in each phase, handler and operation.</p>
+   <%
+       }
+   %>
+<jsp:include page="/WEB-INF/include/adminfooter.jsp"/>